@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.domain;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.admin.domain.support.JobParametersExtractor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.converter.DefaultJobParametersConverter;
+
+/**
+ * Builds a page of execution infos and reads the columns shown in the lists
+ * of executions, to compare with the cost of formatting everything eagerly
+ * with formatters for each info (as the infos used to). Run with
+ * <code>mvn -P jmh verify</code> in this module; the GC profiler is on by
+ * default, so the allocation rate per operation is reported as well as the
+ * throughput.
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionInfoBenchmark {
+
+	@Param({ "100" })
+	private int pageSize;
+
+	private final TimeZone timeZone = TimeZone.getTimeZone("Europe/London");
+
+	private List<JobExecutionSummary> summaries;
+
+	private List<StepExecution> stepExecutions;
+
+	@Setup
+	public void setUp() {
+		summaries = new ArrayList<JobExecutionSummary>();
+		stepExecutions = new ArrayList<StepExecution>();
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < pageSize; i++) {
+			JobParameters parameters = new JobParametersBuilder().addString("input", "file:/data/input-" + i + ".csv")
+					.addLong("run.id", (long) i).addDate("date", new Date(now)).toJobParameters();
+			JobExecution jobExecution = new JobExecution(new JobInstance((long) i, "job"), (long) i, parameters, null);
+			jobExecution.setStatus(BatchStatus.COMPLETED);
+			jobExecution.setExitStatus(ExitStatus.COMPLETED);
+			jobExecution.setStartTime(new Date(now - 60000 * i));
+			jobExecution.setEndTime(new Date(now - 60000 * i + 12345));
+			summaries.add(new JobExecutionSummary(jobExecution));
+			StepExecution stepExecution = new StepExecution("step", jobExecution, (long) i);
+			stepExecution.setStartTime(jobExecution.getStartTime());
+			stepExecution.setEndTime(jobExecution.getEndTime());
+			stepExecutions.add(stepExecution);
+		}
+	}
+
+	@Benchmark
+	public void jobExecutionPage(Blackhole blackhole) {
+		for (JobExecutionSummary summary : summaries) {
+			JobExecutionInfo info = new JobExecutionInfo(summary, timeZone);
+			blackhole.consume(info.getName());
+			blackhole.consume(info.getStartDate());
+			blackhole.consume(info.getStartTime());
+			blackhole.consume(info.getDuration());
+		}
+	}
+
+	@Benchmark
+	public void jobExecutionPageEager(Blackhole blackhole) {
+		for (JobExecutionSummary summary : summaries) {
+			EagerExecutionInfo info = new EagerExecutionInfo(summary, timeZone);
+			blackhole.consume(summary.getJobName());
+			blackhole.consume(info.startDate);
+			blackhole.consume(info.startTime);
+			blackhole.consume(info.duration);
+			blackhole.consume(info.jobParameters);
+			blackhole.consume(info.jobParametersString);
+		}
+	}
+
+	@Benchmark
+	public void stepExecutionPage(Blackhole blackhole) {
+		for (StepExecution stepExecution : stepExecutions) {
+			StepExecutionInfo info = new StepExecutionInfo(stepExecution, timeZone);
+			blackhole.consume(info.getName());
+			blackhole.consume(info.getStartDate());
+			blackhole.consume(info.getStartTime());
+			blackhole.consume(info.getDuration());
+		}
+	}
+
+	/**
+	 * The work the infos used to do in their constructors: three date formats
+	 * and a parameters converter for each one, and the parameters converted
+	 * twice whether they were shown or not (they are not in the lists).
+	 */
+	private static class EagerExecutionInfo {
+
+		private final String startDate;
+
+		private final String startTime;
+
+		private final String duration;
+
+		private final Properties jobParameters;
+
+		private final String jobParametersString;
+
+		public EagerExecutionInfo(JobExecutionSummary summary, TimeZone timeZone) {
+			SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+			SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+			SimpleDateFormat durationFormat = new SimpleDateFormat("HH:mm:ss");
+			this.jobParameters = new DefaultJobParametersConverter().getProperties(summary.getJobParameters());
+			this.jobParametersString = new JobParametersExtractor().fromJobParameters(summary.getJobParameters());
+			durationFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+			timeFormat.setTimeZone(timeZone);
+			dateFormat.setTimeZone(timeZone);
+			Date start = summary.getStartTime();
+			this.startDate = dateFormat.format(start);
+			this.startTime = timeFormat.format(start);
+			this.duration = durationFormat.format(new Date(summary.getEndTime().getTime() - start.getTime()));
+		}
+
+	}
+
+}
@@ -27,6 +27,36 @@ public class CumulativeHistory {
 
 	private double max;
 
+	public CumulativeHistory() {
+	}
+
+	/**
+	 * Create a history from pre-computed aggregates, e.g. the result of a
+	 * database query, instead of appending the values one at a time.
+	 * 
+	 * @param count the number of values
+	 * @param sum the sum of the values
+	 * @param sumSquares the sum of the squares of the values
+	 * @param min the minimum value
+	 * @param max the maximum value
+	 */
+	public CumulativeHistory(int count, double sum, double sumSquares, double min, double max) {
+		this.count = count;
+		this.sum = sum;
+		this.sumSquares = sumSquares;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Create a copy of the history provided.
+	 * 
+	 * @param other the history to copy
+	 */
+	public CumulativeHistory(CumulativeHistory other) {
+		this(other.count, other.sum, other.sumSquares, other.min, other.max);
+	}
+
 	public void append(double value) {
 		if (value > max || count == 0)
 			max = value;
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.domain;
+
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * Formats the start dates, start times and durations of the execution infos.
+ * The formatters are immutable, so they are shared by all the infos (and
+ * threads) instead of being created for each one; the ones for a time zone
+ * are created once and cached.
+ *
+ * @since 2.0
+ */
+final class ExecutionTimeFormat {
+
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormat.forPattern("yyyy-MM-dd");
+
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormat.forPattern("HH:mm:ss");
+
+	// Duration is always in GMT
+	private static final DateTimeFormatter DURATION_FORMAT = TIME_FORMAT.withZoneUTC();
+
+	private static final ConcurrentMap<String, ExecutionTimeFormat> formats = new ConcurrentHashMap<String, ExecutionTimeFormat>();
+
+	private final DateTimeFormatter dateFormat;
+
+	private final DateTimeFormatter timeFormat;
+
+	private ExecutionTimeFormat(DateTimeZone zone) {
+		this.dateFormat = DATE_FORMAT.withZone(zone);
+		this.timeFormat = TIME_FORMAT.withZone(zone);
+	}
+
+	/**
+	 * @param timeZone the time zone for the dates and times
+	 * @return the (shared) format for the time zone
+	 */
+	public static ExecutionTimeFormat forTimeZone(TimeZone timeZone) {
+		ExecutionTimeFormat format = formats.get(timeZone.getID());
+		if (format == null) {
+			DateTimeZone zone;
+			try {
+				zone = DateTimeZone.forTimeZone(timeZone);
+			}
+			catch (IllegalArgumentException e) {
+				// A custom zone that Joda does not know about
+				zone = DateTimeZone.forOffsetMillis(timeZone.getRawOffset());
+			}
+			format = new ExecutionTimeFormat(zone);
+			ExecutionTimeFormat existing = formats.putIfAbsent(timeZone.getID(), format);
+			if (existing != null) {
+				format = existing;
+			}
+		}
+		return format;
+	}
+
+	public String formatDate(Date date) {
+		return dateFormat.print(date.getTime());
+	}
+
+	public String formatTime(Date date) {
+		return timeFormat.print(date.getTime());
+	}
+
+	public static String formatDuration(long millis) {
+		return DURATION_FORMAT.print(millis);
+	}
+
+}
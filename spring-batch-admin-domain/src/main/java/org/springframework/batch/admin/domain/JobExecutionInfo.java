@@ -18,26 +18,25 @@
  */
 package org.springframework.batch.admin.domain;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Properties;
 import java.util.TimeZone;
 
 import org.springframework.batch.admin.domain.support.JobParametersExtractor;
 import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.converter.DefaultJobParametersConverter;
-import org.springframework.batch.core.converter.JobParametersConverter;
 
+/**
+ * The information shown for a job execution. Lists can hold a lot of these,
+ * so the start date and time, the duration and the job parameters are only
+ * formatted when they are first asked for.
+ */
 public class JobExecutionInfo {
 
-	private SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-	private SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
-
-	private SimpleDateFormat durationFormat = new SimpleDateFormat("HH:mm:ss");
-
 	private Long id;
 
 	private int stepExecutionCount;
@@ -46,14 +45,24 @@ public class JobExecutionInfo {
 
 	private String jobName;
 
-	private String startDate = "";
+	private Date start;
 
-	private String startTime = "";
+	private String startDate;
 
-	private String duration = "";
+	private String startTime;
+
+	private String duration;
 
 	private JobExecution jobExecution;
 
+	private BatchStatus status;
+
+	private ExitStatus exitStatus;
+
+	private Date endTime;
+
+	private final JobParameters parameters;
+
 	private Properties jobParameters;
 
 	private String jobParametersString;
@@ -64,8 +73,6 @@ public class JobExecutionInfo {
 
 	private boolean stoppable = false;
 
-	private JobParametersConverter converter = new DefaultJobParametersConverter();
-
 	private final TimeZone timeZone;
 
 	public JobExecutionInfo(JobExecution jobExecution, TimeZone timeZone) {
@@ -75,13 +82,43 @@ public class JobExecutionInfo {
 		this.id = jobExecution.getId();
 		this.jobId = jobExecution.getJobId();
 		this.stepExecutionCount = jobExecution.getStepExecutions().size();
-		this.jobParameters = converter.getProperties(jobExecution.getJobParameters());
-		this.jobParametersString = new JobParametersExtractor().fromJobParameters(jobExecution.getJobParameters());
+		this.parameters = jobExecution.getJobParameters();
 
 		JobInstance jobInstance = jobExecution.getJobInstance();
-		if (jobInstance != null) {
-			this.jobName = jobInstance.getJobName();
-			BatchStatus status = jobExecution.getStatus();
+		initialize(jobInstance == null ? null : jobInstance.getJobName(), jobExecution.getStatus(),
+				jobExecution.getExitStatus(), jobExecution.getStartTime(), jobExecution.getEndTime());
+
+	}
+
+	/**
+	 * Create an info for a list of executions, without the underlying
+	 * {@link JobExecution} (so {@link #getJobExecution()} is null).
+	 * 
+	 * @param summary the summary of a job execution
+	 * @param timeZone the time zone for the start date and time
+	 */
+	public JobExecutionInfo(JobExecutionSummary summary, TimeZone timeZone) {
+
+		this.timeZone = timeZone;
+		this.id = summary.getId();
+		this.jobId = summary.getJobInstanceId();
+		this.stepExecutionCount = summary.getStepExecutionCount();
+		this.parameters = summary.getJobParameters();
+
+		initialize(summary.getJobName(), summary.getStatus(), summary.getExitStatus(), summary.getStartTime(),
+				summary.getEndTime());
+
+	}
+
+	private void initialize(String jobName, BatchStatus status, ExitStatus exitStatus, Date startTime, Date endTime) {
+
+		this.status = status;
+		this.exitStatus = exitStatus;
+		this.start = startTime;
+		this.endTime = endTime;
+
+		if (jobName != null) {
+			this.jobName = jobName;
 			this.restartable = status.isGreaterThan(BatchStatus.STOPPING) && status.isLessThan(BatchStatus.ABANDONED);
 			this.abandonable = status.isGreaterThan(BatchStatus.STARTED) && status!=BatchStatus.ABANDONED;
 			this.stoppable  = status.isLessThan(BatchStatus.STOPPING);
@@ -90,18 +127,10 @@ public class JobExecutionInfo {
 			this.jobName = "?";
 		}
 
-		// Duration is always in GMT
-		durationFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
-		// The others can be localized
-		timeFormat.setTimeZone(timeZone);
-		dateFormat.setTimeZone(timeZone);
-		if (jobExecution.getStartTime() != null) {
-			this.startDate = dateFormat.format(jobExecution.getStartTime());
-			this.startTime = timeFormat.format(jobExecution.getStartTime());
-			Date endTime = jobExecution.getEndTime() != null ? jobExecution.getEndTime() : new Date();
-			this.duration = durationFormat.format(new Date(endTime.getTime() - jobExecution.getStartTime().getTime()));
-		}
+	}
 
+	private ExecutionTimeFormat getTimeFormat() {
+		return ExecutionTimeFormat.forTimeZone(timeZone != null ? timeZone : TimeZone.getTimeZone("UTC"));
 	}
 
 	public TimeZone getTimeZone() {
@@ -125,14 +154,29 @@ public class JobExecutionInfo {
 	}
 
 	public String getStartDate() {
+		if (startDate == null) {
+			startDate = start == null ? "" : getTimeFormat().formatDate(start);
+		}
 		return startDate;
 	}
 
 	public String getStartTime() {
+		if (startTime == null) {
+			startTime = start == null ? "" : getTimeFormat().formatTime(start);
+		}
 		return startTime;
 	}
 
 	public String getDuration() {
+		if (duration == null) {
+			if (start == null) {
+				duration = "";
+			}
+			else {
+				Date end = endTime != null ? endTime : new Date();
+				duration = ExecutionTimeFormat.formatDuration(end.getTime() - start.getTime());
+			}
+		}
 		return duration;
 	}
 
@@ -140,6 +184,18 @@ public class JobExecutionInfo {
 		return jobExecution;
 	}
 
+	public BatchStatus getStatus() {
+		return status;
+	}
+
+	public ExitStatus getExitStatus() {
+		return exitStatus;
+	}
+
+	public Date getEndTime() {
+		return endTime;
+	}
+
 	public boolean isRestartable() {
 		return restartable;
 	}
@@ -153,10 +209,16 @@ public class JobExecutionInfo {
 	}
 
 	public String getJobParametersString() {
+		if (jobParametersString == null) {
+			jobParametersString = new JobParametersExtractor().fromJobParameters(parameters);
+		}
 		return jobParametersString;
 	}
 
 	public Properties getJobParameters() {
+		if (jobParameters == null) {
+			jobParameters = new DefaultJobParametersConverter().getProperties(parameters);
+		}
 		return jobParameters;
 	}
 
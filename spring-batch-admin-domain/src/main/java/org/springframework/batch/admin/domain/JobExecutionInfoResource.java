@@ -17,6 +17,8 @@
 package org.springframework.batch.admin.domain;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -125,9 +127,45 @@ public class JobExecutionInfoResource extends ResourceSupport {
 		this.version = jobExecution.getVersion();
 
 		JobInstance jobInstance = jobExecution.getJobInstance();
-		if (jobInstance != null) {
-			this.jobName = jobInstance.getJobName();
-			BatchStatus status = jobExecution.getStatus();
+		initialize(jobInstance == null ? null : jobInstance.getJobName(), jobExecution.getCreateTime(),
+				jobExecution.getLastUpdated(), jobExecution.getStartTime(), jobExecution.getEndTime());
+	}
+
+	/**
+	 * Create a resource for a list of executions, with no step executions,
+	 * execution context or failure exceptions.
+	 *
+	 * @param summary the summary of a job execution
+	 * @param timeZone the time zone for the dates
+	 */
+	public JobExecutionInfoResource(JobExecutionSummary summary, TimeZone timeZone) {
+
+		if(timeZone != null) {
+			this.timeZone = timeZone;
+		}
+		else {
+			this.timeZone = TimeZone.getTimeZone("UTC");
+		}
+
+		this.executionId = summary.getId();
+		this.jobId = summary.getJobInstanceId();
+		this.stepExecutionCount = summary.getStepExecutionCount();
+		this.jobParameters = summary.getJobParameters();
+		this.status = summary.getStatus();
+		this.exitStatus = summary.getExitStatus();
+		this.failureExceptions = Collections.emptyList();
+		this.executionContext = Collections.emptyMap();
+		this.stepExecutions = Collections.emptyList();
+		this.version = summary.getVersion();
+
+		initialize(summary.getJobName(), summary.getCreateTime(), summary.getLastUpdated(), summary.getStartTime(),
+				summary.getEndTime());
+	}
+
+	private void initialize(String jobName, Date createTime, Date lastUpdated, Date startTime, Date endTime) {
+
+		if (jobName != null) {
+			this.jobName = jobName;
 			this.restartable = status.isGreaterThan(BatchStatus.STOPPING) && status.isLessThan(BatchStatus.ABANDONED);
 			this.abandonable = status.isGreaterThan(BatchStatus.STARTED) && status != BatchStatus.ABANDONED;
 			this.stoppable = status.isLessThan(BatchStatus.STOPPING) && status != BatchStatus.COMPLETED;
@@ -136,16 +174,16 @@ public class JobExecutionInfoResource extends ResourceSupport {
 			this.jobName = "?";
 		}
 
-		this.dateFormat = this.dateFormat.withZone(DateTimeZone.forTimeZone(timeZone));
+		this.dateFormat = this.dateFormat.withZone(DateTimeZone.forTimeZone(this.timeZone));
 
-		this.createDate = dateFormat.print(jobExecution.getCreateTime().getTime());
-		this.lastUpdated = dateFormat.print(jobExecution.getLastUpdated().getTime());
+		this.createDate = dateFormat.print(createTime.getTime());
+		this.lastUpdated = dateFormat.print(lastUpdated.getTime());
 
-		if (jobExecution.getStartTime() != null) {
-			this.startTime = dateFormat.print(jobExecution.getStartTime().getTime());
+		if (startTime != null) {
+			this.startTime = dateFormat.print(startTime.getTime());
 
-			if(!jobExecution.isRunning()) {
-				this.endTime = dateFormat.print(jobExecution.getEndTime().getTime());
+			if (endTime != null) {
+				this.endTime = dateFormat.print(endTime.getTime());
 			}
 			else {
 				this.endTime = "N/A";
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.domain;
+
+import java.util.Date;
+
+import org.springframework.batch.admin.domain.support.JobParametersExtractor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+
+/**
+ * The fields of a {@link JobExecution} that are shown in a list of
+ * executions, with the number of step executions but without the step
+ * executions themselves or the execution context.
+ *
+ * @since 2.0
+ */
+public class JobExecutionSummary {
+
+	private final Long id;
+
+	private final Long jobInstanceId;
+
+	private final String jobName;
+
+	private final JobParameters jobParameters;
+
+	private final BatchStatus status;
+
+	private final ExitStatus exitStatus;
+
+	private final Date createTime;
+
+	private final Date startTime;
+
+	private final Date endTime;
+
+	private final Date lastUpdated;
+
+	private final Integer version;
+
+	private final int stepExecutionCount;
+
+	public JobExecutionSummary(Long id, Long jobInstanceId, String jobName, JobParameters jobParameters,
+			BatchStatus status, ExitStatus exitStatus, Date createTime, Date startTime, Date endTime, Date lastUpdated,
+			Integer version, int stepExecutionCount) {
+		this.id = id;
+		this.jobInstanceId = jobInstanceId;
+		this.jobName = jobName;
+		this.jobParameters = jobParameters;
+		this.status = status;
+		this.exitStatus = exitStatus;
+		this.createTime = createTime;
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.lastUpdated = lastUpdated;
+		this.version = version;
+		this.stepExecutionCount = stepExecutionCount;
+	}
+
+	/**
+	 * Summarise a job execution that is already in memory.
+	 *
+	 * @param jobExecution a job execution with its step executions
+	 */
+	public JobExecutionSummary(JobExecution jobExecution) {
+		this(jobExecution.getId(), jobExecution.getJobId(), jobExecution.getJobInstance() == null ? null
+				: jobExecution.getJobInstance().getJobName(), jobExecution.getJobParameters(), jobExecution
+				.getStatus(), jobExecution.getExitStatus(), jobExecution.getCreateTime(), jobExecution.getStartTime(),
+				jobExecution.getEndTime(), jobExecution.getLastUpdated(), jobExecution.getVersion(), jobExecution
+						.getStepExecutions().size());
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getJobInstanceId() {
+		return jobInstanceId;
+	}
+
+	public String getJobName() {
+		return jobName;
+	}
+
+	public JobParameters getJobParameters() {
+		return jobParameters;
+	}
+
+	/**
+	 * @return the job parameters in the format used to launch a job
+	 */
+	public String getJobParametersString() {
+		return new JobParametersExtractor().fromJobParameters(jobParameters);
+	}
+
+	public BatchStatus getStatus() {
+		return status;
+	}
+
+	public ExitStatus getExitStatus() {
+		return exitStatus;
+	}
+
+	public Date getCreateTime() {
+		return createTime;
+	}
+
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	public Date getEndTime() {
+		return endTime;
+	}
+
+	public Date getLastUpdated() {
+		return lastUpdated;
+	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	public int getStepExecutionCount() {
+		return stepExecutionCount;
+	}
+
+	public boolean isRunning() {
+		return endTime == null;
+	}
+
+	@Override
+	public String toString() {
+		return "JobExecutionSummary: id=" + id + ", job=" + jobName + ", status=" + status + ", exitStatus="
+				+ exitStatus + ", startTime=" + startTime + ", endTime=" + endTime + ", stepExecutionCount="
+				+ stepExecutionCount;
+	}
+
+}
@@ -39,6 +39,40 @@ public class StepExecutionHistory {
 		this.stepName = stepName;
 	}
 
+	/**
+	 * Create a history from pre-computed statistics (e.g. aggregated in the
+	 * database) instead of appending the step executions one at a time.
+	 */
+	public StepExecutionHistory(String stepName, int count, CumulativeHistory commitCount,
+			CumulativeHistory rollbackCount, CumulativeHistory readCount, CumulativeHistory writeCount,
+			CumulativeHistory filterCount, CumulativeHistory readSkipCount, CumulativeHistory writeSkipCount,
+			CumulativeHistory processSkipCount, CumulativeHistory duration, CumulativeHistory durationPerRead) {
+		this.stepName = stepName;
+		this.count = count;
+		this.commitCount = commitCount;
+		this.rollbackCount = rollbackCount;
+		this.readCount = readCount;
+		this.writeCount = writeCount;
+		this.filterCount = filterCount;
+		this.readSkipCount = readSkipCount;
+		this.writeSkipCount = writeSkipCount;
+		this.processSkipCount = processSkipCount;
+		this.duration = duration;
+		this.durationPerRead = durationPerRead;
+	}
+
+	/**
+	 * Create a copy of the history provided, which can be appended to
+	 * independently.
+	 */
+	public StepExecutionHistory(StepExecutionHistory other) {
+		this(other.stepName, other.count, new CumulativeHistory(other.commitCount), new CumulativeHistory(
+				other.rollbackCount), new CumulativeHistory(other.readCount), new CumulativeHistory(other.writeCount),
+				new CumulativeHistory(other.filterCount), new CumulativeHistory(other.readSkipCount),
+				new CumulativeHistory(other.writeSkipCount), new CumulativeHistory(other.processSkipCount),
+				new CumulativeHistory(other.duration), new CumulativeHistory(other.durationPerRead));
+	}
+
 	public void append(StepExecution stepExecution) {
 		if (stepExecution.getEndTime()==null) {
 			// ignore unfinished executions
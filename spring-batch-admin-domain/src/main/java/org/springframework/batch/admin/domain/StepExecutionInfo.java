@@ -18,21 +18,18 @@
  */
 package org.springframework.batch.admin.domain;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.TimeZone;
 
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.StepExecution;
 
+/**
+ * The information shown for a step execution. The start date and time and the
+ * duration are only formatted when they are first asked for.
+ */
 public class StepExecutionInfo {
 
-	private SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-
-	private SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
-
-	private SimpleDateFormat durationFormat = new SimpleDateFormat("HH:mm:ss");
-
 	private Long id;
 
 	private Long jobExecutionId;
@@ -41,9 +38,11 @@ public class StepExecutionInfo {
 
 	private String name;
 
-	private String startDate = "-";
+	private Date start;
 
-	private String startTime = "-";
+	private String startDate;
+
+	private String startTime;
 
 	private String duration = "-";
 
@@ -79,16 +78,11 @@ public class StepExecutionInfo {
 				|| stepExecution.getJobExecution().getJobInstance() == null ? "?" : stepExecution.getJobExecution()
 				.getJobInstance().getJobName();
 		this.jobExecutionId = stepExecution.getJobExecutionId();
-		// Duration is always in GMT
-		durationFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
-		timeFormat.setTimeZone(timeZone);
-		dateFormat.setTimeZone(timeZone);
-		if (stepExecution.getStartTime() != null) {
-			this.startDate = dateFormat.format(stepExecution.getStartTime());
-			this.startTime = timeFormat.format(stepExecution.getStartTime());
+		this.start = stepExecution.getStartTime();
+		if (start != null) {
 			Date endTime = stepExecution.getEndTime() != null ? stepExecution.getEndTime() : new Date();
-			this.durationMillis = endTime.getTime() - stepExecution.getStartTime().getTime();
-			this.duration = durationFormat.format(new Date(durationMillis));
+			this.durationMillis = endTime.getTime() - start.getTime();
+			this.duration = null;
 		}
 
 	}
@@ -110,14 +104,23 @@ public class StepExecutionInfo {
 	}
 
 	public String getStartDate() {
+		if (startDate == null) {
+			startDate = start == null ? "-" : ExecutionTimeFormat.forTimeZone(timeZone).formatDate(start);
+		}
 		return startDate;
 	}
 
 	public String getStartTime() {
+		if (startTime == null) {
+			startTime = start == null ? "-" : ExecutionTimeFormat.forTimeZone(timeZone).formatTime(start);
+		}
 		return startTime;
 	}
 
 	public String getDuration() {
+		if (duration == null) {
+			duration = ExecutionTimeFormat.formatDuration(durationMillis);
+		}
 		return duration;
 	}
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.XStreamExecutionContextStringSerializer;
+
+/**
+ * Writes and reads back an execution context with the
+ * {@link JacksonExecutionContextSerializer} and with the
+ * {@link XStreamExecutionContextStringSerializer} it replaces. The
+ * <code>simple</code> context holds the kind of values a reader or writer
+ * keeps (counts and a file name), the <code>nested</code> one adds a list and
+ * a map, which the Jackson serializer reads back once on write to check that
+ * they survive. Run with <code>mvn -P jmh verify</code> in this module; the GC
+ * profiler is on by default, so the allocation rate per operation is reported
+ * as well as the throughput.
+ *
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionContextSerializerBenchmark {
+
+	@Param({ "simple", "nested" })
+	private String shape;
+
+	private final Map<String, Object> context = new HashMap<String, Object>();
+
+	private JacksonExecutionContextSerializer jackson;
+
+	private XStreamExecutionContextStringSerializer xstream;
+
+	private byte[] jacksonContext;
+
+	private byte[] xstreamContext;
+
+	@Setup
+	public void setUp() throws Exception {
+		context.put("FlatFileItemReader.read.count", 12345);
+		context.put("FlatFileItemWriter.current.count", 1234567L);
+		context.put("FlatFileItemWriter.written", 12345L);
+		context.put("resource", "file:/data/input/2015-01-01/records.csv");
+		context.put("date", new Date(1420070400000L));
+		if ("nested".equals(shape)) {
+			context.put("partitions", Arrays.asList("partition0", "partition1", "partition2", "partition3"));
+			Map<String, Object> offsets = new HashMap<String, Object>();
+			for (int i = 0; i < 4; i++) {
+				offsets.put("partition" + i, 1000L * i);
+			}
+			context.put("offsets", offsets);
+		}
+		jackson = new JacksonExecutionContextSerializer();
+		jackson.afterPropertiesSet();
+		xstream = new XStreamExecutionContextStringSerializer();
+		xstream.afterPropertiesSet();
+		jacksonContext = write(jackson);
+		xstreamContext = write(xstream);
+	}
+
+	@Benchmark
+	public byte[] jacksonWrite() throws Exception {
+		return write(jackson);
+	}
+
+	@Benchmark
+	public byte[] xstreamWrite() throws Exception {
+		return write(xstream);
+	}
+
+	@Benchmark
+	public void jacksonRead(Blackhole blackhole) throws Exception {
+		blackhole.consume(jackson.deserialize(new ByteArrayInputStream(jacksonContext)));
+	}
+
+	@Benchmark
+	public void xstreamRead(Blackhole blackhole) throws Exception {
+		blackhole.consume(xstream.deserialize(new ByteArrayInputStream(xstreamContext)));
+	}
+
+	/**
+	 * The Jackson serializer reading a context written by XStream, as it does
+	 * for all the contexts written before it was installed.
+	 */
+	@Benchmark
+	public void jacksonReadXStream(Blackhole blackhole) throws Exception {
+		blackhole.consume(jackson.deserialize(new ByteArrayInputStream(xstreamContext)));
+	}
+
+	private byte[] write(ExecutionContextSerializer serializer) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(context, out);
+		return out.toByteArray();
+	}
+
+}
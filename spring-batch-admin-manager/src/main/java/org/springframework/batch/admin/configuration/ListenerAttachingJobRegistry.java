@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.admin.service.JobNameCatalog;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.DuplicateJobException;
+import org.springframework.batch.core.configuration.JobFactory;
+import org.springframework.batch.core.configuration.support.GroupAwareJob;
+import org.springframework.batch.core.configuration.support.MapJobRegistry;
+import org.springframework.batch.core.job.AbstractJob;
+import org.springframework.batch.core.step.AbstractStep;
+import org.springframework.batch.core.step.NoSuchStepException;
+import org.springframework.batch.core.step.StepLocator;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * {@link MapJobRegistry} that registers some listeners with all the jobs it
+ * hands out, and with their steps. This covers the jobs loaded at startup and
+ * the ones uploaded later, since they all end up in the same registry.
+ * <p>
+ * Listeners can only be registered with jobs extending {@link AbstractJob} and
+ * steps extending {@link AbstractStep} that are found by asking the job as a
+ * {@link StepLocator}. A {@link GroupAwareJob} (as the jobs loaded from a
+ * group of contexts are registered) hides the job it wraps, so the registry is
+ * also a {@link BeanPostProcessor}: the job contexts created by the job loader
+ * copy it from their parent, and it attaches the listeners to each job when it
+ * is initialized, before it is wrapped and registered. Each job and step gets
+ * the listeners only once, even if it is shared between jobs or registered
+ * again. A warning is logged for the ones that cannot get them, since their
+ * executions will be missing from the live state and metrics.
+ * <p>
+ * The registry can also keep a {@link JobNameCatalog} up to date with the
+ * names of the registered jobs.
+ *
+ * @since 2.0
+ */
+public class ListenerAttachingJobRegistry extends MapJobRegistry implements BeanPostProcessor {
+
+	private static final Log logger = LogFactory.getLog(ListenerAttachingJobRegistry.class);
+
+	private List<JobExecutionListener> jobExecutionListeners = new ArrayList<JobExecutionListener>();
+
+	private List<StepExecutionListener> stepExecutionListeners = new ArrayList<StepExecutionListener>();
+
+	private JobNameCatalog jobNameCatalog;
+
+	private final Set<Object> attached = Collections.newSetFromMap(new WeakHashMap<Object, Boolean>());
+
+	/**
+	 * @param jobExecutionListeners the listeners to register with every job
+	 */
+	public void setJobExecutionListeners(List<JobExecutionListener> jobExecutionListeners) {
+		this.jobExecutionListeners = new ArrayList<JobExecutionListener>(jobExecutionListeners);
+	}
+
+	/**
+	 * @param stepExecutionListeners the listeners to register with every step
+	 */
+	public void setStepExecutionListeners(List<StepExecutionListener> stepExecutionListeners) {
+		this.stepExecutionListeners = new ArrayList<StepExecutionListener>(stepExecutionListeners);
+	}
+
+	/**
+	 * @param jobNameCatalog the catalog to tell about job registrations
+	 */
+	public void setJobNameCatalog(JobNameCatalog jobNameCatalog) {
+		this.jobNameCatalog = jobNameCatalog;
+	}
+
+	@Override
+	public void register(final JobFactory jobFactory) throws DuplicateJobException {
+		super.register(new JobFactory() {
+			public Job createJob() {
+				Job job = jobFactory.createJob();
+				attach(job);
+				return job;
+			}
+
+			public String getJobName() {
+				return jobFactory.getJobName();
+			}
+		});
+		if (jobNameCatalog != null) {
+			jobNameCatalog.register(jobFactory.getJobName());
+		}
+	}
+
+	@Override
+	public void unregister(String name) {
+		super.unregister(name);
+		if (jobNameCatalog != null) {
+			jobNameCatalog.unregister(name);
+		}
+	}
+
+	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+		return bean;
+	}
+
+	/**
+	 * Attach the listeners to jobs as they are initialized, so that they also
+	 * get them when they are registered wrapped in a {@link GroupAwareJob}.
+	 */
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (bean instanceof Job) {
+			attach((Job) bean);
+		}
+		return bean;
+	}
+
+	private synchronized void attach(Job job) {
+		if (!attached.add(job)) {
+			return;
+		}
+		if (job instanceof GroupAwareJob) {
+			logger.debug("Not registering listeners with job wrapped in a group: " + job);
+			return;
+		}
+		if (job instanceof AbstractJob) {
+			for (JobExecutionListener listener : jobExecutionListeners) {
+				((AbstractJob) job).registerJobExecutionListener(listener);
+			}
+		}
+		else {
+			logger.warn("Cannot register listeners with job: " + job);
+		}
+		if (stepExecutionListeners.isEmpty() || !(job instanceof StepLocator)) {
+			return;
+		}
+		StepLocator stepLocator = (StepLocator) job;
+		for (String stepName : stepLocator.getStepNames()) {
+			Step step;
+			try {
+				step = stepLocator.getStep(stepName);
+			}
+			catch (NoSuchStepException e) {
+				continue;
+			}
+			if (!(step instanceof AbstractStep)) {
+				logger.warn("Cannot register listeners with step: " + step);
+				continue;
+			}
+			if (attached.add(step)) {
+				for (StepExecutionListener listener : stepExecutionListeners) {
+					((AbstractStep) step).registerStepExecutionListener(listener);
+				}
+			}
+		}
+	}
+
+}
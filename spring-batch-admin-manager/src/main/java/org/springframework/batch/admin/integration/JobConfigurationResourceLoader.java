@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 import org.springframework.batch.admin.service.JobService;
+import org.springframework.batch.admin.service.JsrJobNameCatalog;
 import org.springframework.batch.admin.domain.JobInfo;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.configuration.DuplicateJobException;
@@ -53,6 +54,8 @@ public class JobConfigurationResourceLoader implements ApplicationContextAware {
 
 	private JobService jobService;
 
+	private JsrJobNameCatalog jsrJobNameCatalog;
+
 	private ApplicationContext parent;
 
 	public void setJobLoader(JobLoader jobLoader) {
@@ -63,6 +66,16 @@ public class JobConfigurationResourceLoader implements ApplicationContextAware {
 		this.jobService = jobService;
 	}
 
+	/**
+	 * Optional catalog of JSR-352 job names to refresh when new configurations
+	 * are loaded.
+	 * 
+	 * @param jsrJobNameCatalog the {@link JsrJobNameCatalog} to set
+	 */
+	public void setJsrJobNameCatalog(JsrJobNameCatalog jsrJobNameCatalog) {
+		this.jsrJobNameCatalog = jsrJobNameCatalog;
+	}
+
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		this.parent = applicationContext;
 	}
@@ -74,6 +87,9 @@ public class JobConfigurationResourceLoader implements ApplicationContextAware {
 
 		ApplicationContextFactory factory = createApplicationContextFactory(parent, resource);
 		Collection<Job> jobs = jobLoader.reload(factory);
+		if (jsrJobNameCatalog != null) {
+			jsrJobNameCatalog.refresh();
+		}
 
 		for (Job job : jobs) {
 			String name = job.getName();
@@ -65,6 +65,8 @@ public class BatchMBeanExporter extends MBeanExporter implements SmartLifecycle
 
 	private JobService jobService;
 
+	private ExecutionMetricsCollector metricsCollector;
+
 	private String domain = DEFAULT_DOMAIN;
 
 	private boolean registerSteps = true;
@@ -114,6 +116,18 @@ public class BatchMBeanExporter extends MBeanExporter implements SmartLifecycle
 		this.jobService = jobService;
 	}
 
+	/**
+	 * The source of the metrics exposed by the default job and step MBeans.
+	 * Defaults to a collector that takes a snapshot on first access and is
+	 * never refreshed, so in practice one should be provided and refreshed on
+	 * a schedule.
+	 * 
+	 * @param metricsCollector the {@link ExecutionMetricsCollector} to set
+	 */
+	public void setMetricsCollector(ExecutionMetricsCollector metricsCollector) {
+		this.metricsCollector = metricsCollector;
+	}
+
 	/**
 	 * Static properties that will be added to all object names.
 	 * 
@@ -261,20 +275,7 @@ public class BatchMBeanExporter extends MBeanExporter implements SmartLifecycle
 
 	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Job Execution Failure Count")
 	public int getJobExecutionFailureCount() {
-		int count = 0;
-		int start = 0;
-		int pageSize = 100;
-		Collection<JobExecution> jobExecutions;
-		do {
-			jobExecutions = jobService.listJobExecutions(start, pageSize);
-			start += pageSize;
-			for (JobExecution jobExecution : jobExecutions) {
-				if (jobExecution.getStatus().isUnsuccessful()) {
-					count++;
-				}
-			}
-		} while (!jobExecutions.isEmpty());
-		return count;
+		return jobService.countJobExecutions(BatchStatuses.UNSUCCESSFUL);
 	}
 
 	@ManagedMetric(metricType = MetricType.COUNTER, displayName = "Job Execution Count")
@@ -354,14 +355,21 @@ public class BatchMBeanExporter extends MBeanExporter implements SmartLifecycle
 		registerSteps();
 	}
 
+	private synchronized ExecutionMetricsCollector getMetricsCollector() {
+		if (metricsCollector == null) {
+			metricsCollector = new ExecutionMetricsCollector(jobService);
+		}
+		return metricsCollector;
+	}
+
 	private class ExecutionMetricsFactory implements JobExecutionMetricsFactory, StepExecutionMetricsFactory {
 
 		public StepExecutionMetrics createMetricsForStep(String jobName, String stepName) {
-			return new SimpleStepExecutionMetrics(jobService, jobName, stepName);
+			return new SnapshotStepExecutionMetrics(getMetricsCollector(), jobName, stepName);
 		}
 
 		public JobExecutionMetrics createMetricsForJob(String jobName) {
-			return new SimpleJobExecutionMetrics(jobService, jobName);
+			return new SnapshotJobExecutionMetrics(getMetricsCollector(), jobName);
 		}
 
 	}
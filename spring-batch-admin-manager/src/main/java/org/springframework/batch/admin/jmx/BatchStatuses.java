@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.jmx;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import org.springframework.batch.core.BatchStatus;
+
+/**
+ * Groups of {@link BatchStatus} values used by the metrics to count
+ * executions in the repository.
+ *
+ * @since 2.0
+ */
+final class BatchStatuses {
+
+	/**
+	 * The statuses for which {@link BatchStatus#isUnsuccessful()} is true.
+	 */
+	static final Collection<BatchStatus> UNSUCCESSFUL;
+
+	static {
+		EnumSet<BatchStatus> statuses = EnumSet.noneOf(BatchStatus.class);
+		for (BatchStatus status : BatchStatus.values()) {
+			if (status.isUnsuccessful()) {
+				statuses.add(status);
+			}
+		}
+		UNSUCCESSFUL = Collections.unmodifiableSet(statuses);
+	}
+
+	private BatchStatuses() {
+	}
+
+}
@@ -0,0 +1,536 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.jmx;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import org.springframework.batch.admin.domain.JobExecutionHistory;
+import org.springframework.batch.admin.domain.StepExecutionHistory;
+import org.springframework.batch.admin.service.ExecutionEventCollector;
+import org.springframework.batch.admin.service.JobService;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.util.Assert;
+
+/**
+ * Builds {@link ExecutionMetricsSnapshot snapshots} of the job and step
+ * metrics for all jobs at once. A refresh issues a fixed number of batched
+ * queries whatever the number of jobs and steps, so it can be scheduled at a
+ * regular interval and the MBeans can read the latest snapshot for free.
+ * <p>
+ * The mean and maximum durations cover the last {@value #HISTORY_SIZE}
+ * executions of each job and step. These are kept in memory and only the
+ * executions above a floor that trails the largest id seen (ids are not
+ * committed in order), and the unfinished ones below it, are read on each
+ * refresh. The first refresh reads back through the most recent executions
+ * of all jobs until they stop adding to the histories, up to
+ * {@value #SEED_PAGES} pages of {@value #PAGE_SIZE}, so a job that has not
+ * run in that long starts with a shorter history.
+ * <p>
+ * Reads never wait for a refresh, except for the very first snapshot: the
+ * refresh is meant to be scheduled at a fixed interval in the background.
+ * With an {@link ExecutionEventCollector} the counts and latest executions of
+ * the jobs and steps running in this process are read live from memory
+ * between refreshes.
+ *
+ * @since 2.0
+ */
+public class ExecutionMetricsCollector {
+
+	static final int HISTORY_SIZE = 10;
+
+	static final int PAGE_SIZE = 1000;
+
+	static final int SEED_PAGES = 10;
+
+	static final long ID_WINDOW = 100;
+
+	private static final Collection<BatchStatus> ALL = EnumSet.allOf(BatchStatus.class);
+
+	private final JobService jobService;
+
+	private volatile Refreshed refreshed;
+
+	private ExecutionEventCollector executionEventCollector;
+
+	/**
+	 * Recent executions of each job (guarded by this).
+	 */
+	private final RecentExecutions<JobExecution> recentJobExecutions = new RecentJobExecutions();
+
+	/**
+	 * Recent executions of each step, keyed by job and step name (guarded by
+	 * this).
+	 */
+	private final RecentExecutions<StepExecution> recentStepExecutions = new RecentStepExecutions();
+
+	public ExecutionMetricsCollector(JobService jobService) {
+		Assert.notNull(jobService, "A JobService must be provided");
+		this.jobService = jobService;
+	}
+
+	/**
+	 * Optional source of live counts and executions for the jobs running in
+	 * this process.
+	 *
+	 * @param executionEventCollector the {@link ExecutionEventCollector} to set
+	 */
+	public void setExecutionEventCollector(ExecutionEventCollector executionEventCollector) {
+		this.executionEventCollector = executionEventCollector;
+	}
+
+	/**
+	 * The latest snapshot, taking the first one if there has not been a
+	 * refresh yet. Otherwise the snapshot is not refreshed here, however old it
+	 * is.
+	 *
+	 * @return the latest snapshot
+	 */
+	public ExecutionMetricsSnapshot getSnapshot() {
+		return getRefreshed().snapshot;
+	}
+
+	/**
+	 * The metrics for a job from the latest snapshot, with the counts brought
+	 * up to date with the executions that started or failed in this process
+	 * since, and the latest execution replaced by the live one if it is more
+	 * recent.
+	 *
+	 * @param jobName the name of a job
+	 * @return the metrics for the job
+	 */
+	public JobExecutionMetrics getJobMetrics(String jobName) {
+		Refreshed current = getRefreshed();
+		JobExecutionMetrics metrics = current.snapshot.getJobMetrics(jobName);
+		if (executionEventCollector == null) {
+			return metrics;
+		}
+		JobExecution latest = executionEventCollector.getLatestJobExecution(jobName);
+		if (latest != null && latest.getId() >= metrics.getLatestExecutionId()) {
+			metrics = new JobExecutionMetricsSummary(metrics, latest);
+		}
+		int executions = executionEventCollector.getJobExecutionCount(jobName)
+				- count(current.jobExecutionCounts, jobName);
+		int failures = executionEventCollector.getJobFailureCount(jobName) - count(current.jobFailureCounts, jobName);
+		if ((executions != 0 || failures != 0) && metrics instanceof JobExecutionMetricsSummary) {
+			metrics = ((JobExecutionMetricsSummary) metrics).withCounts(metrics.getExecutionCount() + executions,
+					metrics.getFailureCount() + failures);
+		}
+		return metrics;
+	}
+
+	/**
+	 * The metrics for a step from the latest snapshot, with the counts brought
+	 * up to date with the executions that started or failed in this process
+	 * since, and the latest execution replaced by the live one if it is more
+	 * recent.
+	 *
+	 * @param jobName the name of a job
+	 * @param stepName the name of a step in the job
+	 * @return the metrics for the step
+	 */
+	public StepExecutionMetrics getStepMetrics(String jobName, String stepName) {
+		Refreshed current = getRefreshed();
+		StepExecutionMetrics metrics = current.snapshot.getStepMetrics(jobName, stepName);
+		if (executionEventCollector == null) {
+			return metrics;
+		}
+		StepExecution latest = executionEventCollector.getLatestStepExecution(jobName, stepName);
+		if (latest != null && latest.getId() >= metrics.getLatestExecutionId()) {
+			metrics = new StepExecutionMetricsSummary(metrics, latest);
+		}
+		String key = stepKey(jobName, stepName);
+		int executions = executionEventCollector.getStepExecutionCount(jobName, stepName)
+				- count(current.stepExecutionCounts, key);
+		int failures = executionEventCollector.getStepFailureCount(jobName, stepName)
+				- count(current.stepFailureCounts, key);
+		if ((executions != 0 || failures != 0) && metrics instanceof StepExecutionMetricsSummary) {
+			metrics = ((StepExecutionMetricsSummary) metrics).withCounts(metrics.getExecutionCount() + executions,
+					metrics.getFailureCount() + failures);
+		}
+		return metrics;
+	}
+
+	private Refreshed getRefreshed() {
+		Refreshed current = refreshed;
+		if (current == null) {
+			synchronized (this) {
+				if (refreshed == null) {
+					refresh();
+				}
+				current = refreshed;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Take a new snapshot of the metrics from the repository.
+	 */
+	public synchronized void refresh() {
+
+		Collection<JobExecution> latestJobExecutions = jobService.listLatestJobExecutions();
+		recentJobExecutions.refresh();
+
+		Map<String, Integer> jobCounts = jobService.countJobExecutionsByJob(ALL);
+		Map<String, Integer> jobFailures = jobService.countJobExecutionsByJob(BatchStatuses.UNSUCCESSFUL);
+		Map<String, Integer> liveJobCounts = new HashMap<String, Integer>();
+		Map<String, Integer> liveJobFailures = new HashMap<String, Integer>();
+		if (executionEventCollector != null) {
+			for (String jobName : jobCounts.keySet()) {
+				liveJobCounts.put(jobName, executionEventCollector.getJobExecutionCount(jobName));
+				liveJobFailures.put(jobName, executionEventCollector.getJobFailureCount(jobName));
+			}
+		}
+		Map<String, JobExecutionMetrics> jobs = new HashMap<String, JobExecutionMetrics>();
+		for (JobExecution latest : latestJobExecutions) {
+			String jobName = latest.getJobInstance().getJobName();
+			JobExecutionHistory history = new JobExecutionHistory(jobName);
+			for (JobExecution jobExecution : recentJobExecutions.get(jobName)) {
+				history.append(jobExecution);
+			}
+			jobs.put(jobName, new JobExecutionMetricsSummary(count(jobCounts, jobName), count(jobFailures, jobName),
+					history, latest));
+		}
+
+		recentStepExecutions.refresh();
+
+		Map<String, Map<String, Integer>> stepCounts = jobService.countStepExecutionsByStep(ALL);
+		Map<String, Map<String, Integer>> stepFailures = jobService
+				.countStepExecutionsByStep(BatchStatuses.UNSUCCESSFUL);
+		Map<String, Integer> liveStepCounts = new HashMap<String, Integer>();
+		Map<String, Integer> liveStepFailures = new HashMap<String, Integer>();
+		if (executionEventCollector != null) {
+			for (Map.Entry<String, Map<String, Integer>> entry : stepCounts.entrySet()) {
+				String jobName = entry.getKey();
+				for (String stepName : entry.getValue().keySet()) {
+					liveStepCounts.put(stepKey(jobName, stepName),
+							executionEventCollector.getStepExecutionCount(jobName, stepName));
+					liveStepFailures.put(stepKey(jobName, stepName),
+							executionEventCollector.getStepFailureCount(jobName, stepName));
+				}
+			}
+		}
+		Map<String, Map<String, StepExecutionMetrics>> steps = new HashMap<String, Map<String, StepExecutionMetrics>>();
+		for (Map.Entry<String, List<StepExecution>> entry : jobService.listLatestStepExecutions().entrySet()) {
+			String jobName = entry.getKey();
+			Map<String, StepExecutionMetrics> metrics = new HashMap<String, StepExecutionMetrics>();
+			for (StepExecution latest : entry.getValue()) {
+				String stepName = latest.getStepName();
+				StepExecutionHistory history = new StepExecutionHistory(stepName);
+				for (StepExecution stepExecution : recentStepExecutions.get(stepKey(jobName, stepName))) {
+					history.append(stepExecution);
+				}
+				metrics.put(stepName, new StepExecutionMetricsSummary(count(stepCounts.get(jobName), stepName),
+						count(stepFailures.get(jobName), stepName), history, latest));
+			}
+			steps.put(jobName, metrics);
+		}
+
+		refreshed = new Refreshed(new ExecutionMetricsSnapshot(jobs, steps), liveJobCounts, liveJobFailures,
+				liveStepCounts, liveStepFailures);
+
+	}
+
+	private static String stepKey(String jobName, String stepName) {
+		return jobName + "|" + stepName;
+	}
+
+	private static int count(Map<String, Integer> counts, String name) {
+		Integer count = counts == null ? null : counts.get(name);
+		return count == null ? 0 : count;
+	}
+
+	/**
+	 * A snapshot with the live counts of the {@link ExecutionEventCollector}
+	 * at the time the counts in it were read from the repository, so that the
+	 * live counts can be added to it later without counting anything twice.
+	 * The step counts are keyed by job and step name.
+	 */
+	private static class Refreshed {
+
+		private final ExecutionMetricsSnapshot snapshot;
+
+		private final Map<String, Integer> jobExecutionCounts;
+
+		private final Map<String, Integer> jobFailureCounts;
+
+		private final Map<String, Integer> stepExecutionCounts;
+
+		private final Map<String, Integer> stepFailureCounts;
+
+		public Refreshed(ExecutionMetricsSnapshot snapshot, Map<String, Integer> jobExecutionCounts,
+				Map<String, Integer> jobFailureCounts, Map<String, Integer> stepExecutionCounts,
+				Map<String, Integer> stepFailureCounts) {
+			this.snapshot = snapshot;
+			this.jobExecutionCounts = jobExecutionCounts;
+			this.jobFailureCounts = jobFailureCounts;
+			this.stepExecutionCounts = stepExecutionCounts;
+			this.stepFailureCounts = stepFailureCounts;
+		}
+
+	}
+
+	/**
+	 * The most recent executions for each key (a job or a step), kept up to
+	 * date with a fixed number of batched queries.
+	 */
+	private static abstract class RecentExecutions<T> {
+
+		/**
+		 * Recent executions by key, most recent first.
+		 */
+		private final Map<String, LinkedList<T>> executions = new HashMap<String, LinkedList<T>>();
+
+		/**
+		 * All the executions with an id above the floor are read on every
+		 * refresh (-1 before the first one).
+		 */
+		private long floor = -1;
+
+		public List<T> get(String key) {
+			List<T> recent = executions.get(key);
+			return recent == null ? Collections.<T> emptyList() : recent;
+		}
+
+		public void refresh() {
+			long last;
+			if (floor < 0) {
+				last = seed();
+				floor = 0;
+			}
+			else {
+				refreshUnfinished();
+				last = floor;
+			}
+			Map<String, List<T>> page;
+			int size;
+			do {
+				page = findExecutionsBefore(last, PAGE_SIZE);
+				size = 0;
+				for (Map.Entry<String, List<T>> entry : page.entrySet()) {
+					for (T execution : entry.getValue()) {
+						add(entry.getKey(), execution);
+						last = Math.max(last, getId(execution));
+						size++;
+					}
+				}
+			}
+			while (size == PAGE_SIZE);
+			floor = Math.max(floor, last - ID_WINDOW);
+		}
+
+		/**
+		 * Read back from the most recent executions until a page adds nothing
+		 * to the histories.
+		 * @return the largest id read
+		 */
+		private long seed() {
+			long last = 0;
+			long after = Long.MAX_VALUE;
+			for (int pages = 0; pages < SEED_PAGES; pages++) {
+				Map<String, List<T>> page = findExecutionsAfter(after, PAGE_SIZE);
+				int size = 0;
+				boolean added = false;
+				for (Map.Entry<String, List<T>> entry : page.entrySet()) {
+					for (T execution : entry.getValue()) {
+						added |= add(entry.getKey(), execution);
+						last = Math.max(last, getId(execution));
+						after = Math.min(after, getId(execution));
+						size++;
+					}
+				}
+				if (size < PAGE_SIZE || !added) {
+					break;
+				}
+			}
+			return last;
+		}
+
+		/**
+		 * Read the unfinished executions below the floor again, all at once.
+		 */
+		private void refreshUnfinished() {
+			Map<Long, String> keys = new LinkedHashMap<Long, String>();
+			for (Map.Entry<String, LinkedList<T>> entry : executions.entrySet()) {
+				for (Iterator<T> iterator = entry.getValue().iterator(); iterator.hasNext();) {
+					T execution = iterator.next();
+					if (getId(execution) <= floor && !isFinished(execution)) {
+						keys.put(getId(execution), entry.getKey());
+						// Executions that have since been deleted are forgotten
+						iterator.remove();
+					}
+				}
+			}
+			if (keys.isEmpty()) {
+				return;
+			}
+			for (T execution : findExecutions(keys.keySet())) {
+				add(keys.get(getId(execution)), execution);
+			}
+		}
+
+		/**
+		 * Add or replace an execution, keeping the most recent ones for its
+		 * key.
+		 * @return true if the execution is one of the most recent
+		 */
+		private boolean add(String key, T execution) {
+			LinkedList<T> recent = executions.get(key);
+			if (recent == null) {
+				recent = new LinkedList<T>();
+				executions.put(key, recent);
+			}
+			long id = getId(execution);
+			for (Iterator<T> iterator = recent.iterator(); iterator.hasNext();) {
+				if (getId(iterator.next()) == id) {
+					iterator.remove();
+				}
+			}
+			ListIterator<T> iterator = recent.listIterator();
+			while (iterator.hasNext()) {
+				if (getId(iterator.next()) < id) {
+					iterator.previous();
+					break;
+				}
+			}
+			iterator.add(execution);
+			if (recent.size() > HISTORY_SIZE) {
+				return recent.removeLast() != execution;
+			}
+			return true;
+		}
+
+		protected abstract long getId(T execution);
+
+		protected abstract boolean isFinished(T execution);
+
+		/**
+		 * @return the executions with ids less than afterId (at most count of
+		 * them, the largest ones) by key
+		 */
+		protected abstract Map<String, List<T>> findExecutionsAfter(long afterId, int count);
+
+		/**
+		 * @return the executions with ids greater than beforeId (at most count
+		 * of them, the smallest ones) by key
+		 */
+		protected abstract Map<String, List<T>> findExecutionsBefore(long beforeId, int count);
+
+		protected abstract Collection<T> findExecutions(Collection<Long> ids);
+
+	}
+
+	private class RecentJobExecutions extends RecentExecutions<JobExecution> {
+
+		@Override
+		protected long getId(JobExecution execution) {
+			return execution.getId();
+		}
+
+		@Override
+		protected boolean isFinished(JobExecution execution) {
+			return execution.getEndTime() != null;
+		}
+
+		@Override
+		protected Map<String, List<JobExecution>> findExecutionsAfter(long afterId, int count) {
+			return byJobName(jobService.listJobExecutionsAfter(afterId, count));
+		}
+
+		@Override
+		protected Map<String, List<JobExecution>> findExecutionsBefore(long beforeId, int count) {
+			return byJobName(jobService.listJobExecutionsBefore(beforeId, count));
+		}
+
+		@Override
+		protected Collection<JobExecution> findExecutions(Collection<Long> ids) {
+			return jobService.listJobExecutions(ids);
+		}
+
+		private Map<String, List<JobExecution>> byJobName(Collection<JobExecution> jobExecutions) {
+			Map<String, List<JobExecution>> result = new HashMap<String, List<JobExecution>>();
+			for (JobExecution jobExecution : jobExecutions) {
+				String jobName = jobExecution.getJobInstance().getJobName();
+				List<JobExecution> list = result.get(jobName);
+				if (list == null) {
+					list = new ArrayList<JobExecution>();
+					result.put(jobName, list);
+				}
+				list.add(jobExecution);
+			}
+			return result;
+		}
+
+	}
+
+	private class RecentStepExecutions extends RecentExecutions<StepExecution> {
+
+		@Override
+		protected long getId(StepExecution execution) {
+			return execution.getId();
+		}
+
+		@Override
+		protected boolean isFinished(StepExecution execution) {
+			return execution.getEndTime() != null;
+		}
+
+		@Override
+		protected Map<String, List<StepExecution>> findExecutionsAfter(long afterId, int count) {
+			return byStepKey(jobService.listStepExecutionsAfter(afterId, count));
+		}
+
+		@Override
+		protected Map<String, List<StepExecution>> findExecutionsBefore(long beforeId, int count) {
+			return byStepKey(jobService.listStepExecutionsBefore(beforeId, count));
+		}
+
+		@Override
+		protected Collection<StepExecution> findExecutions(Collection<Long> ids) {
+			return jobService.listStepExecutions(ids);
+		}
+
+		private Map<String, List<StepExecution>> byStepKey(Map<String, List<StepExecution>> stepExecutionsByJobName) {
+			Map<String, List<StepExecution>> result = new HashMap<String, List<StepExecution>>();
+			for (Map.Entry<String, List<StepExecution>> entry : stepExecutionsByJobName.entrySet()) {
+				for (StepExecution stepExecution : entry.getValue()) {
+					String key = stepKey(entry.getKey(), stepExecution.getStepName());
+					List<StepExecution> list = result.get(key);
+					if (list == null) {
+						list = new ArrayList<StepExecution>();
+						result.put(key, list);
+					}
+					list.add(stepExecution);
+				}
+			}
+			return result;
+		}
+
+	}
+
+}
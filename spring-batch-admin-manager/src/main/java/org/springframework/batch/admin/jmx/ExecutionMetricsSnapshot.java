@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.jmx;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view of the job and step execution metrics at a point in time.
+ * Metrics for jobs or steps that have never been executed are empty (zero
+ * counts and no latest execution).
+ *
+ * @since 2.0
+ */
+public class ExecutionMetricsSnapshot {
+
+	private final Map<String, JobExecutionMetrics> jobs;
+
+	private final Map<String, Map<String, StepExecutionMetrics>> steps;
+
+	private final long timestamp = System.currentTimeMillis();
+
+	/**
+	 * @param jobs the metrics for each job by name
+	 * @param steps the metrics for each step by job name and then step name
+	 */
+	public ExecutionMetricsSnapshot(Map<String, JobExecutionMetrics> jobs,
+			Map<String, Map<String, StepExecutionMetrics>> steps) {
+		this.jobs = Collections.unmodifiableMap(new HashMap<String, JobExecutionMetrics>(jobs));
+		Map<String, Map<String, StepExecutionMetrics>> copy = new HashMap<String, Map<String, StepExecutionMetrics>>();
+		for (Map.Entry<String, Map<String, StepExecutionMetrics>> entry : steps.entrySet()) {
+			copy.put(entry.getKey(),
+					Collections.unmodifiableMap(new HashMap<String, StepExecutionMetrics>(entry.getValue())));
+		}
+		this.steps = Collections.unmodifiableMap(copy);
+	}
+
+	/**
+	 * @return the time the snapshot was taken
+	 */
+	public Date getTimestamp() {
+		return new Date(timestamp);
+	}
+
+	/**
+	 * @return the names of the jobs that have been executed
+	 */
+	public Set<String> getJobNames() {
+		return jobs.keySet();
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @return the names of the steps of the job that have been executed
+	 */
+	public Set<String> getStepNames(String jobName) {
+		Map<String, StepExecutionMetrics> metrics = steps.get(jobName);
+		return metrics == null ? Collections.<String> emptySet() : metrics.keySet();
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @return the metrics for the job
+	 */
+	public JobExecutionMetrics getJobMetrics(String jobName) {
+		JobExecutionMetrics metrics = jobs.get(jobName);
+		return metrics == null ? JobExecutionMetricsSummary.EMPTY : metrics;
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @param stepName the name of a step in the job
+	 * @return the metrics for the step
+	 */
+	public StepExecutionMetrics getStepMetrics(String jobName, String stepName) {
+		Map<String, StepExecutionMetrics> metrics = steps.get(jobName);
+		StepExecutionMetrics result = metrics == null ? null : metrics.get(stepName);
+		return result == null ? StepExecutionMetricsSummary.EMPTY : result;
+	}
+
+}
@@ -36,10 +36,10 @@ public interface JobExecutionMetrics {
 	@ManagedMetric(metricType = MetricType.GAUGE, description = "Latest Duration Milliseconds")
 	double getLatestDuration();
 
-	@ManagedMetric(metricType = MetricType.GAUGE, description = "Mean Duration Milliseconds")
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Mean Duration Milliseconds (Last 10 Executions)")
 	double getMeanDuration();
 
-	@ManagedMetric(metricType = MetricType.GAUGE, description = "Max Duration Milliseconds")
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Max Duration Milliseconds (Last 10 Executions)")
 	double getMaxDuration();
 
 	@ManagedAttribute(description = "Latest Job Execution ID")
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.jmx;
+
+import java.util.Date;
+
+import org.springframework.batch.admin.domain.JobExecutionHistory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+/**
+ * Immutable {@link JobExecutionMetrics} computed once from the state of the
+ * repository, so that reading the attributes does not touch the database.
+ *
+ * @since 2.0
+ */
+final class JobExecutionMetricsSummary implements JobExecutionMetrics {
+
+	static final JobExecutionMetricsSummary EMPTY = new JobExecutionMetricsSummary(0, 0, null, null);
+
+	private final int executionCount;
+
+	private final int failureCount;
+
+	private final double latestDuration;
+
+	private final double meanDuration;
+
+	private final double maxDuration;
+
+	private final long latestExecutionId;
+
+	private final Date latestStartTime;
+
+	private final Date latestEndTime;
+
+	private final String latestExitCode;
+
+	private final String latestStatus;
+
+	private final String latestStepExitDescription;
+
+	private final String latestStepName;
+
+	private final boolean jobRunning;
+
+	/**
+	 * @param executionCount the number of executions of the job
+	 * @param failureCount the number of unsuccessful executions of the job
+	 * @param history the history of recent executions (or null)
+	 * @param latest the latest execution with its step executions (or null)
+	 */
+	JobExecutionMetricsSummary(int executionCount, int failureCount, JobExecutionHistory history, JobExecution latest) {
+		this(executionCount, failureCount, history == null ? 0 : history.getDuration().getMean(), history == null ? 0
+				: history.getDuration().getMax(), latest);
+	}
+
+	/**
+	 * @param metrics the metrics to take the counts and durations from
+	 * @param latest a more recent execution than the one in the metrics
+	 */
+	JobExecutionMetricsSummary(JobExecutionMetrics metrics, JobExecution latest) {
+		this(metrics.getExecutionCount(), metrics.getFailureCount(), metrics.getMeanDuration(), metrics
+				.getMaxDuration(), latest);
+	}
+
+	/**
+	 * @param metrics the metrics to copy
+	 * @param executionCount the number of executions of the job
+	 * @param failureCount the number of unsuccessful executions of the job
+	 */
+	private JobExecutionMetricsSummary(JobExecutionMetricsSummary metrics, int executionCount, int failureCount) {
+		this.executionCount = executionCount;
+		this.failureCount = failureCount;
+		this.meanDuration = metrics.meanDuration;
+		this.maxDuration = metrics.maxDuration;
+		this.latestDuration = metrics.latestDuration;
+		this.latestExecutionId = metrics.latestExecutionId;
+		this.latestStartTime = metrics.latestStartTime;
+		this.latestEndTime = metrics.latestEndTime;
+		this.latestExitCode = metrics.latestExitCode;
+		this.latestStatus = metrics.latestStatus;
+		this.latestStepExitDescription = metrics.latestStepExitDescription;
+		this.latestStepName = metrics.latestStepName;
+		this.jobRunning = metrics.jobRunning;
+	}
+
+	private JobExecutionMetricsSummary(int executionCount, int failureCount, double meanDuration,
+			double maxDuration, JobExecution latest) {
+		this.executionCount = executionCount;
+		this.failureCount = failureCount;
+		this.meanDuration = meanDuration;
+		this.maxDuration = maxDuration;
+		if (latest == null) {
+			latestDuration = 0;
+			latestExecutionId = -1;
+			latestStartTime = null;
+			latestEndTime = null;
+			latestExitCode = "NONE";
+			latestStatus = "NONE";
+			latestStepExitDescription = "";
+			latestStepName = "";
+			jobRunning = false;
+			return;
+		}
+		latestDuration = latest.getEndTime() == null || latest.getStartTime() == null ? 0 : latest.getEndTime()
+				.getTime() - latest.getStartTime().getTime();
+		latestExecutionId = latest.getId();
+		latestStartTime = copy(latest.getStartTime());
+		latestEndTime = copy(latest.getEndTime());
+		latestExitCode = latest.getExitStatus().getExitCode();
+		latestStatus = latest.getStatus().toString();
+		StepExecution stepExecution = getLatestStepExecution(latest);
+		latestStepExitDescription = stepExecution == null ? "" : stepExecution.getExitStatus().getExitDescription();
+		latestStepName = stepExecution == null ? "" : stepExecution.getStepName();
+		jobRunning = latest.isRunning();
+	}
+
+	/**
+	 * @param executionCount the number of executions of the job
+	 * @param failureCount the number of unsuccessful executions of the job
+	 * @return a copy of these metrics with the counts replaced
+	 */
+	JobExecutionMetricsSummary withCounts(int executionCount, int failureCount) {
+		return new JobExecutionMetricsSummary(this, executionCount, failureCount);
+	}
+
+	public int getExecutionCount() {
+		return executionCount;
+	}
+
+	public int getFailureCount() {
+		return failureCount;
+	}
+
+	public double getLatestDuration() {
+		return latestDuration;
+	}
+
+	public double getMeanDuration() {
+		return meanDuration;
+	}
+
+	public double getMaxDuration() {
+		return maxDuration;
+	}
+
+	public long getLatestExecutionId() {
+		return latestExecutionId;
+	}
+
+	public Date getLatestStartTime() {
+		return copy(latestStartTime);
+	}
+
+	public Date getLatestEndTime() {
+		return copy(latestEndTime);
+	}
+
+	public String getLatestExitCode() {
+		return latestExitCode;
+	}
+
+	public String getLatestStatus() {
+		return latestStatus;
+	}
+
+	public String getLatestStepExitDescription() {
+		return latestStepExitDescription;
+	}
+
+	public String getLatestStepName() {
+		return latestStepName;
+	}
+
+	public boolean isJobRunning() {
+		return jobRunning;
+	}
+
+	private static Date copy(Date date) {
+		return date == null ? null : new Date(date.getTime());
+	}
+
+	private static StepExecution getLatestStepExecution(JobExecution jobExecution) {
+		StepExecution stepExecution = null;
+		Date latest = new Date(0L);
+		for (StepExecution candidate : jobExecution.getStepExecutions()) {
+			Date stepDate = candidate.getEndTime();
+			stepDate = stepDate == null ? new Date() : stepDate;
+			if (stepDate.after(latest)) {
+				latest = stepDate;
+				stepExecution = candidate;
+			}
+			else if (stepExecution != null && stepDate.equals(latest) && candidate.getId() > stepExecution.getId()) {
+				// Tie breaker using ID
+				stepExecution = candidate;
+			}
+		}
+		return stepExecution;
+	}
+
+}
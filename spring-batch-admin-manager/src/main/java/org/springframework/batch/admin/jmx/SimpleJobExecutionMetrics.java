@@ -47,30 +47,12 @@ public class SimpleJobExecutionMetrics implements JobExecutionMetrics {
 	}
 
 	public int getFailureCount() {
-
-		int pageSize = 100;
-		int start = 0;
-		int count = 0;
-
-		Collection<JobExecution> jobExecutions;
-		do {
-
-			try {
-				jobExecutions = jobService.listJobExecutionsForJob(jobName, start, pageSize);
-				start += pageSize;
-			}
-			catch (NoSuchJobException e) {
-				throw new IllegalStateException("Cannot locate job=" + jobName, e);
-			}
-			for (JobExecution jobExecution : jobExecutions) {
-				if (jobExecution.getStatus().isUnsuccessful()) {
-					count++;
-				}
-			}
-		} while (!jobExecutions.isEmpty());
-
-		return count;
-
+		try {
+			return jobService.countJobExecutionsForJob(jobName, BatchStatuses.UNSUCCESSFUL);
+		}
+		catch (NoSuchJobException e) {
+			throw new IllegalStateException("Cannot locate job=" + jobName, e);
+		}
 	}
 
 	public double getLatestDuration() {
@@ -199,4 +181,4 @@ public class SimpleJobExecutionMetrics implements JobExecutionMetrics {
 		return jobExecutionHistory;
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -43,20 +43,7 @@ public class SimpleStepExecutionMetrics implements StepExecutionMetrics {
 	}
 
 	public int getFailureCount() {
-		int count = 0;
-		int start = 0;
-		int pageSize = 100;
-		Collection<StepExecution> stepExecutions;
-		do {
-			stepExecutions = jobService.listStepExecutionsForStep(jobName, stepName, start, pageSize);
-			start += pageSize;
-			for (StepExecution stepExecution : stepExecutions) {
-				if (stepExecution.getStatus().isUnsuccessful()) {
-					count++;
-				}
-			}
-		} while (!stepExecutions.isEmpty());
-		return count;
+		return jobService.countStepExecutionsForStep(jobName, stepName, BatchStatuses.UNSUCCESSFUL);
 	}
 
 	public double getLatestDuration() {
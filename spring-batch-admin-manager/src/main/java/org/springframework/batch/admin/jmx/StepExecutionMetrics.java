@@ -34,10 +34,10 @@ public interface StepExecutionMetrics {
 	@ManagedMetric(metricType = MetricType.GAUGE, description = "Latest Duration Milliseconds")
 	double getLatestDuration();
 
-	@ManagedMetric(metricType = MetricType.GAUGE, description = "Mean Duration Milliseconds")
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Mean Duration Milliseconds (Last 10 Executions)")
 	double getMeanDuration();
 
-	@ManagedMetric(metricType = MetricType.GAUGE, description = "Max Duration Milliseconds")
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Max Duration Milliseconds (Last 10 Executions)")
 	double getMaxDuration();
 
 	@ManagedMetric(metricType = MetricType.GAUGE, description = "Latest Step Execution ID")
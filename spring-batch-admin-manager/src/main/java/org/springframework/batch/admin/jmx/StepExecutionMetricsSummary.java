@@ -0,0 +1,201 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.jmx;
+
+import org.springframework.batch.admin.domain.StepExecutionHistory;
+import org.springframework.batch.core.StepExecution;
+
+/**
+ * Immutable {@link StepExecutionMetrics} computed once from the state of the
+ * repository, so that reading the attributes does not touch the database.
+ *
+ * @since 2.0
+ */
+final class StepExecutionMetricsSummary implements StepExecutionMetrics {
+
+	static final StepExecutionMetricsSummary EMPTY = new StepExecutionMetricsSummary(0, 0, null, null);
+
+	private final int executionCount;
+
+	private final int failureCount;
+
+	private final double meanDuration;
+
+	private final double maxDuration;
+
+	private final long latestStartTime;
+
+	private final long latestEndTime;
+
+	private final long latestExecutionId;
+
+	private final int latestReadCount;
+
+	private final int latestWriteCount;
+
+	private final int latestFilterCount;
+
+	private final int latestSkipCount;
+
+	private final int latestCommitCount;
+
+	private final int latestRollbackCount;
+
+	private final String latestStatus;
+
+	private final String latestExitCode;
+
+	private final String latestExitDescription;
+
+	/**
+	 * @param executionCount the number of executions of the step
+	 * @param failureCount the number of unsuccessful executions of the step
+	 * @param history the history of finished executions (or null)
+	 * @param latest the latest execution (or null)
+	 */
+	StepExecutionMetricsSummary(int executionCount, int failureCount, StepExecutionHistory history,
+			StepExecution latest) {
+		this(executionCount, failureCount, history == null ? 0 : history.getDuration().getMean(), history == null ? 0
+				: history.getDuration().getMax(), latest);
+	}
+
+	/**
+	 * @param metrics the metrics to take the counts and durations from
+	 * @param latest a more recent execution than the one in the metrics
+	 */
+	StepExecutionMetricsSummary(StepExecutionMetrics metrics, StepExecution latest) {
+		this(metrics.getExecutionCount(), metrics.getFailureCount(), metrics.getMeanDuration(), metrics
+				.getMaxDuration(), latest);
+	}
+
+	/**
+	 * @param metrics the metrics to copy
+	 * @param executionCount the number of executions of the step
+	 * @param failureCount the number of unsuccessful executions of the step
+	 */
+	private StepExecutionMetricsSummary(StepExecutionMetricsSummary metrics, int executionCount, int failureCount) {
+		this.executionCount = executionCount;
+		this.failureCount = failureCount;
+		this.meanDuration = metrics.meanDuration;
+		this.maxDuration = metrics.maxDuration;
+		this.latestStartTime = metrics.latestStartTime;
+		this.latestEndTime = metrics.latestEndTime;
+		this.latestExecutionId = metrics.latestExecutionId;
+		this.latestReadCount = metrics.latestReadCount;
+		this.latestWriteCount = metrics.latestWriteCount;
+		this.latestFilterCount = metrics.latestFilterCount;
+		this.latestSkipCount = metrics.latestSkipCount;
+		this.latestCommitCount = metrics.latestCommitCount;
+		this.latestRollbackCount = metrics.latestRollbackCount;
+		this.latestStatus = metrics.latestStatus;
+		this.latestExitCode = metrics.latestExitCode;
+		this.latestExitDescription = metrics.latestExitDescription;
+	}
+
+	private StepExecutionMetricsSummary(int executionCount, int failureCount, double meanDuration,
+			double maxDuration, StepExecution latest) {
+		this.executionCount = executionCount;
+		this.failureCount = failureCount;
+		this.meanDuration = meanDuration;
+		this.maxDuration = maxDuration;
+		this.latestStartTime = latest == null || latest.getStartTime() == null ? -1 : latest.getStartTime().getTime();
+		this.latestEndTime = latest == null || latest.getEndTime() == null ? -1 : latest.getEndTime().getTime();
+		this.latestExecutionId = latest == null ? -1 : latest.getId();
+		this.latestReadCount = latest == null ? 0 : latest.getReadCount();
+		this.latestWriteCount = latest == null ? 0 : latest.getWriteCount();
+		this.latestFilterCount = latest == null ? 0 : latest.getFilterCount();
+		this.latestSkipCount = latest == null ? 0 : latest.getSkipCount();
+		this.latestCommitCount = latest == null ? 0 : latest.getCommitCount();
+		this.latestRollbackCount = latest == null ? 0 : latest.getRollbackCount();
+		this.latestStatus = latest == null ? "NONE" : latest.getStatus().toString();
+		this.latestExitCode = latest == null ? "NONE" : latest.getExitStatus().getExitCode();
+		this.latestExitDescription = latest == null ? "" : latest.getExitStatus().getExitDescription();
+	}
+
+	/**
+	 * @param executionCount the number of executions of the step
+	 * @param failureCount the number of unsuccessful executions of the step
+	 * @return a copy of these metrics with the counts replaced
+	 */
+	StepExecutionMetricsSummary withCounts(int executionCount, int failureCount) {
+		return new StepExecutionMetricsSummary(this, executionCount, failureCount);
+	}
+
+	public int getExecutionCount() {
+		return executionCount;
+	}
+
+	public int getFailureCount() {
+		return failureCount;
+	}
+
+	public double getLatestDuration() {
+		if (latestStartTime < 0) {
+			return 0;
+		}
+		// A step that is still running has been running until now
+		return (latestEndTime < 0 ? System.currentTimeMillis() : latestEndTime) - latestStartTime;
+	}
+
+	public double getMeanDuration() {
+		return meanDuration;
+	}
+
+	public double getMaxDuration() {
+		return maxDuration;
+	}
+
+	public long getLatestExecutionId() {
+		return latestExecutionId;
+	}
+
+	public int getLatestReadCount() {
+		return latestReadCount;
+	}
+
+	public int getLatestWriteCount() {
+		return latestWriteCount;
+	}
+
+	public int getLatestFilterCount() {
+		return latestFilterCount;
+	}
+
+	public int getLatestSkipCount() {
+		return latestSkipCount;
+	}
+
+	public int getLatestCommitCount() {
+		return latestCommitCount;
+	}
+
+	public int getLatestRollbackCount() {
+		return latestRollbackCount;
+	}
+
+	public String getLatestStatus() {
+		return latestStatus;
+	}
+
+	public String getLatestExitCode() {
+		return latestExitCode;
+	}
+
+	public String getLatestExitDescription() {
+		return latestExitDescription;
+	}
+
+}
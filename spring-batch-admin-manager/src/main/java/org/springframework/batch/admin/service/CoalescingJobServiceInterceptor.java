@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+
+/**
+ * Interceptor for the read methods of a {@link JobService} that lets
+ * concurrent identical calls share one invocation: the first caller runs the
+ * method and the others that arrive with the same method and arguments while
+ * it is in flight wait for, and return, the same result (or exception).
+ * Nothing is kept once the call completes, so this is not a cache.
+ * <p>
+ * Each caller gets its own copy of a collection or map result, so callers can
+ * add to or sort what they get, but the elements are the same instances, so
+ * they must not modify those. The manager context applies it to the
+ * <code>jobService</code> with a
+ * {@link org.springframework.aop.framework.ProxyFactoryBean}, e.g.
+ *
+ * <pre>
+ * &lt;bean id="jobService" class="org.springframework.aop.framework.ProxyFactoryBean"&gt;
+ *     &lt;property name="proxyInterfaces" value="org.springframework.batch.admin.service.JobService" /&gt;
+ *     &lt;property name="targetName" value="jobServiceTarget" /&gt;
+ *     &lt;property name="interceptorNames" value="jobServiceCoalescer" /&gt;
+ * &lt;/bean&gt;
+ * </pre>
+ *
+ * @since 2.0
+ */
+@ManagedResource
+public class CoalescingJobServiceInterceptor implements MethodInterceptor {
+
+	private Set<String> methodNames = new HashSet<String>(Arrays.asList("listJobExecutions",
+			"listJobExecutionSummaries", "countJobExecutions", "getJobExecution", "listJobs", "countJobs",
+			"listJobInfos", "listJobExecutionsForJob", "countJobExecutionsForJob", "getStepExecutions"));
+
+	private final ConcurrentMap<List<Object>, Call> calls = new ConcurrentHashMap<List<Object>, Call>();
+
+	private final AtomicLong requestCount = new AtomicLong();
+
+	private final AtomicLong invocationCount = new AtomicLong();
+
+	/**
+	 * The names of the methods whose calls can be shared. The defaults are
+	 * the read methods used by the list and detail pages and by monitoring.
+	 *
+	 * @param methodNames the method names to set
+	 */
+	public void setMethodNames(Collection<String> methodNames) {
+		this.methodNames = new HashSet<String>(methodNames);
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+
+		if (!methodNames.contains(invocation.getMethod().getName())) {
+			return invocation.proceed();
+		}
+
+		Object[] arguments = invocation.getArguments();
+		Object[] key = new Object[arguments.length + 1];
+		key[0] = invocation.getMethod();
+		System.arraycopy(arguments, 0, key, 1, arguments.length);
+		List<Object> id = Arrays.asList(key);
+
+		Call call = new Call();
+		Call existing = calls.putIfAbsent(id, call);
+		requestCount.incrementAndGet();
+		if (existing != null) {
+			return copy(existing.get());
+		}
+
+		invocationCount.incrementAndGet();
+		try {
+			Object result = invocation.proceed();
+			call.setResult(result);
+			return copy(result);
+		}
+		catch (Throwable e) {
+			call.setFailure(e);
+			throw e;
+		}
+		finally {
+			calls.remove(id, call);
+		}
+
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Coalescable Call Count")
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Invocation Count")
+	public long getInvocationCount() {
+		return invocationCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Coalesced Call Count")
+	public long getCoalescedCount() {
+		return requestCount.get() - invocationCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Ratio of Coalesced to Coalescable Calls")
+	public double getCoalesceRatio() {
+		long requests = requestCount.get();
+		return requests == 0 ? 0 : (double) getCoalescedCount() / requests;
+	}
+
+	/**
+	 * A copy of a collection or map result for one caller, so that the callers
+	 * sharing it do not see each other's changes. The result held by the call
+	 * is never handed out, so it is only ever read.
+	 */
+	private static Object copy(Object result) {
+		if (result instanceof List) {
+			return new ArrayList<Object>((List<?>) result);
+		}
+		if (result instanceof Set) {
+			return new LinkedHashSet<Object>((Set<?>) result);
+		}
+		if (result instanceof Collection) {
+			return new ArrayList<Object>((Collection<?>) result);
+		}
+		if (result instanceof Map) {
+			return new LinkedHashMap<Object, Object>((Map<?, ?>) result);
+		}
+		return result;
+	}
+
+	/**
+	 * The outcome of a call in flight.
+	 */
+	private static class Call {
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		private volatile Object result;
+
+		private volatile Throwable failure;
+
+		public void setResult(Object result) {
+			this.result = result;
+			done.countDown();
+		}
+
+		public void setFailure(Throwable failure) {
+			this.failure = failure;
+			done.countDown();
+		}
+
+		public Object get() throws Throwable {
+			try {
+				done.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a shared call to complete", e);
+			}
+			if (failure != null) {
+				throw failure;
+			}
+			return result;
+		}
+
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+import org.springframework.util.Base64Utils;
+import org.springframework.util.FileCopyUtils;
+
+/**
+ * An {@link ExecutionContextSerializer} that compresses the output of another
+ * serializer with GZIP. A compressed context is stored as a
+ * {@value #HEADER} marker followed by the compressed bytes in Base64, so it
+ * is still plain ASCII text that any CLOB column accepts. Contexts without
+ * the marker, e.g. the ones already in the repository, or ones smaller than
+ * the {@link #setThreshold(int) threshold}, are passed straight to the
+ * delegate, so readers do not need to know which contexts are compressed.
+ * <p>
+ * To write compressed contexts the job repository has to use this
+ * serializer; the job service and job explorer need it to read them.
+ * Registered as a bean it exposes the compression ratio and the encoding and
+ * decoding times as JMX metrics.
+ *
+ * @since 2.0
+ */
+@ManagedResource
+public class CompressingExecutionContextSerializer implements ExecutionContextSerializer {
+
+	/**
+	 * The marker at the start of a compressed context.
+	 */
+	public static final String HEADER = "GZIP:";
+
+	private static final Charset ASCII = Charset.forName("US-ASCII");
+
+	private static final byte[] HEADER_BYTES = HEADER.getBytes(ASCII);
+
+	private final ExecutionContextSerializer delegate;
+
+	private int threshold = 1024;
+
+	private final AtomicLong encodeCount = new AtomicLong();
+
+	private final AtomicLong encodeNanos = new AtomicLong();
+
+	private final AtomicLong uncompressedBytes = new AtomicLong();
+
+	private final AtomicLong compressedBytes = new AtomicLong();
+
+	private final AtomicLong decodeCount = new AtomicLong();
+
+	private final AtomicLong decodeNanos = new AtomicLong();
+
+	/**
+	 * @param delegate the serializer that converts the context to and from
+	 * bytes
+	 */
+	public CompressingExecutionContextSerializer(ExecutionContextSerializer delegate) {
+		Assert.notNull(delegate, "A delegate serializer is required");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * The size in bytes of the serialized context below which it is not
+	 * compressed (default 1024).
+	 *
+	 * @param threshold the threshold to set
+	 */
+	public void setThreshold(int threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void serialize(Map<String, Object> context, OutputStream out) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		delegate.serialize(context, bytes);
+		if (bytes.size() < threshold) {
+			bytes.writeTo(out);
+			return;
+		}
+		long start = System.nanoTime();
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.size() / 4);
+		GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+		bytes.writeTo(gzip);
+		gzip.close();
+		byte[] encoded = Base64Utils.encode(compressed.toByteArray());
+		encodeNanos.addAndGet(System.nanoTime() - start);
+		encodeCount.incrementAndGet();
+		uncompressedBytes.addAndGet(bytes.size());
+		compressedBytes.addAndGet(HEADER_BYTES.length + encoded.length);
+		out.write(HEADER_BYTES);
+		out.write(encoded);
+	}
+
+	@Override
+	public Map<String, Object> deserialize(InputStream in) throws IOException {
+		InputStream input = in.markSupported() ? in : new BufferedInputStream(in);
+		if (!isCompressed(input)) {
+			return delegate.deserialize(input);
+		}
+		long start = System.nanoTime();
+		byte[] decoded = Base64Utils.decode(FileCopyUtils.copyToByteArray(input));
+		byte[] bytes = FileCopyUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(decoded)));
+		decodeNanos.addAndGet(System.nanoTime() - start);
+		decodeCount.incrementAndGet();
+		return delegate.deserialize(new ByteArrayInputStream(bytes));
+	}
+
+	/**
+	 * Consume the header if it is there, otherwise leave the stream where it
+	 * was.
+	 */
+	private boolean isCompressed(InputStream input) throws IOException {
+		input.mark(HEADER_BYTES.length);
+		for (byte expected : HEADER_BYTES) {
+			if (input.read() != expected) {
+				input.reset();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Compressed Context Count")
+	public long getCompressedCount() {
+		return encodeCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Decompressed Context Count")
+	public long getDecompressedCount() {
+		return decodeCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Mean Compression Ratio")
+	public double getCompressionRatio() {
+		long compressed = compressedBytes.get();
+		return compressed == 0 ? 0 : (double) uncompressedBytes.get() / compressed;
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Mean Compression Time Milliseconds")
+	public double getMeanEncodeTime() {
+		return mean(encodeNanos, encodeCount);
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Mean Decompression Time Milliseconds")
+	public double getMeanDecodeTime() {
+		return mean(decodeNanos, decodeCount);
+	}
+
+	private static double mean(AtomicLong nanos, AtomicLong count) {
+		long n = count.get();
+		return n == 0 ? 0 : nanos.get() / 1000000. / n;
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.Date;
+
+import com.fasterxml.jackson.databind.util.ISO8601Utils;
+
+/**
+ * Writes exported rows as comma separated values (RFC 4180), with a header
+ * line of column names. Dates are written as ISO-8601 strings in UTC.
+ *
+ * @since 2.0
+ */
+public class CsvExecutionExportWriter implements ExecutionExportWriter {
+
+	private static final String LINE_SEPARATOR = "\r\n";
+
+	private final Writer writer;
+
+	/**
+	 * @param outputStream the stream to write to (in UTF-8)
+	 */
+	public CsvExecutionExportWriter(OutputStream outputStream) {
+		try {
+			this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, "UTF-8"));
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException("UTF-8 is not supported", e);
+		}
+	}
+
+	@Override
+	public void start(String[] columns) throws IOException {
+		write(columns);
+	}
+
+	@Override
+	public void write(Object[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			Object value = values[i];
+			if (value instanceof Date) {
+				writer.write(ISO8601Utils.format((Date) value, true));
+			}
+			else if (value instanceof String) {
+				writeString((String) value);
+			}
+			else if (value != null) {
+				writer.write(value.toString());
+			}
+		}
+		writer.write(LINE_SEPARATOR);
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writer.flush();
+	}
+
+	private void writeString(String value) throws IOException {
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+		}
+		if (!quote) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+/**
+ * Listener that keeps the executions of jobs running in this process in
+ * memory, so that their state can be read without polling the database. The
+ * executions held are the same instances that the jobs update as they run, so
+ * they are always up to date. It also counts the executions of each job and
+ * step started in this process, and the ones that finished unsuccessfully.
+ * <p>
+ * To be useful the listener has to be registered with all the jobs and steps,
+ * e.g. through a
+ * {@link org.springframework.batch.admin.configuration.ListenerAttachingJobRegistry}.
+ * Executions of jobs running elsewhere are not seen, so the database remains
+ * the source for everything else.
+ *
+ * @since 2.0
+ */
+public class ExecutionEventCollector implements JobExecutionListener, StepExecutionListener {
+
+	private final ConcurrentMap<Long, JobExecution> runningJobExecutions = new ConcurrentHashMap<Long, JobExecution>();
+
+	private final ConcurrentMap<String, JobExecution> latestJobExecutions = new ConcurrentHashMap<String, JobExecution>();
+
+	private final ConcurrentMap<String, StepExecution> latestStepExecutions = new ConcurrentHashMap<String, StepExecution>();
+
+	private final ConcurrentMap<String, AtomicInteger> jobExecutionCounts = new ConcurrentHashMap<String, AtomicInteger>();
+
+	private final ConcurrentMap<String, AtomicInteger> jobFailureCounts = new ConcurrentHashMap<String, AtomicInteger>();
+
+	private final ConcurrentMap<String, AtomicInteger> stepExecutionCounts = new ConcurrentHashMap<String, AtomicInteger>();
+
+	private final ConcurrentMap<String, AtomicInteger> stepFailureCounts = new ConcurrentHashMap<String, AtomicInteger>();
+
+	public void beforeJob(JobExecution jobExecution) {
+		String jobName = jobExecution.getJobInstance().getJobName();
+		runningJobExecutions.put(jobExecution.getId(), jobExecution);
+		latestJobExecutions.put(jobName, jobExecution);
+		increment(jobExecutionCounts, jobName);
+	}
+
+	public void afterJob(JobExecution jobExecution) {
+		runningJobExecutions.remove(jobExecution.getId());
+		if (jobExecution.getStatus().isUnsuccessful()) {
+			increment(jobFailureCounts, jobExecution.getJobInstance().getJobName());
+		}
+	}
+
+	public void beforeStep(StepExecution stepExecution) {
+		String key = getStepKey(stepExecution);
+		latestStepExecutions.put(key, stepExecution);
+		increment(stepExecutionCounts, key);
+	}
+
+	public ExitStatus afterStep(StepExecution stepExecution) {
+		if (stepExecution.getStatus().isUnsuccessful()) {
+			increment(stepFailureCounts, getStepKey(stepExecution));
+		}
+		return null;
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @return the number of executions of the job started in this process
+	 */
+	public int getJobExecutionCount(String jobName) {
+		return get(jobExecutionCounts, jobName);
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @return the number of executions of the job in this process that
+	 * finished unsuccessfully
+	 */
+	public int getJobFailureCount(String jobName) {
+		return get(jobFailureCounts, jobName);
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @param stepName the name of a step in the job
+	 * @return the number of executions of the step started in this process
+	 */
+	public int getStepExecutionCount(String jobName, String stepName) {
+		return get(stepExecutionCounts, getStepKey(jobName, stepName));
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @param stepName the name of a step in the job
+	 * @return the number of executions of the step in this process that
+	 * finished unsuccessfully
+	 */
+	public int getStepFailureCount(String jobName, String stepName) {
+		return get(stepFailureCounts, getStepKey(jobName, stepName));
+	}
+
+	/**
+	 * @param jobExecutionId the id of a job execution
+	 * @return the live job execution if it is running in this process, or
+	 * null
+	 */
+	public JobExecution getRunningJobExecution(Long jobExecutionId) {
+		return runningJobExecutions.get(jobExecutionId);
+	}
+
+	/**
+	 * @param jobExecutionId the id of a job execution
+	 * @param stepExecutionId the id of a step execution in the job execution
+	 * @return the live step execution if its job is running in this process,
+	 * or null
+	 */
+	public StepExecution getRunningStepExecution(Long jobExecutionId, Long stepExecutionId) {
+		JobExecution jobExecution = runningJobExecutions.get(jobExecutionId);
+		if (jobExecution == null) {
+			return null;
+		}
+		for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+			if (stepExecutionId.equals(stepExecution.getId())) {
+				return stepExecution;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the live job executions running in this process
+	 */
+	public Collection<JobExecution> getRunningJobExecutions() {
+		return new ArrayList<JobExecution>(runningJobExecutions.values());
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @return the live job execution that was started last in this process
+	 * (running or not), or null if there is none
+	 */
+	public JobExecution getLatestJobExecution(String jobName) {
+		return latestJobExecutions.get(jobName);
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @param stepName the name of a step in the job
+	 * @return the live step execution that was started last in this process
+	 * (running or not), or null if there is none
+	 */
+	public StepExecution getLatestStepExecution(String jobName, String stepName) {
+		return latestStepExecutions.get(getStepKey(jobName, stepName));
+	}
+
+	private String getStepKey(StepExecution stepExecution) {
+		return getStepKey(stepExecution.getJobExecution().getJobInstance().getJobName(), stepExecution.getStepName());
+	}
+
+	private String getStepKey(String jobName, String stepName) {
+		return jobName + "/" + stepName;
+	}
+
+	private static void increment(ConcurrentMap<String, AtomicInteger> counts, String key) {
+		AtomicInteger count = counts.get(key);
+		if (count == null) {
+			AtomicInteger existing = counts.putIfAbsent(key, count = new AtomicInteger());
+			if (existing != null) {
+				count = existing;
+			}
+		}
+		count.incrementAndGet();
+	}
+
+	private static int get(ConcurrentMap<String, AtomicInteger> counts, String key) {
+		AtomicInteger count = counts.get(key);
+		return count == null ? 0 : count.get();
+	}
+
+}
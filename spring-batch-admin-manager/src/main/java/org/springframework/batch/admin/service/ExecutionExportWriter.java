@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.io.IOException;
+
+/**
+ * Strategy for writing the rows exported by an {@link ExecutionHistoryExporter}
+ * in some format. The rows are passed on as soon as they are read, so an
+ * implementation should not hold on to them.
+ *
+ * @since 2.0
+ */
+public interface ExecutionExportWriter {
+
+	/**
+	 * Start the export.
+	 *
+	 * @param columns the names of the columns of every row
+	 * @throws IOException if the output cannot be written
+	 */
+	void start(String[] columns) throws IOException;
+
+	/**
+	 * Write a row. The array is reused for the next row.
+	 *
+	 * @param values the values of the columns (a {@link Long},
+	 * {@link String}, {@link java.util.Date} or null each)
+	 * @throws IOException if the output cannot be written
+	 */
+	void write(Object[] values) throws IOException;
+
+	/**
+	 * Finish the export and flush the output (without closing it).
+	 *
+	 * @throws IOException if the output cannot be written
+	 */
+	void finish() throws IOException;
+
+}
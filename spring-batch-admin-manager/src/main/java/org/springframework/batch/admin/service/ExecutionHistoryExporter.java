@@ -0,0 +1,262 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.repository.dao.AbstractJdbcBatchMetadataDao;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Exports the history of job and step executions straight from the batch
+ * meta-data tables, e.g. for capacity analysis in other tools. The rows are
+ * read through a single forward-only cursor with a configurable
+ * {@link #setFetchSize(int) fetch size}, and each one is handed to an
+ * {@link ExecutionExportWriter} as soon as it is read, so the memory used
+ * does not depend on the number of rows exported.
+ * <p>
+ * The export holds a connection until the last row has been written. If a
+ * transaction manager is provided the cursor is read in a read-only
+ * transaction, which some drivers (e.g. PostgreSQL) need to honour the fetch
+ * size.
+ *
+ * @since 2.0
+ */
+public class ExecutionHistoryExporter implements InitializingBean {
+
+	private static final String JOB_EXECUTIONS = "SELECT E.JOB_EXECUTION_ID, E.JOB_INSTANCE_ID, I.JOB_NAME, "
+			+ "E.CREATE_TIME, E.START_TIME, E.END_TIME, E.STATUS, E.EXIT_CODE, E.LAST_UPDATED, E.VERSION "
+			+ "from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I where E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID"
+			+ "%WHERE% order by E.JOB_EXECUTION_ID";
+
+	private static final String[] JOB_COLUMNS = { "jobExecutionId", "jobInstanceId", "jobName", "createTime",
+			"startTime", "endTime", "status", "exitCode", "lastUpdated", "version" };
+
+	private static final ColumnType[] JOB_TYPES = { ColumnType.LONG, ColumnType.LONG, ColumnType.STRING,
+			ColumnType.TIMESTAMP, ColumnType.TIMESTAMP, ColumnType.TIMESTAMP, ColumnType.STRING, ColumnType.STRING,
+			ColumnType.TIMESTAMP, ColumnType.LONG };
+
+	private static final String STEP_EXECUTIONS = "SELECT S.STEP_EXECUTION_ID, S.JOB_EXECUTION_ID, I.JOB_NAME, "
+			+ "S.STEP_NAME, S.START_TIME, S.END_TIME, S.STATUS, S.COMMIT_COUNT, S.READ_COUNT, S.FILTER_COUNT, "
+			+ "S.WRITE_COUNT, S.READ_SKIP_COUNT, S.WRITE_SKIP_COUNT, S.PROCESS_SKIP_COUNT, S.ROLLBACK_COUNT, "
+			+ "S.EXIT_CODE, S.LAST_UPDATED, S.VERSION from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION E, "
+			+ "%PREFIX%JOB_INSTANCE I where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID "
+			+ "and E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID%WHERE% order by S.STEP_EXECUTION_ID";
+
+	private static final String[] STEP_COLUMNS = { "stepExecutionId", "jobExecutionId", "jobName", "stepName",
+			"startTime", "endTime", "status", "commitCount", "readCount", "filterCount", "writeCount",
+			"readSkipCount", "writeSkipCount", "processSkipCount", "rollbackCount", "exitCode", "lastUpdated",
+			"version" };
+
+	private static final ColumnType[] STEP_TYPES = { ColumnType.LONG, ColumnType.LONG, ColumnType.STRING,
+			ColumnType.STRING, ColumnType.TIMESTAMP, ColumnType.TIMESTAMP, ColumnType.STRING, ColumnType.LONG,
+			ColumnType.LONG, ColumnType.LONG, ColumnType.LONG, ColumnType.LONG, ColumnType.LONG, ColumnType.LONG,
+			ColumnType.LONG, ColumnType.STRING, ColumnType.TIMESTAMP, ColumnType.LONG };
+
+	private enum ColumnType {
+		LONG, STRING, TIMESTAMP
+	}
+
+	private DataSource dataSource;
+
+	private PlatformTransactionManager transactionManager;
+
+	private String tablePrefix = AbstractJdbcBatchMetadataDao.DEFAULT_TABLE_PREFIX;
+
+	private int fetchSize = 1000;
+
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * @param dataSource the data source of the batch meta-data tables
+	 */
+	public void setDataSource(DataSource dataSource) {
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Optional transaction manager for the data source, to read the cursor in
+	 * a read-only transaction.
+	 *
+	 * @param transactionManager the transaction manager to set
+	 */
+	public void setTransactionManager(PlatformTransactionManager transactionManager) {
+		this.transactionManager = transactionManager;
+	}
+
+	/**
+	 * @param tablePrefix the prefix of the batch meta-data tables (default
+	 * <code>BATCH_</code>)
+	 */
+	public void setTablePrefix(String tablePrefix) {
+		this.tablePrefix = tablePrefix;
+	}
+
+	/**
+	 * The number of rows the driver should fetch from the database at a time
+	 * (default 1000). Some drivers need a special value to stream the rows
+	 * instead of reading them all at once (e.g. MySQL needs
+	 * {@link Integer#MIN_VALUE}).
+	 *
+	 * @param fetchSize the fetch size to set
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		Assert.state(dataSource != null, "DataSource must be provided");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	/**
+	 * Export the job executions that match the criteria, in order of id.
+	 *
+	 * @param jobName the name of the job (with '*' as a wildcard), or null for
+	 * all jobs
+	 * @param from the earliest start time to include, or null
+	 * @param to the start time to stop before, or null
+	 * @param writer the writer for the rows
+	 * @throws IOException if the rows cannot be written
+	 */
+	public void exportJobExecutions(String jobName, Date from, Date to, ExecutionExportWriter writer)
+			throws IOException {
+		export(JOB_EXECUTIONS, "E", JOB_COLUMNS, JOB_TYPES, jobName, from, to, writer);
+	}
+
+	/**
+	 * Export the step executions that match the criteria, in order of id.
+	 *
+	 * @param jobName the name of the job (with '*' as a wildcard), or null for
+	 * all jobs
+	 * @param from the earliest start time (of the step execution) to include,
+	 * or null
+	 * @param to the start time to stop before, or null
+	 * @param writer the writer for the rows
+	 * @throws IOException if the rows cannot be written
+	 */
+	public void exportStepExecutions(String jobName, Date from, Date to, ExecutionExportWriter writer)
+			throws IOException {
+		export(STEP_EXECUTIONS, "S", STEP_COLUMNS, STEP_TYPES, jobName, from, to, writer);
+	}
+
+	private void export(String query, String alias, final String[] columns, final ColumnType[] types,
+			String jobName, Date from, Date to, final ExecutionExportWriter writer) throws IOException {
+
+		StringBuilder where = new StringBuilder();
+		List<Object> args = new ArrayList<Object>();
+		if (StringUtils.hasText(jobName)) {
+			where.append(jobName.contains("*") ? " and I.JOB_NAME like ?" : " and I.JOB_NAME = ?");
+			args.add(jobName.replace("*", "%"));
+		}
+		if (from != null) {
+			where.append(" and ").append(alias).append(".START_TIME >= ?");
+			args.add(from);
+		}
+		if (to != null) {
+			where.append(" and ").append(alias).append(".START_TIME < ?");
+			args.add(to);
+		}
+		String sql = StringUtils.replace(query, "%PREFIX%", tablePrefix).replace("%WHERE%", where);
+		// The template does not pass on a fetch size that is not positive
+		final QueryStatementCreator statementCreator = new QueryStatementCreator(sql, args.toArray());
+		statementCreator.setFetchSize(fetchSize);
+
+		writer.start(columns);
+		final RowCallbackHandler handler = new RowCallbackHandler() {
+			private final Object[] values = new Object[columns.length];
+
+			@Override
+			public void processRow(ResultSet rs) throws SQLException {
+				for (int i = 0; i < values.length; i++) {
+					switch (types[i]) {
+					case LONG:
+						long value = rs.getLong(i + 1);
+						values[i] = rs.wasNull() ? null : value;
+						break;
+					case TIMESTAMP:
+						values[i] = rs.getTimestamp(i + 1);
+						break;
+					default:
+						values[i] = rs.getString(i + 1);
+					}
+				}
+				try {
+					writer.write(values);
+				}
+				catch (IOException e) {
+					throw new WriteFailedException(e);
+				}
+			}
+		};
+
+		try {
+			if (transactionManager == null) {
+				jdbcTemplate.query(statementCreator, handler);
+			}
+			else {
+				TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+				transactionTemplate.setReadOnly(true);
+				transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+					@Override
+					protected void doInTransactionWithoutResult(TransactionStatus status) {
+						jdbcTemplate.query(statementCreator, handler);
+					}
+				});
+			}
+		}
+		catch (WriteFailedException e) {
+			throw e.getCause();
+		}
+		writer.finish();
+
+	}
+
+	/**
+	 * Carries a failure to write a row (e.g. because the client went away)
+	 * out of the row callback, so that the query is abandoned.
+	 */
+	@SuppressWarnings("serial")
+	private static class WriteFailedException extends RuntimeException {
+
+		public WriteFailedException(IOException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized IOException getCause() {
+			return (IOException) super.getCause();
+		}
+
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.util.Date;
+
+import org.springframework.batch.core.BatchStatus;
+
+/**
+ * A cheap fingerprint of the state of a group of execution rows (e.g. a job
+ * execution and its step executions), read without loading the executions
+ * themselves. Rows are only ever added and their versions only ever grow, so
+ * the number of rows and the sum of their versions change whenever any of
+ * them changes. The latest last updated time is added for good measure.
+ *
+ * @since 2.0
+ */
+public class ExecutionVersion {
+
+	private final BatchStatus status;
+
+	private final int count;
+
+	private final long version;
+
+	private final long lastUpdated;
+
+	/**
+	 * @param status the status of the job execution the rows belong to (or
+	 * null if there is more than one)
+	 * @param count the number of rows
+	 * @param version the sum of the versions of the rows
+	 * @param lastUpdated the latest last updated time of the rows (or null)
+	 */
+	public ExecutionVersion(BatchStatus status, int count, long version, Date lastUpdated) {
+		this.status = status;
+		this.count = count;
+		this.version = version;
+		this.lastUpdated = lastUpdated == null ? 0 : lastUpdated.getTime();
+	}
+
+	/**
+	 * @return the status of the job execution, or null if the rows belong to
+	 * more than one
+	 */
+	public BatchStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return the number of rows
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @return a string that changes whenever any of the rows changes
+	 */
+	public String getTag() {
+		return count + "-" + version + "-" + lastUpdated;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof ExecutionVersion)) {
+			return false;
+		}
+		ExecutionVersion other = (ExecutionVersion) obj;
+		return status == other.status && getTag().equals(other.getTag());
+	}
+
+	@Override
+	public int hashCode() {
+		return getTag().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "ExecutionVersion: status=" + status + ", tag=" + getTag();
+	}
+
+}
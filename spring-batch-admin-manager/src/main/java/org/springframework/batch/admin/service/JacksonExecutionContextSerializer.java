@@ -0,0 +1,303 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.XStreamExecutionContextStringSerializer;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * An {@link ExecutionContextSerializer} that writes execution contexts with
+ * Jackson, which is much cheaper to read back than the output of the
+ * {@link XStreamExecutionContextStringSerializer} (XStream mapping an XML
+ * model to JSON through Jettison). The type of each value is recorded with
+ * the value, so that e.g. a <code>Long</code> is not read back as an
+ * <code>Integer</code>.
+ * <p>
+ * Only the types on a whitelist are instantiated on read: the wrapper types,
+ * strings, big numbers, dates and the common collections and maps, plus the
+ * ones {@link #setAllowedTypes(Collection) allowed} explicitly. A type id
+ * naming any other class fails the read, so that a context cannot be used to
+ * create arbitrary objects.
+ * <p>
+ * The format is detected on read: the root of a context written here is a
+ * JSON array holding the type of the map and its entries, whereas XStream
+ * writes a JSON object. Anything other than an array (i.e. all the existing
+ * contexts in a repository) is passed to the fallback serializer, which
+ * defaults to XStream. A context holding anything other than simple values
+ * (e.g. collections or beans) is read back once it is written, and if it does
+ * not come back equal (a type that is not allowed, a bean without a default
+ * constructor or without <code>equals</code>, a map with keys that are not
+ * strings) the whole context is written by the fallback serializer instead.
+ * Contexts of simple values only are written without the check.
+ * <p>
+ * To use it in the admin application set it as the <code>serializer</code>
+ * of the {@link SimpleJobServiceFactoryBean}, and of the job repository and
+ * job explorer if the contexts are to be written as JSON.
+ *
+ * @since 2.0
+ */
+public class JacksonExecutionContextSerializer implements ExecutionContextSerializer, InitializingBean {
+
+	private static final Log logger = LogFactory.getLog(JacksonExecutionContextSerializer.class);
+
+	private static final TypeReference<Map<String, Object>> CONTEXT_TYPE = new TypeReference<Map<String, Object>>() {
+	};
+
+	/**
+	 * Values of these types are written and read back as they are by Jackson,
+	 * so they need no check.
+	 */
+	private static final Set<Class<?>> SIMPLE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>> asList(String.class,
+			Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+			Character.class, BigInteger.class, BigDecimal.class, Date.class));
+
+	private static final Set<Class<?>> DEFAULT_ALLOWED_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>> asList(
+			java.sql.Date.class, java.sql.Time.class, java.sql.Timestamp.class, ArrayList.class, LinkedList.class,
+			HashSet.class, LinkedHashSet.class, TreeSet.class, HashMap.class, LinkedHashMap.class, TreeMap.class,
+			ConcurrentHashMap.class));
+
+	static {
+		DEFAULT_ALLOWED_TYPES.addAll(SIMPLE_TYPES);
+	}
+
+	private ObjectMapper objectMapper;
+
+	private final Set<String> allowedTypes = new HashSet<String>();
+
+	private ExecutionContextSerializer fallbackSerializer;
+
+	/**
+	 * The {@link ObjectMapper} to use (e.g. with extra modules or
+	 * serializers). A copy is taken with default typing for non-final types
+	 * restricted to the allowed types, so any typing set up on it is replaced.
+	 *
+	 * @param objectMapper the object mapper to set
+	 */
+	public void setObjectMapper(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Types that may be read back from a context on top of the default ones
+	 * (e.g. beans and enums that jobs store in their contexts). Only these
+	 * exact classes are allowed, not their subclasses.
+	 *
+	 * @param allowedTypes the extra types to allow
+	 */
+	public void setAllowedTypes(Collection<Class<?>> allowedTypes) {
+		for (Class<?> type : allowedTypes) {
+			this.allowedTypes.add(type.getName());
+		}
+	}
+
+	/**
+	 * The serializer for contexts that were not written by Jackson, or that
+	 * Jackson cannot write. Defaults to a
+	 * {@link XStreamExecutionContextStringSerializer}.
+	 *
+	 * @param fallbackSerializer the fallback serializer to set
+	 */
+	public void setFallbackSerializer(ExecutionContextSerializer fallbackSerializer) {
+		this.fallbackSerializer = fallbackSerializer;
+	}
+
+	/**
+	 * Create the object mapper with the restricted typing, and the fallback
+	 * serializer if it was not provided.
+	 *
+	 * @see InitializingBean#afterPropertiesSet()
+	 */
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		objectMapper = objectMapper == null ? new ObjectMapper() : objectMapper.copy();
+		for (Class<?> type : DEFAULT_ALLOWED_TYPES) {
+			allowedTypes.add(type.getName());
+		}
+		TypeResolverBuilder<?> typer = new ObjectMapper.DefaultTypeResolverBuilder(
+				ObjectMapper.DefaultTyping.NON_FINAL);
+		typer = typer.init(JsonTypeInfo.Id.CLASS, new AllowedTypesIdResolver(objectMapper.getTypeFactory(),
+				allowedTypes));
+		typer = typer.inclusion(JsonTypeInfo.As.WRAPPER_ARRAY);
+		objectMapper.setDefaultTyping(typer);
+		objectMapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+		if (fallbackSerializer == null) {
+			XStreamExecutionContextStringSerializer xstream = new XStreamExecutionContextStringSerializer();
+			xstream.afterPropertiesSet();
+			fallbackSerializer = xstream;
+		}
+	}
+
+	/**
+	 * Write the context with Jackson, or with the fallback serializer if
+	 * Jackson cannot serialize one of its values or would not read it back as
+	 * it was.
+	 */
+	@Override
+	public void serialize(Map<String, Object> context, OutputStream out) throws IOException {
+		Assert.notNull(context, "A context is required");
+		Assert.notNull(out, "An OutputStream is required");
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		try {
+			objectMapper.writeValue(json, context);
+			if (!isSimple(context.values())
+					&& !context.equals(objectMapper.readValue(json.toByteArray(), CONTEXT_TYPE))) {
+				throw new JsonMappingException("The execution context is not read back as it was written");
+			}
+		}
+		catch (IOException e) {
+			logger.debug("Cannot write execution context as JSON, using fallback serializer", e);
+			fallbackSerializer.serialize(context, out);
+			return;
+		}
+		json.writeTo(out);
+	}
+
+	/**
+	 * Read a context written by Jackson, or pass it to the fallback
+	 * serializer if it is in another format.
+	 */
+	@Override
+	public Map<String, Object> deserialize(InputStream in) throws IOException {
+		InputStream input = in.markSupported() ? in : new BufferedInputStream(in);
+		if (!isTyped(input)) {
+			return fallbackSerializer.deserialize(input);
+		}
+		return objectMapper.readValue(input, CONTEXT_TYPE);
+	}
+
+	private static boolean isSimple(Collection<Object> values) {
+		for (Object value : values) {
+			if (value == null) {
+				continue;
+			}
+			if (!SIMPLE_TYPES.contains(value.getClass())) {
+				return false;
+			}
+			// NaN and infinity are written as strings
+			if (value instanceof Double && (((Double) value).isNaN() || ((Double) value).isInfinite())) {
+				return false;
+			}
+			if (value instanceof Float && (((Float) value).isNaN() || ((Float) value).isInfinite())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Peek at the first character that is not white space, leaving the
+	 * stream where it was.
+	 */
+	private boolean isTyped(InputStream input) throws IOException {
+		input.mark(Integer.MAX_VALUE);
+		try {
+			int next = input.read();
+			while (next != -1 && Character.isWhitespace(next)) {
+				next = input.read();
+			}
+			return next == '[';
+		}
+		finally {
+			input.reset();
+		}
+	}
+
+	/**
+	 * Resolves class names to types only for the allowed classes (and arrays
+	 * of them, or of primitives). Any other type id is not resolved, which
+	 * fails the read before the class is loaded.
+	 */
+	private static class AllowedTypesIdResolver extends ClassNameIdResolver {
+
+		private final Set<String> allowedTypes;
+
+		public AllowedTypesIdResolver(TypeFactory typeFactory, Set<String> allowedTypes) {
+			super(typeFactory.constructType(Object.class), typeFactory);
+			this.allowedTypes = allowedTypes;
+		}
+
+		@Override
+		@Deprecated
+		public JavaType typeFromId(String id) {
+			return isAllowed(id) ? super.typeFromId(id) : null;
+		}
+
+		/*
+		 * Not an override on every Jackson version, hence no annotation.
+		 */
+		@SuppressWarnings("deprecation")
+		public JavaType typeFromId(DatabindContext context, String id) {
+			return typeFromId(id);
+		}
+
+		private boolean isAllowed(String id) {
+			String name = id;
+			while (name.startsWith("[")) {
+				name = name.substring(1);
+			}
+			if (name.length() < id.length()) {
+				if (name.length() == 1) {
+					// An array of primitives
+					return true;
+				}
+				if (!name.startsWith("L") || !name.endsWith(";")) {
+					return false;
+				}
+				name = name.substring(1, name.length() - 1);
+			}
+			return allowedTypes.contains(name);
+		}
+
+	}
+
+}
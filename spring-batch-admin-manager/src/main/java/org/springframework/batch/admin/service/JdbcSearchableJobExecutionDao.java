@@ -17,18 +17,25 @@ package org.springframework.batch.admin.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
 import javax.sql.DataSource;
 
+import org.springframework.batch.admin.domain.JobExecutionSummary;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.JobParameter.ParameterType;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.repository.dao.JdbcJobExecutionDao;
 import org.springframework.batch.item.database.Order;
@@ -36,9 +43,11 @@ import org.springframework.batch.item.database.PagingQueryProvider;
 import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.incrementer.AbstractDataFieldMaxValueIncrementer;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 /**
  * @author Dave Syer
@@ -52,19 +61,86 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 	private static final String GET_COUNT_BY_JOB_NAME = "SELECT COUNT(1) from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
 			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and I.JOB_NAME=?";
 
+	private static final String GET_COUNT_BY_STATUS = "SELECT COUNT(1) from %PREFIX%JOB_EXECUTION "
+			+ "where STATUS in (%STATUSES%)";
+
+	private static final String GET_COUNT_BY_JOB_NAME_AND_STATUS = "SELECT COUNT(1) from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and I.JOB_NAME=? and E.STATUS in (%STATUSES%)";
+
+	private static final String GET_COUNT_BY_STATUS_GROUP_BY_JOB_NAME = "SELECT I.JOB_NAME, COUNT(1) from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and E.STATUS in (%STATUSES%) group by I.JOB_NAME";
+
+	private static final String GET_COUNT_BY_JOB_NAMES_GROUP_BY_JOB_NAME = "SELECT I.JOB_NAME, COUNT(1) from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and I.JOB_NAME in (%JOB_NAMES%) group by I.JOB_NAME";
+
 	private static final String FIELDS = "E.JOB_EXECUTION_ID, E.START_TIME, E.END_TIME, E.STATUS, E.EXIT_CODE, E.EXIT_MESSAGE, "
 			+ "E.CREATE_TIME, E.LAST_UPDATED, E.VERSION, I.JOB_INSTANCE_ID, I.JOB_NAME";
 
+	private static final String SUMMARY_FIELDS = FIELDS + ", (SELECT COUNT(1) from %PREFIX%STEP_EXECUTION S "
+			+ "where S.JOB_EXECUTION_ID=E.JOB_EXECUTION_ID) STEP_COUNT";
+
 	private static final String GET_RUNNING_EXECUTIONS = "SELECT " + FIELDS
 			+ " from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
 			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and E.END_TIME is NULL";
 
+	private static final String GET_LATEST_EXECUTIONS = "SELECT " + FIELDS
+			+ " from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and E.JOB_EXECUTION_ID in "
+			+ "(SELECT MAX(E2.JOB_EXECUTION_ID) from %PREFIX%JOB_EXECUTION E2, %PREFIX%JOB_INSTANCE I2 "
+			+ "where E2.JOB_INSTANCE_ID=I2.JOB_INSTANCE_ID group by I2.JOB_NAME) order by E.JOB_EXECUTION_ID desc";
+
+	private static final String GET_LATEST_EXECUTIONS_FOR_JOB_NAMES = "SELECT " + FIELDS
+			+ " from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and E.JOB_EXECUTION_ID in "
+			+ "(SELECT MAX(E2.JOB_EXECUTION_ID) from %PREFIX%JOB_EXECUTION E2, %PREFIX%JOB_INSTANCE I2 "
+			+ "where E2.JOB_INSTANCE_ID=I2.JOB_INSTANCE_ID and I2.JOB_NAME in (%JOB_NAMES%) group by I2.JOB_NAME) "
+			+ "order by E.JOB_EXECUTION_ID desc";
+
+	private static final String GET_EXECUTIONS_FROM_IDS = "SELECT " + FIELDS
+			+ " from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID and E.JOB_EXECUTION_ID in (%IDS%) "
+			+ "order by E.JOB_EXECUTION_ID desc";
+
+	private static final String GET_SUMMARIES_UPDATED_SINCE = "SELECT " + SUMMARY_FIELDS
+			+ " from %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I "
+			+ "where E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID "
+			+ "and (E.LAST_UPDATED > ? or (E.LAST_UPDATED = ? and E.JOB_EXECUTION_ID > ?)) "
+			+ "order by E.LAST_UPDATED, E.JOB_EXECUTION_ID";
+
+	private static final String GET_INSTANCE_ID_AND_STATUS = "SELECT JOB_INSTANCE_ID, STATUS from %PREFIX%JOB_EXECUTION "
+			+ "where JOB_EXECUTION_ID = ?";
+
+	private static final String GET_INSTANCE_VERSION = "SELECT COUNT(1), SUM(V.VERSION), MAX(V.LAST_UPDATED) from ("
+			+ "SELECT E.VERSION, E.LAST_UPDATED from %PREFIX%JOB_EXECUTION E where E.JOB_INSTANCE_ID = ? "
+			+ "UNION ALL SELECT S.VERSION, S.LAST_UPDATED from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION E "
+			+ "where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID and E.JOB_INSTANCE_ID = ?) V";
+
+	private static final String FIND_PARAMS_FROM_IDS = "SELECT JOB_EXECUTION_ID, KEY_NAME, TYPE_CD, "
+			+ "STRING_VAL, DATE_VAL, LONG_VAL, DOUBLE_VAL, IDENTIFYING from %PREFIX%JOB_EXECUTION_PARAMS "
+			+ "where JOB_EXECUTION_ID in (%IDS%)";
+
+	/**
+	 * Upper bound on the number of ids bound into a single IN clause (some
+	 * platforms, e.g. Oracle, reject more than 1000).
+	 */
+	private static final int MAX_IN_CLAUSE_SIZE = 500;
+
 	private PagingQueryProvider allExecutionsPagingQueryProvider;
 
 	private PagingQueryProvider byJobNamePagingQueryProvider;
 
+	private PagingQueryProvider allExecutionsAscendingPagingQueryProvider;
+
+	private PagingQueryProvider byJobNameAscendingPagingQueryProvider;
+
+	private PagingQueryProvider summariesPagingQueryProvider;
+
+	private PagingQueryProvider summariesAscendingPagingQueryProvider;
+
 	private DataSource dataSource;
 
+	private boolean batchJobParametersLoading = true;
+
 	/**
 	 * @param dataSource the dataSource to set
 	 */
@@ -72,6 +148,18 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 		this.dataSource = dataSource;
 	}
 
+	/**
+	 * Flag to indicate that the {@link JobParameters} for a page of
+	 * {@link JobExecution JobExecutions} should be loaded with a single query
+	 * per page, instead of one query per execution. Default is true. Set to
+	 * false to revert to loading the parameters row by row.
+	 * 
+	 * @param batchJobParametersLoading the flag value to set
+	 */
+	public void setBatchJobParametersLoading(boolean batchJobParametersLoading) {
+		this.batchJobParametersLoading = batchJobParametersLoading;
+	}
+
 	/**
 	 * @see JdbcJobExecutionDao#afterPropertiesSet()
 	 */
@@ -92,6 +180,11 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 
 		allExecutionsPagingQueryProvider = getPagingQueryProvider();
 		byJobNamePagingQueryProvider = getPagingQueryProvider("I.JOB_NAME=?");
+		allExecutionsAscendingPagingQueryProvider = getPagingQueryProvider(null, null, Order.ASCENDING);
+		byJobNameAscendingPagingQueryProvider = getPagingQueryProvider(null, "I.JOB_NAME=?", Order.ASCENDING);
+		summariesPagingQueryProvider = getPagingQueryProvider(getQuery(SUMMARY_FIELDS), null, null, Order.DESCENDING);
+		summariesAscendingPagingQueryProvider = getPagingQueryProvider(getQuery(SUMMARY_FIELDS), null, null,
+				Order.ASCENDING);
 
 		super.afterPropertiesSet();
 
@@ -120,13 +213,33 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 	 * @throws Exception
 	 */
 	private PagingQueryProvider getPagingQueryProvider(String fromClause, String whereClause) throws Exception {
+		return getPagingQueryProvider(fromClause, whereClause, Order.DESCENDING);
+	}
+
+	/**
+	 * @return a {@link PagingQueryProvider} with a where clause to narrow the
+	 * query, sorted by id in the order provided
+	 * @throws Exception
+	 */
+	private PagingQueryProvider getPagingQueryProvider(String fromClause, String whereClause, Order order)
+			throws Exception {
+		return getPagingQueryProvider(FIELDS, fromClause, whereClause, order);
+	}
+
+	/**
+	 * @return a {@link PagingQueryProvider} for the fields provided with a
+	 * where clause to narrow the query, sorted by id in the order provided
+	 * @throws Exception
+	 */
+	private PagingQueryProvider getPagingQueryProvider(String selectClause, String fromClause, String whereClause,
+			Order order) throws Exception {
 		SqlPagingQueryProviderFactoryBean factory = new SqlPagingQueryProviderFactoryBean();
 		factory.setDataSource(dataSource);
 		fromClause = "%PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I" + (fromClause == null ? "" : ", " + fromClause);
 		factory.setFromClause(getQuery(fromClause));
-		factory.setSelectClause(FIELDS);
+		factory.setSelectClause(selectClause);
 		Map<String, Order> sortKeys = new HashMap<String, Order>();
-		sortKeys.put("JOB_EXECUTION_ID", Order.DESCENDING);
+		sortKeys.put("JOB_EXECUTION_ID", order);
 		factory.setSortKeys(sortKeys);
 		whereClause = "E.JOB_INSTANCE_ID=I.JOB_INSTANCE_ID" + (whereClause == null ? "" : " and " + whereClause);
 		factory.setWhereClause(whereClause);
@@ -150,12 +263,163 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 		return getJdbcTemplate().queryForObject(getQuery(GET_COUNT_BY_JOB_NAME), Integer.class, jobName);
 	}
 
+	/**
+	 * @see SearchableJobExecutionDao#countJobExecutions(Collection)
+	 */
+	@Override
+	public int countJobExecutions(Collection<BatchStatus> statuses) {
+		if (statuses.isEmpty()) {
+			return 0;
+		}
+		return getJdbcTemplate().queryForObject(getQuery(GET_COUNT_BY_STATUS).replace("%STATUSES%", placeholders(statuses)),
+				Integer.class, statusNames(statuses));
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#countJobExecutions(String, Collection)
+	 */
+	@Override
+	public int countJobExecutions(String jobName, Collection<BatchStatus> statuses) {
+		if (statuses.isEmpty()) {
+			return 0;
+		}
+		List<Object> args = new ArrayList<Object>();
+		args.add(jobName);
+		Collections.addAll(args, statusNames(statuses));
+		return getJdbcTemplate().queryForObject(
+				getQuery(GET_COUNT_BY_JOB_NAME_AND_STATUS).replace("%STATUSES%", placeholders(statuses)), Integer.class,
+				args.toArray());
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#countJobExecutionsByJobName(Collection)
+	 */
+	@Override
+	public Map<String, Integer> countJobExecutionsByJobName(Collection<BatchStatus> statuses) {
+		final Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+		if (statuses.isEmpty()) {
+			return counts;
+		}
+		getJdbcTemplate().query(
+				getQuery(GET_COUNT_BY_STATUS_GROUP_BY_JOB_NAME).replace("%STATUSES%", placeholders(statuses)),
+				new RowCallbackHandler() {
+					@Override
+					public void processRow(ResultSet rs) throws SQLException {
+						counts.put(rs.getString(1), rs.getInt(2));
+					}
+				}, statusNames(statuses));
+		return counts;
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#countJobExecutionsForJobNames(Collection)
+	 */
+	@Override
+	public Map<String, Integer> countJobExecutionsForJobNames(Collection<String> jobNames) {
+		final Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+		if (jobNames.isEmpty()) {
+			return counts;
+		}
+		getJdbcTemplate().query(
+				getQuery(GET_COUNT_BY_JOB_NAMES_GROUP_BY_JOB_NAME).replace("%JOB_NAMES%", placeholders(jobNames)),
+				new RowCallbackHandler() {
+					@Override
+					public void processRow(ResultSet rs) throws SQLException {
+						counts.put(rs.getString(1), rs.getInt(2));
+					}
+				}, jobNames.toArray());
+		return counts;
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getLatestJobExecutions()
+	 */
+	@Override
+	public List<JobExecution> getLatestJobExecutions() {
+		return queryJobExecutions(getQuery(GET_LATEST_EXECUTIONS));
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getLatestJobExecutions(Collection)
+	 */
+	@Override
+	public List<JobExecution> getLatestJobExecutions(Collection<String> jobNames) {
+		if (jobNames.isEmpty()) {
+			return new ArrayList<JobExecution>();
+		}
+		return queryJobExecutions(
+				getQuery(GET_LATEST_EXECUTIONS_FOR_JOB_NAMES).replace("%JOB_NAMES%", placeholders(jobNames)),
+				jobNames.toArray());
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutions(Collection)
+	 */
+	@Override
+	public List<JobExecution> getJobExecutions(Collection<Long> jobExecutionIds) {
+		List<Long> ids = new ArrayList<Long>(new TreeSet<Long>(jobExecutionIds));
+		List<JobExecution> jobExecutions = new ArrayList<JobExecution>();
+		// Chunks in descending order of id so that the result is too
+		for (int to = ids.size(); to > 0; to -= MAX_IN_CLAUSE_SIZE) {
+			List<Long> chunk = ids.subList(Math.max(0, to - MAX_IN_CLAUSE_SIZE), to);
+			jobExecutions.addAll(queryJobExecutions(
+					getQuery(GET_EXECUTIONS_FROM_IDS).replace("%IDS%", placeholders(chunk)), chunk.toArray()));
+		}
+		return jobExecutions;
+	}
+
+	private static String placeholders(Collection<?> values) {
+		return StringUtils.collectionToCommaDelimitedString(Collections.nCopies(values.size(), "?"));
+	}
+
+	private static Object[] statusNames(Collection<BatchStatus> statuses) {
+		List<String> names = new ArrayList<String>();
+		for (BatchStatus status : statuses) {
+			names.add(status.name());
+		}
+		return names.toArray();
+	}
+
 	/**
 	 * @see SearchableJobExecutionDao#getRunningJobExecutions()
 	 */
 	@Override
 	public Collection<JobExecution> getRunningJobExecutions() {
-		return getJdbcTemplate().query(getQuery(GET_RUNNING_EXECUTIONS), new JobExecutionRowMapper());
+		return queryJobExecutions(getQuery(GET_RUNNING_EXECUTIONS));
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionVersion(long)
+	 */
+	@Override
+	public ExecutionVersion getJobExecutionVersion(long jobExecutionId) {
+		List<Object[]> rows = getJdbcTemplate().query(getQuery(GET_INSTANCE_ID_AND_STATUS), new RowMapper<Object[]>() {
+			@Override
+			public Object[] mapRow(ResultSet rs, int rowNum) throws SQLException {
+				return new Object[] { rs.getLong(1), BatchStatus.valueOf(rs.getString(2)) };
+			}
+		}, jobExecutionId);
+		if (rows.isEmpty()) {
+			return null;
+		}
+		return getJobInstanceVersion((Long) rows.get(0)[0], (BatchStatus) rows.get(0)[1]);
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobInstanceVersion(long)
+	 */
+	@Override
+	public ExecutionVersion getJobInstanceVersion(long jobInstanceId) {
+		return getJobInstanceVersion(jobInstanceId, null);
+	}
+
+	private ExecutionVersion getJobInstanceVersion(long jobInstanceId, final BatchStatus status) {
+		return getJdbcTemplate().queryForObject(getQuery(GET_INSTANCE_VERSION), new RowMapper<ExecutionVersion>() {
+			@Override
+			public ExecutionVersion mapRow(ResultSet rs, int rowNum) throws SQLException {
+				return new ExecutionVersion(status, rs.getInt(1), rs.getLong(2), rs.getTimestamp(3));
+			}
+		}, jobInstanceId, jobInstanceId);
 	}
 
 	/**
@@ -164,14 +428,13 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 	@Override
 	public List<JobExecution> getJobExecutions(String jobName, int start, int count) {
 		if (start <= 0) {
-			return getJdbcTemplate().query(byJobNamePagingQueryProvider.generateFirstPageQuery(count),
-					new JobExecutionRowMapper(), jobName);
+			return queryJobExecutions(byJobNamePagingQueryProvider.generateFirstPageQuery(count), jobName);
 		}
 		try {
 			Long startAfterValue = getJdbcTemplate().queryForObject(
 					byJobNamePagingQueryProvider.generateJumpToItemQuery(start, count), Long.class, jobName);
-			return getJdbcTemplate().query(byJobNamePagingQueryProvider.generateRemainingPagesQuery(count),
-					new JobExecutionRowMapper(), jobName, startAfterValue);
+			return queryJobExecutions(byJobNamePagingQueryProvider.generateRemainingPagesQuery(count), jobName,
+					startAfterValue);
 		}
 		catch (IncorrectResultSizeDataAccessException e) {
 			return Collections.emptyList();
@@ -184,20 +447,240 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 	@Override
 	public List<JobExecution> getJobExecutions(int start, int count) {
 		if (start <= 0) {
-			return getJdbcTemplate().query(allExecutionsPagingQueryProvider.generateFirstPageQuery(count),
-					new JobExecutionRowMapper());
+			return queryJobExecutions(allExecutionsPagingQueryProvider.generateFirstPageQuery(count));
 		}
 		try {
 			Long startAfterValue = getJdbcTemplate().queryForObject(
 					allExecutionsPagingQueryProvider.generateJumpToItemQuery(start, count), Long.class);
-			return getJdbcTemplate().query(allExecutionsPagingQueryProvider.generateRemainingPagesQuery(count),
-					new JobExecutionRowMapper(), startAfterValue);
+			return queryJobExecutions(allExecutionsPagingQueryProvider.generateRemainingPagesQuery(count),
+					startAfterValue);
 		}
 		catch (IncorrectResultSizeDataAccessException e) {
 			return Collections.emptyList();
 		}
 	}
 
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionsAfter(long, int)
+	 */
+	@Override
+	public List<JobExecution> getJobExecutionsAfter(long afterId, int count) {
+		return queryJobExecutions(allExecutionsPagingQueryProvider.generateRemainingPagesQuery(count), afterId);
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionsBefore(long, int)
+	 */
+	@Override
+	public List<JobExecution> getJobExecutionsBefore(long beforeId, int count) {
+		List<JobExecution> jobExecutions = queryJobExecutions(
+				allExecutionsAscendingPagingQueryProvider.generateRemainingPagesQuery(count), beforeId);
+		Collections.reverse(jobExecutions);
+		return jobExecutions;
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionsAfter(String, long, int)
+	 */
+	@Override
+	public List<JobExecution> getJobExecutionsAfter(String jobName, long afterId, int count) {
+		return queryJobExecutions(byJobNamePagingQueryProvider.generateRemainingPagesQuery(count), jobName, afterId);
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionsBefore(String, long, int)
+	 */
+	@Override
+	public List<JobExecution> getJobExecutionsBefore(String jobName, long beforeId, int count) {
+		List<JobExecution> jobExecutions = queryJobExecutions(
+				byJobNameAscendingPagingQueryProvider.generateRemainingPagesQuery(count), jobName, beforeId);
+		Collections.reverse(jobExecutions);
+		return jobExecutions;
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionSummaries(int, int)
+	 */
+	@Override
+	public List<JobExecutionSummary> getJobExecutionSummaries(int start, int count) {
+		if (start <= 0) {
+			return queryJobExecutionSummaries(summariesPagingQueryProvider.generateFirstPageQuery(count));
+		}
+		try {
+			Long startAfterValue = getJdbcTemplate().queryForObject(
+					summariesPagingQueryProvider.generateJumpToItemQuery(start, count), Long.class);
+			return queryJobExecutionSummaries(summariesPagingQueryProvider.generateRemainingPagesQuery(count),
+					startAfterValue);
+		}
+		catch (IncorrectResultSizeDataAccessException e) {
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionSummariesAfter(long, int)
+	 */
+	@Override
+	public List<JobExecutionSummary> getJobExecutionSummariesAfter(long afterId, int count) {
+		return queryJobExecutionSummaries(summariesPagingQueryProvider.generateRemainingPagesQuery(count), afterId);
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionSummariesBefore(long, int)
+	 */
+	@Override
+	public List<JobExecutionSummary> getJobExecutionSummariesBefore(long beforeId, int count) {
+		List<JobExecutionSummary> summaries = queryJobExecutionSummaries(
+				summariesAscendingPagingQueryProvider.generateRemainingPagesQuery(count), beforeId);
+		Collections.reverse(summaries);
+		return summaries;
+	}
+
+	/**
+	 * @see SearchableJobExecutionDao#getJobExecutionSummariesUpdatedSince(Date, long, int)
+	 */
+	@Override
+	public List<JobExecutionSummary> getJobExecutionSummariesUpdatedSince(Date since, long afterId, int count) {
+		QueryStatementCreator statementCreator = new QueryStatementCreator(getQuery(GET_SUMMARIES_UPDATED_SINCE),
+				since, since, afterId);
+		statementCreator.setMaxRows(count);
+		List<JobExecutionSummary> summaries = getJdbcTemplate().query(statementCreator,
+				new JobExecutionSummaryRowMapper());
+		return addJobParameters(summaries);
+	}
+
+	/**
+	 * Query a page of summaries and attach their {@link JobParameters} with
+	 * one more query.
+	 */
+	private List<JobExecutionSummary> queryJobExecutionSummaries(String sql, Object... args) {
+		return addJobParameters(getJdbcTemplate().query(sql, new JobExecutionSummaryRowMapper(), args));
+	}
+
+	private List<JobExecutionSummary> addJobParameters(List<JobExecutionSummary> summaries) {
+		if (summaries.isEmpty()) {
+			return summaries;
+		}
+		List<Long> ids = new ArrayList<Long>(summaries.size());
+		for (JobExecutionSummary summary : summaries) {
+			ids.add(summary.getId());
+		}
+		Map<Long, JobParameters> parameters = getJobParameters(ids);
+		List<JobExecutionSummary> result = new ArrayList<JobExecutionSummary>(summaries.size());
+		for (JobExecutionSummary summary : summaries) {
+			JobParameters jobParameters = parameters.get(summary.getId());
+			result.add(new JobExecutionSummary(summary.getId(), summary.getJobInstanceId(), summary.getJobName(),
+					jobParameters == null ? new JobParameters() : jobParameters, summary.getStatus(), summary
+							.getExitStatus(), summary.getCreateTime(), summary.getStartTime(), summary.getEndTime(),
+					summary.getLastUpdated(), summary.getVersion(), summary.getStepExecutionCount()));
+		}
+		return result;
+	}
+
+	/**
+	 * Run a query for {@link JobExecution JobExecutions} and attach their
+	 * {@link JobParameters}, either in bulk or row by row depending on
+	 * {@link #setBatchJobParametersLoading(boolean)}.
+	 * 
+	 * @param sql the query to execute (with the fields in the standard order)
+	 * @param args the query arguments
+	 * @return the job executions
+	 */
+	private List<JobExecution> queryJobExecutions(String sql, Object... args) {
+		if (!batchJobParametersLoading) {
+			return getJdbcTemplate().query(sql, new JobExecutionRowMapper(), args);
+		}
+		List<JobExecution> executions = getJdbcTemplate().query(sql, new JobExecutionRowMapper(false), args);
+		if (executions.isEmpty()) {
+			return executions;
+		}
+		List<Long> ids = new ArrayList<Long>(executions.size());
+		for (JobExecution jobExecution : executions) {
+			ids.add(jobExecution.getId());
+		}
+		Map<Long, JobParameters> parameters = getJobParameters(ids);
+		List<JobExecution> result = new ArrayList<JobExecution>(executions.size());
+		for (JobExecution jobExecution : executions) {
+			JobParameters jobParameters = parameters.get(jobExecution.getId());
+			result.add(copyWithJobParameters(jobExecution, jobParameters == null ? new JobParameters() : jobParameters));
+		}
+		return result;
+	}
+
+	/**
+	 * Load the {@link JobParameters} for a collection of job executions with
+	 * one query per {@value #MAX_IN_CLAUSE_SIZE} ids.
+	 * 
+	 * @param jobExecutionIds the ids of the job executions
+	 * @return a map from job execution id to parameters (executions without
+	 * parameters are absent)
+	 */
+	protected Map<Long, JobParameters> getJobParameters(List<Long> jobExecutionIds) {
+
+		final Map<Long, Map<String, JobParameter>> values = new HashMap<Long, Map<String, JobParameter>>();
+
+		RowCallbackHandler handler = new RowCallbackHandler() {
+			@Override
+			public void processRow(ResultSet rs) throws SQLException {
+				Long id = rs.getLong(1);
+				Map<String, JobParameter> map = values.get(id);
+				if (map == null) {
+					map = new LinkedHashMap<String, JobParameter>();
+					values.put(id, map);
+				}
+				ParameterType type = ParameterType.valueOf(rs.getString(3));
+				boolean identifying = "Y".equalsIgnoreCase(rs.getString(8));
+				JobParameter value = null;
+				if (type == ParameterType.STRING) {
+					value = new JobParameter(rs.getString(4), identifying);
+				}
+				else if (type == ParameterType.LONG) {
+					value = new JobParameter(rs.getLong(6), identifying);
+				}
+				else if (type == ParameterType.DOUBLE) {
+					value = new JobParameter(rs.getDouble(7), identifying);
+				}
+				else if (type == ParameterType.DATE) {
+					value = new JobParameter(rs.getTimestamp(5), identifying);
+				}
+				map.put(rs.getString(2), value);
+			}
+		};
+
+		for (int from = 0; from < jobExecutionIds.size(); from += MAX_IN_CLAUSE_SIZE) {
+			List<Long> chunk = jobExecutionIds.subList(from,
+					Math.min(from + MAX_IN_CLAUSE_SIZE, jobExecutionIds.size()));
+			String placeholders = StringUtils.collectionToCommaDelimitedString(Collections.nCopies(chunk.size(), "?"));
+			getJdbcTemplate().query(getQuery(FIND_PARAMS_FROM_IDS).replace("%IDS%", placeholders), handler,
+					chunk.toArray());
+		}
+
+		Map<Long, JobParameters> result = new HashMap<Long, JobParameters>();
+		for (Map.Entry<Long, Map<String, JobParameter>> entry : values.entrySet()) {
+			result.put(entry.getKey(), new JobParameters(entry.getValue()));
+		}
+		return result;
+
+	}
+
+	/**
+	 * {@link JobParameters} can only be provided when a {@link JobExecution} is
+	 * created, so the bulk loaded parameters are attached by copying the
+	 * properties mapped from the execution row.
+	 */
+	private JobExecution copyWithJobParameters(JobExecution source, JobParameters jobParameters) {
+		JobExecution jobExecution = new JobExecution(source.getJobInstance(), jobParameters);
+		jobExecution.setId(source.getId());
+		jobExecution.setStartTime(source.getStartTime());
+		jobExecution.setEndTime(source.getEndTime());
+		jobExecution.setStatus(source.getStatus());
+		jobExecution.setExitStatus(source.getExitStatus());
+		jobExecution.setCreateTime(source.getCreateTime());
+		jobExecution.setLastUpdated(source.getLastUpdated());
+		jobExecution.setVersion(source.getVersion());
+		return jobExecution;
+	}
+
 	@Override
 	public void saveJobExecution(JobExecution jobExecution) {
 		throw new UnsupportedOperationException("SearchableJobExecutionDao is read only");
@@ -221,7 +704,18 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 	 */
 	protected class JobExecutionRowMapper implements RowMapper<JobExecution> {
 
+		private final boolean loadJobParameters;
+
 		public JobExecutionRowMapper() {
+			this(true);
+		}
+
+		/**
+		 * @param loadJobParameters false if the caller will attach the
+		 * {@link JobParameters} itself (in which case they are empty)
+		 */
+		public JobExecutionRowMapper(boolean loadJobParameters) {
+			this.loadJobParameters = loadJobParameters;
 		}
 
 		@Override
@@ -229,7 +723,7 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 			Long id = rs.getLong(1);
 			JobExecution jobExecution;
 			
-			JobParameters jobParameters = getJobParameters(id);
+			JobParameters jobParameters = loadJobParameters ? getJobParameters(id) : new JobParameters();
 
 			JobInstance jobInstance = new JobInstance(rs.getLong(10), rs.getString(11));
 			jobExecution = new JobExecution(jobInstance, jobParameters);
@@ -246,4 +740,21 @@ public class JdbcSearchableJobExecutionDao extends JdbcJobExecutionDao implement
 		}
 
 	}
+
+	/**
+	 * Re-usable mapper for {@link JobExecutionSummary} instances from the
+	 * summary query, with empty {@link JobParameters}.
+	 *
+	 */
+	private static class JobExecutionSummaryRowMapper implements RowMapper<JobExecutionSummary> {
+
+		@Override
+		public JobExecutionSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+			return new JobExecutionSummary(rs.getLong(1), rs.getLong(10), rs.getString(11), new JobParameters(),
+					BatchStatus.valueOf(rs.getString(4)), new ExitStatus(rs.getString(5), rs.getString(6)),
+					rs.getTimestamp(7), rs.getTimestamp(2), rs.getTimestamp(3), rs.getTimestamp(8), rs.getInt(9),
+					rs.getInt(12));
+		}
+
+	}
 }
@@ -15,8 +15,14 @@
  */
 package org.springframework.batch.admin.service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.springframework.batch.core.repository.dao.JdbcJobExecutionDao;
 import org.springframework.batch.core.repository.dao.JdbcJobInstanceDao;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.support.incrementer.AbstractDataFieldMaxValueIncrementer;
 
 /**
@@ -28,6 +34,9 @@ public class JdbcSearchableJobInstanceDao extends JdbcJobInstanceDao implements
 	private static final String GET_COUNT_BY_JOB_NAME = "SELECT COUNT(1) from %PREFIX%JOB_INSTANCE "
 			+ "where JOB_NAME=?";
 
+	private static final String GET_LATEST_IDS_AFTER_ID = "SELECT JOB_NAME, MAX(JOB_INSTANCE_ID) from %PREFIX%JOB_INSTANCE "
+			+ "where JOB_INSTANCE_ID>? group by JOB_NAME";
+
 	/**
 	 * @see JdbcJobExecutionDao#afterPropertiesSet()
 	 */
@@ -53,4 +62,17 @@ public class JdbcSearchableJobInstanceDao extends JdbcJobInstanceDao implements
 		return getJdbcTemplate().queryForObject(getQuery(GET_COUNT_BY_JOB_NAME), Integer.class, name);
 	}
 
+	/**
+	 * @see SearchableJobInstanceDao#getLatestJobInstanceIds(long)
+	 */
+	public Map<String, Long> getLatestJobInstanceIds(long afterId) {
+		final Map<String, Long> ids = new LinkedHashMap<String, Long>();
+		getJdbcTemplate().query(getQuery(GET_LATEST_IDS_AFTER_ID), new RowCallbackHandler() {
+			public void processRow(ResultSet rs) throws SQLException {
+				ids.put(rs.getString(1), rs.getLong(2));
+			}
+		}, afterId);
+		return ids;
+	}
+
 }
@@ -17,19 +17,28 @@ package org.springframework.batch.admin.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.sql.DataSource;
 
+import org.springframework.batch.admin.domain.CumulativeHistory;
+import org.springframework.batch.admin.domain.StepExecutionHistory;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.repository.dao.JdbcJobExecutionDao;
 import org.springframework.batch.core.repository.dao.JdbcStepExecutionDao;
@@ -39,9 +48,11 @@ import org.springframework.batch.item.database.support.SqlPagingQueryProviderFac
 import org.springframework.batch.support.PatternMatcher;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.incrementer.AbstractDataFieldMaxValueIncrementer;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 /**
  * @author Dave Syer
@@ -59,12 +70,96 @@ public class JdbcSearchableStepExecutionDao extends JdbcStepExecutionDao impleme
 	private static final String COUNT_STEP_EXECUTIONS_FOR_STEP_PATTERN = "SELECT COUNT(STEP_EXECUTION_ID) from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I"
 			+ " where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID AND E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID AND I.JOB_NAME = ? AND S.STEP_NAME like ?";
 
+	private static final String COUNT_STEP_EXECUTIONS_FOR_STEP_AND_STATUS = "SELECT COUNT(STEP_EXECUTION_ID) from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I"
+			+ " where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID AND E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID AND %WHERE% AND S.STATUS in (%STATUSES%)";
+
 	private static final String FIELDS = "S.STEP_EXECUTION_ID, S.STEP_NAME, S.START_TIME, S.END_TIME, S.STATUS, S.COMMIT_COUNT,"
 			+ " S.READ_COUNT, S.FILTER_COUNT, S.WRITE_COUNT, S.EXIT_CODE, S.EXIT_MESSAGE, S.READ_SKIP_COUNT, S.WRITE_SKIP_COUNT,"
 			+ " S.PROCESS_SKIP_COUNT, S.ROLLBACK_COUNT, S.LAST_UPDATED, S.VERSION";
 
+	private static final String STEP_EXECUTIONS_FOR_JOB_EXECUTIONS = "SELECT " + FIELDS
+			+ ", S.JOB_EXECUTION_ID from %PREFIX%STEP_EXECUTION S where S.JOB_EXECUTION_ID in (%IDS%)"
+			+ " order by S.STEP_EXECUTION_ID";
+
+	private static final String STEP_EXECUTIONS_FOR_JOB_EXECUTION_AFTER = "SELECT " + FIELDS
+			+ ", S.JOB_EXECUTION_ID from %PREFIX%STEP_EXECUTION S where S.JOB_EXECUTION_ID = ?"
+			+ " and S.STEP_EXECUTION_ID > ? order by S.STEP_EXECUTION_ID";
+
+	private static final String STEP_EXECUTIONS_FOR_JOB_EXECUTION_BEFORE = "SELECT " + FIELDS
+			+ ", S.JOB_EXECUTION_ID from %PREFIX%STEP_EXECUTION S where S.JOB_EXECUTION_ID = ?"
+			+ " and S.STEP_EXECUTION_ID < ? order by S.STEP_EXECUTION_ID desc";
+
+	private static final String COUNT_STEP_EXECUTIONS_BY_STATUS_GROUP_BY_STEP = "SELECT I.JOB_NAME, S.STEP_NAME, COUNT(STEP_EXECUTION_ID)"
+			+ " from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I"
+			+ " where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID AND E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID AND S.STATUS in (%STATUSES%)"
+			+ " group by I.JOB_NAME, S.STEP_NAME";
+
+	private static final String LATEST_STEP_EXECUTIONS = "SELECT " + FIELDS + ", I.JOB_NAME"
+			+ " from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION E, %PREFIX%JOB_INSTANCE I"
+			+ " where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID AND E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID"
+			+ " AND S.STEP_EXECUTION_ID in (SELECT MAX(S2.STEP_EXECUTION_ID)"
+			+ " from %PREFIX%STEP_EXECUTION S2, %PREFIX%JOB_EXECUTION E2, %PREFIX%JOB_INSTANCE I2"
+			+ " where S2.JOB_EXECUTION_ID = E2.JOB_EXECUTION_ID AND E2.JOB_INSTANCE_ID = I2.JOB_INSTANCE_ID"
+			+ " group by I2.JOB_NAME, S2.STEP_NAME) order by S.STEP_EXECUTION_ID desc";
+
+	private static final String[] HISTORY_FIELDS = { "COMMIT_COUNT", "ROLLBACK_COUNT", "READ_COUNT", "WRITE_COUNT",
+			"FILTER_COUNT", "READ_SKIP_COUNT", "WRITE_SKIP_COUNT", "PROCESS_SKIP_COUNT" };
+
+	private static final String STEP_EXECUTION_HISTORY = "SELECT COUNT(S.STEP_EXECUTION_ID)%AGGREGATES%"
+			+ " from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION J, %PREFIX%JOB_INSTANCE I"
+			+ " where S.JOB_EXECUTION_ID = J.JOB_EXECUTION_ID AND J.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID"
+			+ " AND %WHERE% AND S.STEP_EXECUTION_ID <= ? AND S.END_TIME is not null";
+
+	private static final String STEP_EXECUTION_DURATIONS = "SELECT S.START_TIME, S.END_TIME, S.READ_COUNT"
+			+ " from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION J, %PREFIX%JOB_INSTANCE I"
+			+ " where S.JOB_EXECUTION_ID = J.JOB_EXECUTION_ID AND J.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID"
+			+ " AND %WHERE% AND S.STEP_EXECUTION_ID <= ? AND S.END_TIME is not null";
+
+	private static final String LAST_STEP_EXECUTION_ID = "SELECT MAX(S.STEP_EXECUTION_ID)"
+			+ " from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION J, %PREFIX%JOB_INSTANCE I"
+			+ " where S.JOB_EXECUTION_ID = J.JOB_EXECUTION_ID AND J.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID AND %WHERE%";
+
+	private static final String UNFINISHED_STEP_EXECUTIONS = "SELECT " + FIELDS
+			+ " from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION J, %PREFIX%JOB_INSTANCE I"
+			+ " where S.JOB_EXECUTION_ID = J.JOB_EXECUTION_ID AND J.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID"
+			+ " AND %WHERE% AND S.STEP_EXECUTION_ID <= ? AND S.END_TIME is null order by S.STEP_EXECUTION_ID";
+
+	private static final String STEP_EXECUTIONS_FROM_IDS = "SELECT " + FIELDS
+			+ " from %PREFIX%STEP_EXECUTION S where S.STEP_EXECUTION_ID in (%IDS%) order by S.STEP_EXECUTION_ID";
+
+	private static final String STEP_EXECUTIONS_UPDATED_SINCE = "SELECT " + FIELDS
+			+ ", S.JOB_EXECUTION_ID from %PREFIX%STEP_EXECUTION S"
+			+ " where S.LAST_UPDATED > ? or (S.LAST_UPDATED = ? and S.STEP_EXECUTION_ID > ?)"
+			+ " order by S.LAST_UPDATED, S.STEP_EXECUTION_ID";
+
+	private static final String STEP_EXECUTIONS_VERSION = "SELECT E.STATUS, COUNT(S.STEP_EXECUTION_ID), SUM(S.VERSION),"
+			+ " MAX(S.LAST_UPDATED) from %PREFIX%JOB_EXECUTION E left outer join %PREFIX%STEP_EXECUTION S"
+			+ " on S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID where E.JOB_EXECUTION_ID = ? group by E.STATUS";
+
+	private static final String STEP_EXECUTION_VERSION = "SELECT E.STATUS, 1, S.VERSION, S.LAST_UPDATED"
+			+ " from %PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION E where S.JOB_EXECUTION_ID = E.JOB_EXECUTION_ID"
+			+ " and E.JOB_EXECUTION_ID = ? and S.STEP_EXECUTION_ID = ?";
+
+	/**
+	 * Upper bound on the number of ids bound into a single IN clause (some
+	 * platforms, e.g. Oracle, reject more than 1000).
+	 */
+	private static final int MAX_IN_CLAUSE_SIZE = 500;
+
 	private DataSource dataSource;
 
+	/**
+	 * Prepared query providers keyed by the sort order and the where clause.
+	 * The where clause only depends on whether the job and step names are
+	 * exact or patterns, so the cache is bounded by the number of such shapes
+	 * (eight) and never needs eviction.
+	 */
+	private final ConcurrentMap<String, PagingQueryProvider> queryProviders = new ConcurrentHashMap<String, PagingQueryProvider>();
+
+	private final AtomicLong queryProviderCacheHits = new AtomicLong();
+
+	private final AtomicLong queryProviderCacheMisses = new AtomicLong();
+
 	/**
 	 * @param dataSource the dataSource to set
 	 */
@@ -72,6 +167,23 @@ public class JdbcSearchableStepExecutionDao extends JdbcStepExecutionDao impleme
 		this.dataSource = dataSource;
 	}
 
+	/**
+	 * @return the number of step execution queries that re-used a prepared
+	 * {@link PagingQueryProvider}
+	 */
+	public long getQueryProviderCacheHits() {
+		return queryProviderCacheHits.get();
+	}
+
+	/**
+	 * @return the number of step execution queries that had to prepare a new
+	 * {@link PagingQueryProvider} (each miss costs a database meta data
+	 * lookup)
+	 */
+	public long getQueryProviderCacheMisses() {
+		return queryProviderCacheMisses.get();
+	}
+
 	/**
 	 * @see JdbcJobExecutionDao#afterPropertiesSet()
 	 */
@@ -114,26 +226,56 @@ public class JdbcSearchableStepExecutionDao extends JdbcStepExecutionDao impleme
 
 	}
 
-	public Collection<StepExecution> findStepExecutions(String jobName, String stepName, int start, int count) {
-
-		String whereClause;
+	public void addStepExecutions(Collection<JobExecution> jobExecutions) {
 
-		if (jobName.contains("*")) {
-			whereClause = "JOB_NAME like ?";
-			jobName = jobName.replace("*", "%");
+		Map<Long, JobExecution> byId = new LinkedHashMap<Long, JobExecution>();
+		for (JobExecution jobExecution : jobExecutions) {
+			byId.put(jobExecution.getId(), jobExecution);
 		}
-		else {
-			whereClause = "JOB_NAME = ?";
+		if (byId.isEmpty()) {
+			return;
 		}
 
-		if (stepName.contains("*")) {
-			whereClause = whereClause + " AND STEP_NAME like ?";
-			stepName = stepName.replace("*", "%");
-		}
-		else {
-			whereClause = whereClause + " AND STEP_NAME = ?";
+		List<Long> ids = new ArrayList<Long>(byId.keySet());
+		StepExecutionRowMapper rowMapper = new StepExecutionRowMapper(byId);
+		for (int from = 0; from < ids.size(); from += MAX_IN_CLAUSE_SIZE) {
+			List<Long> chunk = ids.subList(from, Math.min(from + MAX_IN_CLAUSE_SIZE, ids.size()));
+			String placeholders = StringUtils.collectionToCommaDelimitedString(Collections.nCopies(chunk.size(), "?"));
+			getJdbcTemplate().query(getQuery(STEP_EXECUTIONS_FOR_JOB_EXECUTIONS).replace("%IDS%", placeholders),
+					rowMapper, chunk.toArray());
 		}
 
+	}
+
+	public Collection<StepExecution> findStepExecutionsForJobExecutionAfter(JobExecution jobExecution, long afterId,
+			int count) {
+		return queryStepExecutionsForJobExecution(STEP_EXECUTIONS_FOR_JOB_EXECUTION_AFTER, jobExecution, afterId,
+				count);
+	}
+
+	public Collection<StepExecution> findStepExecutionsForJobExecutionBefore(JobExecution jobExecution, long beforeId,
+			int count) {
+		List<StepExecution> stepExecutions = queryStepExecutionsForJobExecution(
+				STEP_EXECUTIONS_FOR_JOB_EXECUTION_BEFORE, jobExecution, beforeId, count);
+		Collections.reverse(stepExecutions);
+		return stepExecutions;
+	}
+
+	private List<StepExecution> queryStepExecutionsForJobExecution(String sql, JobExecution jobExecution, long id,
+			int count) {
+		Map<Long, JobExecution> byId = new HashMap<Long, JobExecution>();
+		byId.put(jobExecution.getId(), jobExecution);
+		QueryStatementCreator statementCreator = new QueryStatementCreator(getQuery(sql), jobExecution.getId(), id);
+		statementCreator.setMaxRows(count);
+		return getJdbcTemplate().query(statementCreator, new StepExecutionRowMapper(byId));
+	}
+
+	public Collection<StepExecution> findStepExecutions(String jobName, String stepName, int start, int count) {
+
+		String whereClause = getWhereClause(jobName, stepName);
+		jobName = jobName.replace("*", "%");
+		stepName = stepName.replace("*", "%");
+
 		PagingQueryProvider queryProvider = getPagingQueryProvider(whereClause);
 
 		List<StepExecution> stepExecutions;
@@ -157,6 +299,134 @@ public class JdbcSearchableStepExecutionDao extends JdbcStepExecutionDao impleme
 
 	}
 
+	public Collection<StepExecution> findStepExecutionsAfter(String jobName, String stepName, long afterId, int count) {
+		PagingQueryProvider queryProvider = getPagingQueryProvider(getWhereClause(jobName, stepName));
+		return getJdbcTemplate().query(queryProvider.generateRemainingPagesQuery(count), new StepExecutionRowMapper(),
+				jobName.replace("*", "%"), stepName.replace("*", "%"), afterId);
+	}
+
+	public Collection<StepExecution> findStepExecutionsBefore(String jobName, String stepName, long beforeId,
+			int count) {
+		PagingQueryProvider queryProvider = getPagingQueryProvider(getWhereClause(jobName, stepName), Order.ASCENDING);
+		List<StepExecution> stepExecutions = getJdbcTemplate().query(queryProvider.generateRemainingPagesQuery(count),
+				new StepExecutionRowMapper(), jobName.replace("*", "%"), stepName.replace("*", "%"), beforeId);
+		Collections.reverse(stepExecutions);
+		return stepExecutions;
+	}
+
+	public StepExecutionHistory getStepExecutionHistory(String jobName, String stepName) {
+		return getStepExecutionHistory(jobName, stepName, Long.MAX_VALUE);
+	}
+
+	public StepExecutionHistory getStepExecutionHistory(String jobName, String stepName, long maxId) {
+
+		String whereClause = getWhereClause(jobName, stepName);
+		Object[] args = new Object[] { jobName.replace("*", "%"), stepName.replace("*", "%"), maxId };
+
+		StringBuilder aggregates = new StringBuilder();
+		for (String field : HISTORY_FIELDS) {
+			// Multiply by 1.0 so that the sum of squares is not computed (and
+			// overflowed) in integer arithmetic
+			aggregates.append(", SUM(S.").append(field).append("), SUM(1.0 * S.").append(field).append(" * S.")
+					.append(field).append("), MIN(S.").append(field).append("), MAX(S.").append(field).append(")");
+		}
+		String sql = getQuery(STEP_EXECUTION_HISTORY).replace("%AGGREGATES%", aggregates.toString()).replace(
+				"%WHERE%", whereClause);
+		final CumulativeHistory[] counts = new CumulativeHistory[HISTORY_FIELDS.length];
+		final int count = getJdbcTemplate().queryForObject(sql, new RowMapper<Integer>() {
+			public Integer mapRow(ResultSet rs, int rowNum) throws SQLException {
+				int count = rs.getInt(1);
+				for (int i = 0; i < counts.length; i++) {
+					int column = 2 + 4 * i;
+					counts[i] = new CumulativeHistory(count, rs.getDouble(column), rs.getDouble(column + 1),
+							rs.getDouble(column + 2), rs.getDouble(column + 3));
+				}
+				return count;
+			}
+		}, args);
+
+		// Date arithmetic is not portable across platforms, so the durations
+		// are accumulated from a narrow projection instead of full step
+		// executions
+		final CumulativeHistory duration = new CumulativeHistory();
+		final CumulativeHistory durationPerRead = new CumulativeHistory();
+		getJdbcTemplate().query(getQuery(STEP_EXECUTION_DURATIONS).replace("%WHERE%", whereClause),
+				new RowCallbackHandler() {
+					public void processRow(ResultSet rs) throws SQLException {
+						long time = rs.getTimestamp(2).getTime() - rs.getTimestamp(1).getTime();
+						int readCount = rs.getInt(3);
+						duration.append(time);
+						if (readCount > 0) {
+							durationPerRead.append(time / readCount);
+						}
+					}
+				}, args);
+
+		return new StepExecutionHistory(stepName, count, counts[0], counts[1], counts[2], counts[3], counts[4],
+				counts[5], counts[6], counts[7], duration, durationPerRead);
+
+	}
+
+	public long getLastStepExecutionId(String jobName, String stepName) {
+		Long id = getJdbcTemplate().queryForObject(
+				getQuery(LAST_STEP_EXECUTION_ID).replace("%WHERE%", getWhereClause(jobName, stepName)), Long.class,
+				jobName.replace("*", "%"), stepName.replace("*", "%"));
+		return id == null ? 0 : id;
+	}
+
+	public Collection<StepExecution> findUnfinishedStepExecutions(String jobName, String stepName, long maxId) {
+		return getJdbcTemplate().query(
+				getQuery(UNFINISHED_STEP_EXECUTIONS).replace("%WHERE%", getWhereClause(jobName, stepName)),
+				new StepExecutionRowMapper(), jobName.replace("*", "%"), stepName.replace("*", "%"), maxId);
+	}
+
+	public Collection<StepExecution> findStepExecutions(Collection<Long> stepExecutionIds) {
+		List<Long> ids = new ArrayList<Long>(stepExecutionIds);
+		List<StepExecution> stepExecutions = new ArrayList<StepExecution>();
+		for (int from = 0; from < ids.size(); from += MAX_IN_CLAUSE_SIZE) {
+			List<Long> chunk = ids.subList(from, Math.min(from + MAX_IN_CLAUSE_SIZE, ids.size()));
+			String placeholders = StringUtils.collectionToCommaDelimitedString(Collections.nCopies(chunk.size(), "?"));
+			stepExecutions.addAll(getJdbcTemplate().query(
+					getQuery(STEP_EXECUTIONS_FROM_IDS).replace("%IDS%", placeholders), new StepExecutionRowMapper(),
+					chunk.toArray()));
+		}
+		return stepExecutions;
+	}
+
+	public Collection<StepExecution> findStepExecutionsUpdatedSince(Date since, long afterId, int count) {
+		QueryStatementCreator statementCreator = new QueryStatementCreator(getQuery(STEP_EXECUTIONS_UPDATED_SINCE),
+				since, since, afterId);
+		statementCreator.setMaxRows(count);
+		return getJdbcTemplate().query(statementCreator, new StepExecutionRowMapper(new HashMap<Long, JobExecution>()));
+	}
+
+	public ExecutionVersion getStepExecutionsVersion(long jobExecutionId) {
+		return queryExecutionVersion(getQuery(STEP_EXECUTIONS_VERSION), jobExecutionId);
+	}
+
+	public ExecutionVersion getStepExecutionVersion(long jobExecutionId, long stepExecutionId) {
+		return queryExecutionVersion(getQuery(STEP_EXECUTION_VERSION), jobExecutionId, stepExecutionId);
+	}
+
+	private ExecutionVersion queryExecutionVersion(String sql, Object... args) {
+		List<ExecutionVersion> versions = getJdbcTemplate().query(sql, new RowMapper<ExecutionVersion>() {
+			public ExecutionVersion mapRow(ResultSet rs, int rowNum) throws SQLException {
+				return new ExecutionVersion(BatchStatus.valueOf(rs.getString(1)), rs.getInt(2), rs.getLong(3),
+						rs.getTimestamp(4));
+			}
+		}, args);
+		return versions.isEmpty() ? null : versions.get(0);
+	}
+
+	/**
+	 * @return a where clause matching the job and step name (or patterns with
+	 * wildcards specified as '*')
+	 */
+	private String getWhereClause(String jobName, String stepName) {
+		String whereClause = jobName.contains("*") ? "JOB_NAME like ?" : "JOB_NAME = ?";
+		return whereClause + (stepName.contains("*") ? " AND STEP_NAME like ?" : " AND STEP_NAME = ?");
+	}
+
 	public int countStepExecutions(String jobName, String stepName) {
 		if (stepName.contains("*")) {
 			return getJdbcTemplate().queryForObject(getQuery(COUNT_STEP_EXECUTIONS_FOR_STEP_PATTERN), Integer.class, jobName,
@@ -165,23 +435,129 @@ public class JdbcSearchableStepExecutionDao extends JdbcStepExecutionDao impleme
 		return getJdbcTemplate().queryForObject(getQuery(COUNT_STEP_EXECUTIONS_FOR_STEP), Integer.class, jobName, stepName);
 	}
 
+	public int countStepExecutions(String jobName, String stepName, Collection<BatchStatus> statuses) {
+		if (statuses.isEmpty()) {
+			return 0;
+		}
+		List<Object> args = new ArrayList<Object>();
+		args.add(jobName.replace("*", "%"));
+		args.add(stepName.replace("*", "%"));
+		for (BatchStatus status : statuses) {
+			args.add(status.name());
+		}
+		String placeholders = StringUtils.collectionToCommaDelimitedString(Collections.nCopies(statuses.size(), "?"));
+		return getJdbcTemplate().queryForObject(
+				getQuery(COUNT_STEP_EXECUTIONS_FOR_STEP_AND_STATUS).replace("%WHERE%", getWhereClause(jobName, stepName))
+						.replace("%STATUSES%", placeholders), Integer.class, args.toArray());
+	}
+
+	public Map<String, Map<String, Integer>> countStepExecutionsByStep(Collection<BatchStatus> statuses) {
+		final Map<String, Map<String, Integer>> counts = new LinkedHashMap<String, Map<String, Integer>>();
+		if (statuses.isEmpty()) {
+			return counts;
+		}
+		List<Object> args = new ArrayList<Object>();
+		for (BatchStatus status : statuses) {
+			args.add(status.name());
+		}
+		String placeholders = StringUtils.collectionToCommaDelimitedString(Collections.nCopies(statuses.size(), "?"));
+		getJdbcTemplate().query(
+				getQuery(COUNT_STEP_EXECUTIONS_BY_STATUS_GROUP_BY_STEP).replace("%STATUSES%", placeholders),
+				new RowCallbackHandler() {
+					public void processRow(ResultSet rs) throws SQLException {
+						String jobName = rs.getString(1);
+						Map<String, Integer> steps = counts.get(jobName);
+						if (steps == null) {
+							steps = new LinkedHashMap<String, Integer>();
+							counts.put(jobName, steps);
+						}
+						steps.put(rs.getString(2), rs.getInt(3));
+					}
+				}, args.toArray());
+		return counts;
+	}
+
+	public Map<String, List<StepExecution>> findLatestStepExecutions() {
+		return queryStepExecutionsByJobName(getQuery(LATEST_STEP_EXECUTIONS));
+	}
+
+	public Map<String, List<StepExecution>> findStepExecutionsAfter(long afterId, int count) {
+		PagingQueryProvider queryProvider = getPagingQueryProvider(null);
+		return queryStepExecutionsByJobName(queryProvider.generateRemainingPagesQuery(count), afterId);
+	}
+
+	public Map<String, List<StepExecution>> findStepExecutionsBefore(long beforeId, int count) {
+		PagingQueryProvider queryProvider = getPagingQueryProvider(null, Order.ASCENDING);
+		Map<String, List<StepExecution>> stepExecutions = queryStepExecutionsByJobName(
+				queryProvider.generateRemainingPagesQuery(count), beforeId);
+		for (List<StepExecution> list : stepExecutions.values()) {
+			Collections.reverse(list);
+		}
+		return stepExecutions;
+	}
+
+	/**
+	 * Run a query for step executions with the job name in the column after
+	 * the standard fields, and group the step executions by job name.
+	 */
+	private Map<String, List<StepExecution>> queryStepExecutionsByJobName(String sql, Object... args) {
+		final Map<String, List<StepExecution>> result = new LinkedHashMap<String, List<StepExecution>>();
+		final StepExecutionRowMapper rowMapper = new StepExecutionRowMapper();
+		getJdbcTemplate().query(sql, new RowCallbackHandler() {
+			public void processRow(ResultSet rs) throws SQLException {
+				String jobName = rs.getString(18);
+				List<StepExecution> stepExecutions = result.get(jobName);
+				if (stepExecutions == null) {
+					stepExecutions = new ArrayList<StepExecution>();
+					result.put(jobName, stepExecutions);
+				}
+				stepExecutions.add(rowMapper.mapRow(rs, stepExecutions.size()));
+			}
+		}, args);
+		return result;
+	}
+
 	/**
 	 * @return a {@link PagingQueryProvider} with a where clause to narrow the
 	 * query
 	 * @throws Exception
 	 */
 	private PagingQueryProvider getPagingQueryProvider(String whereClause) {
+		return getPagingQueryProvider(whereClause, Order.DESCENDING);
+	}
+
+	/**
+	 * @return a (cached) {@link PagingQueryProvider} with a where clause to
+	 * narrow the query, sorted by id in the order provided
+	 */
+	private PagingQueryProvider getPagingQueryProvider(String whereClause, Order order) {
+		String key = order + ":" + whereClause;
+		PagingQueryProvider queryProvider = queryProviders.get(key);
+		if (queryProvider != null) {
+			queryProviderCacheHits.incrementAndGet();
+			return queryProvider;
+		}
+		queryProviderCacheMisses.incrementAndGet();
+		queryProvider = createPagingQueryProvider(whereClause, order);
+		PagingQueryProvider existing = queryProviders.putIfAbsent(key, queryProvider);
+		return existing == null ? queryProvider : existing;
+	}
+
+	/**
+	 * @return a new {@link PagingQueryProvider} with a where clause to narrow
+	 * the query (or null for all steps), sorted by id in the order provided.
+	 * The job name is selected after the standard fields.
+	 */
+	private PagingQueryProvider createPagingQueryProvider(String whereClause, Order order) {
 		SqlPagingQueryProviderFactoryBean factory = new SqlPagingQueryProviderFactoryBean();
 		factory.setDataSource(dataSource);
 		factory.setFromClause(getQuery("%PREFIX%STEP_EXECUTION S, %PREFIX%JOB_EXECUTION J, %PREFIX%JOB_INSTANCE I"));
-		factory.setSelectClause(FIELDS);
+		factory.setSelectClause(FIELDS + ", I.JOB_NAME");
 		Map<String, Order> sortKeys = new HashMap<String, Order>();
-		sortKeys.put("STEP_EXECUTION_ID", Order.DESCENDING);
+		sortKeys.put("STEP_EXECUTION_ID", order);
 		factory.setSortKeys(sortKeys);
-		if (whereClause != null) {
-			factory.setWhereClause(whereClause
-					+ " AND S.JOB_EXECUTION_ID = J.JOB_EXECUTION_ID AND J.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID");
-		}
+		String joinClause = "S.JOB_EXECUTION_ID = J.JOB_EXECUTION_ID AND J.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID";
+		factory.setWhereClause(whereClause == null ? joinClause : whereClause + " AND " + joinClause);
 		try {
 			return (PagingQueryProvider) factory.getObject();
 		}
@@ -192,9 +568,37 @@ public class JdbcSearchableStepExecutionDao extends JdbcStepExecutionDao impleme
 
 	private static class StepExecutionRowMapper implements RowMapper<StepExecution> {
 
+		private final Map<Long, JobExecution> jobExecutions;
+
+		public StepExecutionRowMapper() {
+			this(null);
+		}
+
+		/**
+		 * @param jobExecutions parent job executions by id, to which the
+		 * mapped step executions are attached (the parent id is expected in the
+		 * column after the standard fields). A parent that is not in the map is
+		 * added to it with only its id.
+		 */
+		public StepExecutionRowMapper(Map<Long, JobExecution> jobExecutions) {
+			this.jobExecutions = jobExecutions;
+		}
+
 		public StepExecution mapRow(ResultSet rs, int rowNum) throws SQLException {
-			StepExecution stepExecution = new StepExecution(rs.getString(2), null);
-			stepExecution.setId(rs.getLong(1));
+			StepExecution stepExecution;
+			if (jobExecutions == null) {
+				stepExecution = new StepExecution(rs.getString(2), null);
+				stepExecution.setId(rs.getLong(1));
+			}
+			else {
+				Long jobExecutionId = rs.getLong(18);
+				JobExecution jobExecution = jobExecutions.get(jobExecutionId);
+				if (jobExecution == null) {
+					jobExecution = new JobExecution(jobExecutionId);
+					jobExecutions.put(jobExecutionId, jobExecution);
+				}
+				stepExecution = new StepExecution(rs.getString(2), jobExecution, rs.getLong(1));
+			}
 			stepExecution.setStartTime(rs.getTimestamp(3));
 			stepExecution.setEndTime(rs.getTimestamp(4));
 			stepExecution.setStatus(BatchStatus.valueOf(rs.getString(5)));
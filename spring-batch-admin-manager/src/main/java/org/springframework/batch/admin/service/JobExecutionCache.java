@@ -0,0 +1,352 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Entity;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.util.Assert;
+
+/**
+ * Cache of the {@link JobExecution} and {@link StepExecution} instances loaded
+ * from the repository by the {@link SimpleJobService}. Executions that have
+ * completed, failed or been abandoned do not change any more, so they are
+ * kept until they are evicted, whereas any other execution is only kept for a
+ * short {@link #setRunningTimeToLive(long) time to live}. The number of
+ * entries and their (roughly estimated) size in bytes are bounded, and the
+ * least recently used entries are evicted first.
+ * <p>
+ * Each entry carries the version of the execution, and an entry is never
+ * replaced with an older version. When the service updates an execution
+ * (stop, abandon, restart) it {@link #evict(JobExecution) evicts} it with its
+ * new version, so that a reader that loaded it just before the update cannot
+ * put the stale copy back. The cached instances are shared, so callers must
+ * not modify them.
+ *
+ * @since 2.0
+ */
+@ManagedResource
+public class JobExecutionCache {
+
+	private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	private static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+	private static final long DEFAULT_RUNNING_TIME_TO_LIVE = 1000;
+
+	/**
+	 * Rough sizes in bytes of the parts of an execution, for the size bound.
+	 */
+	private static final int EXECUTION_SIZE = 512;
+
+	private static final int CONTEXT_ENTRY_SIZE = 64;
+
+	private static final int VALUE_SIZE = 32;
+
+	private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+
+	private long bytes;
+
+	private volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+
+	private volatile long maxBytes = DEFAULT_MAX_BYTES;
+
+	private volatile long runningTimeToLive = DEFAULT_RUNNING_TIME_TO_LIVE;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * The maximum number of executions to retain (default 1000).
+	 *
+	 * @param maxEntries the maximum number of entries to set
+	 */
+	public void setMaxEntries(int maxEntries) {
+		Assert.isTrue(maxEntries > 0, "The maximum number of entries must be positive");
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * The maximum estimated size in bytes of the executions retained (default
+	 * 16MB). The estimate counts a fixed size per execution and the keys and
+	 * values in the execution contexts, with strings at two bytes per
+	 * character.
+	 *
+	 * @param maxBytes the maximum size to set
+	 */
+	public void setMaxBytes(long maxBytes) {
+		Assert.isTrue(maxBytes > 0, "The maximum size must be positive");
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * The time in milliseconds to keep executions that are not finished yet
+	 * (default 1000). Zero or less means they are not cached at all.
+	 *
+	 * @param runningTimeToLive the time to live to set
+	 */
+	public void setRunningTimeToLive(long runningTimeToLive) {
+		this.runningTimeToLive = runningTimeToLive;
+	}
+
+	/**
+	 * @param jobExecutionId the id of the job execution
+	 * @param withExecutionContext whether the execution context is needed
+	 * @return the cached job execution, or null if there is none (or it does
+	 * not have the execution context and that was needed)
+	 */
+	public JobExecution getJobExecution(Long jobExecutionId, boolean withExecutionContext) {
+		Entry entry = get(new Key(JobExecution.class, jobExecutionId));
+		if (entry == null || (withExecutionContext && !entry.withExecutionContext)) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		hitCount.incrementAndGet();
+		return (JobExecution) entry.value;
+	}
+
+	/**
+	 * @param jobExecution a job execution loaded from the repository, with
+	 * its job instance and step executions
+	 * @param withExecutionContext whether its execution context was loaded
+	 */
+	public void putJobExecution(JobExecution jobExecution, boolean withExecutionContext) {
+		long size = EXECUTION_SIZE;
+		if (withExecutionContext) {
+			size += estimateSize(jobExecution.getExecutionContext());
+		}
+		size += (long) EXECUTION_SIZE * jobExecution.getStepExecutions().size();
+		put(new Key(JobExecution.class, jobExecution.getId()), new Entry(jobExecution, jobExecution.getId(),
+				withExecutionContext, size, expiry(jobExecution.getStatus())));
+	}
+
+	/**
+	 * @param jobExecutionId the id of the job execution
+	 * @param stepExecutionId the id of the step execution
+	 * @return the cached step execution (with its execution context), or null
+	 * if there is none
+	 */
+	public StepExecution getStepExecution(Long jobExecutionId, Long stepExecutionId) {
+		Entry entry = get(new Key(StepExecution.class, stepExecutionId));
+		if (entry == null || !entry.jobExecutionId.equals(jobExecutionId)) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		hitCount.incrementAndGet();
+		return (StepExecution) entry.value;
+	}
+
+	/**
+	 * @param stepExecution a step execution loaded from the repository, with
+	 * its execution context
+	 */
+	public void putStepExecution(StepExecution stepExecution) {
+		long size = EXECUTION_SIZE + estimateSize(stepExecution.getExecutionContext());
+		put(new Key(StepExecution.class, stepExecution.getId()), new Entry(stepExecution,
+				stepExecution.getJobExecutionId(), true, size, expiry(stepExecution.getStatus())));
+	}
+
+	/**
+	 * Discard a job execution and its step executions, remembering the
+	 * version of the job execution so that older copies are not cached again.
+	 *
+	 * @param jobExecution the job execution that was changed
+	 */
+	public void evict(JobExecution jobExecution) {
+		Long id = jobExecution.getId();
+		synchronized (entries) {
+			for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+				Entry entry = iterator.next();
+				if (entry.jobExecutionId.equals(id) && entry.value instanceof StepExecution) {
+					bytes -= entry.size;
+					iterator.remove();
+				}
+			}
+		}
+		put(new Key(JobExecution.class, id), new Entry(jobExecution.getVersion(), id));
+	}
+
+	/**
+	 * Discard all the executions, e.g. after they have been removed from the
+	 * repository.
+	 */
+	@ManagedOperation(description = "Discard all the cached executions")
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			bytes = 0;
+		}
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Cached Execution Count")
+	public int getSize() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Estimated Cache Size Bytes")
+	public long getBytes() {
+		synchronized (entries) {
+			return bytes;
+		}
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Cache Hit Count")
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Cache Miss Count")
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	private Entry get(Key key) {
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry == null || entry.value == null) {
+				return null;
+			}
+			if (entry.expiry < System.currentTimeMillis()) {
+				entries.remove(key);
+				bytes -= entry.size;
+				return null;
+			}
+			return entry;
+		}
+	}
+
+	private void put(Key key, Entry entry) {
+		if (entry.value != null && entry.expiry < System.currentTimeMillis()) {
+			return;
+		}
+		synchronized (entries) {
+			Entry existing = entries.get(key);
+			if (existing != null) {
+				if (entry.version < existing.version) {
+					return;
+				}
+				bytes -= existing.size;
+			}
+			entries.put(key, entry);
+			bytes += entry.size;
+			for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext()
+					&& (entries.size() > maxEntries || bytes > maxBytes);) {
+				bytes -= iterator.next().size;
+				iterator.remove();
+			}
+		}
+	}
+
+	private long expiry(BatchStatus status) {
+		if (status == BatchStatus.COMPLETED || status == BatchStatus.FAILED || status == BatchStatus.ABANDONED) {
+			return Long.MAX_VALUE;
+		}
+		return runningTimeToLive > 0 ? System.currentTimeMillis() + runningTimeToLive : Long.MIN_VALUE;
+	}
+
+	private static long estimateSize(ExecutionContext context) {
+		long size = 0;
+		for (Map.Entry<String, Object> entry : context.entrySet()) {
+			size += CONTEXT_ENTRY_SIZE + 2 * entry.getKey().length();
+			Object value = entry.getValue();
+			size += value instanceof String ? 2 * ((String) value).length() : VALUE_SIZE;
+		}
+		return size;
+	}
+
+	private static class Key {
+
+		private final Class<? extends Entity> type;
+
+		private final Long id;
+
+		public Key(Class<? extends Entity> type, Long id) {
+			this.type = type;
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return type == other.type && id.equals(other.id);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * type.hashCode() + id.hashCode();
+		}
+
+	}
+
+	private static class Entry {
+
+		private final Entity value;
+
+		private final Long jobExecutionId;
+
+		private final int version;
+
+		private final boolean withExecutionContext;
+
+		private final long size;
+
+		private final long expiry;
+
+		public Entry(Entity value, Long jobExecutionId, boolean withExecutionContext, long size, long expiry) {
+			this.value = value;
+			this.jobExecutionId = jobExecutionId;
+			this.version = version(value.getVersion());
+			this.withExecutionContext = withExecutionContext;
+			this.size = size;
+			this.expiry = expiry;
+		}
+
+		/**
+		 * A marker for an execution that was changed, holding only its version.
+		 */
+		public Entry(Integer version, Long jobExecutionId) {
+			this.value = null;
+			this.jobExecutionId = jobExecutionId;
+			this.version = version(version);
+			this.withExecutionContext = false;
+			this.size = 0;
+			this.expiry = Long.MAX_VALUE;
+		}
+
+		private static int version(Integer version) {
+			return version == null ? -1 : version;
+		}
+
+	}
+
+}
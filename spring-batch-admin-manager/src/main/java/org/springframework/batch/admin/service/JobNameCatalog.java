@@ -0,0 +1,221 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The names of all the jobs known to the admin application, in alphabetical
+ * order: the jobs registered in this process, the JSR-352 jobs and the jobs
+ * that have instances in the repository. The catalog is kept up to date
+ * incrementally, from job registrations and from the job instances created
+ * since the {@link #getLastJobInstanceId() last one it knows about}, so
+ * reading a page or the total count does not need a full scan of the job
+ * instances or a copy of the whole list.
+ * <p>
+ * Job names are not removed when their instances are deleted from the
+ * repository.
+ *
+ * @since 2.0
+ */
+public class JobNameCatalog {
+
+	private static final int REGISTERED = 1;
+
+	private static final int JSR = 2;
+
+	private static final int HISTORIC = 4;
+
+	private static final String[] NO_NAMES = new String[0];
+
+	/**
+	 * The sources of each name as a bit mask (guarded by this).
+	 */
+	private final Map<String, Integer> sources = new HashMap<String, Integer>();
+
+	private Set<String> jsrJobNames = Collections.emptySet();
+
+	/**
+	 * The keys of the sources in order, replaced whenever a name is added or
+	 * removed.
+	 */
+	private volatile String[] names = NO_NAMES;
+
+	private volatile long lastJobInstanceId = -1;
+
+	private volatile boolean initialized = false;
+
+	/**
+	 * @return true once the names of the registered jobs have been set
+	 */
+	public boolean isInitialized() {
+		return initialized;
+	}
+
+	/**
+	 * Replace the names of the registered jobs, to initialize the catalog or
+	 * when no registration events are available. Nothing changes if the names
+	 * are the same as before.
+	 *
+	 * @param registeredJobNames the names of the registered jobs
+	 */
+	public synchronized void setRegisteredJobNames(Collection<String> registeredJobNames) {
+		Set<String> removed = new HashSet<String>();
+		for (Map.Entry<String, Integer> entry : sources.entrySet()) {
+			if ((entry.getValue() & REGISTERED) != 0 && !registeredJobNames.contains(entry.getKey())) {
+				removed.add(entry.getKey());
+			}
+		}
+		for (String jobName : removed) {
+			remove(jobName, REGISTERED);
+		}
+		for (String jobName : registeredJobNames) {
+			add(jobName, REGISTERED);
+		}
+		initialized = true;
+	}
+
+	/**
+	 * Replace the names of the JSR-352 jobs. Nothing changes if the same set
+	 * is passed in again, so this is cheap to call with the result of
+	 * {@link JsrJobNameCatalog#getJobNames()} on every read.
+	 *
+	 * @param jsrJobNames the names of the JSR-352 jobs
+	 */
+	public void setJsrJobNames(Set<String> jsrJobNames) {
+		if (jsrJobNames == this.jsrJobNames) {
+			return;
+		}
+		synchronized (this) {
+			for (String jobName : this.jsrJobNames) {
+				if (!jsrJobNames.contains(jobName)) {
+					remove(jobName, JSR);
+				}
+			}
+			for (String jobName : jsrJobNames) {
+				add(jobName, JSR);
+			}
+			this.jsrJobNames = jsrJobNames;
+		}
+	}
+
+	/**
+	 * @param jobName the name of a job that has been registered
+	 */
+	public synchronized void register(String jobName) {
+		add(jobName, REGISTERED);
+	}
+
+	/**
+	 * @param jobName the name of a job that is no longer registered
+	 */
+	public synchronized void unregister(String jobName) {
+		remove(jobName, REGISTERED);
+	}
+
+	/**
+	 * @return the id of the latest job instance added to the catalog, or -1
+	 * if there is none
+	 */
+	public long getLastJobInstanceId() {
+		return lastJobInstanceId;
+	}
+
+	/**
+	 * Add the names of the jobs with new instances in the repository.
+	 *
+	 * @param latestJobInstanceIds the id of the latest instance of each job,
+	 * by job name
+	 * @see SearchableJobInstanceDao#getLatestJobInstanceIds(long)
+	 */
+	public synchronized void addJobInstances(Map<String, Long> latestJobInstanceIds) {
+		long lastId = lastJobInstanceId;
+		for (Map.Entry<String, Long> entry : latestJobInstanceIds.entrySet()) {
+			add(entry.getKey(), HISTORIC);
+			lastId = Math.max(lastId, entry.getValue());
+		}
+		lastJobInstanceId = lastId;
+	}
+
+	/**
+	 * @return the number of job names in the catalog
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @return true if the catalog contains the name
+	 */
+	public boolean contains(String jobName) {
+		return Arrays.binarySearch(names, jobName) >= 0;
+	}
+
+	/**
+	 * @param start the index of the first name
+	 * @param count the maximum number of names
+	 * @return a page of job names in alphabetical order
+	 */
+	public List<String> getJobNames(int start, int count) {
+		String[] current = names;
+		int from = Math.max(0, Math.min(start, current.length));
+		int to = count < current.length - from ? from + Math.max(0, count) : current.length;
+		return new ArrayList<String>(Arrays.asList(current).subList(from, to));
+	}
+
+	private void add(String jobName, int source) {
+		Integer mask = sources.get(jobName);
+		if (mask == null) {
+			sources.put(jobName, source);
+			int index = -Arrays.binarySearch(names, jobName) - 1;
+			String[] result = new String[names.length + 1];
+			System.arraycopy(names, 0, result, 0, index);
+			result[index] = jobName;
+			System.arraycopy(names, index, result, index + 1, names.length - index);
+			names = result;
+		}
+		else if ((mask & source) == 0) {
+			sources.put(jobName, mask | source);
+		}
+	}
+
+	private void remove(String jobName, int source) {
+		Integer mask = sources.get(jobName);
+		if (mask == null || (mask & source) == 0) {
+			return;
+		}
+		if (mask != source) {
+			sources.put(jobName, mask & ~source);
+			return;
+		}
+		sources.remove(jobName);
+		int index = Arrays.binarySearch(names, jobName);
+		String[] result = new String[names.length - 1];
+		System.arraycopy(names, 0, result, 0, index);
+		System.arraycopy(names, index + 1, result, index, names.length - index - 1);
+		names = result;
+	}
+
+}
@@ -16,7 +16,14 @@
 package org.springframework.batch.admin.service;
 
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
+import org.springframework.batch.admin.domain.JobExecutionSummary;
+import org.springframework.batch.admin.domain.JobInfo;
+import org.springframework.batch.admin.domain.StepExecutionHistory;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobInstance;
@@ -170,6 +177,17 @@ public interface JobService {
 	 */
 	int countJobs();
 
+	/**
+	 * Summarise some jobs for a listing: the number of executions of each
+	 * job, and whether it is launchable and incrementable. The execution
+	 * counts are read for all the jobs at once.
+	 * 
+	 * @param jobNames the names of the jobs, e.g. a page from
+	 * {@link #listJobs(int, int)}
+	 * @return a {@link JobInfo} for each job name, in the same order
+	 */
+	List<JobInfo> listJobInfos(Collection<String> jobNames);
+
 	/**
 	 * Get a {@link JobInstance job instance} by id.
 	 * 
@@ -213,6 +231,36 @@ public interface JobService {
 	 */
 	Collection<JobExecution> listJobExecutionsForJob(String jobName, int start, int count) throws NoSuchJobException;
 
+	/**
+	 * List the {@link JobExecution job executions} for a job in descending
+	 * order of creation, continuing from (but not including) the execution
+	 * with the id provided. This is a keyset alternative to
+	 * {@link #listJobExecutionsForJob(String, int, int)} whose cost does not
+	 * grow with the depth of the page.
+	 * 
+	 * @param jobName the job name
+	 * @param afterId the id of the last execution on the previous page
+	 * @param count the maximum number of executions to return
+	 * @return a collection of {@link JobExecution}
+	 * @throws NoSuchJobException
+	 */
+	Collection<JobExecution> listJobExecutionsForJobAfter(String jobName, long afterId, int count)
+			throws NoSuchJobException;
+
+	/**
+	 * List the {@link JobExecution job executions} for a job that precede (but
+	 * do not include) the execution with the id provided in descending order
+	 * of creation, i.e. the previous page of a keyset traversal.
+	 * 
+	 * @param jobName the job name
+	 * @param beforeId the id of the first execution on the next page
+	 * @param count the maximum number of executions to return
+	 * @return a collection of {@link JobExecution}
+	 * @throws NoSuchJobException
+	 */
+	Collection<JobExecution> listJobExecutionsForJobBefore(String jobName, long beforeId, int count)
+			throws NoSuchJobException;
+
 	/**
 	 * Count the job executions in the repository for a job.
 	 * 
@@ -222,6 +270,17 @@ public interface JobService {
 	 */
 	int countJobExecutionsForJob(String jobName) throws NoSuchJobException;
 
+	/**
+	 * Count the job executions in the repository for a job with any of the
+	 * statuses provided.
+	 * 
+	 * @param jobName the job name
+	 * @param statuses the statuses to match
+	 * @return the number of matching executions
+	 * @throws NoSuchJobException
+	 */
+	int countJobExecutionsForJob(String jobName, Collection<BatchStatus> statuses) throws NoSuchJobException;
+
 	/**
 	 * Get all the job executions for a given job instance. On a sunny day there
 	 * would be only one. If there have been failures and restarts there may be
@@ -245,6 +304,139 @@ public interface JobService {
 	 */
 	Collection<JobExecution> listJobExecutions(int start, int count);
 
+	/**
+	 * List the {@link JobExecution job executions} in descending order of
+	 * creation, continuing from (but not including) the execution with the id
+	 * provided. This is a keyset alternative to
+	 * {@link #listJobExecutions(int, int)} whose cost does not grow with the
+	 * depth of the page.
+	 * 
+	 * @param afterId the id of the last execution on the previous page
+	 * @param count the maximum number of executions
+	 * @return a collection of {@link JobExecution}
+	 */
+	Collection<JobExecution> listJobExecutionsAfter(long afterId, int count);
+
+	/**
+	 * List the {@link JobExecution job executions} that precede (but do not
+	 * include) the execution with the id provided in descending order of
+	 * creation, i.e. the previous page of a keyset traversal.
+	 * 
+	 * @param beforeId the id of the first execution on the next page
+	 * @param count the maximum number of executions
+	 * @return a collection of {@link JobExecution}
+	 */
+	Collection<JobExecution> listJobExecutionsBefore(long beforeId, int count);
+
+	/**
+	 * List the {@link JobExecution job executions} with the ids provided, in
+	 * as few queries as possible.
+	 * 
+	 * @param jobExecutionIds the ids of the executions
+	 * @return a collection of {@link JobExecution} (without step executions),
+	 * most recent first (missing ids are ignored)
+	 */
+	Collection<JobExecution> listJobExecutions(Collection<Long> jobExecutionIds);
+
+	/**
+	 * List summaries of the {@link JobExecution job executions} in the same
+	 * order as {@link #listJobExecutions(int, int)}, without their step
+	 * executions or execution context. Cheaper than the full executions when
+	 * only a list page is needed.
+	 * 
+	 * @param start the index of the first execution to return
+	 * @param count the maximum number of executions
+	 * @return a collection of {@link JobExecutionSummary}
+	 */
+	Collection<JobExecutionSummary> listJobExecutionSummaries(int start, int count);
+
+	/**
+	 * @param afterId the id of the last execution on the previous page
+	 * @param count the maximum number of executions
+	 * @return a collection of {@link JobExecutionSummary}
+	 * @see #listJobExecutionsAfter(long, int)
+	 */
+	Collection<JobExecutionSummary> listJobExecutionSummariesAfter(long afterId, int count);
+
+	/**
+	 * @param beforeId the id of the first execution on the next page
+	 * @param count the maximum number of executions
+	 * @return a collection of {@link JobExecutionSummary}
+	 * @see #listJobExecutionsBefore(long, int)
+	 */
+	Collection<JobExecutionSummary> listJobExecutionSummariesBefore(long beforeId, int count);
+
+	/**
+	 * List summaries of the {@link JobExecution job executions} last updated
+	 * after the position provided, in order of their last update and id, so
+	 * that a client can poll for the executions that changed since its last
+	 * call.
+	 * 
+	 * @param since the last updated time of the position
+	 * @param afterId the id of the position (-1 to include all the executions
+	 * updated at <code>since</code>)
+	 * @param count the maximum number of executions to return
+	 * @return a collection of {@link JobExecutionSummary}
+	 * @see SearchableJobExecutionDao#getJobExecutionSummariesUpdatedSince(Date, long, int)
+	 */
+	Collection<JobExecutionSummary> listJobExecutionSummariesUpdatedSince(Date since, long afterId, int count);
+
+	/**
+	 * List the {@link StepExecution step executions} last updated after the
+	 * position provided, in order of their last update and id.
+	 * 
+	 * @param since the last updated time of the position
+	 * @param afterId the id of the position (-1 to include all the step
+	 * executions updated at <code>since</code>)
+	 * @param count the maximum number of step executions to return
+	 * @return a collection of {@link StepExecution}
+	 * @see SearchableStepExecutionDao#findStepExecutionsUpdatedSince(Date, long, int)
+	 */
+	Collection<StepExecution> listStepExecutionsUpdatedSince(Date since, long afterId, int count);
+
+	/**
+	 * Get a cheap fingerprint of the state of a job execution (including the
+	 * other executions of its job instance and all their step executions),
+	 * e.g. to tell a client that its copy is still current without loading
+	 * the execution.
+	 * 
+	 * @param jobExecutionId the id of the job execution
+	 * @return the version, or null if it is not available (e.g. if there is no
+	 * such execution)
+	 * @see SearchableJobExecutionDao#getJobExecutionVersion(long)
+	 */
+	ExecutionVersion getJobExecutionVersion(Long jobExecutionId);
+
+	/**
+	 * Get a cheap fingerprint of the state of the executions of a job
+	 * instance and their step executions.
+	 * 
+	 * @param jobInstanceId the id of the job instance
+	 * @return the version, or null if it is not available
+	 * @see SearchableJobExecutionDao#getJobInstanceVersion(long)
+	 */
+	ExecutionVersion getJobInstanceVersion(Long jobInstanceId);
+
+	/**
+	 * Get a cheap fingerprint of the state of the step executions of a job
+	 * execution.
+	 * 
+	 * @param jobExecutionId the id of the job execution
+	 * @return the version, or null if it is not available
+	 * @see SearchableStepExecutionDao#getStepExecutionsVersion(long)
+	 */
+	ExecutionVersion getStepExecutionsVersion(Long jobExecutionId);
+
+	/**
+	 * Get a cheap fingerprint of the state of a step execution.
+	 * 
+	 * @param jobExecutionId the id of the job execution
+	 * @param stepExecutionId the id of the step execution
+	 * @return the version, or null if it is not available
+	 * @see SearchableStepExecutionDao#getStepExecutionVersion(long, long)
+	 */
+	ExecutionVersion getStepExecutionVersion(Long jobExecutionId, Long stepExecutionId);
+
 	/**
 	 * Count the maximum number of executions that could be returned by
 	 * {@link #listJobExecutions(int, int)}.
@@ -253,6 +445,44 @@ public interface JobService {
 	 */
 	int countJobExecutions();
 
+	/**
+	 * Count the job executions in the job repository with any of the statuses
+	 * provided.
+	 * 
+	 * @param statuses the statuses to match
+	 * @return the number of matching job executions in the job repository
+	 */
+	int countJobExecutions(Collection<BatchStatus> statuses);
+
+	/**
+	 * Count the job executions in the job repository with any of the statuses
+	 * provided, for all jobs at once.
+	 * 
+	 * @param statuses the statuses to match
+	 * @return the number of matching job executions by job name (jobs without
+	 * matching executions are omitted)
+	 */
+	Map<String, Integer> countJobExecutionsByJob(Collection<BatchStatus> statuses);
+
+	/**
+	 * List the most recent {@link JobExecution} of every job in the job
+	 * repository (with its step executions).
+	 * 
+	 * @return a collection of {@link JobExecution}, most recent first
+	 */
+	Collection<JobExecution> listLatestJobExecutions();
+
+	/**
+	 * List the most recent {@link JobExecution} of each of the jobs provided
+	 * (with its step executions), with a fixed number of queries whatever the
+	 * number of jobs.
+	 * 
+	 * @param jobNames the names of the jobs
+	 * @return a map from job name to its most recent {@link JobExecution}
+	 * (jobs without executions are omitted)
+	 */
+	Map<String, JobExecution> listLatestJobExecutions(Collection<String> jobNames);
+
 	/**
 	 * Get a {@link JobExecution} by id.
 	 * 
@@ -263,6 +493,23 @@ public interface JobService {
 	 */
 	JobExecution getJobExecution(Long jobExecutionId) throws NoSuchJobExecutionException;
 
+	/**
+	 * Get a {@link JobExecution} by id, optionally without its
+	 * {@link org.springframework.batch.item.ExecutionContext}. The context can
+	 * be large and is expensive to deserialize, so callers that do not need
+	 * it should not ask for it. A job execution that is running in this
+	 * process is returned as it is, with its context.
+	 * 
+	 * @param jobExecutionId the job execution id
+	 * @param loadExecutionContext false if the execution context can be left
+	 * empty
+	 * @return the {@link JobExecution}
+	 * 
+	 * @throws NoSuchJobExecutionException
+	 */
+	JobExecution getJobExecution(Long jobExecutionId, boolean loadExecutionContext)
+			throws NoSuchJobExecutionException;
+
 	/**
 	 * Get the {@link StepExecution step executions} for a given job execution
 	 * (by id).
@@ -274,6 +521,40 @@ public interface JobService {
 	 */
 	Collection<StepExecution> getStepExecutions(Long jobExecutionId) throws NoSuchJobExecutionException;
 
+	/**
+	 * Get a page of the {@link StepExecution step executions} for a given job
+	 * execution (by id) in ascending order of id (execution order), continuing
+	 * from (but not including) the step execution with the id provided. Unlike
+	 * {@link #getStepExecutions(Long)} only the step executions in the
+	 * repository are returned, and the cost does not depend on how many there
+	 * are (e.g. for a step with many partitions).
+	 * 
+	 * @param jobExecutionId the parent job execution id
+	 * @param afterId the id of the last step execution on the previous page
+	 * (or 0 for the first page)
+	 * @param count the maximum number of step executions to return
+	 * @return the step executions
+	 * 
+	 * @throws NoSuchJobExecutionException
+	 */
+	Collection<StepExecution> getStepExecutionsAfter(Long jobExecutionId, long afterId, int count)
+			throws NoSuchJobExecutionException;
+
+	/**
+	 * Get the {@link StepExecution step executions} for a given job execution
+	 * (by id) that precede (but do not include) the step execution with the
+	 * id provided, in ascending order of id.
+	 * 
+	 * @param jobExecutionId the parent job execution id
+	 * @param beforeId the id of the first step execution on the next page
+	 * @param count the maximum number of step executions to return
+	 * @return the step executions
+	 * 
+	 * @throws NoSuchJobExecutionException
+	 */
+	Collection<StepExecution> getStepExecutionsBefore(Long jobExecutionId, long beforeId, int count)
+			throws NoSuchJobExecutionException;
+
 	/**
 	 * List the {@link StepExecution step executions} for a step in descending
 	 * order of creation (usually close to execution order).
@@ -289,6 +570,37 @@ public interface JobService {
 	Collection<StepExecution> listStepExecutionsForStep(String jobName, String stepName, int start, int count)
 			throws NoSuchStepException;
 
+	/**
+	 * List the {@link StepExecution step executions} for a step in descending
+	 * order of creation, continuing from (but not including) the step
+	 * execution with the id provided. This is a keyset alternative to
+	 * {@link #listStepExecutionsForStep(String, String, int, int)} whose cost
+	 * does not grow with the depth of the page.
+	 * 
+	 * @param jobName the name of the job associated with the step (or a pattern
+	 * with wildcards)
+	 * @param stepName the step name (or a pattern with wildcards)
+	 * @param afterId the id of the last step execution on the previous page
+	 * @param count the maximum number of executions to return
+	 * @return a collection of {@link StepExecution}
+	 */
+	Collection<StepExecution> listStepExecutionsForStepAfter(String jobName, String stepName, long afterId, int count);
+
+	/**
+	 * List the {@link StepExecution step executions} for a step that precede
+	 * (but do not include) the step execution with the id provided in
+	 * descending order of creation.
+	 * 
+	 * @param jobName the name of the job associated with the step (or a pattern
+	 * with wildcards)
+	 * @param stepName the step name (or a pattern with wildcards)
+	 * @param beforeId the id of the first step execution on the next page
+	 * @param count the maximum number of executions to return
+	 * @return a collection of {@link StepExecution}
+	 */
+	Collection<StepExecution> listStepExecutionsForStepBefore(String jobName, String stepName, long beforeId,
+			int count);
+
 	/**
 	 * Count the step executions in the repository for a given step name (or
 	 * pattern).
@@ -300,6 +612,82 @@ public interface JobService {
 	 */
 	int countStepExecutionsForStep(String jobName, String stepName) throws NoSuchStepException;
 
+	/**
+	 * Count the step executions in the repository for a given step name (or
+	 * pattern) with any of the statuses provided.
+	 * @param jobName the job name (or a pattern with wildcards)
+	 * @param stepName the step name (or a pattern with wildcards)
+	 * @param statuses the statuses to match
+	 * 
+	 * @return the number of matching executions
+	 */
+	int countStepExecutionsForStep(String jobName, String stepName, Collection<BatchStatus> statuses);
+
+	/**
+	 * Count the step executions in the repository with any of the statuses
+	 * provided, for all steps at once.
+	 * @param statuses the statuses to match
+	 * 
+	 * @return the number of matching executions by job name and then by step
+	 * name (steps without matching executions are omitted)
+	 */
+	Map<String, Map<String, Integer>> countStepExecutionsByStep(Collection<BatchStatus> statuses);
+
+	/**
+	 * List the most recent {@link StepExecution} of every step in the
+	 * repository.
+	 * 
+	 * @return the step executions (without their parent job execution) grouped
+	 * by job name
+	 */
+	Map<String, List<StepExecution>> listLatestStepExecutions();
+
+	/**
+	 * List the {@link StepExecution step executions} of all jobs in
+	 * descending order of id, continuing from (but not including) the step
+	 * execution with the id provided.
+	 * 
+	 * @param afterId the id of the last step execution on the previous page
+	 * @param count the maximum number of step executions
+	 * @return the step executions (without their parent job execution) grouped
+	 * by job name
+	 */
+	Map<String, List<StepExecution>> listStepExecutionsAfter(long afterId, int count);
+
+	/**
+	 * List the {@link StepExecution step executions} of all jobs that precede
+	 * (but do not include) the step execution with the id provided in
+	 * descending order of id.
+	 * 
+	 * @param beforeId the id of the first step execution on the next page
+	 * @param count the maximum number of step executions
+	 * @return the step executions (without their parent job execution) grouped
+	 * by job name
+	 */
+	Map<String, List<StepExecution>> listStepExecutionsBefore(long beforeId, int count);
+
+	/**
+	 * List the {@link StepExecution step executions} with the ids provided, in
+	 * as few queries as possible.
+	 * 
+	 * @param stepExecutionIds the ids of the step executions
+	 * @return the step executions (without their parent job execution)
+	 */
+	Collection<StepExecution> listStepExecutions(Collection<Long> stepExecutionIds);
+
+	/**
+	 * Summarise all the finished {@link StepExecution step executions} for a
+	 * step name (or pattern), e.g. to compare a running execution with its
+	 * history. Implementations may cache the statistics of finished
+	 * executions, since they never change. The JMX step metrics use the last
+	 * 10 executions instead.
+	 * @param jobName the job name (or a pattern with wildcards)
+	 * @param stepName the step name (or a pattern with wildcards)
+	 * 
+	 * @return a {@link StepExecutionHistory} for the step executions
+	 */
+	StepExecutionHistory getStepExecutionHistory(String jobName, String stepName);
+
 	/**
 	 * Locate a {@link StepExecution} from its id and that of its parent
 	 * {@link JobExecution}.
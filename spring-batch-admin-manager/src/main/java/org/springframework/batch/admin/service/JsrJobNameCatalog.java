@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+/**
+ * The names of the JSR-352 jobs, i.e. of the job XML files on the classpath.
+ * Scanning the classpath is expensive (especially inside jars), so it is done
+ * once and the result kept until {@link #refresh()} is called, e.g. when new
+ * job configurations are uploaded.
+ *
+ * @since 2.0
+ */
+public class JsrJobNameCatalog implements InitializingBean {
+
+	private static final Log logger = LogFactory.getLog(JsrJobNameCatalog.class);
+
+	/**
+	 * The default location of JSR-352 job XML files.
+	 */
+	public static final String DEFAULT_LOCATION_PATTERN = "classpath*:/META-INF/batch-jobs/**/*.xml";
+
+	private ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+	private String locationPattern = DEFAULT_LOCATION_PATTERN;
+
+	private volatile Set<String> jobNames;
+
+	/**
+	 * @param resourcePatternResolver the resolver to scan for job XML files
+	 */
+	public void setResourcePatternResolver(ResourcePatternResolver resourcePatternResolver) {
+		this.resourcePatternResolver = resourcePatternResolver;
+	}
+
+	/**
+	 * The location of the job XML files (defaults to
+	 * {@value #DEFAULT_LOCATION_PATTERN}).
+	 *
+	 * @param locationPattern the location pattern to set
+	 */
+	public void setLocationPattern(String locationPattern) {
+		this.locationPattern = locationPattern;
+	}
+
+	/**
+	 * Scan for the job names eagerly.
+	 *
+	 * @see InitializingBean#afterPropertiesSet()
+	 */
+	public void afterPropertiesSet() {
+		refresh();
+	}
+
+	/**
+	 * @return the names of the JSR-352 jobs (scanning for them on first use)
+	 */
+	public Set<String> getJobNames() {
+		Set<String> result = jobNames;
+		if (result == null) {
+			refresh();
+			result = jobNames;
+		}
+		return result;
+	}
+
+	/**
+	 * @param jobName the name of a job
+	 * @return true if there is a JSR-352 job with this name
+	 */
+	public boolean contains(String jobName) {
+		return getJobNames().contains(jobName);
+	}
+
+	/**
+	 * Scan the classpath again for job XML files.
+	 */
+	public void refresh() {
+
+		Set<String> result = new HashSet<String>();
+
+		try {
+			Resource[] resources = resourcePatternResolver.getResources(locationPattern);
+
+			for (Resource resource : resources) {
+				String jobXmlFileName = resource.getFilename();
+				result.add(jobXmlFileName.substring(0, jobXmlFileName.length() - 4));
+			}
+		}
+		catch (IOException e) {
+			logger.debug("Unable to list JSR-352 batch jobs", e);
+		}
+
+		jobNames = Collections.unmodifiableSet(result);
+
+	}
+
+}
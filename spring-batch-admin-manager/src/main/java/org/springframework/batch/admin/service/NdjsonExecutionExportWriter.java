@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.util.ISO8601Utils;
+
+/**
+ * Writes exported rows as newline delimited JSON: one object per line, with
+ * the column names as fields. Dates are written as ISO-8601 strings in UTC.
+ *
+ * @since 2.0
+ */
+public class NdjsonExecutionExportWriter implements ExecutionExportWriter {
+
+	private static final JsonFactory jsonFactory = new JsonFactory();
+
+	private final OutputStream outputStream;
+
+	private JsonGenerator generator;
+
+	private String[] columns;
+
+	/**
+	 * @param outputStream the stream to write to
+	 */
+	public NdjsonExecutionExportWriter(OutputStream outputStream) {
+		this.outputStream = outputStream;
+	}
+
+	@Override
+	public void start(String[] columns) throws IOException {
+		this.columns = columns;
+		generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		// Each row is terminated by a newline instead of separated by a space
+		generator.setRootValueSeparator(null);
+	}
+
+	@Override
+	public void write(Object[] values) throws IOException {
+		generator.writeStartObject();
+		for (int i = 0; i < columns.length; i++) {
+			Object value = values[i];
+			generator.writeFieldName(columns[i]);
+			if (value == null) {
+				generator.writeNull();
+			}
+			else if (value instanceof Long) {
+				generator.writeNumber((Long) value);
+			}
+			else if (value instanceof Date) {
+				generator.writeString(ISO8601Utils.format((Date) value, true));
+			}
+			else {
+				generator.writeString(value.toString());
+			}
+		}
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+
+	@Override
+	public void finish() throws IOException {
+		generator.close();
+		outputStream.flush();
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+
+/**
+ * Creates the (forward-only, read-only) statement for a query with positional
+ * arguments, with settings that the {@link org.springframework.jdbc.core.JdbcTemplate}
+ * cannot pass on: a cap on the number of rows, so that a page of a query
+ * without a portable limit clause does not read the rest of the table, and a
+ * fetch size of any value (the template only passes on positive ones, but
+ * e.g. MySQL needs {@link Integer#MIN_VALUE} to stream the rows).
+ *
+ * @since 2.0
+ */
+class QueryStatementCreator implements PreparedStatementCreator, SqlProvider {
+
+	private final String sql;
+
+	private final Object[] args;
+
+	private int maxRows;
+
+	private Integer fetchSize;
+
+	/**
+	 * @param sql the query
+	 * @param args the arguments for the query
+	 */
+	public QueryStatementCreator(String sql, Object... args) {
+		this.sql = sql;
+		this.args = args;
+	}
+
+	/**
+	 * @param maxRows the maximum number of rows to return (default 0 for no
+	 * limit)
+	 */
+	public void setMaxRows(int maxRows) {
+		this.maxRows = maxRows;
+	}
+
+	/**
+	 * @param fetchSize the number of rows to fetch at a time (default none,
+	 * for the driver default)
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	@Override
+	public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+		PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		if (maxRows > 0) {
+			ps.setMaxRows(maxRows);
+		}
+		if (fetchSize != null) {
+			ps.setFetchSize(fetchSize);
+		}
+		new ArgumentPreparedStatementSetter(args).setValues(ps);
+		return ps;
+	}
+
+	@Override
+	public String getSql() {
+		return sql;
+	}
+
+}
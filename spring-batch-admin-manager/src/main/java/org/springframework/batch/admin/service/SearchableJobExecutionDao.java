@@ -16,8 +16,12 @@
 package org.springframework.batch.admin.service;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.batch.admin.domain.JobExecutionSummary;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.repository.dao.JobExecutionDao;
 
@@ -53,6 +57,102 @@ public interface SearchableJobExecutionDao extends JobExecutionDao {
 	 */
 	List<JobExecution> getJobExecutions(int start, int count);
 
+	/**
+	 * Get the {@link JobExecution JobExecutions} in reverse order of creation,
+	 * continuing from (but not including) the execution with the id provided.
+	 * Unlike {@link #getJobExecutions(int, int)} the cost does not depend on
+	 * how far into the list the page is.
+	 * 
+	 * @param afterId the id of the last execution on the previous page
+	 * @param count the maximum number of instances to return
+	 * @return the {@link JobExecution} instances requested (ids less than
+	 * afterId, descending)
+	 */
+	List<JobExecution> getJobExecutionsAfter(long afterId, int count);
+
+	/**
+	 * Get the {@link JobExecution JobExecutions} that precede (but do not
+	 * include) the execution with the id provided in reverse order of
+	 * creation, i.e. the page before the one starting at that execution.
+	 * 
+	 * @param beforeId the id of the first execution on the next page
+	 * @param count the maximum number of instances to return
+	 * @return the {@link JobExecution} instances requested (the smallest ids
+	 * greater than beforeId, descending)
+	 */
+	List<JobExecution> getJobExecutionsBefore(long beforeId, int count);
+
+	/**
+	 * Get the summaries of the {@link JobExecution JobExecutions} in reverse
+	 * order of creation, as {@link #getJobExecutions(int, int)} but without
+	 * building the executions themselves. The step executions are counted in
+	 * the same query.
+	 * 
+	 * @param start the start index of the executions
+	 * @param count the maximum number of executions to return
+	 * @return the {@link JobExecutionSummary} instances requested
+	 */
+	List<JobExecutionSummary> getJobExecutionSummaries(int start, int count);
+
+	/**
+	 * @param afterId the id of the last execution on the previous page
+	 * @param count the maximum number of executions to return
+	 * @return the {@link JobExecutionSummary} instances requested
+	 * @see #getJobExecutionsAfter(long, int)
+	 */
+	List<JobExecutionSummary> getJobExecutionSummariesAfter(long afterId, int count);
+
+	/**
+	 * @param beforeId the id of the first execution on the next page
+	 * @param count the maximum number of executions to return
+	 * @return the {@link JobExecutionSummary} instances requested
+	 * @see #getJobExecutionsBefore(long, int)
+	 */
+	List<JobExecutionSummary> getJobExecutionSummariesBefore(long beforeId, int count);
+
+	/**
+	 * Get the summaries of the {@link JobExecution JobExecutions} last updated
+	 * after the position provided, in order of their last update and then of
+	 * their id: those updated later than <code>since</code>, and those updated
+	 * at <code>since</code> with an id greater than <code>afterId</code>. The
+	 * last update and id of the last execution can be passed back to get the
+	 * next page, which never repeats an execution or gets stuck on executions
+	 * updated at the same time.
+	 * 
+	 * @param since the last updated time of the position
+	 * @param afterId the id of the position (-1 to include all the executions
+	 * updated at <code>since</code>)
+	 * @param count the maximum number of executions to return
+	 * @return the {@link JobExecutionSummary} instances requested
+	 */
+	List<JobExecutionSummary> getJobExecutionSummariesUpdatedSince(Date since, long afterId, int count);
+
+	/**
+	 * Get the {@link JobExecution JobExecutions} for a specific job name in
+	 * reverse order of creation, continuing from (but not including) the
+	 * execution with the id provided.
+	 * 
+	 * @param jobName the name of the job
+	 * @param afterId the id of the last execution on the previous page
+	 * @param count the maximum number of instances to return
+	 * @return the {@link JobExecution} instances requested
+	 * @see #getJobExecutionsAfter(long, int)
+	 */
+	List<JobExecution> getJobExecutionsAfter(String jobName, long afterId, int count);
+
+	/**
+	 * Get the {@link JobExecution JobExecutions} for a specific job name that
+	 * precede (but do not include) the execution with the id provided in
+	 * reverse order of creation.
+	 * 
+	 * @param jobName the name of the job
+	 * @param beforeId the id of the first execution on the next page
+	 * @param count the maximum number of instances to return
+	 * @return the {@link JobExecution} instances requested
+	 * @see #getJobExecutionsBefore(long, int)
+	 */
+	List<JobExecution> getJobExecutionsBefore(String jobName, long beforeId, int count);
+
 	/**
 	 * @param jobName the name of a job
 	 * @return the number of {@link JobExecution JobExecutions} belonging to
@@ -60,6 +160,65 @@ public interface SearchableJobExecutionDao extends JobExecutionDao {
 	 */
 	int countJobExecutions(String jobName);
 
+	/**
+	 * @param statuses the statuses to match
+	 * @return the number of {@link JobExecution JobExecutions} with any of the
+	 * statuses provided
+	 */
+	int countJobExecutions(Collection<BatchStatus> statuses);
+
+	/**
+	 * @param jobName the name of a job
+	 * @param statuses the statuses to match
+	 * @return the number of {@link JobExecution JobExecutions} belonging to
+	 * this job with any of the statuses provided
+	 */
+	int countJobExecutions(String jobName, Collection<BatchStatus> statuses);
+
+	/**
+	 * @param statuses the statuses to match
+	 * @return the number of {@link JobExecution JobExecutions} with any of the
+	 * statuses provided for each job name (jobs without matching executions
+	 * are omitted)
+	 */
+	Map<String, Integer> countJobExecutionsByJobName(Collection<BatchStatus> statuses);
+
+	/**
+	 * @param jobNames the names of some jobs
+	 * @return the number of {@link JobExecution JobExecutions} belonging to
+	 * each of the jobs (jobs without executions are omitted)
+	 */
+	Map<String, Integer> countJobExecutionsForJobNames(Collection<String> jobNames);
+
+	/**
+	 * Find the most recent execution of each job in a single query.
+	 * 
+	 * @return the {@link JobExecution} with the largest id for each job name
+	 * (without step executions), most recent first
+	 */
+	List<JobExecution> getLatestJobExecutions();
+
+	/**
+	 * Find the most recent execution of each of the jobs provided in a single
+	 * query.
+	 * 
+	 * @param jobNames the names of the jobs
+	 * @return the {@link JobExecution} with the largest id for each job name
+	 * (without step executions), most recent first (jobs without executions are
+	 * omitted)
+	 */
+	List<JobExecution> getLatestJobExecutions(Collection<String> jobNames);
+
+	/**
+	 * Find the executions with the ids provided, with one query per few
+	 * hundred ids.
+	 * 
+	 * @param jobExecutionIds the ids of the executions
+	 * @return the {@link JobExecution} instances (without step executions),
+	 * most recent first (missing ids are ignored)
+	 */
+	List<JobExecution> getJobExecutions(Collection<Long> jobExecutionIds);
+
 	/**
 	 * Find all the running executions (status less than STOPPING).
 	 * 
@@ -67,4 +226,25 @@ public interface SearchableJobExecutionDao extends JobExecutionDao {
 	 */
 	Collection<JobExecution> getRunningJobExecutions();
 
+	/**
+	 * Read a cheap fingerprint of the state of a job execution, without
+	 * loading it. It covers all the executions of the same job instance and
+	 * their step executions, because the representation of an execution
+	 * depends on them (e.g. whether it can be restarted).
+	 * 
+	 * @param jobExecutionId the id of the job execution
+	 * @return the version, with the status of the job execution, or null if
+	 * there is no such execution
+	 */
+	ExecutionVersion getJobExecutionVersion(long jobExecutionId);
+
+	/**
+	 * Read a cheap fingerprint of the state of all the executions of a job
+	 * instance and their step executions, without loading them.
+	 * 
+	 * @param jobInstanceId the id of the job instance
+	 * @return the version (without a status)
+	 */
+	ExecutionVersion getJobInstanceVersion(long jobInstanceId);
+
 }
@@ -15,6 +15,8 @@
  */
 package org.springframework.batch.admin.service;
 
+import java.util.Map;
+
 import org.springframework.batch.core.repository.dao.JobInstanceDao;
 
 /**
@@ -29,4 +31,14 @@ public interface SearchableJobInstanceDao extends JobInstanceDao {
 	 */
 	int countJobInstances(String name);
 
+	/**
+	 * The names of the jobs that have instances with an id greater than the
+	 * one provided, with the id of the latest of them. Passing in the largest
+	 * id returned so far gives the names of the jobs with new instances.
+	 * 
+	 * @param afterId the id after which to look for instances
+	 * @return the id of the latest instance of each job, by job name
+	 */
+	Map<String, Long> getLatestJobInstanceIds(long afterId);
+
 }
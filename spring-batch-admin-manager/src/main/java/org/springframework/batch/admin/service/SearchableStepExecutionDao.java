@@ -16,7 +16,13 @@
 package org.springframework.batch.admin.service;
 
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
+import org.springframework.batch.admin.domain.StepExecutionHistory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.repository.dao.StepExecutionDao;
 
@@ -43,6 +49,47 @@ public interface SearchableStepExecutionDao extends StepExecutionDao {
 	Collection<String> findStepNamesForJobExecution(String jobName,
 			String excludesPattern);
 
+	/**
+	 * Retrieve all the {@link StepExecution StepExecutions} for a collection
+	 * of job executions and add them to their parent. Implementations should
+	 * use a constant number of queries, independent of the number of job
+	 * executions, so this is preferred over
+	 * {@link #addStepExecutions(JobExecution)} in a loop.
+	 * 
+	 * @param jobExecutions
+	 *            the parent job executions
+	 */
+	void addStepExecutions(Collection<JobExecution> jobExecutions);
+
+	/**
+	 * Find a page of the step executions of a job execution in ascending
+	 * order of id (execution order), continuing from (but not including) the
+	 * step execution with the id provided, and add them to their parent. The
+	 * cost does not depend on how many step executions the job execution has.
+	 * 
+	 * @param jobExecution the parent job execution
+	 * @param afterId the id of the last step execution on the previous page
+	 * (or 0 for the first page)
+	 * @param count the maximum number of step executions to return
+	 * @return a collection of step executions (ids greater than afterId)
+	 */
+	Collection<StepExecution> findStepExecutionsForJobExecutionAfter(JobExecution jobExecution, long afterId,
+			int count);
+
+	/**
+	 * Find the step executions of a job execution that precede (but do not
+	 * include) the step execution with the id provided in ascending order of
+	 * id, and add them to their parent.
+	 * 
+	 * @param jobExecution the parent job execution
+	 * @param beforeId the id of the first step execution on the next page
+	 * @param count the maximum number of step executions to return
+	 * @return a collection of step executions (the largest ids less than
+	 * beforeId, in ascending order)
+	 */
+	Collection<StepExecution> findStepExecutionsForJobExecutionBefore(JobExecution jobExecution, long beforeId,
+			int count);
+
 	/**
 	 * Find all the step executions for a given step name, or step name pattern
 	 * (with wildcards specified as '*') sorted in descending order of id.
@@ -58,7 +105,35 @@ public interface SearchableStepExecutionDao extends StepExecutionDao {
 	 */
 	Collection<StepExecution> findStepExecutions(String jobName, String stepName,
 			int start, int count);
-	
+
+	/**
+	 * Find the step executions for a given step name, or step name pattern,
+	 * sorted in descending order of id and continuing from (but not
+	 * including) the step execution with the id provided. The cost does not
+	 * depend on how far into the list the page is.
+	 * 
+	 * @param jobName the job name or pattern
+	 * @param stepName the step name or pattern
+	 * @param afterId the id of the last step execution on the previous page
+	 * @param count the maximum number of step executions to return
+	 * @return a collection of step executions (ids less than afterId)
+	 */
+	Collection<StepExecution> findStepExecutionsAfter(String jobName, String stepName, long afterId, int count);
+
+	/**
+	 * Find the step executions for a given step name, or step name pattern,
+	 * that precede (but do not include) the step execution with the id
+	 * provided when sorted in descending order of id.
+	 * 
+	 * @param jobName the job name or pattern
+	 * @param stepName the step name or pattern
+	 * @param beforeId the id of the first step execution on the next page
+	 * @param count the maximum number of step executions to return
+	 * @return a collection of step executions (the smallest ids greater than
+	 * beforeId, in descending order)
+	 */
+	Collection<StepExecution> findStepExecutionsBefore(String jobName, String stepName, long beforeId, int count);
+
 	/**
 	 * Count all the step executions for a given step name pattern.
 	 * @param jobName the job name pattern
@@ -67,4 +142,152 @@ public interface SearchableStepExecutionDao extends StepExecutionDao {
 	 * @return the total number of step executions in the repository matching the pattern
 	 */
 	int countStepExecutions(String jobName, String stepName);
+
+	/**
+	 * Count the step executions for a given step name pattern with any of the
+	 * statuses provided.
+	 * @param jobName the job name pattern
+	 * @param stepName the step name pattern
+	 * @param statuses the statuses to match
+	 * 
+	 * @return the number of matching step executions in the repository
+	 */
+	int countStepExecutions(String jobName, String stepName, Collection<BatchStatus> statuses);
+
+	/**
+	 * Count the step executions with any of the statuses provided for all
+	 * steps in a single query.
+	 * @param statuses the statuses to match
+	 * 
+	 * @return the number of matching step executions by job name and then by
+	 * step name (steps without matching executions are omitted)
+	 */
+	Map<String, Map<String, Integer>> countStepExecutionsByStep(Collection<BatchStatus> statuses);
+
+	/**
+	 * Find the most recent execution of every step of every job in a single
+	 * query.
+	 * 
+	 * @return the step executions with the largest id for each step name (without
+	 * their parent job execution), grouped by job name
+	 */
+	Map<String, List<StepExecution>> findLatestStepExecutions();
+
+	/**
+	 * Find the step executions of all jobs in descending order of id,
+	 * continuing from (but not including) the step execution with the id
+	 * provided.
+	 * @param afterId the id of the last step execution on the previous page
+	 * @param count the maximum number of step executions to return
+	 * 
+	 * @return the step executions (without their parent job execution) with
+	 * ids less than afterId, grouped by job name and in descending order of id
+	 * within each job
+	 */
+	Map<String, List<StepExecution>> findStepExecutionsAfter(long afterId, int count);
+
+	/**
+	 * Find the step executions of all jobs that precede (but do not include)
+	 * the step execution with the id provided when sorted in descending order
+	 * of id.
+	 * @param beforeId the id of the first step execution on the next page
+	 * @param count the maximum number of step executions to return
+	 * 
+	 * @return the step executions (without their parent job execution) with
+	 * the smallest ids greater than beforeId, grouped by job name and in
+	 * descending order of id within each job
+	 */
+	Map<String, List<StepExecution>> findStepExecutionsBefore(long beforeId, int count);
+
+	/**
+	 * Compute the statistics of all the finished step executions for a given
+	 * step name pattern in the database, without loading the step executions
+	 * themselves.
+	 * @param jobName the job name pattern
+	 * @param stepName the step name pattern
+	 * 
+	 * @return a {@link StepExecutionHistory} summarising the step executions
+	 * matching the pattern
+	 */
+	StepExecutionHistory getStepExecutionHistory(String jobName, String stepName);
+
+	/**
+	 * Compute the statistics of the finished step executions for a given step
+	 * name pattern, ignoring step executions with an id greater than the one
+	 * provided.
+	 * @param jobName the job name pattern
+	 * @param stepName the step name pattern
+	 * @param maxId the largest step execution id to include
+	 * 
+	 * @return a {@link StepExecutionHistory} summarising the step executions
+	 * matching the pattern
+	 */
+	StepExecutionHistory getStepExecutionHistory(String jobName, String stepName, long maxId);
+
+	/**
+	 * Find the largest step execution id for a given step name pattern.
+	 * @param jobName the job name pattern
+	 * @param stepName the step name pattern
+	 * 
+	 * @return the id (0 if there are no matching step executions)
+	 */
+	long getLastStepExecutionId(String jobName, String stepName);
+
+	/**
+	 * Find the step executions for a given step name pattern that have not
+	 * finished (without their parent job execution), ignoring step executions
+	 * with an id greater than the one provided.
+	 * @param jobName the job name pattern
+	 * @param stepName the step name pattern
+	 * @param maxId the largest step execution id to include
+	 * 
+	 * @return a collection of step executions in ascending order of id
+	 */
+	Collection<StepExecution> findUnfinishedStepExecutions(String jobName, String stepName, long maxId);
+
+	/**
+	 * Find the step executions with the ids provided (without their parent
+	 * job execution).
+	 * @param stepExecutionIds the ids of the step executions
+	 * 
+	 * @return a collection of step executions (missing ids are ignored)
+	 */
+	Collection<StepExecution> findStepExecutions(Collection<Long> stepExecutionIds);
+
+	/**
+	 * Find the step executions last updated after the position provided, in
+	 * order of their last update and then of their id, each with a parent job
+	 * execution that only carries its id: those updated later than
+	 * <code>since</code>, and those updated at <code>since</code> with an id
+	 * greater than <code>afterId</code>. The last update and id of the last
+	 * one can be passed back to get the next page.
+	 * 
+	 * @param since the last updated time of the position
+	 * @param afterId the id of the position (-1 to include all the step
+	 * executions updated at <code>since</code>)
+	 * @param count the maximum number of step executions to return
+	 * @return a collection of step executions
+	 */
+	Collection<StepExecution> findStepExecutionsUpdatedSince(Date since, long afterId, int count);
+
+	/**
+	 * Read a cheap fingerprint of the state of the step executions of a job
+	 * execution, without loading them.
+	 * 
+	 * @param jobExecutionId the id of the job execution
+	 * @return the version, with the status of the job execution, or null if
+	 * there is no such job execution
+	 */
+	ExecutionVersion getStepExecutionsVersion(long jobExecutionId);
+
+	/**
+	 * Read a cheap fingerprint of the state of a step execution, without
+	 * loading it.
+	 * 
+	 * @param jobExecutionId the id of the job execution
+	 * @param stepExecutionId the id of the step execution
+	 * @return the version, with the status of the job execution, or null if
+	 * there is no such step execution in the job execution
+	 */
+	ExecutionVersion getStepExecutionVersion(long jobExecutionId, long stepExecutionId);
 }
@@ -15,15 +15,16 @@
  */
 package org.springframework.batch.admin.service;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -31,6 +32,9 @@ import javax.batch.operations.JobOperator;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.admin.domain.JobExecutionSummary;
+import org.springframework.batch.admin.domain.JobInfo;
+import org.springframework.batch.admin.domain.StepExecutionHistory;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
@@ -52,8 +56,9 @@ import org.springframework.batch.core.repository.dao.ExecutionContextDao;
 import org.springframework.batch.core.step.NoSuchStepException;
 import org.springframework.batch.core.step.StepLocator;
 import org.springframework.beans.factory.DisposableBean;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.util.CollectionUtils;
 
@@ -65,6 +70,7 @@ import org.springframework.util.CollectionUtils;
  * @author Michael Minella
  *
  */
+@ManagedResource
 public class SimpleJobService implements JobService, DisposableBean {
 
 	private static final Log logger = LogFactory.getLog(SimpleJobService.class);
@@ -86,8 +92,20 @@ public class SimpleJobService implements JobService, DisposableBean {
 
 	private final ExecutionContextDao executionContextDao;
 
+	private final StepExecutionHistoryCache stepExecutionHistoryCache;
+
 	private Collection<JobExecution> activeExecutions = Collections.synchronizedList(new ArrayList<JobExecution>());
 
+	private ExecutionEventCollector executionEventCollector;
+
+	private JobExecutionCache jobExecutionCache;
+
+	private JsrJobNameCatalog jsrJobNameCatalog = new JsrJobNameCatalog();
+
+	private JobNameCatalog jobNameCatalog = new JobNameCatalog();
+
+	private boolean registrationsTracked = false;
+
 	private JobOperator jsrJobOperator;
 
 	private int shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
@@ -101,6 +119,63 @@ public class SimpleJobService implements JobService, DisposableBean {
 		this.shutdownTimeout = shutdownTimeout;
 	}
 
+	/**
+	 * The maximum number of step execution histories to cache (default 100).
+	 *
+	 * @param stepExecutionHistoryCacheSize the cache size to set
+	 * @see StepExecutionHistoryCache#setMaxSize(int)
+	 */
+	public void setStepExecutionHistoryCacheSize(int stepExecutionHistoryCacheSize) {
+		stepExecutionHistoryCache.setMaxSize(stepExecutionHistoryCacheSize);
+	}
+
+	/**
+	 * Optional source of the executions running in this process. If provided,
+	 * running job and step executions are served from memory (with their live
+	 * state) instead of being loaded from the database.
+	 *
+	 * @param executionEventCollector the {@link ExecutionEventCollector} to set
+	 */
+	public void setExecutionEventCollector(ExecutionEventCollector executionEventCollector) {
+		this.executionEventCollector = executionEventCollector;
+	}
+
+	/**
+	 * Optional cache for the job and step executions loaded from the
+	 * database. Executions changed through this service are evicted from it,
+	 * but changes made elsewhere only show once a running execution expires,
+	 * so it is only suitable where the finished executions are not changed by
+	 * other processes.
+	 *
+	 * @param jobExecutionCache the {@link JobExecutionCache} to set
+	 */
+	public void setJobExecutionCache(JobExecutionCache jobExecutionCache) {
+		this.jobExecutionCache = jobExecutionCache;
+	}
+
+	/**
+	 * The source of the names of the JSR-352 jobs. Defaults to a catalog that
+	 * scans the classpath once, on first use.
+	 *
+	 * @param jsrJobNameCatalog the {@link JsrJobNameCatalog} to set
+	 */
+	public void setJsrJobNameCatalog(JsrJobNameCatalog jsrJobNameCatalog) {
+		this.jsrJobNameCatalog = jsrJobNameCatalog;
+	}
+
+	/**
+	 * The catalog of job names to list and count the jobs from. A catalog
+	 * provided here must be told about job registrations (e.g. by the
+	 * ListenerAttachingJobRegistry). By default the service uses its own
+	 * catalog and checks it against the job locator on every read.
+	 *
+	 * @param jobNameCatalog the {@link JobNameCatalog} to set
+	 */
+	public void setJobNameCatalog(JobNameCatalog jobNameCatalog) {
+		this.jobNameCatalog = jobNameCatalog;
+		this.registrationsTracked = true;
+	}
+
 	public SimpleJobService(SearchableJobInstanceDao jobInstanceDao, SearchableJobExecutionDao jobExecutionDao,
 			SearchableStepExecutionDao stepExecutionDao, JobRepository jobRepository, JobLauncher jobLauncher,
 			ListableJobLocator jobLocator, ExecutionContextDao executionContextDao) {
@@ -118,6 +193,7 @@ public class SimpleJobService implements JobService, DisposableBean {
 		this.jobLauncher = jobLauncher;
 		this.jobLocator = jobLocator;
 		this.executionContextDao = executionContextDao;
+		this.stepExecutionHistoryCache = new StepExecutionHistoryCache(stepExecutionDao);
 
 		if(jsrJobOperator == null) {
 			logger.warn("No JobOperator compatible with JSR-352 was provided.");
@@ -127,6 +203,22 @@ public class SimpleJobService implements JobService, DisposableBean {
 		}
 	}
 
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Step Query Provider Cache Hit Count")
+	public long getStepQueryProviderCacheHitCount() {
+		if (stepExecutionDao instanceof JdbcSearchableStepExecutionDao) {
+			return ((JdbcSearchableStepExecutionDao) stepExecutionDao).getQueryProviderCacheHits();
+		}
+		return 0;
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Step Query Provider Cache Miss Count")
+	public long getStepQueryProviderCacheMissCount() {
+		if (stepExecutionDao instanceof JdbcSearchableStepExecutionDao) {
+			return ((JdbcSearchableStepExecutionDao) stepExecutionDao).getQueryProviderCacheMisses();
+		}
+		return 0;
+	}
+
 	@Override
 	public Collection<StepExecution> getStepExecutions(Long jobExecutionId) throws NoSuchJobExecutionException {
 
@@ -175,6 +267,28 @@ public class SimpleJobService implements JobService, DisposableBean {
 
 	}
 
+	@Override
+	public Collection<StepExecution> getStepExecutionsAfter(Long jobExecutionId, long afterId, int count)
+			throws NoSuchJobExecutionException {
+		return stepExecutionDao.findStepExecutionsForJobExecutionAfter(getJobExecutionOrFail(jobExecutionId),
+				afterId, count);
+	}
+
+	@Override
+	public Collection<StepExecution> getStepExecutionsBefore(Long jobExecutionId, long beforeId, int count)
+			throws NoSuchJobExecutionException {
+		return stepExecutionDao.findStepExecutionsForJobExecutionBefore(getJobExecutionOrFail(jobExecutionId),
+				beforeId, count);
+	}
+
+	private JobExecution getJobExecutionOrFail(Long jobExecutionId) throws NoSuchJobExecutionException {
+		JobExecution jobExecution = jobExecutionDao.getJobExecution(jobExecutionId);
+		if (jobExecution == null) {
+			throw new NoSuchJobExecutionException("No JobExecution with id=" + jobExecutionId);
+		}
+		return jobExecution;
+	}
+
 	@Override
 	public boolean isLaunchable(String jobName) {
 		return jobLocator.getJobNames().contains(jobName) || getJsrJobNames().contains(jobName);
@@ -216,8 +330,9 @@ public class SimpleJobService implements JobService, DisposableBean {
 
 		JobExecution jobExecution = null;
 
-		JobExecution target = getJobExecution(jobExecutionId);
+		JobExecution target = loadJobExecution(jobExecutionId);
 		JobInstance lastInstance = target.getJobInstance();
+		evict(target);
 
 		if(jobLocator.getJobNames().contains(lastInstance.getJobName())) {
 			Job job = jobLocator.getJob(lastInstance.getJobName());
@@ -309,54 +424,175 @@ public class SimpleJobService implements JobService, DisposableBean {
 
 	@Override
 	public Collection<JobExecution> listJobExecutions(int start, int count) {
-		return jobExecutionDao.getJobExecutions(start, count);
+		return replaceRunningExecutions(jobExecutionDao.getJobExecutions(start, count));
 	}
 
 	@Override
-	public int countJobExecutions() {
-		return jobExecutionDao.countJobExecutions();
+	public Collection<JobExecution> listJobExecutionsAfter(long afterId, int count) {
+		return replaceRunningExecutions(jobExecutionDao.getJobExecutionsAfter(afterId, count));
 	}
 
 	@Override
-	public Collection<String> listJobs(int start, int count) {
-		Collection<String> jobNames = new LinkedHashSet<String>(jobLocator.getJobNames());
-		jobNames.addAll(getJsrJobNames());
-		if (start + count > jobNames.size()) {
-			jobNames.addAll(jobInstanceDao.getJobNames());
-		}
-		if (start >= jobNames.size()) {
-			start = jobNames.size();
+	public Collection<JobExecution> listJobExecutionsBefore(long beforeId, int count) {
+		return replaceRunningExecutions(jobExecutionDao.getJobExecutionsBefore(beforeId, count));
+	}
+
+	@Override
+	public Collection<JobExecution> listJobExecutions(Collection<Long> jobExecutionIds) {
+		return replaceRunningExecutions(jobExecutionDao.getJobExecutions(jobExecutionIds));
+	}
+
+	@Override
+	public Collection<JobExecutionSummary> listJobExecutionSummaries(int start, int count) {
+		return replaceRunningSummaries(jobExecutionDao.getJobExecutionSummaries(start, count));
+	}
+
+	@Override
+	public Collection<JobExecutionSummary> listJobExecutionSummariesAfter(long afterId, int count) {
+		return replaceRunningSummaries(jobExecutionDao.getJobExecutionSummariesAfter(afterId, count));
+	}
+
+	@Override
+	public Collection<JobExecutionSummary> listJobExecutionSummariesBefore(long beforeId, int count) {
+		return replaceRunningSummaries(jobExecutionDao.getJobExecutionSummariesBefore(beforeId, count));
+	}
+
+	/**
+	 * The summaries come from the database even for the executions running
+	 * here, so that they are consistent with their last updated time.
+	 */
+	@Override
+	public Collection<JobExecutionSummary> listJobExecutionSummariesUpdatedSince(Date since, long afterId, int count) {
+		return jobExecutionDao.getJobExecutionSummariesUpdatedSince(since, afterId, count);
+	}
+
+	@Override
+	public Collection<StepExecution> listStepExecutionsUpdatedSince(Date since, long afterId, int count) {
+		return stepExecutionDao.findStepExecutionsUpdatedSince(since, afterId, count);
+	}
+
+	/**
+	 * The versions come from the database, so there is none for the
+	 * executions running here, which are read from memory and can be ahead of
+	 * the database.
+	 */
+	@Override
+	public ExecutionVersion getJobExecutionVersion(Long jobExecutionId) {
+		if (isRunningHere(jobExecutionId)) {
+			return null;
 		}
-		if (start + count >= jobNames.size()) {
-			count = jobNames.size() - start;
+		return jobExecutionDao.getJobExecutionVersion(jobExecutionId);
+	}
+
+	@Override
+	public ExecutionVersion getJobInstanceVersion(Long jobInstanceId) {
+		return jobExecutionDao.getJobInstanceVersion(jobInstanceId);
+	}
+
+	@Override
+	public ExecutionVersion getStepExecutionsVersion(Long jobExecutionId) {
+		return stepExecutionDao.getStepExecutionsVersion(jobExecutionId);
+	}
+
+	@Override
+	public ExecutionVersion getStepExecutionVersion(Long jobExecutionId, Long stepExecutionId) {
+		if (isRunningHere(jobExecutionId)) {
+			return null;
 		}
-		return new ArrayList<String>(jobNames).subList(start, start + count);
+		return stepExecutionDao.getStepExecutionVersion(jobExecutionId, stepExecutionId);
+	}
+
+	private boolean isRunningHere(Long jobExecutionId) {
+		return executionEventCollector != null
+				&& executionEventCollector.getRunningJobExecution(jobExecutionId) != null;
+	}
+
+	@Override
+	public int countJobExecutions() {
+		return jobExecutionDao.countJobExecutions();
 	}
 
-	private Collection<String> getJsrJobNames() {
+	@Override
+	public int countJobExecutions(Collection<BatchStatus> statuses) {
+		return jobExecutionDao.countJobExecutions(statuses);
+	}
 
-		Set<String> jsr352JobNames = new HashSet<String>();
+	@Override
+	public Map<String, Integer> countJobExecutionsByJob(Collection<BatchStatus> statuses) {
+		return jobExecutionDao.countJobExecutionsByJobName(statuses);
+	}
 
-		try {
-			PathMatchingResourcePatternResolver pathMatchingResourcePatternResolver = new org.springframework.core.io.support.PathMatchingResourcePatternResolver();
-			Resource[] resources = pathMatchingResourcePatternResolver.getResources("classpath*:/META-INF/batch-jobs/**/*.xml");
+	@Override
+	public Collection<JobExecution> listLatestJobExecutions() {
+		List<JobExecution> jobExecutions = jobExecutionDao.getLatestJobExecutions();
+		stepExecutionDao.addStepExecutions(jobExecutions);
+		return replaceRunningExecutions(jobExecutions);
+	}
 
-			for (Resource resource : resources) {
-				String jobXmlFileName = resource.getFilename();
-				jsr352JobNames.add(jobXmlFileName.substring(0, jobXmlFileName.length() - 4));
-			}
-		} catch (IOException e) {
-			logger.debug("Unable to list JSR-352 batch jobs", e);
+	@Override
+	public Map<String, JobExecution> listLatestJobExecutions(Collection<String> jobNames) {
+		List<JobExecution> jobExecutions = jobExecutionDao.getLatestJobExecutions(jobNames);
+		stepExecutionDao.addStepExecutions(jobExecutions);
+		Map<String, JobExecution> result = new HashMap<String, JobExecution>();
+		for (JobExecution jobExecution : replaceRunningExecutions(jobExecutions)) {
+			result.put(jobExecution.getJobInstance().getJobName(), jobExecution);
+		}
+		return result;
+	}
+
+	@Override
+	public Collection<String> listJobs(int start, int count) {
+		return getJobNameCatalog().getJobNames(start, count);
+	}
+
+	/**
+	 * Bring the job name catalog up to date. Only the job instances created
+	 * since the last read are queried.
+	 */
+	private JobNameCatalog getJobNameCatalog() {
+		if (!registrationsTracked || !jobNameCatalog.isInitialized()) {
+			jobNameCatalog.setRegisteredJobNames(jobLocator.getJobNames());
 		}
+		jobNameCatalog.setJsrJobNames(getJsrJobNames());
+		jobNameCatalog.addJobInstances(jobInstanceDao.getLatestJobInstanceIds(jobNameCatalog.getLastJobInstanceId()));
+		return jobNameCatalog;
+	}
 
-		return jsr352JobNames;
+	private Set<String> getJsrJobNames() {
+		return jsrJobNameCatalog.getJobNames();
 	}
 
 	@Override
 	public int countJobs() {
-		Collection<String> names = new HashSet<String>(jobLocator.getJobNames());
-		names.addAll(jobInstanceDao.getJobNames());
-		return names.size();
+		return getJobNameCatalog().size();
+	}
+
+	@Override
+	public List<JobInfo> listJobInfos(Collection<String> jobNames) {
+		Map<String, Integer> counts = jobExecutionDao.countJobExecutionsForJobNames(jobNames);
+		Collection<String> registeredJobNames = jobLocator.getJobNames();
+		if (!(registeredJobNames instanceof Set)) {
+			registeredJobNames = new HashSet<String>(registeredJobNames);
+		}
+		Set<String> jsrJobNames = getJsrJobNames();
+		List<JobInfo> result = new ArrayList<JobInfo>(jobNames.size());
+		for (String jobName : jobNames) {
+			Integer count = counts.get(jobName);
+			boolean registered = registeredJobNames.contains(jobName);
+			boolean incrementable = false;
+			if (registered) {
+				try {
+					incrementable = jobLocator.getJob(jobName).getJobParametersIncrementer() != null;
+				}
+				catch (NoSuchJobException e) {
+					// unregistered since the names were read
+					registered = false;
+				}
+			}
+			result.add(new JobInfo(jobName, count == null ? 0 : count, null, registered
+					|| jsrJobNames.contains(jobName), incrementable));
+		}
+		return result;
 	}
 
 	@Override
@@ -380,7 +616,7 @@ public class SimpleJobService implements JobService, DisposableBean {
 	@Override
 	public JobExecution stop(Long jobExecutionId) throws NoSuchJobExecutionException, JobExecutionNotRunningException {
 
-		JobExecution jobExecution = getJobExecution(jobExecutionId);
+		JobExecution jobExecution = loadJobExecution(jobExecutionId);
 		if (!jobExecution.isRunning()) {
 			throw new JobExecutionNotRunningException("JobExecution is not running and therefore cannot be stopped");
 		}
@@ -391,12 +627,13 @@ public class SimpleJobService implements JobService, DisposableBean {
 
 		if(jsrJobOperator != null && jsrJobNames.contains(jobExecution.getJobInstance().getJobName())) {
 			jsrJobOperator.stop(jobExecutionId);
-			jobExecution = getJobExecution(jobExecutionId);
+			jobExecution = loadJobExecution(jobExecutionId);
 		}
 		else {
 			jobExecution.stop();
 			jobRepository.update(jobExecution);
 		}
+		evict(jobExecution);
 		return jobExecution;
 
 	}
@@ -405,7 +642,7 @@ public class SimpleJobService implements JobService, DisposableBean {
 	public JobExecution abandon(Long jobExecutionId) throws NoSuchJobExecutionException,
 	JobExecutionAlreadyRunningException {
 
-		JobExecution jobExecution = getJobExecution(jobExecutionId);
+		JobExecution jobExecution = loadJobExecution(jobExecutionId);
 		if (jobExecution.getStatus().isLessThan(BatchStatus.STOPPING)) {
 			throw new JobExecutionAlreadyRunningException(
 					"JobExecution is running or complete and therefore cannot be aborted");
@@ -418,13 +655,14 @@ public class SimpleJobService implements JobService, DisposableBean {
 		JobInstance jobInstance = jobExecution.getJobInstance();
 		if(jsrJobOperator != null && jsrJobNames.contains(jobInstance.getJobName())) {
 			jsrJobOperator.abandon(jobExecutionId);
-			jobExecution = getJobExecution(jobExecutionId);
+			jobExecution = loadJobExecution(jobExecutionId);
 		}
 		else {
 			jobExecution.upgradeStatus(BatchStatus.ABANDONED);
 			jobExecution.setEndTime(new Date());
 			jobRepository.update(jobExecution);
 		}
+		evict(jobExecution);
 
 		return jobExecution;
 
@@ -436,6 +674,12 @@ public class SimpleJobService implements JobService, DisposableBean {
 		return jobExecutionDao.countJobExecutions(name);
 	}
 
+	@Override
+	public int countJobExecutionsForJob(String name, Collection<BatchStatus> statuses) throws NoSuchJobException {
+		checkJobExists(name);
+		return jobExecutionDao.countJobExecutions(name, statuses);
+	}
+
 	@Override
 	public int countJobInstances(String name) throws NoSuchJobException {
 		return jobInstanceDao.countJobInstances(name);
@@ -443,16 +687,59 @@ public class SimpleJobService implements JobService, DisposableBean {
 
 	@Override
 	public JobExecution getJobExecution(Long jobExecutionId) throws NoSuchJobExecutionException {
+		return getJobExecution(jobExecutionId, true);
+	}
+
+	@Override
+	public JobExecution getJobExecution(Long jobExecutionId, boolean loadExecutionContext)
+			throws NoSuchJobExecutionException {
+		if (executionEventCollector != null) {
+			JobExecution jobExecution = executionEventCollector.getRunningJobExecution(jobExecutionId);
+			if (jobExecution != null) {
+				return jobExecution;
+			}
+		}
+		if (jobExecutionCache == null) {
+			return loadJobExecution(jobExecutionId, loadExecutionContext);
+		}
+		JobExecution jobExecution = jobExecutionCache.getJobExecution(jobExecutionId, loadExecutionContext);
+		if (jobExecution == null) {
+			jobExecution = loadJobExecution(jobExecutionId, loadExecutionContext);
+			jobExecutionCache.putJobExecution(jobExecution, loadExecutionContext);
+		}
+		return jobExecution;
+	}
+
+	private void evict(JobExecution jobExecution) {
+		if (jobExecutionCache != null) {
+			jobExecutionCache.evict(jobExecution);
+		}
+	}
+
+	/**
+	 * Load a job execution from the database, as opposed to the running
+	 * instance, so that it can be modified and saved without interfering with
+	 * the job. The execution context is left empty: none of the operations
+	 * here need it, and saving the job execution does not touch it.
+	 */
+	private JobExecution loadJobExecution(Long jobExecutionId) throws NoSuchJobExecutionException {
+		return loadJobExecution(jobExecutionId, false);
+	}
+
+	private JobExecution loadJobExecution(Long jobExecutionId, boolean loadExecutionContext)
+			throws NoSuchJobExecutionException {
 		JobExecution jobExecution = jobExecutionDao.getJobExecution(jobExecutionId);
 		if (jobExecution == null) {
 			throw new NoSuchJobExecutionException("There is no JobExecution with id=" + jobExecutionId);
 		}
 		jobExecution.setJobInstance(jobInstanceDao.getJobInstance(jobExecution));
-		try {
-			jobExecution.setExecutionContext(executionContextDao.getExecutionContext(jobExecution));
-		}
-		catch (Exception e) {
-			logger.info("Cannot load execution context for job execution: " + jobExecution);
+		if (loadExecutionContext) {
+			try {
+				jobExecution.setExecutionContext(executionContextDao.getExecutionContext(jobExecution));
+			}
+			catch (Exception e) {
+				logger.info("Cannot load execution context for job execution: " + jobExecution);
+			}
 		}
 		stepExecutionDao.addStepExecutions(jobExecution);
 		return jobExecution;
@@ -464,16 +751,27 @@ public class SimpleJobService implements JobService, DisposableBean {
 		checkJobExists(name);
 		List<JobExecution> jobExecutions = jobExecutionDao.findJobExecutions(jobInstanceDao
 				.getJobInstance(jobInstanceId));
-		for (JobExecution jobExecution : jobExecutions) {
-			stepExecutionDao.addStepExecutions(jobExecution);
-		}
+		stepExecutionDao.addStepExecutions(jobExecutions);
 		return jobExecutions;
 	}
 
 	@Override
 	public StepExecution getStepExecution(Long jobExecutionId, Long stepExecutionId)
 			throws NoSuchJobExecutionException, NoSuchStepExecutionException {
-		JobExecution jobExecution = getJobExecution(jobExecutionId);
+		if (executionEventCollector != null) {
+			StepExecution stepExecution = executionEventCollector.getRunningStepExecution(jobExecutionId,
+					stepExecutionId);
+			if (stepExecution != null) {
+				return stepExecution;
+			}
+		}
+		if (jobExecutionCache != null) {
+			StepExecution stepExecution = jobExecutionCache.getStepExecution(jobExecutionId, stepExecutionId);
+			if (stepExecution != null) {
+				return stepExecution;
+			}
+		}
+		JobExecution jobExecution = loadJobExecution(jobExecutionId);
 		StepExecution stepExecution = stepExecutionDao.getStepExecution(jobExecution, stepExecutionId);
 		if (stepExecution == null) {
 			throw new NoSuchStepExecutionException("There is no StepExecution with jobExecutionId=" + jobExecutionId
@@ -485,6 +783,9 @@ public class SimpleJobService implements JobService, DisposableBean {
 		catch (Exception e) {
 			logger.info("Cannot load execution context for step execution: " + stepExecution);
 		}
+		if (jobExecutionCache != null) {
+			jobExecutionCache.putStepExecution(stepExecution);
+		}
 		return stepExecution;
 	}
 
@@ -493,10 +794,26 @@ public class SimpleJobService implements JobService, DisposableBean {
 			throws NoSuchJobException {
 		checkJobExists(jobName);
 		List<JobExecution> jobExecutions = jobExecutionDao.getJobExecutions(jobName, start, count);
-		for (JobExecution jobExecution : jobExecutions) {
-			stepExecutionDao.addStepExecutions(jobExecution);
-		}
-		return jobExecutions;
+		stepExecutionDao.addStepExecutions(jobExecutions);
+		return replaceRunningExecutions(jobExecutions);
+	}
+
+	@Override
+	public Collection<JobExecution> listJobExecutionsForJobAfter(String jobName, long afterId, int count)
+			throws NoSuchJobException {
+		checkJobExists(jobName);
+		List<JobExecution> jobExecutions = jobExecutionDao.getJobExecutionsAfter(jobName, afterId, count);
+		stepExecutionDao.addStepExecutions(jobExecutions);
+		return replaceRunningExecutions(jobExecutions);
+	}
+
+	@Override
+	public Collection<JobExecution> listJobExecutionsForJobBefore(String jobName, long beforeId, int count)
+			throws NoSuchJobException {
+		checkJobExists(jobName);
+		List<JobExecution> jobExecutions = jobExecutionDao.getJobExecutionsBefore(jobName, beforeId, count);
+		stepExecutionDao.addStepExecutions(jobExecutions);
+		return replaceRunningExecutions(jobExecutions);
 	}
 
 	@Override
@@ -508,11 +825,58 @@ public class SimpleJobService implements JobService, DisposableBean {
 		return stepExecutionDao.findStepExecutions(jobName, stepName, start, count);
 	}
 
+	@Override
+	public Collection<StepExecution> listStepExecutionsForStepAfter(String jobName, String stepName, long afterId,
+			int count) {
+		return stepExecutionDao.findStepExecutionsAfter(jobName, stepName, afterId, count);
+	}
+
+	@Override
+	public Collection<StepExecution> listStepExecutionsForStepBefore(String jobName, String stepName, long beforeId,
+			int count) {
+		return stepExecutionDao.findStepExecutionsBefore(jobName, stepName, beforeId, count);
+	}
+
 	@Override
 	public int countStepExecutionsForStep(String jobName, String stepName) throws NoSuchStepException {
 		return stepExecutionDao.countStepExecutions(jobName, stepName);
 	}
 
+	@Override
+	public int countStepExecutionsForStep(String jobName, String stepName, Collection<BatchStatus> statuses) {
+		return stepExecutionDao.countStepExecutions(jobName, stepName, statuses);
+	}
+
+	@Override
+	public Map<String, Map<String, Integer>> countStepExecutionsByStep(Collection<BatchStatus> statuses) {
+		return stepExecutionDao.countStepExecutionsByStep(statuses);
+	}
+
+	@Override
+	public Map<String, List<StepExecution>> listLatestStepExecutions() {
+		return stepExecutionDao.findLatestStepExecutions();
+	}
+
+	@Override
+	public Map<String, List<StepExecution>> listStepExecutionsAfter(long afterId, int count) {
+		return stepExecutionDao.findStepExecutionsAfter(afterId, count);
+	}
+
+	@Override
+	public Map<String, List<StepExecution>> listStepExecutionsBefore(long beforeId, int count) {
+		return stepExecutionDao.findStepExecutionsBefore(beforeId, count);
+	}
+
+	@Override
+	public Collection<StepExecution> listStepExecutions(Collection<Long> stepExecutionIds) {
+		return stepExecutionDao.findStepExecutions(stepExecutionIds);
+	}
+
+	@Override
+	public StepExecutionHistory getStepExecutionHistory(String jobName, String stepName) {
+		return stepExecutionHistoryCache.getStepExecutionHistory(jobName, stepName);
+	}
+
 	@Override
 	public JobInstance getJobInstance(long jobInstanceId) throws NoSuchJobInstanceException {
 		JobInstance jobInstance = jobInstanceDao.getJobInstance(jobInstanceId);
@@ -561,6 +925,40 @@ public class SimpleJobService implements JobService, DisposableBean {
 		throw new NoSuchJobException("No Job with that name either current or historic: [" + jobName + "]");
 	}
 
+	/**
+	 * Swap the executions that are running in this process for their live
+	 * instances.
+	 */
+	private List<JobExecution> replaceRunningExecutions(List<JobExecution> jobExecutions) {
+		if (executionEventCollector == null) {
+			return jobExecutions;
+		}
+		for (int i = 0; i < jobExecutions.size(); i++) {
+			JobExecution running = executionEventCollector.getRunningJobExecution(jobExecutions.get(i).getId());
+			if (running != null) {
+				jobExecutions.set(i, running);
+			}
+		}
+		return jobExecutions;
+	}
+
+	/**
+	 * Swap the summaries of executions that are running in this process for
+	 * summaries of their live instances.
+	 */
+	private List<JobExecutionSummary> replaceRunningSummaries(List<JobExecutionSummary> summaries) {
+		if (executionEventCollector == null) {
+			return summaries;
+		}
+		for (int i = 0; i < summaries.size(); i++) {
+			JobExecution running = executionEventCollector.getRunningJobExecution(summaries.get(i).getId());
+			if (running != null) {
+				summaries.set(i, new JobExecutionSummary(running));
+			}
+		}
+		return summaries;
+	}
+
 	/**
 	 * Stop all the active jobs and wait for them (up to a time out) to finish
 	 * processing.
@@ -610,8 +1008,13 @@ public class SimpleJobService implements JobService, DisposableBean {
 
 		for (Iterator<JobExecution> iterator = activeExecutions.iterator(); iterator.hasNext();) {
 			JobExecution jobExecution = iterator.next();
+			if (executionEventCollector != null
+					&& executionEventCollector.getRunningJobExecution(jobExecution.getId()) != null) {
+				// Known to be running without asking the database
+				continue;
+			}
 			try {
-				jobExecution = getJobExecution(jobExecution.getId());
+				jobExecution = loadJobExecution(jobExecution.getId());
 			}
 			catch (NoSuchJobExecutionException e) {
 				logger.error("Unexpected exception loading JobExecution", e);
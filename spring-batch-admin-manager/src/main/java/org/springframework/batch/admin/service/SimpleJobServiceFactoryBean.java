@@ -87,6 +87,16 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 
 	private PlatformTransactionManager transactionManager;
 
+	private boolean batchJobParametersLoading = true;
+
+	private ExecutionEventCollector executionEventCollector;
+
+	private JobExecutionCache jobExecutionCache;
+
+	private JsrJobNameCatalog jsrJobNameCatalog;
+
+	private JobNameCatalog jobNameCatalog;
+
 	public void setTransactionManager(PlatformTransactionManager transactionManager) {
 		this.transactionManager = transactionManager;
 	}
@@ -186,7 +196,11 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 	/**
 	 * A custom implementation of the {@link ExecutionContextSerializer}. The
 	 * default, if not injected, is the
-	 * {@link XStreamExecutionContextStringSerializer}.
+	 * {@link XStreamExecutionContextStringSerializer}. A
+	 * {@link JacksonExecutionContextSerializer} is faster, and can still read
+	 * the contexts written by XStream. Either can be wrapped in a
+	 * {@link CompressingExecutionContextSerializer} to read compressed
+	 * contexts.
 	 * 
 	 * @param serializer
 	 *            the serializer to set
@@ -196,6 +210,60 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 		this.serializer = serializer;
 	}
 
+	/**
+	 * Flag to load the job parameters for a page of job executions in bulk
+	 * (default true). Set to false to load them one execution at a time.
+	 * 
+	 * @param batchJobParametersLoading the flag value to set
+	 * @see JdbcSearchableJobExecutionDao#setBatchJobParametersLoading(boolean)
+	 */
+	public void setBatchJobParametersLoading(boolean batchJobParametersLoading) {
+		this.batchJobParametersLoading = batchJobParametersLoading;
+	}
+
+	/**
+	 * Optional listener that tracks the executions running in this process,
+	 * so the service can serve them from memory.
+	 * 
+	 * @param executionEventCollector the {@link ExecutionEventCollector} to set
+	 * @see SimpleJobService#setExecutionEventCollector(ExecutionEventCollector)
+	 */
+	public void setExecutionEventCollector(ExecutionEventCollector executionEventCollector) {
+		this.executionEventCollector = executionEventCollector;
+	}
+
+	/**
+	 * Optional cache for the executions loaded from the database.
+	 * 
+	 * @param jobExecutionCache the {@link JobExecutionCache} to set
+	 * @see SimpleJobService#setJobExecutionCache(JobExecutionCache)
+	 */
+	public void setJobExecutionCache(JobExecutionCache jobExecutionCache) {
+		this.jobExecutionCache = jobExecutionCache;
+	}
+
+	/**
+	 * Optional catalog of JSR-352 job names, shared with the components that
+	 * need to refresh it.
+	 * 
+	 * @param jsrJobNameCatalog the {@link JsrJobNameCatalog} to set
+	 * @see SimpleJobService#setJsrJobNameCatalog(JsrJobNameCatalog)
+	 */
+	public void setJsrJobNameCatalog(JsrJobNameCatalog jsrJobNameCatalog) {
+		this.jsrJobNameCatalog = jsrJobNameCatalog;
+	}
+
+	/**
+	 * Optional catalog of job names, kept up to date with job registrations
+	 * elsewhere.
+	 * 
+	 * @param jobNameCatalog the {@link JobNameCatalog} to set
+	 * @see SimpleJobService#setJobNameCatalog(JobNameCatalog)
+	 */
+	public void setJobNameCatalog(JobNameCatalog jobNameCatalog) {
+		this.jobNameCatalog = jobNameCatalog;
+	}
+
 	public void afterPropertiesSet() throws Exception {
 
 		Assert.notNull(dataSource, "DataSource must not be null.");
@@ -249,6 +317,7 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 		dao.setTablePrefix(tablePrefix);
 		dao.setClobTypeToUse(determineClobTypeToUse(this.databaseType));
 		dao.setExitMessageLength(maxVarCharLength);
+		dao.setBatchJobParametersLoading(batchJobParametersLoading);
 		dao.afterPropertiesSet();
 		return dao;
 	}
@@ -299,8 +368,18 @@ public class SimpleJobServiceFactoryBean implements FactoryBean<JobService>, Ini
 		jobParametersConverter.afterPropertiesSet();
 		JsrJobOperator jsrJobOperator = new JsrJobOperator(jobExplorer, jobRepository, jobParametersConverter, transactionManager);
 		jsrJobOperator.afterPropertiesSet();
-		return new SimpleJobService(createJobInstanceDao(), createJobExecutionDao(), createStepExecutionDao(),
-				jobRepository, jobLauncher, jobLocator, createExecutionContextDao(), jsrJobOperator);
+		SimpleJobService jobService = new SimpleJobService(createJobInstanceDao(), createJobExecutionDao(),
+				createStepExecutionDao(), jobRepository, jobLauncher, jobLocator, createExecutionContextDao(),
+				jsrJobOperator);
+		jobService.setExecutionEventCollector(executionEventCollector);
+		jobService.setJobExecutionCache(jobExecutionCache);
+		if (jsrJobNameCatalog != null) {
+			jobService.setJsrJobNameCatalog(jsrJobNameCatalog);
+		}
+		if (jobNameCatalog != null) {
+			jobService.setJobNameCatalog(jobNameCatalog);
+		}
+		return jobService;
 	}
 
 	/**
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.springframework.batch.admin.domain.StepExecutionHistory;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.util.Assert;
+
+/**
+ * Cache of {@link StepExecutionHistory} instances keyed by job and step name
+ * (or pattern). Finished step executions never change, so each entry only
+ * needs to fold in the step executions that finished since it was last
+ * refreshed. Ids are not committed in order, so every refresh reads all the
+ * step executions above a floor that trails the largest id seen by a window
+ * (of 100 ids by default), and skips the ones already folded in. The
+ * unfinished step executions below the floor are tracked by id until they
+ * finish, unless they have not been updated for a day (by default), in which
+ * case they are assumed to have died with their process and are forgotten.
+ * The first request for a step seeds the entry from the statistics computed
+ * in the database. The number of entries is bounded, and the least recently
+ * used entry is evicted when the limit is reached.
+ * <p>
+ * A history covers all the finished step executions of a step, as the
+ * progress of a running step execution has always been estimated from. The
+ * mean and max duration JMX metrics do not use it: they are computed over the
+ * last 10 executions, like the job metrics.
+ *
+ * @since 2.0
+ */
+public class StepExecutionHistoryCache {
+
+	private static final int DEFAULT_MAX_SIZE = 100;
+
+	private static final long DEFAULT_ID_WINDOW = 100;
+
+	private static final long DEFAULT_PENDING_TIMEOUT = 24 * 60 * 60 * 1000L;
+
+	private static final int PAGE_SIZE = 1000;
+
+	private final SearchableStepExecutionDao stepExecutionDao;
+
+	private final Map<String, Entry> entries;
+
+	private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+	private volatile long idWindow = DEFAULT_ID_WINDOW;
+
+	private volatile long pendingTimeout = DEFAULT_PENDING_TIMEOUT;
+
+	public StepExecutionHistoryCache(SearchableStepExecutionDao stepExecutionDao) {
+		this.stepExecutionDao = stepExecutionDao;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * The maximum number of step histories to retain (default 100).
+	 *
+	 * @param maxSize the maximum size to set
+	 */
+	public void setMaxSize(int maxSize) {
+		Assert.isTrue(maxSize > 0, "The maximum size must be positive");
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * The number of ids below the largest one seen that are read again on
+	 * every refresh, to catch step executions that were committed after ones
+	 * with larger ids (default 100). It should cover the ids allocated by
+	 * concurrent transactions that have not yet committed.
+	 *
+	 * @param idWindow the id window to set
+	 */
+	public void setIdWindow(long idWindow) {
+		Assert.isTrue(idWindow >= 0, "The id window must not be negative");
+		this.idWindow = idWindow;
+	}
+
+	/**
+	 * The time in milliseconds since its last update after which an
+	 * unfinished step execution is assumed to have died and is no longer
+	 * tracked (default one day).
+	 *
+	 * @param pendingTimeout the pending timeout to set
+	 */
+	public void setPendingTimeout(long pendingTimeout) {
+		Assert.isTrue(pendingTimeout > 0, "The pending timeout must be positive");
+		this.pendingTimeout = pendingTimeout;
+	}
+
+	/**
+	 * @return the number of step histories currently retained
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Get an up to date history of the finished step executions for a step.
+	 *
+	 * @param jobName the job name (or a pattern with wildcards)
+	 * @param stepName the step name (or a pattern with wildcards)
+	 * @return a copy of the cached {@link StepExecutionHistory}
+	 */
+	public StepExecutionHistory getStepExecutionHistory(String jobName, String stepName) {
+		String key = jobName + "|" + stepName;
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry == null) {
+				entry = new Entry(jobName, stepName);
+				entries.put(key, entry);
+			}
+		}
+		synchronized (entry) {
+			entry.refresh();
+			return new StepExecutionHistory(entry.history);
+		}
+	}
+
+	private boolean isAbandoned(StepExecution stepExecution, long now) {
+		Date updated = stepExecution.getLastUpdated() != null ? stepExecution.getLastUpdated() : stepExecution
+				.getStartTime();
+		return updated == null || now - updated.getTime() > pendingTimeout;
+	}
+
+	private class Entry {
+
+		private final String jobName;
+
+		private final String stepName;
+
+		private StepExecutionHistory history;
+
+		/**
+		 * All the finished step executions with an id up to and including the
+		 * floor have been folded into the history, except for the pending
+		 * ones.
+		 */
+		private long floor;
+
+		/**
+		 * The unfinished step executions below the floor.
+		 */
+		private final SortedSet<Long> pending = new TreeSet<Long>();
+
+		/**
+		 * The step executions above the floor that have been folded into the
+		 * history.
+		 */
+		private final SortedSet<Long> folded = new TreeSet<Long>();
+
+		public Entry(String jobName, String stepName) {
+			this.jobName = jobName;
+			this.stepName = stepName;
+		}
+
+		public void refresh() {
+			long now = System.currentTimeMillis();
+			if (history == null) {
+				floor = Math.max(0, stepExecutionDao.getLastStepExecutionId(jobName, stepName) - idWindow);
+				history = stepExecutionDao.getStepExecutionHistory(jobName, stepName, floor);
+				for (StepExecution stepExecution : stepExecutionDao.findUnfinishedStepExecutions(jobName, stepName,
+						floor)) {
+					if (!isAbandoned(stepExecution, now)) {
+						pending.add(stepExecution.getId());
+					}
+				}
+			}
+			else if (!pending.isEmpty()) {
+				Collection<StepExecution> stepExecutions = stepExecutionDao.findStepExecutions(pending);
+				// Step executions that have since been deleted are forgotten
+				pending.clear();
+				for (StepExecution stepExecution : stepExecutions) {
+					if (stepExecution.getEndTime() != null) {
+						history.append(stepExecution);
+					}
+					else if (!isAbandoned(stepExecution, now)) {
+						pending.add(stepExecution.getId());
+					}
+				}
+			}
+			List<StepExecution> unfinished = new ArrayList<StepExecution>();
+			long last = floor;
+			Collection<StepExecution> page;
+			do {
+				page = stepExecutionDao.findStepExecutionsBefore(jobName, stepName, last, PAGE_SIZE);
+				for (StepExecution stepExecution : page) {
+					if (stepExecution.getEndTime() == null) {
+						unfinished.add(stepExecution);
+					}
+					else if (folded.add(stepExecution.getId())) {
+						history.append(stepExecution);
+					}
+					last = Math.max(last, stepExecution.getId());
+				}
+			}
+			while (page.size() == PAGE_SIZE);
+			long next = last - idWindow;
+			if (next > floor) {
+				for (StepExecution stepExecution : unfinished) {
+					if (stepExecution.getId() <= next && !isAbandoned(stepExecution, now)) {
+						pending.add(stepExecution.getId());
+					}
+				}
+				folded.headSet(next + 1).clear();
+				floor = next;
+			}
+		}
+
+	}
+
+}
@@ -16,8 +16,13 @@
 
 package org.springframework.batch.admin.web;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.TimeZone;
 
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.batch.admin.service.ExecutionVersion;
 import org.springframework.batch.admin.service.JobService;
 import org.springframework.batch.admin.web.resource.DetailedJobInfoResourceAssembler;
 import org.springframework.batch.admin.web.resource.FileInfoResourceAssembler;
@@ -25,8 +30,13 @@ import org.springframework.batch.admin.web.resource.JobExecutionInfoResourceAsse
 import org.springframework.batch.admin.web.resource.JobInstanceInfoResourceAssembler;
 import org.springframework.batch.admin.web.resource.StepExecutionInfoResourceAssembler;
 import org.springframework.batch.admin.web.resource.StepExecutionProgressInfoResourceAssembler;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.hateoas.Link;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 
 /**
@@ -54,6 +64,8 @@ public abstract class AbstractBatchJobsController {
 
 	protected final FileInfoResourceAssembler fileInfoResourceAssembler = new FileInfoResourceAssembler();
 
+	private int finishedCacheSeconds = 24 * 60 * 60;
+
 	/**
 	 * @param timeZone the timeZone to set
 	 */
@@ -62,4 +74,150 @@ public abstract class AbstractBatchJobsController {
 	public void setTimeZone(TimeZone timeZone) {
 		this.timeZone = timeZone;
 	}
+
+	/**
+	 * The time in seconds that clients and proxies may cache the resources of
+	 * executions that will not change any more (default one day).
+	 *
+	 * @param finishedCacheSeconds the cache time to set
+	 */
+	public void setFinishedCacheSeconds(int finishedCacheSeconds) {
+		this.finishedCacheSeconds = finishedCacheSeconds;
+	}
+
+	/**
+	 * Create an entity tag for a resource from the version of the executions
+	 * behind it. The tag is strong once the job execution has finished, and
+	 * weak before that, because the durations in the representation of a
+	 * running execution depend on the current time.
+	 *
+	 * @param name the kind of resource
+	 * @param id the id of the resource
+	 * @param version the version of the executions
+	 * @return the entity tag
+	 */
+	protected String getETag(String name, Object id, ExecutionVersion version) {
+		String etag = "\"" + name + "-" + id + "-" + version.getTag() + "\"";
+		return isFinished(version.getStatus()) ? etag : "W/" + etag;
+	}
+
+	/**
+	 * @param status the status of a job execution (or null)
+	 * @return true if the job execution has finished, so that its step
+	 * executions will not change any more
+	 */
+	protected boolean isFinished(BatchStatus status) {
+		return status != null && !status.isRunning() && status != BatchStatus.UNKNOWN;
+	}
+
+	/**
+	 * @param status the status of a job execution (or null)
+	 * @return true if the job execution can not be restarted or abandoned any
+	 * more, so that clients and proxies may cache its resources for a long
+	 * time (a failed or stopped execution may still change)
+	 */
+	protected boolean isCacheable(BatchStatus status) {
+		return status == BatchStatus.COMPLETED || status == BatchStatus.ABANDONED;
+	}
+
+	/**
+	 * Answer a conditional GET: if the client already holds the current
+	 * representation, according to its <code>If-None-Match</code> header, the
+	 * response is set to 304 (Not Modified) with the cache headers.
+	 *
+	 * @param request the current request
+	 * @param etag the current entity tag
+	 * @param cacheable whether the resource will not change any more
+	 * @return true if the response is complete
+	 */
+	protected boolean checkNotModified(ServletWebRequest request, String etag, boolean cacheable) {
+		String ifNoneMatch = request.getHeader("If-None-Match");
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		// If-None-Match uses the weak comparison
+		String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+		for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+			candidate = candidate.trim();
+			if (candidate.equals("*") || candidate.equals(opaque) || candidate.equals("W/" + opaque)) {
+				// Sets the status and tells the handler adapter not to render a view
+				request.checkNotModified(ifNoneMatch);
+				setCacheHeaders(request, etag, cacheable);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Send the entity tag of a resource, and let clients and proxies cache it
+	 * if it will not change any more. Otherwise they have to check that their
+	 * copy is current before using it.
+	 *
+	 * @param request the current request
+	 * @param etag the current entity tag
+	 * @param cacheable whether the resource will not change any more
+	 */
+	protected void setCacheHeaders(ServletWebRequest request, String etag, boolean cacheable) {
+		HttpServletResponse response = request.getResponse();
+		response.setHeader("ETag", etag);
+		response.setHeader("Cache-Control", cacheable ? "public, max-age=" + finishedCacheSeconds : "no-cache");
+	}
+
+	/**
+	 * Remove the extra item from the end of a page read with one more than
+	 * the page size.
+	 *
+	 * @return true if there was an extra item (so there is a next page)
+	 */
+	protected static boolean trimLast(List<?> items, int size) {
+		if (items.size() <= size) {
+			return false;
+		}
+		items.subList(size, items.size()).clear();
+		return true;
+	}
+
+	/**
+	 * Remove the extra item from the start of a page read backwards with one
+	 * more than the page size.
+	 *
+	 * @return true if there was an extra item (so there is a previous page)
+	 */
+	protected static boolean trimFirst(List<?> items, int size) {
+		if (items.size() <= size) {
+			return false;
+		}
+		items.subList(0, items.size() - size).clear();
+		return true;
+	}
+
+	/**
+	 * Build the <code>next</code> and <code>previous</code> links carrying the
+	 * keyset cursors for a page of executions (job or step executions).
+	 *
+	 * @param first the id of the first execution on the page (or null if the
+	 * page is empty)
+	 * @param last the id of the last execution on the page
+	 * @param hasNext true if there are executions after the page
+	 * @param hasPrevious true if there are executions before the page
+	 * @return the links (empty if the page is empty)
+	 */
+	protected Link[] getCursorLinks(Long first, Long last, boolean hasNext, boolean hasPrevious) {
+		List<Link> links = new ArrayList<Link>();
+		if (first != null && hasNext) {
+			links.add(getCursorLink("after", last, Link.REL_NEXT));
+		}
+		if (first != null && hasPrevious) {
+			links.add(getCursorLink("before", first, Link.REL_PREVIOUS));
+		}
+		return links.toArray(new Link[links.size()]);
+	}
+
+	protected Link getCursorLink(String name, long id, String rel) {
+		String href = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("page")
+				.replaceQueryParam("after").replaceQueryParam("before")
+				.replaceQueryParam(name, CursorToken.encode(id)).build().toUriString();
+		return new Link(href, rel);
+	}
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.batch.admin.service.CsvExecutionExportWriter;
+import org.springframework.batch.admin.service.ExecutionExportWriter;
+import org.springframework.batch.admin.service.ExecutionHistoryExporter;
+import org.springframework.batch.admin.service.NdjsonExecutionExportWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Controller for bulk exports of the execution history, as newline delimited
+ * JSON (<code>format=ndjson</code>, the default) or CSV
+ * (<code>format=csv</code>), optionally gzipped (<code>gzip=true</code>). The
+ * executions can be narrowed down by job name (<code>jobname</code>, with '*'
+ * as a wildcard) and by start time (<code>from</code> inclusive and
+ * <code>to</code> exclusive, in milliseconds since the epoch). Unlike the
+ * paged resources, the whole history is read in one pass over a database
+ * cursor and streamed to the client as it is read.
+ *
+ * @since 2.0
+ * @see ExecutionHistoryExporter
+ */
+@Controller
+@RequestMapping("/batch/export")
+public class BatchExportController {
+
+	@Autowired
+	private ExecutionHistoryExporter exporter;
+
+	/**
+	 * Export the job executions.
+	 *
+	 * @param jobName optional job name to export the executions of
+	 * @param from optional earliest start time
+	 * @param to optional start time to stop before
+	 * @param format the format (<code>ndjson</code> or <code>csv</code>)
+	 * @param gzip flag to compress the export
+	 * @param response the response to write to
+	 * @throws IOException if the response cannot be written
+	 * @throws ServletRequestBindingException if the format is not known
+	 */
+	@RequestMapping(value = "/executions", method = RequestMethod.GET)
+	public void exportJobExecutions(@RequestParam(value = "jobname", required = false) String jobName,
+			@RequestParam(value = "from", required = false) Long from,
+			@RequestParam(value = "to", required = false) Long to,
+			@RequestParam(value = "format", defaultValue = "ndjson") String format,
+			@RequestParam(value = "gzip", defaultValue = "false") boolean gzip, HttpServletResponse response)
+			throws IOException, ServletRequestBindingException {
+		Export export = new Export("job-executions", format, gzip, response);
+		exporter.exportJobExecutions(jobName, toDate(from), toDate(to), export.writer);
+		export.finish();
+	}
+
+	/**
+	 * Export the step executions.
+	 *
+	 * @param jobName optional job name to export the step executions of
+	 * @param from optional earliest start time
+	 * @param to optional start time to stop before
+	 * @param format the format (<code>ndjson</code> or <code>csv</code>)
+	 * @param gzip flag to compress the export
+	 * @param response the response to write to
+	 * @throws IOException if the response cannot be written
+	 * @throws ServletRequestBindingException if the format is not known
+	 */
+	@RequestMapping(value = "/steps", method = RequestMethod.GET)
+	public void exportStepExecutions(@RequestParam(value = "jobname", required = false) String jobName,
+			@RequestParam(value = "from", required = false) Long from,
+			@RequestParam(value = "to", required = false) Long to,
+			@RequestParam(value = "format", defaultValue = "ndjson") String format,
+			@RequestParam(value = "gzip", defaultValue = "false") boolean gzip, HttpServletResponse response)
+			throws IOException, ServletRequestBindingException {
+		Export export = new Export("step-executions", format, gzip, response);
+		exporter.exportStepExecutions(jobName, toDate(from), toDate(to), export.writer);
+		export.finish();
+	}
+
+	private Date toDate(Long time) {
+		return time == null ? null : new Date(time);
+	}
+
+	/**
+	 * The output of an export: a writer for the format requested, writing to
+	 * the response through a gzip stream if requested. The exports are on
+	 * the streaming paths of the ETag filter, so the response is not
+	 * buffered to hash it.
+	 */
+	private static class Export {
+
+		private final ExecutionExportWriter writer;
+
+		private final GZIPOutputStream gzipStream;
+
+		public Export(String name, String format, boolean gzip, HttpServletResponse response) throws IOException,
+				ServletRequestBindingException {
+			String contentType;
+			if ("ndjson".equals(format)) {
+				contentType = "application/x-ndjson";
+			}
+			else if ("csv".equals(format)) {
+				contentType = "text/csv";
+			}
+			else {
+				throw new ServletRequestBindingException("Unknown export format: [" + format + "]");
+			}
+			String fileName = name + "." + format;
+			if (gzip) {
+				response.setContentType("application/gzip");
+				fileName += ".gz";
+			}
+			else {
+				response.setContentType(contentType);
+				response.setCharacterEncoding("UTF-8");
+			}
+			response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+			response.setHeader("Cache-Control", "no-cache, no-store, max-age=0");
+			OutputStream stream = response.getOutputStream();
+			gzipStream = gzip ? new GZIPOutputStream(stream, 8192) : null;
+			if (gzipStream != null) {
+				stream = gzipStream;
+			}
+			writer = "csv".equals(format) ? new CsvExecutionExportWriter(stream) : new NdjsonExecutionExportWriter(
+					stream);
+		}
+
+		public void finish() throws IOException {
+			if (gzipStream != null) {
+				gzipStream.finish();
+			}
+		}
+
+	}
+
+}
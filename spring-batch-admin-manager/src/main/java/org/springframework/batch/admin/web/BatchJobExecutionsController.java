@@ -16,14 +16,21 @@
 
 package org.springframework.batch.admin.web;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.batch.admin.domain.JobExecutionInfo;
 import org.springframework.batch.admin.domain.JobExecutionInfoResource;
+import org.springframework.batch.admin.domain.JobExecutionSummary;
 import org.springframework.batch.admin.domain.NoSuchBatchJobException;
 import org.springframework.batch.admin.domain.support.JobParametersExtractor;
+import org.springframework.batch.admin.service.ExecutionVersion;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
@@ -40,15 +47,20 @@ import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.ExposesResourceFor;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.PagedResources.PageMetadata;
+import org.springframework.hateoas.Resources;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * Controller for batch job executions.
@@ -66,60 +78,337 @@ public class BatchJobExecutionsController extends AbstractBatchJobsController {
 	@Autowired
 	private ListableJobLocator jobLocator;
 
+	@Autowired
+	private ExecutionEventStream executionEventStream;
+
+	private JsonViewResolver jsonViewResolver = new JsonViewResolver();
+
+	private int streamingChunkSize = 100;
+
+	/**
+	 * The resolver of the JSON views, whose object mapper and pretty print
+	 * setting are also used for the streamed pages.
+	 *
+	 * @param jsonViewResolver the resolver to set
+	 */
+	public void setJsonViewResolver(JsonViewResolver jsonViewResolver) {
+		this.jsonViewResolver = jsonViewResolver;
+	}
+
+	/**
+	 * The number of executions loaded at a time for a streamed page (default
+	 * 100). Only this many are held in memory, however large the page.
+	 *
+	 * @param streamingChunkSize the chunk size to set
+	 */
+	public void setStreamingChunkSize(int streamingChunkSize) {
+		this.streamingChunkSize = streamingChunkSize;
+	}
+
 	/**
 	 * List all job executions in a given range. If no pagination is provided,
 	 * the default {@code PageRequest(0, 20)} is passed in. See {@link org.springframework.data.web.PageableHandlerMethodArgumentResolver}
-	 * for details.
+	 * for details. Instead of a page number, a cursor token from the
+	 * <code>next</code> or <code>previous</code> link of an earlier response can be
+	 * provided as <code>after</code> or <code>before</code>, in which case the
+	 * cost of the query does not depend on how deep the page is. The links are
+	 * only provided if there are more executions in their direction.
 	 *
+	 * @param after optional cursor for the page following a previous response
+	 * @param before optional cursor for the page preceding a previous response
 	 * @param pageable If not provided will default to page 0 and a page size of 20
 	 * @return Collection of JobExecutionInfoResource
 	 */
 	@RequestMapping(value = { "" }, method = RequestMethod.GET)
 	@ResponseStatus(HttpStatus.OK)
-	public PagedResources<JobExecutionInfoResource> list(Pageable pageable) throws NoSuchJobException {
+	public PagedResources<JobExecutionInfoResource> list(@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "before", required = false) String before, Pageable pageable)
+			throws NoSuchJobException, ServletRequestBindingException {
+
+		// One more than the page size, to find out if there is another page
+		int size = pageable.getPageSize();
+		List<JobExecutionSummary> summaries;
+		boolean hasNext;
+		boolean hasPrevious;
+		if (after != null) {
+			summaries = new ArrayList<JobExecutionSummary>(jobService.listJobExecutionSummariesAfter(
+					CursorToken.decode(after), size + 1));
+			hasNext = trimLast(summaries, size);
+			hasPrevious = true;
+		}
+		else if (before != null) {
+			summaries = new ArrayList<JobExecutionSummary>(jobService.listJobExecutionSummariesBefore(
+					CursorToken.decode(before), size + 1));
+			hasNext = true;
+			hasPrevious = trimFirst(summaries, size);
+		}
+		else {
+			summaries = new ArrayList<JobExecutionSummary>(jobService.listJobExecutionSummaries(
+					pageable.getOffset(), size + 1));
+			hasNext = trimLast(summaries, size);
+			hasPrevious = pageable.getOffset() > 0;
+		}
 
 		Collection<JobExecutionInfoResource> resources = new ArrayList<JobExecutionInfoResource>();
+		Long first = null;
+		Long last = null;
 
-		for (JobExecution jobExecution : jobService.listJobExecutions(pageable.getOffset(), pageable.getPageSize())) {
-			Job job = jobLocator.getJob(jobExecution.getJobInstance().getJobName());
+		for (JobExecutionSummary summary : summaries) {
+			resources.add(toResource(summary));
 
-			final JobExecutionInfoResource jobExecutionInfoResource = getJobExecutionInfoResource(jobExecution,
-					job.isRestartable());
-			resources.add(jobExecutionInfoResource);
+			if (first == null) {
+				first = summary.getId();
+			}
+			last = summary.getId();
 		}
 
 		return new PagedResources<JobExecutionInfoResource>(resources,
 				new PageMetadata(pageable.getPageSize(), pageable.getPageNumber(),
-						jobService.countJobExecutions()));
+						jobService.countJobExecutions()), getCursorLinks(first, last, hasNext, hasPrevious));
+	}
+
+	/**
+	 * Stream a page of job executions, for pages too large to build in
+	 * memory (e.g. for an export). The JSON has the same content as
+	 * {@link #list(String, String, Pageable)}, but the executions are loaded
+	 * a chunk at a time (following the keyset cursor) and each one is written
+	 * as soon as it is loaded. Only the page number or the <code>after</code>
+	 * cursor can be used to find the start of the page.
+	 *
+	 * @param after optional cursor for the page following a previous response
+	 * @param pageable If not provided will default to page 0 and a page size of 20
+	 * @param request the current request
+	 * @param response the response to write to
+	 * @throws IOException if the response cannot be written
+	 * @see StreamingJsonWriter
+	 */
+	@RequestMapping(value = { "" }, method = RequestMethod.GET, params = "stream=true")
+	public void streamList(@RequestParam(value = "after", required = false) String after, Pageable pageable,
+			HttpServletRequest request, HttpServletResponse response) throws NoSuchJobException,
+			ServletRequestBindingException, IOException {
+
+		int remaining = pageable.getPageSize();
+		int chunkSize = Math.min(remaining, streamingChunkSize);
+		Collection<JobExecutionSummary> summaries = after != null ? jobService.listJobExecutionSummariesAfter(
+				CursorToken.decode(after), chunkSize) : jobService.listJobExecutionSummaries(pageable.getOffset(),
+				chunkSize);
+
+		StreamingJsonWriter writer = createStreamingJsonWriter(request, response);
+		Long first = null;
+		Long last = null;
+
+		boolean hasNext = false;
+
+		while (!summaries.isEmpty()) {
+			for (JobExecutionSummary summary : summaries) {
+				writer.write(toResource(summary));
+				if (first == null) {
+					first = summary.getId();
+				}
+				last = summary.getId();
+			}
+			writer.flush();
+			remaining -= summaries.size();
+			if (summaries.size() < chunkSize) {
+				break;
+			}
+			if (remaining <= 0) {
+				hasNext = !jobService.listJobExecutionSummariesAfter(last, 1).isEmpty();
+				break;
+			}
+			chunkSize = Math.min(remaining, streamingChunkSize);
+			summaries = jobService.listJobExecutionSummariesAfter(last, chunkSize);
+		}
+
+		writer.close(new PageMetadata(pageable.getPageSize(), pageable.getPageNumber(),
+				jobService.countJobExecutions()), getCursorLinks(first, last, hasNext,
+				after != null || pageable.getOffset() > 0));
+	}
+
+	/**
+	 * List the job executions that were updated at or after the time
+	 * provided, in order of their last update and id, so that a client can
+	 * poll for changes instead of fetching whole pages again. The
+	 * <code>next</code> link carries an opaque cursor for the next call: the
+	 * position after the last execution returned (or the same position if
+	 * there were none). The cursor is exclusive, so no execution is returned
+	 * twice unless it was updated again, however many share a last update.
+	 *
+	 * @param updatedSince the earliest last update to include, in milliseconds
+	 * since the epoch (0 for all the executions), or the cursor from a
+	 * <code>next</code> link
+	 * @param pageable the page size is used as the maximum number of
+	 * executions to return
+	 * @return Collection of JobExecutionInfoResource
+	 * @throws ServletRequestBindingException if the cursor is not valid
+	 */
+	@RequestMapping(value = "", method = RequestMethod.GET, params = "updatedSince")
+	@ResponseStatus(HttpStatus.OK)
+	public Resources<JobExecutionInfoResource> listUpdatedSince(@RequestParam("updatedSince") String updatedSince,
+			Pageable pageable) throws NoSuchJobException, ServletRequestBindingException {
+
+		long since;
+		long afterId = -1;
+		if (updatedSince.matches("\\d+")) {
+			since = Long.parseLong(updatedSince);
+		}
+		else {
+			long[] position = CursorToken.decodePosition(updatedSince);
+			since = position[0];
+			afterId = position[1];
+		}
+		Collection<JobExecutionSummary> summaries = jobService.listJobExecutionSummariesUpdatedSince(new Date(since),
+				afterId, pageable.getPageSize());
+
+		Collection<JobExecutionInfoResource> resources = new ArrayList<JobExecutionInfoResource>();
+		String cursor = afterId < 0 ? updatedSince : CursorToken.encode(new Date(since), afterId);
+		for (JobExecutionSummary summary : summaries) {
+			resources.add(toResource(summary));
+			cursor = CursorToken.encode(summary.getLastUpdated(), summary.getId());
+		}
+
+		String href = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("updatedSince", cursor)
+				.build().toUriString();
+		return new Resources<JobExecutionInfoResource>(resources, new Link(href, Link.REL_NEXT));
+	}
+
+	private JobExecutionInfoResource toResource(JobExecutionSummary summary) throws NoSuchJobException {
+		Job job = jobLocator.getJob(summary.getJobName());
+		JobExecutionInfoResource jobExecutionInfoResource = jobExecutionInfoResourceAssembler.toResource(summary,
+				timeZone);
+		setRestartable(jobExecutionInfoResource, summary.getJobName(), summary.getJobInstanceId(),
+				summary.getStatus(), job.isRestartable());
+		return jobExecutionInfoResource;
 	}
 
 	/**
-	 * Return a paged collection of job executions for a given job.
+	 * Return a paged collection of job executions for a given job. Supports
+	 * the same <code>after</code> and <code>before</code> cursors as
+	 * {@link #list(String, String, Pageable)}.
 	 *
 	 * @param jobName name of the job
+	 * @param after optional cursor for the page following a previous response
+	 * @param before optional cursor for the page preceding a previous response
 	 * @param pageable If not provided will default to page 0 and a page size of 20
 	 * @return Collection of JobExecutionInfo
 	 */
 	@RequestMapping(value = "", method = RequestMethod.GET, params = "jobname")
 	@ResponseStatus(HttpStatus.OK)
 	public PagedResources<JobExecutionInfoResource> executionsForJob(@RequestParam("jobname") String jobName,
-			Pageable pageable) {
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "before", required = false) String before, Pageable pageable)
+			throws ServletRequestBindingException {
 
 		Collection<JobExecutionInfoResource> result = new ArrayList<JobExecutionInfoResource>();
 		try {
-			for (JobExecution jobExecution : jobService.listJobExecutionsForJob(jobName, pageable.getOffset(), pageable.getPageSize())) {
+			int size = pageable.getPageSize();
+			List<JobExecution> jobExecutions;
+			boolean hasNext;
+			boolean hasPrevious;
+			if (after != null) {
+				jobExecutions = new ArrayList<JobExecution>(jobService.listJobExecutionsForJobAfter(jobName,
+						CursorToken.decode(after), size + 1));
+				hasNext = trimLast(jobExecutions, size);
+				hasPrevious = true;
+			}
+			else if (before != null) {
+				jobExecutions = new ArrayList<JobExecution>(jobService.listJobExecutionsForJobBefore(jobName,
+						CursorToken.decode(before), size + 1));
+				hasNext = true;
+				hasPrevious = trimFirst(jobExecutions, size);
+			}
+			else {
+				jobExecutions = new ArrayList<JobExecution>(jobService.listJobExecutionsForJob(jobName,
+						pageable.getOffset(), size + 1));
+				hasNext = trimLast(jobExecutions, size);
+				hasPrevious = pageable.getOffset() > 0;
+			}
+			Long first = null;
+			Long last = null;
+			for (JobExecution jobExecution : jobExecutions) {
 				result.add(jobExecutionInfoResourceAssembler.toResource(new JobExecutionInfo(jobExecution, timeZone)));
+				if (first == null) {
+					first = jobExecution.getId();
+				}
+				last = jobExecution.getId();
 			}
 
 			return new PagedResources<JobExecutionInfoResource>(result,
 					new PageMetadata(pageable.getPageSize(), pageable.getPageNumber(),
-							jobService.countJobExecutionsForJob(jobName)));
+							jobService.countJobExecutionsForJob(jobName)), getCursorLinks(first, last, hasNext,
+							hasPrevious));
 		}
 		catch (NoSuchJobException e) {
 			throw new NoSuchBatchJobException(jobName);
 		}
 	}
 
+	/**
+	 * Stream a page of job executions for a given job, like
+	 * {@link #streamList(String, Pageable, HttpServletRequest, HttpServletResponse)}.
+	 *
+	 * @param jobName name of the job
+	 * @param after optional cursor for the page following a previous response
+	 * @param pageable If not provided will default to page 0 and a page size of 20
+	 * @param request the current request
+	 * @param response the response to write to
+	 * @throws IOException if the response cannot be written
+	 */
+	@RequestMapping(value = "", method = RequestMethod.GET, params = { "jobname", "stream=true" })
+	public void streamExecutionsForJob(@RequestParam("jobname") String jobName,
+			@RequestParam(value = "after", required = false) String after, Pageable pageable,
+			HttpServletRequest request, HttpServletResponse response) throws ServletRequestBindingException,
+			IOException {
+
+		try {
+			int remaining = pageable.getPageSize();
+			int chunkSize = Math.min(remaining, streamingChunkSize);
+			Collection<JobExecution> jobExecutions = after != null ? jobService.listJobExecutionsForJobAfter(
+					jobName, CursorToken.decode(after), chunkSize) : jobService.listJobExecutionsForJob(jobName,
+					pageable.getOffset(), chunkSize);
+			int count = jobService.countJobExecutionsForJob(jobName);
+
+			StreamingJsonWriter writer = createStreamingJsonWriter(request, response);
+			Long first = null;
+			Long last = null;
+			boolean hasNext = false;
+
+			while (!jobExecutions.isEmpty()) {
+				for (JobExecution jobExecution : jobExecutions) {
+					writer.write(jobExecutionInfoResourceAssembler.toResource(new JobExecutionInfo(jobExecution,
+							timeZone)));
+					if (first == null) {
+						first = jobExecution.getId();
+					}
+					last = jobExecution.getId();
+				}
+				writer.flush();
+				remaining -= jobExecutions.size();
+				if (jobExecutions.size() < chunkSize) {
+					break;
+				}
+				if (remaining <= 0) {
+					hasNext = !jobService.listJobExecutionsForJobAfter(jobName, last, 1).isEmpty();
+					break;
+				}
+				chunkSize = Math.min(remaining, streamingChunkSize);
+				jobExecutions = jobService.listJobExecutionsForJobAfter(jobName, last, chunkSize);
+			}
+
+			writer.close(new PageMetadata(pageable.getPageSize(), pageable.getPageNumber(), count),
+					getCursorLinks(first, last, hasNext, after != null || pageable.getOffset() > 0));
+		}
+		catch (NoSuchJobException e) {
+			throw new NoSuchBatchJobException(jobName);
+		}
+	}
+
+	private StreamingJsonWriter createStreamingJsonWriter(HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		return new StreamingJsonWriter(response, jsonViewResolver.getObjectMapper(),
+				jsonViewResolver.isPrettyPrint(request));
+	}
+
 	/**
 	 * Return a paged collection of job executions for a given job instance.
 	 *
@@ -165,15 +454,15 @@ public class BatchJobExecutionsController extends AbstractBatchJobsController {
 	/**
 	 * Check if the {@link org.springframework.batch.core.JobInstance} corresponds to the given {@link org.springframework.batch.core.JobExecution}
 	 * has any of the JobExecutions in {@link org.springframework.batch.core.BatchStatus#COMPLETED} status
-	 * @param jobExecution the jobExecution to check for
+	 * @param jobName the name of the job
+	 * @param jobInstanceId the id of the job instance of the jobExecution to check for
+	 * @param status the status of the jobExecution to check for
 	 * @return boolean flag to set if this job execution can be restarted
 	 */
-	private boolean isJobExecutionRestartable(JobExecution jobExecution) {
-		JobInstance jobInstance = jobExecution.getJobInstance();
-		BatchStatus status = jobExecution.getStatus();
+	private boolean isJobExecutionRestartable(String jobName, Long jobInstanceId, BatchStatus status) {
 		try {
 			List<JobExecution> jobExecutionsForJobInstance = (List<JobExecution>) jobService.getJobExecutionsForJobInstance(
-					jobInstance.getJobName(), jobInstance.getId());
+					jobName, jobInstanceId);
 			for (JobExecution jobExecutionForJobInstance : jobExecutionsForJobInstance) {
 				if (jobExecutionForJobInstance.getStatus() == BatchStatus.COMPLETED) {
 					return false;
@@ -181,19 +470,55 @@ public class BatchJobExecutionsController extends AbstractBatchJobsController {
 			}
 		}
 		catch (NoSuchJobException e) {
-			throw new NoSuchBatchJobException(jobInstance.getJobName());
+			throw new NoSuchBatchJobException(jobName);
 		}
 		return status.isGreaterThan(BatchStatus.STOPPING) && status.isLessThan(BatchStatus.ABANDONED);
 	}
 
 	/**
+	 * Stream the changes to job and step executions as Server-Sent Events
+	 * (<code>job</code> and <code>step</code> events with JSON data), instead
+	 * of polling for them.
+	 *
+	 * @param jobExecutionId optional id of the only job execution to watch
+	 * @param request the current request
+	 * @param response the response to stream to
+	 * @throws IOException if the response cannot be written
+	 * @see ExecutionEventStream
+	 */
+	@RequestMapping(value = "/events", method = RequestMethod.GET)
+	public void events(@RequestParam(value = "jobexecutionid", required = false) Long jobExecutionId,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		executionEventStream.subscribe(request, response, jobExecutionId);
+	}
+
+	/**
+	 * Supports conditional GET: the entity tag comes from a cheap version
+	 * query, so a client that sends the current tag in
+	 * <code>If-None-Match</code> gets a 304 without the execution being
+	 * loaded. Executions that have completed or been abandoned do not change
+	 * any more, so they may be cached.
+	 *
 	 * @param executionId Id of the {@link org.springframework.batch.core.JobExecution}
-	 * @return JobExecutionInfo for the given job name
+	 * @param request the current request
+	 * @return JobExecutionInfo for the given job name (or null if it was not
+	 * modified)
 	 * @throws org.springframework.batch.core.launch.NoSuchJobExecutionException Thrown if the {@link org.springframework.batch.core.JobExecution} does not exist
 	 */
 	@RequestMapping(value = "/{executionId}", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
-	public JobExecutionInfoResource getJobExecutionInfo(@PathVariable long executionId) throws NoSuchJobExecutionException {
+	public JobExecutionInfoResource getJobExecutionInfo(@PathVariable long executionId, ServletWebRequest request)
+			throws NoSuchJobExecutionException {
+
+		ExecutionVersion version = jobService.getJobExecutionVersion(executionId);
+		String etag = null;
+		boolean cacheable = false;
+		if (version != null) {
+			etag = getETag("execution", executionId, version);
+			cacheable = isCacheable(version.getStatus());
+			if (checkNotModified(request, etag, cacheable)) {
+				return null;
+			}
+		}
 
 		final JobExecution jobExecution;
 
@@ -214,6 +539,11 @@ public class BatchJobExecutionsController extends AbstractBatchJobsController {
 			throw new NoSuchBatchJobException("The job '" + jobName + "' does not exist.");
 		}
 
+		// A cached copy of a running execution can be behind the version
+		if (etag != null && jobExecution.getStatus() == version.getStatus()) {
+			setCacheHeaders(request, etag, cacheable);
+		}
+
 		return getJobExecutionInfoResource(jobExecution, job.isRestartable());
 	}
 
@@ -223,20 +553,27 @@ public class BatchJobExecutionsController extends AbstractBatchJobsController {
 		final JobExecutionInfoResource jobExecutionInfoResource = jobExecutionInfoResourceAssembler.toResource(new JobExecutionInfo(
 				jobExecution,
 				timeZone));
+		JobInstance jobInstance = jobExecution.getJobInstance();
+		setRestartable(jobExecutionInfoResource, jobInstance.getJobName(), jobInstance.getId(),
+				jobExecution.getStatus(), restartable);
+
+		return jobExecutionInfoResource;
+	}
+
+	private void setRestartable(JobExecutionInfoResource jobExecutionInfoResource, String jobName,
+			Long jobInstanceId, BatchStatus status, boolean restartable) {
 		if (restartable) {
 			// Set restartable flag for the JobExecutionResource based on the actual JobInstance
 			// If any one of the jobExecutions for the jobInstance is complete, set the restartable flag for
 			// all the jobExecutions to false.
-			if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
-				jobExecutionInfoResource.setRestartable(isJobExecutionRestartable(jobExecution));
+			if (status != BatchStatus.COMPLETED) {
+				jobExecutionInfoResource.setRestartable(isJobExecutionRestartable(jobName, jobInstanceId, status));
 			}
 		}
 		else {
 			// Set false for this job execution irrespective its status.
 			jobExecutionInfoResource.setRestartable(false);
 		}
-
-		return jobExecutionInfoResource;
 	}
 
 	/**
@@ -269,7 +606,7 @@ public class BatchJobExecutionsController extends AbstractBatchJobsController {
 
 		final JobExecution jobExecution;
 		try {
-			jobExecution = jobService.getJobExecution(jobExecutionId);
+			jobExecution = jobService.getJobExecution(jobExecutionId, false);
 		}
 		catch (org.springframework.batch.core.launch.NoSuchJobExecutionException e) {
 			throw new NoSuchJobExecutionException(String.format("Could not find jobExecution with id %s", String.valueOf(jobExecutionId)));
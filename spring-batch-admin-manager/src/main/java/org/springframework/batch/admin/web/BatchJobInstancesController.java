@@ -24,6 +24,7 @@ import org.springframework.batch.admin.domain.JobExecutionInfo;
 import org.springframework.batch.admin.domain.JobInstanceInfoResource;
 import org.springframework.batch.admin.domain.NoSuchBatchJobException;
 import org.springframework.batch.admin.domain.NoSuchBatchJobInstanceException;
+import org.springframework.batch.admin.service.ExecutionVersion;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobInstance;
 import org.springframework.batch.core.launch.NoSuchJobException;
@@ -40,6 +41,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * Controller for batch job instances.
@@ -53,14 +55,22 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class BatchJobInstancesController extends AbstractBatchJobsController {
 
 	/**
-	 * Return job instance info by the given instance id.
+	 * Return job instance info by the given instance id. Supports conditional
+	 * GET, with an entity tag from a cheap version query of the executions of
+	 * the instance.
 	 * 
 	 * @param instanceId job instance id
-	 * @return job instance info
+	 * @param request the current request
+	 * @return job instance info (or null if it was not modified)
 	 */
 	@RequestMapping(value = "/{instanceId}", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
-	public JobInstanceInfoResource getJobInstance(@PathVariable long instanceId) {
+	public JobInstanceInfoResource getJobInstance(@PathVariable long instanceId, ServletWebRequest request) {
+		ExecutionVersion version = jobService.getJobInstanceVersion(instanceId);
+		// An instance can always be restarted or get more executions, so it is never cached
+		String etag = version == null ? null : getETag("instance", instanceId, version);
+		if (etag != null && checkNotModified(request, etag, false)) {
+			return null;
+		}
 		try {
 			JobInstance jobInstance = jobService.getJobInstance(instanceId);
 			String jobName = jobInstance.getJobName();
@@ -72,6 +82,9 @@ public class BatchJobInstancesController extends AbstractBatchJobsController {
 				for (JobExecution jobExecution : jobExecutions) {
 					jobExecutionInfos.add(new JobExecutionInfo(jobExecution, timeZone));
 				}
+				if (etag != null) {
+					setCacheHeaders(request, etag, false);
+				}
 
 				return jobInstanceInfoResourceAssembler.toResource(new JobInstanceInfo(jobInstance, jobExecutions));
 			}
@@ -18,11 +18,14 @@ package org.springframework.batch.admin.web;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.batch.admin.domain.DetailedJobInfo;
 import org.springframework.batch.admin.domain.DetailedJobInfoResource;
 import org.springframework.batch.admin.domain.JobExecutionInfo;
+import org.springframework.batch.admin.domain.JobInfo;
 import org.springframework.batch.admin.domain.NoSuchBatchJobException;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.launch.NoSuchJobException;
@@ -67,9 +70,12 @@ public class BatchJobsController extends AbstractBatchJobsController {
 			PagedResourcesAssembler<DetailedJobInfo> assembler) {
 		int total = jobService.countJobs();
 		Collection<String> names = jobService.listJobs(pageable.getOffset(), pageable.getPageSize());
+		Map<String, JobExecution> lastExecutions = jobService.listLatestJobExecutions(names);
 		List<DetailedJobInfo> detailedJobs = new ArrayList<DetailedJobInfo>();
-		for (String name : names) {
-			detailedJobs.add(getJobInfo(name));
+		for (JobInfo jobInfo : jobService.listJobInfos(names)) {
+			String name = jobInfo.getName();
+			detailedJobs.add(new DetailedJobInfo(name, jobInfo.getExecutionCount(), jobInfo.isLaunchable(),
+					jobInfo.isIncrementable(), getExecutionInfo(lastExecutions.get(name))));
 		}
 		return assembler.toResource(
 				new PageImpl<DetailedJobInfo>(detailedJobs, pageable, total),
@@ -106,7 +112,7 @@ public class BatchJobsController extends AbstractBatchJobsController {
 			int count = jobService.countJobExecutionsForJob(jobName);
 			return new DetailedJobInfo(jobName, count, launchable,
 					jobService.isIncrementable(jobName),
-					getLastExecution(jobName));
+					getExecutionInfo(jobService.listLatestJobExecutions(Collections.singleton(jobName)).get(jobName)));
 		}
 		catch (NoSuchJobException e) {
 			throw new NoSuchBatchJobException(jobName);
@@ -114,18 +120,11 @@ public class BatchJobsController extends AbstractBatchJobsController {
 	}
 
 	/**
-	 * @param jobName name of the batch job
-	 * @return Last job execution info
-	 * @throws org.springframework.batch.core.launch.NoSuchJobException
+	 * @param execution the last execution of a batch job (or null)
+	 * @return Last job execution info (or null)
 	 */
-	private JobExecutionInfo getLastExecution(String jobName) throws NoSuchJobException {
-		Collection<JobExecution> executions = jobService.listJobExecutionsForJob(jobName, 0, 1);
-		if (executions.size() > 0) {
-			return new JobExecutionInfo(executions.iterator().next(), timeZone);
-		}
-		else {
-			return null;
-		}
+	private JobExecutionInfo getExecutionInfo(JobExecution execution) {
+		return execution == null ? null : new JobExecutionInfo(execution, timeZone);
 	}
 
 }
@@ -18,22 +18,30 @@ package org.springframework.batch.admin.web;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.springframework.batch.admin.domain.StepExecutionHistory;
 import org.springframework.batch.admin.domain.StepExecutionInfo;
 import org.springframework.batch.admin.domain.StepExecutionInfoResource;
 import org.springframework.batch.admin.domain.StepExecutionProgressInfo;
 import org.springframework.batch.admin.domain.StepExecutionProgressInfoResource;
+import org.springframework.batch.admin.service.ExecutionVersion;
 import org.springframework.batch.admin.service.NoSuchStepExecutionException;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.launch.NoSuchJobExecutionException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.ExposesResourceFor;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.PagedResources.PageMetadata;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * Controller for returning Batch {@link org.springframework.batch.core.StepExecution}s.
@@ -49,15 +57,31 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class BatchStepExecutionsController extends AbstractBatchJobsController {
 
 	/**
-	 * List all step executions.
+	 * List all step executions. Supports conditional GET, with an entity tag
+	 * from a cheap version query, and the list may be cached once the job
+	 * execution has completed (or was abandoned). A page size or a cursor
+	 * selects {@link #page(long, String, String, Pageable, ServletWebRequest)}
+	 * instead.
 	 *
 	 * @param jobExecutionId Id of the {@link org.springframework.batch.core.JobExecution}, must not be null
-	 * @return Collection of {@link StepExecutionInfoResource} for the given jobExecutionId
+	 * @param request the current request
+	 * @return Collection of {@link StepExecutionInfoResource} for the given jobExecutionId (or null if it was
+	 * not modified)
 	 * @throws org.springframework.batch.core.launch.NoSuchJobExecutionException Thrown if the respective {@link org.springframework.batch.core.JobExecution} does not exist
 	 */
-	@RequestMapping(value = { "" }, method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
-	public Collection<StepExecutionInfoResource> list(@PathVariable("jobExecutionId") long jobExecutionId) throws NoSuchJobExecutionException {
+	@RequestMapping(value = { "" }, method = RequestMethod.GET, params = { "!size", "!after", "!before" })
+	public Collection<StepExecutionInfoResource> list(@PathVariable("jobExecutionId") long jobExecutionId,
+			ServletWebRequest request) throws NoSuchJobExecutionException {
+
+		ExecutionVersion version = jobService.getStepExecutionsVersion(jobExecutionId);
+		if (version != null) {
+			String etag = getETag("steps", jobExecutionId, version);
+			boolean cacheable = isCacheable(version.getStatus());
+			if (checkNotModified(request, etag, cacheable)) {
+				return null;
+			}
+			setCacheHeaders(request, etag, cacheable);
+		}
 
 		final Collection<StepExecution> stepExecutions;
 
@@ -81,20 +105,117 @@ public class BatchStepExecutionsController extends AbstractBatchJobsController {
 	}
 
 	/**
-	 * Inspect the StepExecution with the provided Step Execution Id
+	 * List a page of the step executions in the repository for a job
+	 * execution, in execution order, for job executions with too many steps
+	 * (e.g. partitions) to list at once. The first page only needs a page
+	 * size. The following pages are selected with a cursor token from the
+	 * <code>next</code> or <code>previous</code> link of an earlier response,
+	 * provided as <code>after</code> or <code>before</code>, so the cost of
+	 * the query does not depend on how deep the page is. The links are only
+	 * provided if there are more step executions in their direction.
+	 * Supports conditional GET like {@link #list(long, ServletWebRequest)}.
+	 *
+	 * @param jobExecutionId Id of the {@link org.springframework.batch.core.JobExecution}, must not be null
+	 * @param after optional cursor for the page following a previous response
+	 * @param before optional cursor for the page preceding a previous response
+	 * @param pageable If not provided will default to a page size of 20
+	 * @param request the current request
+	 * @return a page of {@link StepExecutionInfoResource} for the given jobExecutionId (or null if it was not
+	 * modified)
+	 * @throws NoSuchJobExecutionException Thrown if the respective {@link org.springframework.batch.core.JobExecution} does not exist
+	 * @throws ServletRequestBindingException if a cursor is not valid
+	 */
+	@RequestMapping(value = { "" }, method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	public PagedResources<StepExecutionInfoResource> page(@PathVariable("jobExecutionId") long jobExecutionId,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "before", required = false) String before, Pageable pageable,
+			ServletWebRequest request) throws NoSuchJobExecutionException, ServletRequestBindingException {
+
+		ExecutionVersion version = jobService.getStepExecutionsVersion(jobExecutionId);
+		if (version != null) {
+			String etag = getETag("steps", jobExecutionId, version);
+			boolean cacheable = isCacheable(version.getStatus());
+			if (checkNotModified(request, etag, cacheable)) {
+				return null;
+			}
+			setCacheHeaders(request, etag, cacheable);
+		}
+
+		// One more than the page size, to find out if there is another page
+		int size = pageable.getPageSize();
+		List<StepExecution> stepExecutions;
+		boolean hasNext;
+		boolean hasPrevious;
+		try {
+			if (before != null) {
+				stepExecutions = new ArrayList<StepExecution>(jobService.getStepExecutionsBefore(jobExecutionId,
+						CursorToken.decode(before), size + 1));
+				hasNext = true;
+				hasPrevious = trimFirst(stepExecutions, size);
+			}
+			else {
+				stepExecutions = new ArrayList<StepExecution>(jobService.getStepExecutionsAfter(jobExecutionId,
+						after == null ? 0 : CursorToken.decode(after), size + 1));
+				hasNext = trimLast(stepExecutions, size);
+				hasPrevious = after != null;
+			}
+		}
+		catch (NoSuchJobExecutionException e) {
+			throw new NoSuchJobExecutionException(String.format("Could not find jobExecution with id %s", String.valueOf(jobExecutionId)));
+		}
+
+		Collection<StepExecutionInfoResource> resources = new ArrayList<StepExecutionInfoResource>();
+		Long first = null;
+		Long last = null;
+
+		for (StepExecution stepExecution : stepExecutions) {
+			resources.add(stepExecutionInfoResourceAssembler.toResource(new StepExecutionInfo(stepExecution, timeZone)));
+			if (first == null) {
+				first = stepExecution.getId();
+			}
+			last = stepExecution.getId();
+		}
+
+		return new PagedResources<StepExecutionInfoResource>(resources, new PageMetadata(size,
+				pageable.getPageNumber(), version == null ? 0 : version.getCount()), getCursorLinks(first, last,
+				hasNext, hasPrevious));
+	}
+
+	/**
+	 * Inspect the StepExecution with the provided Step Execution Id. Supports
+	 * conditional GET, with an entity tag from a cheap version query, and the
+	 * step execution may be cached once its job execution has completed (or
+	 * was abandoned).
 	 *
 	 * @param jobExecutionId Id of the {@link org.springframework.batch.core.JobExecution}, must not be null
 	 * @param stepExecutionId Id of the {@link org.springframework.batch.core.StepExecution}, must not be null
-	 * @return {@link StepExecutionInfoResource} that has the details on the given {@link org.springframework.batch.core.StepExecution}.
+	 * @param request the current request
+	 * @return {@link StepExecutionInfoResource} that has the details on the given {@link org.springframework.batch.core.StepExecution}
+	 * (or null if it was not modified).
 	 * @throws NoSuchJobExecutionException Thrown if the respective {@link org.springframework.batch.core.JobExecution} does not exist
 	 * @throws org.springframework.batch.admin.service.NoSuchStepExecutionException Thrown if the respective {@link org.springframework.batch.core.StepExecution} does not exist
 	 */
 	@RequestMapping(value = "/{stepExecutionId}", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	public StepExecutionInfoResource details(@PathVariable long jobExecutionId,
-			@PathVariable long stepExecutionId) throws NoSuchStepExecutionException, NoSuchJobExecutionException {
+			@PathVariable long stepExecutionId, ServletWebRequest request)
+			throws NoSuchStepExecutionException, NoSuchJobExecutionException {
+		ExecutionVersion version = jobService.getStepExecutionVersion(jobExecutionId, stepExecutionId);
+		String etag = null;
+		boolean cacheable = false;
+		if (version != null) {
+			etag = getETag("step", stepExecutionId, version);
+			cacheable = isCacheable(version.getStatus());
+			if (checkNotModified(request, etag, cacheable)) {
+				return null;
+			}
+		}
 		try {
 			StepExecution stepExecution = jobService.getStepExecution(jobExecutionId, stepExecutionId);
+			// A cached copy of a running step execution can be behind the version
+			if (etag != null && stepExecution.getJobExecution().getStatus() == version.getStatus()) {
+				setCacheHeaders(request, etag, cacheable);
+			}
 			return this.stepExecutionInfoResourceAssembler.toResource(new StepExecutionInfo(stepExecution,
 					this.timeZone));
 		}
@@ -127,7 +248,7 @@ public class BatchStepExecutionsController extends AbstractBatchJobsController {
 				stepName = stepName.replaceAll("(:partition).*", "$1*");
 			}
 			String jobName = stepExecution.getJobExecution().getJobInstance().getJobName();
-			StepExecutionHistory stepExecutionHistory = computeHistory(jobName, stepName);
+			StepExecutionHistory stepExecutionHistory = jobService.getStepExecutionHistory(jobName, stepName);
 			return progressInfoResourceAssembler.toResource(new StepExecutionProgressInfo(stepExecution,
 					stepExecutionHistory, timeZone));
 		}
@@ -138,22 +259,4 @@ public class BatchStepExecutionsController extends AbstractBatchJobsController {
 			throw new NoSuchJobExecutionException(String.format("Could not find jobExecution with id %s", String.valueOf(jobExecutionId)));
 		}
 	}
-
-	/**
-	 * Compute step execution history for the given jobs step.
-	 * 
-	 * @param jobName the name of the job
-	 * @param stepName the name of the step
-	 * @return the step execution history for the given step
-	 */
-	private StepExecutionHistory computeHistory(String jobName, String stepName) {
-		int total = jobService.countStepExecutionsForStep(jobName, stepName);
-		StepExecutionHistory stepExecutionHistory = new StepExecutionHistory(stepName);
-		for (int i = 0; i < total; i += 1000) {
-			for (StepExecution stepExecution : jobService.listStepExecutionsForStep(jobName, stepName, i, 1000)) {
-				stepExecutionHistory.append(stepExecution);
-			}
-		}
-		return stepExecutionHistory;
-	}
 }
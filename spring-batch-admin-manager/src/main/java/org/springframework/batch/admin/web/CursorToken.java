@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.batch.admin.web;
+
+import java.util.Date;
+
+import org.springframework.web.bind.ServletRequestBindingException;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used for keyset pagination in
+ * the REST API. Clients should treat the tokens as opaque values to be passed
+ * back in the <code>after</code>, <code>before</code> or
+ * <code>updatedSince</code> request parameters.
+ *
+ * @since 2.0
+ */
+final class CursorToken {
+
+	private static final String PREFIX = "k";
+
+	private static final String SEPARATOR = ".";
+
+	private CursorToken() {
+	}
+
+	/**
+	 * @param id the id of the execution at the edge of a page
+	 * @return an opaque token for the id
+	 */
+	static String encode(long id) {
+		return PREFIX + Long.toString(id, Character.MAX_RADIX);
+	}
+
+	/**
+	 * @param token a token created by {@link #encode(long)}
+	 * @return the id encoded in the token
+	 * @throws ServletRequestBindingException if the token is not valid
+	 */
+	static long decode(String token) throws ServletRequestBindingException {
+		if (token != null && token.startsWith(PREFIX)) {
+			try {
+				return Long.parseLong(token.substring(PREFIX.length()), Character.MAX_RADIX);
+			}
+			catch (NumberFormatException e) {
+				// fall through
+			}
+		}
+		throw new ServletRequestBindingException("Invalid cursor: [" + token + "]");
+	}
+
+	/**
+	 * @param lastUpdated the last update of the execution at the end of a page
+	 * @param id the id of the same execution
+	 * @return an opaque token for the position after the execution
+	 */
+	static String encode(Date lastUpdated, long id) {
+		return encode(lastUpdated.getTime()) + SEPARATOR + Long.toString(id, Character.MAX_RADIX);
+	}
+
+	/**
+	 * @param token a token created by {@link #encode(Date, long)}
+	 * @return the last updated time (in milliseconds) and id encoded in the
+	 * token
+	 * @throws ServletRequestBindingException if the token is not valid
+	 */
+	static long[] decodePosition(String token) throws ServletRequestBindingException {
+		int index = token == null ? -1 : token.indexOf(SEPARATOR);
+		if (index > 0) {
+			try {
+				return new long[] { decode(token.substring(0, index)),
+						Long.parseLong(token.substring(index + 1), Character.MAX_RADIX) };
+			}
+			catch (NumberFormatException e) {
+				// fall through
+			}
+		}
+		throw new ServletRequestBindingException("Invalid cursor: [" + token + "]");
+	}
+
+}
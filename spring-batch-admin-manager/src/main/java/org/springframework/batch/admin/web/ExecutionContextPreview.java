@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Renders an {@link ExecutionContext} without building the JSON for all of
+ * it in memory: a preview lists the keys with the type and JSON size of each
+ * value and only the start of the value, and a single value can be streamed
+ * straight to the response.
+ *
+ * @since 2.0
+ */
+public class ExecutionContextPreview {
+
+	/**
+	 * The default maximum number of characters of each value in a preview.
+	 */
+	public static final int DEFAULT_MAX_VALUE_LENGTH = 256;
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * @param objectMapper the mapper to convert values to JSON
+	 */
+	public ExecutionContextPreview(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Build a JSON object with an entry per key, holding the type of the
+	 * value, the size of its JSON in characters (or -1 if it cannot be
+	 * converted) and at most <code>maxValueLength</code> characters of it.
+	 *
+	 * @param context the execution context
+	 * @param maxValueLength the maximum length of each value
+	 * @return the preview as a JSON string
+	 * @throws IOException if the preview cannot be written
+	 */
+	public String preview(ExecutionContext context, int maxValueLength) throws IOException {
+		Map<String, Object> entries = new TreeMap<String, Object>();
+		for (Map.Entry<String, Object> entry : context.entrySet()) {
+			Object value = entry.getValue();
+			Map<String, Object> preview = new TreeMap<String, Object>();
+			preview.put("type", value == null ? null : value.getClass().getName());
+			TruncatingWriter writer = new TruncatingWriter(maxValueLength);
+			try {
+				objectMapper.writeValue(writer, value);
+				preview.put("size", writer.getLength());
+				preview.put("value", writer.toString());
+				preview.put("truncated", writer.getLength() > maxValueLength);
+			}
+			catch (IOException e) {
+				preview.put("size", -1);
+			}
+			entries.put(entry.getKey(), preview);
+		}
+		return objectMapper.writeValueAsString(entries);
+	}
+
+	/**
+	 * Write the JSON for one value of the context to the response as it is
+	 * generated, or send a 404 if there is no such key.
+	 *
+	 * @param context the execution context
+	 * @param key the key of the value
+	 * @param response the response to write to
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeValue(ExecutionContext context, String key, HttpServletResponse response) throws IOException {
+		if (!context.containsKey(key)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND, "No such key in execution context: " + key);
+			return;
+		}
+		// Jackson writes UTF-8 to a stream, which is the default for JSON
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		OutputStream out = response.getOutputStream();
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+		objectMapper.writeValue(generator, context.get(key));
+		generator.flush();
+	}
+
+	/**
+	 * A {@link Writer} that keeps the first characters written to it and
+	 * only counts the rest.
+	 */
+	private static class TruncatingWriter extends Writer {
+
+		private final StringBuilder buffer;
+
+		private final int limit;
+
+		private long length;
+
+		public TruncatingWriter(int limit) {
+			this.limit = limit;
+			this.buffer = new StringBuilder(Math.max(0, Math.min(limit, 1024)));
+		}
+
+		@Override
+		public void write(char[] chars, int offset, int count) {
+			int keep = (int) Math.min(count, Math.max(0, limit - length));
+			if (keep > 0) {
+				buffer.append(chars, offset, keep);
+			}
+			length += count;
+		}
+
+		public long getLength() {
+			return length;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public String toString() {
+			return buffer.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,577 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.batch.admin.domain.JobExecutionSummary;
+import org.springframework.batch.admin.service.JobService;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedMetric;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.jmx.support.MetricType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Pushes the changes to job and step executions to clients as Server-Sent
+ * Events, so that they do not have to poll the executions they are watching.
+ * A single feed finds the changes for all the subscribers: while there are
+ * any, the executions updated since the last poll are queried once per
+ * {@link #setPollInterval(long) poll interval} (through
+ * {@link JobService#listJobExecutionSummariesUpdatedSince(Date, long, int)}
+ * and {@link JobService#listStepExecutionsUpdatedSince(Date, long, int)}),
+ * and each change is converted to an event once and queued for every
+ * subscriber interested in it. This picks up jobs running in other processes
+ * as well, and the step counts as each chunk is committed. Each poll reads
+ * back over a {@link #setCommitLag(long) commit lag}, because the last
+ * updated time of an execution is set before its transaction commits; the
+ * versions seen in that window are remembered, so that each change is
+ * published once.
+ * <p>
+ * The feed is polled on a thread of its own. Each subscriber has a bounded
+ * buffer of events that is written to its response by a separate pool of
+ * threads, so that a slow client cannot hold up the feed: a subscriber whose
+ * buffer is full, or whose response has not taken a write for the
+ * {@link #setWriteTimeout(long) write timeout}, is disconnected (browsers
+ * reconnect automatically). The responses use the asynchronous support of
+ * Servlet 3.0, so the dispatcher servlet and its filters have to be
+ * <code>async-supported</code>.
+ *
+ * @since 2.0
+ */
+@ManagedResource
+public class ExecutionEventStream implements InitializingBean, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(ExecutionEventStream.class);
+
+	private static final String HEARTBEAT = ":\n\n";
+
+	private JobService jobService;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final List<Subscriber> subscribers = new CopyOnWriteArrayList<Subscriber>();
+
+	private final Feed jobFeed = new Feed();
+
+	private final Feed stepFeed = new Feed();
+
+	private ScheduledExecutorService scheduler;
+
+	private ExecutorService writers;
+
+	private int bufferSize = 100;
+
+	private int threads = 2;
+
+	private long pollInterval = 1000;
+
+	private long heartbeatInterval = 15000;
+
+	private long commitLag = 5000;
+
+	private long writeTimeout = 10000;
+
+	private long timeout = 30 * 60 * 1000;
+
+	private int pageSize = 500;
+
+	private final AtomicLong eventCount = new AtomicLong();
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	@Autowired
+	public void setJobService(JobService jobService) {
+		this.jobService = jobService;
+	}
+
+	/**
+	 * The maximum number of events waiting to be written to a subscriber
+	 * before it is disconnected (default 100).
+	 *
+	 * @param bufferSize the buffer size to set
+	 */
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * The number of threads that write the events to the subscribers (default
+	 * 2). The changes are polled for on another thread.
+	 *
+	 * @param threads the number of threads to set
+	 */
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * The time in milliseconds between polls for changes (default 1000).
+	 *
+	 * @param pollInterval the poll interval to set
+	 */
+	public void setPollInterval(long pollInterval) {
+		this.pollInterval = pollInterval;
+	}
+
+	/**
+	 * The time in milliseconds between the comments sent to every subscriber
+	 * to keep the connections open and to find the ones that were closed
+	 * (default 15000).
+	 *
+	 * @param heartbeatInterval the heartbeat interval to set
+	 */
+	public void setHeartbeatInterval(long heartbeatInterval) {
+		this.heartbeatInterval = heartbeatInterval;
+	}
+
+	/**
+	 * The time in milliseconds each poll reads back from the latest change
+	 * already seen, to pick up the changes that were committed after it
+	 * although they were updated before (default 5000). It should cover the
+	 * longest transaction of a step, and the difference between the clocks of
+	 * the processes running the jobs.
+	 *
+	 * @param commitLag the commit lag to set
+	 */
+	public void setCommitLag(long commitLag) {
+		this.commitLag = commitLag;
+	}
+
+	/**
+	 * The time in milliseconds a write to a subscriber can block before the
+	 * subscriber is disconnected, so that a client that stopped reading does
+	 * not keep a writer thread (default 10000).
+	 *
+	 * @param writeTimeout the write timeout to set
+	 */
+	public void setWriteTimeout(long writeTimeout) {
+		this.writeTimeout = writeTimeout;
+	}
+
+	/**
+	 * The time in milliseconds after which a subscription is closed, and the
+	 * client has to reconnect (default 30 minutes, 0 for none).
+	 *
+	 * @param timeout the timeout to set
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * The number of job (and step) executions to ask for in each query
+	 * (default 500). A poll pages through all the changes.
+	 *
+	 * @param pageSize the page size to set
+	 */
+	public void setPageSize(int pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		CustomizableThreadFactory pollerFactory = new CustomizableThreadFactory("execution-events-poller-");
+		pollerFactory.setDaemon(true);
+		CustomizableThreadFactory writerFactory = new CustomizableThreadFactory("execution-events-writer-");
+		writerFactory.setDaemon(true);
+		scheduler = Executors.newSingleThreadScheduledExecutor(pollerFactory);
+		writers = Executors.newFixedThreadPool(threads, writerFactory);
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					poll();
+				}
+				catch (Exception e) {
+					logger.warn("Cannot poll for execution changes", e);
+				}
+			}
+		}, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				send(HEARTBEAT, null);
+			}
+		}, heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				closeBlocked();
+			}
+		}, writeTimeout, writeTimeout, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		if (writers != null) {
+			writers.shutdownNow();
+		}
+		for (Subscriber subscriber : subscribers) {
+			subscriber.close();
+		}
+	}
+
+	/**
+	 * Start streaming events to the response of the current request. The
+	 * events are on the streaming paths of the ETag filter, so the response
+	 * is not buffered to hash it.
+	 *
+	 * @param request the current request
+	 * @param response the response to stream the events to
+	 * @param jobExecutionId the job execution to send events for, or null for
+	 * all of them
+	 * @throws IOException if the response cannot be written
+	 */
+	public void subscribe(HttpServletRequest request, HttpServletResponse response, Long jobExecutionId)
+			throws IOException {
+		response.setContentType("text/event-stream");
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader("Cache-Control", "no-cache");
+		AsyncContext context = request.startAsync(request, response);
+		context.setTimeout(timeout);
+		Subscriber subscriber = new Subscriber(context, jobExecutionId);
+		context.addListener(subscriber);
+		subscribers.add(subscriber);
+		subscriber.offer(HEARTBEAT);
+		schedule(subscriber);
+	}
+
+	/**
+	 * Query the changes since the last poll and publish them to the
+	 * subscribers. Nothing is queried while there are no subscribers, and the
+	 * first poll with subscribers only records the changes already made.
+	 */
+	public void poll() {
+		if (subscribers.isEmpty()) {
+			jobFeed.reset();
+			stepFeed.reset();
+			return;
+		}
+		Date now = new Date();
+		boolean started = jobFeed.start(now);
+		started = stepFeed.start(now) || started;
+		Date since = jobFeed.getSince(commitLag);
+		long afterId = -1;
+		Collection<JobExecutionSummary> summaries;
+		do {
+			summaries = jobService.listJobExecutionSummariesUpdatedSince(since, afterId, pageSize);
+			for (JobExecutionSummary summary : summaries) {
+				if (jobFeed.see(summary.getId(), summary.getVersion(), summary.getLastUpdated()) && !started) {
+					publish(toEvent("job", getJobData(summary)), summary.getId());
+				}
+				since = summary.getLastUpdated();
+				afterId = summary.getId();
+			}
+		} while (summaries.size() >= pageSize);
+		jobFeed.prune(commitLag);
+		since = stepFeed.getSince(commitLag);
+		afterId = -1;
+		Collection<StepExecution> stepExecutions;
+		do {
+			stepExecutions = jobService.listStepExecutionsUpdatedSince(since, afterId, pageSize);
+			for (StepExecution stepExecution : stepExecutions) {
+				if (stepFeed.see(stepExecution.getId(), stepExecution.getVersion(), stepExecution.getLastUpdated())
+						&& !started) {
+					publish(toEvent("step", getStepData(stepExecution)), stepExecution.getJobExecutionId());
+				}
+				since = stepExecution.getLastUpdated();
+				afterId = stepExecution.getId();
+			}
+		} while (stepExecutions.size() >= pageSize);
+		stepFeed.prune(commitLag);
+	}
+
+	@ManagedMetric(metricType = MetricType.GAUGE, description = "Subscriber Count")
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Published Event Count")
+	public long getEventCount() {
+		return eventCount.get();
+	}
+
+	@ManagedMetric(metricType = MetricType.COUNTER, description = "Dropped Slow Subscriber Count")
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	private void publish(String event, Long jobExecutionId) {
+		eventCount.incrementAndGet();
+		send(event, jobExecutionId);
+	}
+
+	private void send(String event, Long jobExecutionId) {
+		for (Subscriber subscriber : subscribers) {
+			if (jobExecutionId != null && subscriber.jobExecutionId != null
+					&& !subscriber.jobExecutionId.equals(jobExecutionId)) {
+				continue;
+			}
+			if (subscriber.offer(event)) {
+				schedule(subscriber);
+			}
+			else {
+				logger.debug("Dropping slow execution event subscriber");
+				droppedCount.incrementAndGet();
+				subscriber.close();
+			}
+		}
+	}
+
+	private void closeBlocked() {
+		long now = System.currentTimeMillis();
+		for (Subscriber subscriber : subscribers) {
+			long writeStarted = subscriber.writeStarted;
+			if (writeStarted > 0 && now - writeStarted > writeTimeout) {
+				logger.debug("Dropping blocked execution event subscriber");
+				droppedCount.incrementAndGet();
+				subscriber.close();
+			}
+		}
+	}
+
+	private void schedule(final Subscriber subscriber) {
+		if (subscriber.scheduled.compareAndSet(false, true)) {
+			writers.execute(new Runnable() {
+				@Override
+				public void run() {
+					subscriber.flush();
+				}
+			});
+		}
+	}
+
+	private String toEvent(String name, Map<String, Object> data) {
+		try {
+			return "event: " + name + "\ndata: " + objectMapper.writeValueAsString(data) + "\n\n";
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Cannot convert execution event to JSON", e);
+		}
+	}
+
+	private Map<String, Object> getJobData(JobExecutionSummary summary) {
+		Map<String, Object> data = new LinkedHashMap<String, Object>();
+		data.put("jobExecutionId", summary.getId());
+		data.put("jobInstanceId", summary.getJobInstanceId());
+		data.put("jobName", summary.getJobName());
+		data.put("status", summary.getStatus());
+		data.put("exitCode", summary.getExitStatus() == null ? null : summary.getExitStatus().getExitCode());
+		data.put("startTime", summary.getStartTime());
+		data.put("endTime", summary.getEndTime());
+		data.put("lastUpdated", summary.getLastUpdated());
+		data.put("version", summary.getVersion());
+		data.put("stepExecutionCount", summary.getStepExecutionCount());
+		return data;
+	}
+
+	private Map<String, Object> getStepData(StepExecution stepExecution) {
+		Map<String, Object> data = new LinkedHashMap<String, Object>();
+		data.put("stepExecutionId", stepExecution.getId());
+		data.put("jobExecutionId", stepExecution.getJobExecutionId());
+		data.put("stepName", stepExecution.getStepName());
+		data.put("status", stepExecution.getStatus());
+		data.put("exitCode", stepExecution.getExitStatus().getExitCode());
+		data.put("readCount", stepExecution.getReadCount());
+		data.put("writeCount", stepExecution.getWriteCount());
+		data.put("filterCount", stepExecution.getFilterCount());
+		data.put("commitCount", stepExecution.getCommitCount());
+		data.put("rollbackCount", stepExecution.getRollbackCount());
+		data.put("readSkipCount", stepExecution.getReadSkipCount());
+		data.put("processSkipCount", stepExecution.getProcessSkipCount());
+		data.put("writeSkipCount", stepExecution.getWriteSkipCount());
+		data.put("startTime", stepExecution.getStartTime());
+		data.put("endTime", stepExecution.getEndTime());
+		data.put("lastUpdated", stepExecution.getLastUpdated());
+		data.put("version", stepExecution.getVersion());
+		return data;
+	}
+
+	/**
+	 * The position of the feed in the executions of one kind: the latest last
+	 * updated time seen, and the versions of the executions seen in the commit
+	 * lag before it (which are read again by the next poll).
+	 */
+	private static class Feed {
+
+		private Date watermark;
+
+		private final Map<String, Date> seen = new HashMap<String, Date>();
+
+		public void reset() {
+			watermark = null;
+			seen.clear();
+		}
+
+		/**
+		 * @return true if the feed was not started yet
+		 */
+		public boolean start(Date now) {
+			if (watermark != null) {
+				return false;
+			}
+			watermark = now;
+			return true;
+		}
+
+		public Date getSince(long commitLag) {
+			return new Date(watermark.getTime() - commitLag);
+		}
+
+		/**
+		 * @return true if the version of the execution was not seen before
+		 */
+		public boolean see(Long id, Integer version, Date lastUpdated) {
+			if (lastUpdated.after(watermark)) {
+				watermark = lastUpdated;
+			}
+			return seen.put(id + ":" + version, lastUpdated) == null;
+		}
+
+		public void prune(long commitLag) {
+			Date since = getSince(commitLag);
+			for (Iterator<Date> iterator = seen.values().iterator(); iterator.hasNext();) {
+				if (iterator.next().before(since)) {
+					iterator.remove();
+				}
+			}
+		}
+
+	}
+
+	private class Subscriber implements AsyncListener {
+
+		private final AsyncContext context;
+
+		private final Long jobExecutionId;
+
+		private final BlockingQueue<String> events = new ArrayBlockingQueue<String>(bufferSize);
+
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private volatile boolean closed;
+
+		private volatile long writeStarted;
+
+		public Subscriber(AsyncContext context, Long jobExecutionId) {
+			this.context = context;
+			this.jobExecutionId = jobExecutionId;
+		}
+
+		public boolean offer(String event) {
+			return events.offer(event);
+		}
+
+		public synchronized void flush() {
+			scheduled.set(false);
+			if (closed) {
+				return;
+			}
+			writeStarted = System.currentTimeMillis();
+			try {
+				Writer writer = context.getResponse().getWriter();
+				String event = events.poll();
+				while (event != null) {
+					writer.write(event);
+					event = events.poll();
+				}
+				writer.flush();
+				context.getResponse().flushBuffer();
+			}
+			catch (IOException e) {
+				logger.debug("Closing execution event subscriber: " + e);
+				close();
+			}
+			catch (IllegalStateException e) {
+				// the request was already completed
+				close();
+			}
+			finally {
+				writeStarted = 0;
+			}
+		}
+
+		public void close() {
+			subscribers.remove(this);
+			if (!closed) {
+				closed = true;
+				try {
+					context.complete();
+				}
+				catch (IllegalStateException e) {
+					// already completed
+				}
+			}
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			closed = true;
+			subscribers.remove(this);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			close();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+	}
+
+}
@@ -201,19 +201,7 @@ public class JobController {
 		int total = jobService.countJobs();
 		TableUtils.addPagination(model, total, startJob, pageSize, "Job");
 		Collection<String> names = jobService.listJobs(startJob, pageSize);
-		List<JobInfo> jobs = new ArrayList<JobInfo>();
-		for (String name : names) {
-			int count = 0;
-			try {
-				count = jobService.countJobExecutionsForJob(name);
-			}
-			catch (NoSuchJobException e) {
-				// shouldn't happen
-			}
-			boolean launchable = jobService.isLaunchable(name);
-			boolean incrementable = jobService.isIncrementable(name);
-			jobs.add(new JobInfo(name, count, null, launchable, incrementable));
-		}
+		List<JobInfo> jobs = jobService.listJobInfos(names);
 		model.addAttribute("jobs", jobs);
 	}
 
@@ -28,11 +28,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 
+import javax.servlet.http.HttpServletResponse;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.batch.admin.domain.JobExecutionInfo;
+import org.springframework.batch.admin.domain.JobExecutionSummary;
 import org.springframework.batch.admin.domain.JobInfo;
 import org.springframework.batch.admin.domain.StepExecutionInfo;
 import org.springframework.batch.admin.service.JobService;
@@ -84,6 +87,7 @@ public class JobExecutionController {
 
 	private JobService jobService;
 	private ObjectMapper objectMapper;
+	private ExecutionContextPreview executionContextPreview;
 	private TimeZone timeZone = TimeZone.getDefault();
 
 	/**
@@ -98,6 +102,7 @@ public class JobExecutionController {
 	@Autowired
 	public void setObjectMapper(ObjectMapper objectMapper) {
 		this.objectMapper = objectMapper;
+		this.executionContextPreview = new ExecutionContextPreview(objectMapper);
 	}
 
 	@Autowired
@@ -123,7 +128,7 @@ public class JobExecutionController {
 			errors.reject("job.execution.not.running", "Job exection with id=" + jobExecutionId + " is not running.");
 			JobExecution jobExecution;
 			try {
-				jobExecution = jobService.getJobExecution(jobExecutionId);
+				jobExecution = jobService.getJobExecution(jobExecutionId, false);
 				model.addAttribute(new JobExecutionInfo(jobExecution, timeZone));
 			}
 			catch (NoSuchJobExecutionException e1) {
@@ -152,7 +157,7 @@ public class JobExecutionController {
 			errors.reject("job.execution.running", "Job exection with id=" + jobExecutionId + " is running.");
 			JobExecution jobExecution;
 			try {
-				jobExecution = jobService.getJobExecution(jobExecutionId);
+				jobExecution = jobService.getJobExecution(jobExecutionId, false);
 				model.addAttribute(new JobExecutionInfo(jobExecution, timeZone));
 			}
 			catch (NoSuchJobExecutionException e1) {
@@ -173,8 +178,8 @@ public class JobExecutionController {
 		TableUtils.addPagination(model, total, startJobExecution, pageSize, "JobExecution");
 
 		Collection<JobExecutionInfo> result = new ArrayList<JobExecutionInfo>();
-		for (JobExecution jobExecution : jobService.listJobExecutions(startJobExecution, pageSize)) {
-			result.add(new JobExecutionInfo(jobExecution, timeZone));
+		for (JobExecutionSummary summary : jobService.listJobExecutionSummaries(startJobExecution, pageSize)) {
+			result.add(new JobExecutionInfo(summary, timeZone));
 		}
 
 		return result;
@@ -319,7 +324,7 @@ public class JobExecutionController {
 			Errors errors) {
 
 		try {
-			JobExecution jobExecution = jobService.getJobExecution(jobExecutionId);
+			JobExecution jobExecution = jobService.getJobExecution(jobExecutionId, false);
 			model.addAttribute(new JobExecutionInfo(jobExecution, timeZone));
 			String jobName = jobExecution.getJobInstance().getJobName();
 //			Collection<String> stepNames = new HashSet<String>(jobService.getStepNamesForJob(jobName));
@@ -391,4 +396,46 @@ public class JobExecutionController {
 
 		return "jobs/executions/execution-context";
 	}
+
+	/**
+	 * Show the keys of the execution context with the type, size and the
+	 * start of each value, instead of the whole context.
+	 */
+	@RequestMapping(value = "/jobs/executions/{jobExecutionId}/execution-context", method = RequestMethod.GET, params = "preview")
+	public String getExecutionContextPreview(Model model, @PathVariable Long jobExecutionId,
+			@RequestParam(defaultValue = "" + ExecutionContextPreview.DEFAULT_MAX_VALUE_LENGTH) int maxValueLength,
+			@ModelAttribute("date") Date date, Errors errors) {
+		try {
+			JobExecution jobExecution = jobService.getJobExecution(jobExecutionId);
+			model.addAttribute("jobExecutionContext",
+					executionContextPreview.preview(jobExecution.getExecutionContext(), maxValueLength));
+			model.addAttribute("jobExecutionId", jobExecutionId);
+		}
+		catch (NoSuchJobExecutionException e) {
+			errors.reject("no.such.job.execution", new Object[] { jobExecutionId }, "There is no such job execution ("
+					+ jobExecutionId + ")");
+		}
+		catch (IOException e) {
+			errors.reject("serialization.error", new Object[] { jobExecutionId }, "Error serializing execution context for job execution ("
+					+ jobExecutionId + ")");
+		}
+
+		return "jobs/executions/execution-context";
+	}
+
+	/**
+	 * Stream a single value of the execution context as JSON.
+	 */
+	@RequestMapping(value = "/jobs/executions/{jobExecutionId}/execution-context", method = RequestMethod.GET, params = "key")
+	public void getExecutionContextValue(@PathVariable Long jobExecutionId, @RequestParam String key,
+			HttpServletResponse response) throws IOException {
+		try {
+			JobExecution jobExecution = jobService.getJobExecution(jobExecutionId);
+			executionContextPreview.writeValue(jobExecution.getExecutionContext(), key, response);
+		}
+		catch (NoSuchJobExecutionException e) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND, "There is no such job execution (" + jobExecutionId
+					+ ")");
+		}
+	}
 }
@@ -17,23 +17,133 @@ package org.springframework.batch.admin.web;
 
 import java.util.Locale;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.util.Assert;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.ViewResolver;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
 /**
+ * Resolves every view name to a shared {@link MappingJackson2JsonView}. The
+ * view (and its {@link ObjectMapper}) is created once and used by all
+ * requests, as it is thread safe once configured. The JSON is only laid out
+ * to be readable on request, with a <code>pretty=true</code> parameter, or
+ * if {@link #setPrettyPrint(boolean) pretty print} is switched on for all
+ * the requests.
+ *
  * @author Michael Minella
  */
 public class JsonViewResolver implements ViewResolver {
+
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	private boolean prettyPrint = false;
+
+	private volatile MappingJackson2JsonView view;
+
+	private volatile MappingJackson2JsonView prettyView;
+
+	/**
+	 * The {@link ObjectMapper} to render the views with (default a plain
+	 * one). It is also used by the handlers that stream their JSON.
+	 *
+	 * @param objectMapper the object mapper to set
+	 */
+	public void setObjectMapper(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+		this.view = null;
+		this.prettyView = null;
+	}
+
+	/**
+	 * @return the object mapper
+	 */
+	public ObjectMapper getObjectMapper() {
+		return objectMapper;
+	}
+
+	/**
+	 * Flag to lay the JSON out to be nicely readable (default false, as it
+	 * makes large responses noticeably bigger and slower to write).
+	 *
+	 * @param prettyPrint the flag to set
+	 */
+	public void setPrettyPrint(boolean prettyPrint) {
+		this.prettyPrint = prettyPrint;
+	}
+
+	/**
+	 * @param request the current request
+	 * @return true if the JSON should be laid out to be readable for the
+	 * request
+	 */
+	public boolean isPrettyPrint(HttpServletRequest request) {
+		return prettyPrint || (request != null && "true".equals(request.getParameter("pretty")));
+	}
+
 	/**
 	 * Get the view to use.
 	 *
-	 * @return Always returns an instance of {@link MappingJackson2JsonView}.
+	 * @return Always returns one of two instances of {@link MappingJackson2JsonView}
+	 * (with or without pretty print).
 	 */
 	@Override
 	public View resolveViewName(String viewName, Locale locale) throws Exception {
-		MappingJackson2JsonView view = new MappingJackson2JsonView();
-		view.setPrettyPrint(true);      // Lay the JSON out to be nicely readable
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		HttpServletRequest request = attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes)
+				.getRequest() : null;
+		if (isPrettyPrint(request)) {
+			MappingJackson2JsonView view = this.prettyView;
+			if (view == null) {
+				// The view sets the indentation on its mapper, so it needs its own
+				view = createView(objectMapper.copy(), true);
+				this.prettyView = view;
+			}
+			return view;
+		}
+		MappingJackson2JsonView view = this.view;
+		if (view == null) {
+			view = createView(objectMapper, false);
+			this.view = view;
+		}
+		return view;
+	}
+
+	private MappingJackson2JsonView createView(ObjectMapper objectMapper, boolean prettyPrint) {
+		MappingJackson2JsonView view = new CacheHeaderAwareJsonView();
+		view.setObjectMapper(objectMapper);
+		view.setPrettyPrint(prettyPrint);
 		return view;
 	}
+
+	/**
+	 * Disables caching of the response like the default view, unless the
+	 * handler has already set its own <code>Cache-Control</code> header (e.g.
+	 * for a resource that will not change any more).
+	 */
+	private static class CacheHeaderAwareJsonView extends MappingJackson2JsonView {
+
+		public CacheHeaderAwareJsonView() {
+			setDisableCaching(false);
+		}
+
+		@Override
+		protected void prepareResponse(HttpServletRequest request, HttpServletResponse response) {
+			super.prepareResponse(request, response);
+			if (!response.containsHeader("Cache-Control")) {
+				response.addHeader("Pragma", "no-cache");
+				response.addHeader("Cache-Control", "no-cache, no-store, max-age=0");
+				response.addDateHeader("Expires", 1L);
+			}
+		}
+
+	}
 }
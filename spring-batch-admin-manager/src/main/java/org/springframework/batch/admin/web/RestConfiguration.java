@@ -39,6 +39,9 @@ import org.springframework.web.servlet.view.ContentNegotiatingViewResolver;
 @Import(RestControllerAdvice.class)
 public class RestConfiguration {
 
+	// Not a bean, or the dispatcher would use it for every view name
+	private final JsonViewResolver jsonViewResolver = new JsonViewResolver();
+
 	@Bean
 	public HttpPutFormContentFilter putFilter() {
 		return new HttpPutFormContentFilter();
@@ -46,7 +49,14 @@ public class RestConfiguration {
 
 	@Bean
 	public BatchJobExecutionsController batchJobExecutionsController() {
-		return new BatchJobExecutionsController();
+		BatchJobExecutionsController controller = new BatchJobExecutionsController();
+		controller.setJsonViewResolver(jsonViewResolver);
+		return controller;
+	}
+
+	@Bean
+	public ExecutionEventStream executionEventStream() {
+		return new ExecutionEventStream();
 	}
 
 	@Bean
@@ -59,6 +69,11 @@ public class RestConfiguration {
 		return new BatchJobsController();
 	}
 
+	@Bean
+	public BatchExportController batchExportController() {
+		return new BatchExportController();
+	}
+
 	@Bean
 	public BatchFileController batchFileController() {
 		return new BatchFileController();
@@ -74,7 +89,7 @@ public class RestConfiguration {
 		// Define the view resolvers
 		List<ViewResolver> resolvers = new ArrayList<ViewResolver>();
 
-		resolvers.add(new JsonViewResolver());
+		resolvers.add(jsonViewResolver);
 
 		// Create the CNVR plugging in the resolvers and the content-negotiation manager
 		ContentNegotiatingViewResolver resolver = new ContentNegotiatingViewResolver();
@@ -32,6 +32,7 @@ import org.springframework.hateoas.VndErrors;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -71,6 +72,22 @@ public class RestControllerAdvice {
 		return new VndErrors(logref, e.getMessage());
 	}
 
+	/**
+	 * Handles the case where client submitted an ill valued request parameter
+	 * (e.g. an invalid cursor).
+	 *
+	 * @param e exception to be handled
+	 *
+	 * @return VndErrors see {@link VndErrors}
+	 */
+	@ExceptionHandler
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	@ResponseBody
+	public VndErrors onServletRequestBindingException(ServletRequestBindingException e) {
+		String logref = logDebug(e);
+		return new VndErrors(logref, e.getMessage());
+	}
+
 	/**
 	 * Handles the general error case. Report server-side error.
 	 *
@@ -23,6 +23,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.TimeZone;
 
+import javax.servlet.http.HttpServletResponse;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.batch.admin.domain.JobExecutionInfo;
@@ -43,6 +45,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Controller for step executions.
@@ -54,6 +57,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 public class StepExecutionController {
 	private JobService jobService;
 	private ObjectMapper objectMapper;
+
+	private ExecutionContextPreview executionContextPreview;
 	private TimeZone timeZone = TimeZone.getDefault();
 
 	/**
@@ -68,6 +73,7 @@ public class StepExecutionController {
 	@Autowired
 	public void setObjectMapper(ObjectMapper objectMapper) {
 		this.objectMapper = objectMapper;
+		this.executionContextPreview = new ExecutionContextPreview(objectMapper);
 	}
 
 	@Autowired
@@ -84,7 +90,7 @@ public class StepExecutionController {
 			for (StepExecution stepExecution : jobService.getStepExecutions(jobExecutionId)) {
 				result.add(new StepExecutionInfo(stepExecution, timeZone));
 			}
-			JobExecution jobExecution = jobService.getJobExecution(jobExecutionId);
+			JobExecution jobExecution = jobService.getJobExecution(jobExecutionId, false);
 			model.addAttribute(new JobExecutionInfo(jobExecution, timeZone));
 		}
 		catch (NoSuchJobExecutionException e) {
@@ -131,7 +137,7 @@ public class StepExecutionController {
 				stepName = stepName.replaceAll("(:partition).*", "$1*");
 			}
 			String jobName = stepExecution.getJobExecution().getJobInstance().getJobName();
-			StepExecutionHistory stepExecutionHistory = computeHistory(jobName, stepName);
+			StepExecutionHistory stepExecutionHistory = jobService.getStepExecutionHistory(jobName, stepName);
 			model.addAttribute(stepExecutionHistory);
 			model.addAttribute(new StepExecutionProgress(stepExecution, stepExecutionHistory));
 		}
@@ -148,17 +154,6 @@ public class StepExecutionController {
 
 	}
 
-	private StepExecutionHistory computeHistory(String jobName, String stepName) {
-		int total = jobService.countStepExecutionsForStep(jobName, stepName);
-		StepExecutionHistory stepExecutionHistory = new StepExecutionHistory(stepName);
-		for (int i = 0; i < total; i += 1000) {
-			for (StepExecution stepExecution : jobService.listStepExecutionsForStep(jobName, stepName, i, 1000)) {
-				stepExecutionHistory.append(stepExecution);
-			}
-		}
-		return stepExecutionHistory;
-	}
-
 	@RequestMapping(value = "/jobs/executions/{jobExecutionId}/steps/{stepExecutionId}/execution-context", method = RequestMethod.GET)
 	public String getStepExecutionContext(Model model, @PathVariable Long jobExecutionId, @PathVariable Long stepExecutionId,
 										  @ModelAttribute("date") Date date, Errors errors) {
@@ -190,4 +185,57 @@ public class StepExecutionController {
 
 		return "jobs/executions/step/execution-context";
 	}
+
+	/**
+	 * Show the keys of the step execution context with the type, size and the
+	 * start of each value, instead of the whole context.
+	 */
+	@RequestMapping(value = "/jobs/executions/{jobExecutionId}/steps/{stepExecutionId}/execution-context", method = RequestMethod.GET, params = "preview")
+	public String getStepExecutionContextPreview(Model model, @PathVariable Long jobExecutionId,
+			@PathVariable Long stepExecutionId,
+			@RequestParam(defaultValue = "" + ExecutionContextPreview.DEFAULT_MAX_VALUE_LENGTH) int maxValueLength,
+			@ModelAttribute("date") Date date, Errors errors) {
+		try {
+			StepExecution stepExecution = jobService.getStepExecution(jobExecutionId, stepExecutionId);
+			model.addAttribute("stepExecutionContext",
+					executionContextPreview.preview(stepExecution.getExecutionContext(), maxValueLength));
+			model.addAttribute("stepExecutionId", stepExecutionId);
+			model.addAttribute("stepName", stepExecution.getStepName());
+			model.addAttribute("jobExecutionId", jobExecutionId);
+		}
+		catch (NoSuchJobExecutionException e) {
+			errors.reject("no.such.job.execution", new Object[] { jobExecutionId }, "There is no such job execution ("
+					+ jobExecutionId + ")");
+		}
+		catch (NoSuchStepExecutionException e) {
+			errors.reject("no.such.step.execution", new Object[] { stepExecutionId }, "There is no such step execution ("
+					+ stepExecutionId + ")");
+		}
+		catch (IOException e) {
+			errors.reject("serialization.error", new Object[] { jobExecutionId }, "Error serializing execution context for step execution ("
+				+ stepExecutionId + ")");
+		}
+
+		return "jobs/executions/step/execution-context";
+	}
+
+	/**
+	 * Stream a single value of the step execution context as JSON.
+	 */
+	@RequestMapping(value = "/jobs/executions/{jobExecutionId}/steps/{stepExecutionId}/execution-context", method = RequestMethod.GET, params = "key")
+	public void getStepExecutionContextValue(@PathVariable Long jobExecutionId, @PathVariable Long stepExecutionId,
+			@RequestParam String key, HttpServletResponse response) throws IOException {
+		try {
+			StepExecution stepExecution = jobService.getStepExecution(jobExecutionId, stepExecutionId);
+			executionContextPreview.writeValue(stepExecution.getExecutionContext(), key, response);
+		}
+		catch (NoSuchJobExecutionException e) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND, "There is no such job execution (" + jobExecutionId
+					+ ")");
+		}
+		catch (NoSuchStepExecutionException e) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND, "There is no such step execution ("
+					+ stepExecutionId + ")");
+		}
+	}
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedResources;
+import org.springframework.hateoas.PagedResources.PageMetadata;
+import org.springframework.http.MediaType;
+
+/**
+ * Writes a page of resources to a response with the streaming API of
+ * Jackson, one resource at a time, so that a large page never has to be held
+ * in memory as a whole. The JSON has the same shape as the
+ * {@link PagedResources} rendered by the {@link JsonViewResolver} view
+ * (wrapped in a <code>pagedResources</code> field), except that the content
+ * comes before the links and page metadata, which are only known at the end.
+ * <p>
+ * The requests for streamed pages have a <code>stream=true</code> parameter,
+ * so that the ETag filter does not buffer the response to hash it.
+ *
+ * @since 2.0
+ */
+public class StreamingJsonWriter {
+
+	private final JsonGenerator generator;
+
+	private final ObjectWriter writer;
+
+	/**
+	 * Start writing a page to the response: the headers and the opening of
+	 * the content are written straight away.
+	 *
+	 * @param response the response to write to
+	 * @param objectMapper the mapper to serialize each resource with
+	 * @param prettyPrint flag to lay the JSON out to be readable
+	 * @throws IOException if the response cannot be written
+	 */
+	public StreamingJsonWriter(HttpServletResponse response, ObjectMapper objectMapper, boolean prettyPrint)
+			throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding(JsonEncoding.UTF8.getJavaName());
+		response.setHeader("Cache-Control", "no-cache, no-store, max-age=0");
+		// The resources are flushed a batch at a time by the caller, not one by one
+		ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.writer = prettyPrint ? writer.with(SerializationFeature.INDENT_OUTPUT) : writer
+				.without(SerializationFeature.INDENT_OUTPUT);
+		this.generator = objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+		if (prettyPrint) {
+			generator.useDefaultPrettyPrinter();
+		}
+		generator.writeStartObject();
+		generator.writeFieldName("pagedResources");
+		generator.writeStartObject();
+		generator.writeArrayFieldStart("content");
+	}
+
+	/**
+	 * Write the next resource of the content.
+	 *
+	 * @param resource the resource to write
+	 * @throws IOException if the response cannot be written
+	 */
+	public void write(Object resource) throws IOException {
+		writer.writeValue(generator, resource);
+	}
+
+	/**
+	 * Send the resources written so far to the client.
+	 *
+	 * @throws IOException if the response cannot be written
+	 */
+	public void flush() throws IOException {
+		generator.flush();
+	}
+
+	/**
+	 * Finish the page with its links and metadata, and flush the response.
+	 *
+	 * @param metadata the page metadata
+	 * @param links the links of the page
+	 * @throws IOException if the response cannot be written
+	 */
+	public void close(PageMetadata metadata, Link... links) throws IOException {
+		generator.writeEndArray();
+		generator.writeFieldName("links");
+		writer.writeValue(generator, links);
+		generator.writeFieldName("page");
+		writer.writeValue(generator, metadata);
+		generator.writeEndObject();
+		generator.writeEndObject();
+		generator.close();
+	}
+
+}
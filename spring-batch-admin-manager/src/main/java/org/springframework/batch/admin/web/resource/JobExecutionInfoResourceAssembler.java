@@ -18,13 +18,16 @@ package org.springframework.batch.admin.web.resource;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.TimeZone;
 
 import org.springframework.batch.admin.domain.JobExecutionInfo;
 import org.springframework.batch.admin.domain.JobExecutionInfoResource;
+import org.springframework.batch.admin.domain.JobExecutionSummary;
 import org.springframework.batch.admin.domain.StepExecutionInfo;
 import org.springframework.batch.admin.domain.StepExecutionInfoResource;
 import org.springframework.batch.admin.web.BatchJobExecutionsController;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
 import org.springframework.hateoas.mvc.ResourceAssemblerSupport;
 
 
@@ -48,6 +51,21 @@ public class JobExecutionInfoResourceAssembler extends
 		return createResourceWithId(entity.getJobExecution().getId(), entity);
 	}
 
+	/**
+	 * Build a resource for a list of executions from a summary, without step
+	 * executions.
+	 *
+	 * @param summary the summary of a job execution
+	 * @param timeZone the time zone for the dates
+	 * @return the resource with a self link
+	 */
+	public JobExecutionInfoResource toResource(JobExecutionSummary summary, TimeZone timeZone) {
+		JobExecutionInfoResource resource = new JobExecutionInfoResource(summary, timeZone);
+		resource.add(ControllerLinkBuilder.linkTo(BatchJobExecutionsController.class).slash(summary.getId())
+				.withSelfRel());
+		return resource;
+	}
+
 	@Override
 	protected JobExecutionInfoResource instantiateResource(JobExecutionInfo entity) {
 		Collection<StepExecutionInfoResource> stepExecutionInfoResources =
@@ -51,8 +51,8 @@
 					<td>${execution.startDate}</td>
 					<td>${execution.startTime}</td>
 					<td>${execution.duration}</td>
-					<td>${execution.jobExecution.status}</td>
-					<td>${execution.jobExecution.exitStatus.exitCode}</td>
+					<td>${execution.status}</td>
+					<td>${execution.exitStatus.exitCode}</td>
 				</tr>
 			</#list>
 		</table>
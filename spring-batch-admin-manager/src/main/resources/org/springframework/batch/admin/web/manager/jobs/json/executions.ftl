@@ -5,7 +5,7 @@
 	<#if jobExecutions?? && jobExecutions?size!=0>
 	"jobExecutions" : {<#list jobExecutions as jobExecutionInfo><#assign url><@spring.url relativeUrl="${servletPath}/jobs/executions/${jobExecutionInfo.id?c}.json"/></#assign>
 		"${jobExecutionInfo.id}" : {
-			"status" : "${jobExecutionInfo.jobExecution.status}",
+			"status" : "${jobExecutionInfo.status}",
 			"startDate" : "${jobExecutionInfo.startDate}",
 			"startTime" : "${jobExecutionInfo.startTime}",
 			"duration" : "${jobExecutionInfo.duration}",
@@ -5,24 +5,24 @@
 	<link>${url}</link>
 	<description>Recent and Current Job Executions</description>
 	<#if jobExecutions?? && jobExecutions?size!=0>
-		<#if jobExecutions[0].jobExecution.endTime??>
-			<#assign pubdate>${jobExecutions[0].jobExecution.endTime?string("yyyy-MM-dd'T'HH:mm:ssZ")}</#assign>
+		<#if jobExecutions[0].endTime??>
+			<#assign pubdate>${jobExecutions[0].endTime?string("yyyy-MM-dd'T'HH:mm:ssZ")}</#assign>
 		<#else>
 			<#assign pubdate>${currentTime?string("yyyy-MM-dd'T'HH:mm:ssZ")}</#assign>
 		</#if>
 		<lastBuildDate>${pubdate}</lastBuildDate>
 		<#list jobExecutions as execution>
 			<item>
-				<title>${execution.jobExecution.status}:(${execution.jobId},${execution.name},${execution.duration})</title>
+				<title>${execution.status}:(${execution.jobId},${execution.name},${execution.duration})</title>
 				<#assign execution_url>${baseUrl}<@spring.url relativeUrl="${servletPath}/jobs/executions/${execution.id?c}"/></#assign>
 				<link>${execution_url}</link>
-				<#if execution.jobExecution.endTime??>
-					<#assign pubdate>${execution.jobExecution.endTime?string("yyyy-MM-dd'T'HH:mm:ssZ")}</#assign>
+				<#if execution.endTime??>
+					<#assign pubdate>${execution.endTime?string("yyyy-MM-dd'T'HH:mm:ssZ")}</#assign>
 				<#else>
 					<#assign pubdate>${currentTime?string("yyyy-MM-dd'T'HH:mm:ssZ")}</#assign>
 				</#if>
 				<pubDate>${pubdate}</pubDate>
-				<description>${execution.jobExecution}</description>
+				<description>JobExecution: id=${execution.id?c}, job=${execution.name}, status=${execution.status}, exitCode=${execution.exitStatus.exitCode}, jobParameters=[${execution.jobParametersString}]</description>
 			</item>
 		</#list>
 	<#else>
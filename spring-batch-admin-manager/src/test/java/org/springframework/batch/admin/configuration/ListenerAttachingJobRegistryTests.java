@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.admin.service.ExecutionEventCollector;
+import org.springframework.batch.admin.service.JobNameCatalog;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.support.DefaultJobLoader;
+import org.springframework.batch.core.configuration.support.GenericApplicationContextFactory;
+import org.springframework.batch.core.configuration.support.GroupAwareJob;
+import org.springframework.batch.core.configuration.support.ReferenceJobFactory;
+import org.springframework.batch.core.job.SimpleJob;
+import org.springframework.batch.core.listener.StepExecutionListenerSupport;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.MapJobRepositoryFactoryBean;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+
+public class ListenerAttachingJobRegistryTests {
+
+	private ListenerAttachingJobRegistry registry = new ListenerAttachingJobRegistry();
+
+	private ExecutionEventCollector collector = new ExecutionEventCollector();
+
+	private List<String> steps = new ArrayList<String>();
+
+	private JobRepository jobRepository;
+
+	private SimpleJob job;
+
+	@Before
+	public void setUp() throws Exception {
+		jobRepository = new MapJobRepositoryFactoryBean().getObject();
+		TaskletStep step = new TaskletStep("step");
+		step.setJobRepository(jobRepository);
+		step.setTransactionManager(new ResourcelessTransactionManager());
+		step.setTasklet(new Tasklet() {
+			public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+				StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+				assertSame(stepExecution, collector.getRunningStepExecution(stepExecution.getJobExecutionId(),
+						stepExecution.getId()));
+				return RepeatStatus.FINISHED;
+			}
+		});
+		job = new SimpleJob("job");
+		job.setJobRepository(jobRepository);
+		job.addStep(step);
+		registry.setJobExecutionListeners(Arrays.<JobExecutionListener> asList(collector));
+		registry.setStepExecutionListeners(Arrays.<StepExecutionListener> asList(collector,
+				new StepExecutionListenerSupport() {
+					@Override
+					public void beforeStep(StepExecution stepExecution) {
+						steps.add(stepExecution.getStepName());
+					}
+				}));
+	}
+
+	@Test
+	public void testListenersAttached() throws Exception {
+		registry.register(new ReferenceJobFactory(job));
+		JobExecution jobExecution = jobRepository.createJobExecution("job", new JobParameters());
+		registry.getJob("job").execute(jobExecution);
+		assertEquals("[step]", steps.toString());
+		assertSame(jobExecution, collector.getLatestJobExecution("job"));
+		assertSame(jobExecution.getStepExecutions().iterator().next(), collector.getLatestStepExecution("job", "step"));
+		assertNull(collector.getRunningJobExecution(jobExecution.getId()));
+		assertEquals(1, collector.getJobExecutionCount("job"));
+		assertEquals(1, collector.getStepExecutionCount("job", "step"));
+	}
+
+	@Test
+	public void testListenersAttachedOnce() throws Exception {
+		registry.register(new ReferenceJobFactory(job));
+		registry.getJob("job");
+		registry.unregister("job");
+		registry.register(new ReferenceJobFactory(job));
+		registry.getJob("job").execute(jobRepository.createJobExecution("job", new JobParameters()));
+		assertEquals("[step]", steps.toString());
+		assertEquals(1, collector.getJobExecutionCount("job"));
+		assertEquals(1, collector.getStepExecutionCount("job", "step"));
+	}
+
+	@Test
+	public void testListenersAttachedToJobRegisteredInGroup() throws Exception {
+		GenericApplicationContext parent = new GenericApplicationContext();
+		parent.getBeanFactory().registerSingleton("jobRegistry", registry);
+		parent.getBeanFactory().registerSingleton("jobRepository", jobRepository);
+		parent.getBeanFactory().registerSingleton("transactionManager", new ResourcelessTransactionManager());
+		parent.getBeanFactory().addBeanPostProcessor(registry);
+		parent.refresh();
+		GenericApplicationContextFactory factory = new GenericApplicationContextFactory(new ClassPathResource(
+				"group-job-context.xml", getClass()));
+		factory.setApplicationContext(parent);
+		new DefaultJobLoader(registry).load(factory);
+		Job registered = registry.getJob("group.job");
+		assertTrue(registered instanceof GroupAwareJob);
+		JobExecution jobExecution = jobRepository.createJobExecution("group.job", new JobParameters());
+		registered.execute(jobExecution);
+		assertEquals("[step]", steps.toString());
+		assertSame(jobExecution, collector.getLatestJobExecution("group.job"));
+		assertEquals(1, collector.getStepExecutionCount("group.job", "step"));
+		parent.close();
+	}
+
+	@Test
+	public void testJobNameCatalog() throws Exception {
+		JobNameCatalog catalog = new JobNameCatalog();
+		registry.setJobNameCatalog(catalog);
+		registry.register(new ReferenceJobFactory(job));
+		assertEquals("[job]", catalog.getJobNames(0, 10).toString());
+		registry.unregister("job");
+		assertEquals(0, catalog.size());
+	}
+
+}
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.management.MBeanServer;
@@ -34,6 +35,7 @@ import javax.management.ObjectName;
 import org.junit.Test;
 
 import org.springframework.batch.admin.service.JobService;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.test.MetaDataInstanceFactory;
 
 /**
@@ -58,6 +60,15 @@ public class BatchMBeanExporterTests {
 				exporter.getBeanKeyForStepExecution("job", "step"));
 	}
 
+	@Test
+	public void testJobExecutionFailureCount() throws Exception {
+		JobService jobService = mock(JobService.class);
+		exporter.setJobService(jobService);
+		when(jobService.countJobExecutions(EnumSet.of(BatchStatus.FAILED, BatchStatus.ABANDONED, BatchStatus.UNKNOWN)))
+				.thenReturn(3);
+		assertEquals(3, exporter.getJobExecutionFailureCount());
+	}
+
 	@Test
 	public void testMetricsFactory() throws Exception {
 		
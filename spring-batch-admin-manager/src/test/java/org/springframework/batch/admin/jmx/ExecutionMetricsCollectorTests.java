@@ -0,0 +1,326 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.jmx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.batch.admin.service.ExecutionEventCollector;
+import org.springframework.batch.admin.service.JobService;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+public class ExecutionMetricsCollectorTests {
+
+	private static final EnumSet<BatchStatus> ALL = EnumSet.allOf(BatchStatus.class);
+
+	private static final EnumSet<BatchStatus> UNSUCCESSFUL = EnumSet.of(BatchStatus.FAILED, BatchStatus.ABANDONED,
+			BatchStatus.UNKNOWN);
+
+	@Mock
+	private JobService jobService;
+
+	private ExecutionMetricsCollector collector;
+
+	private JobExecution latest;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		collector = new ExecutionMetricsCollector(jobService);
+		JobExecution earlier = createJobExecution(1L, 100L);
+		earlier.setStatus(BatchStatus.FAILED);
+		latest = createJobExecution(2L, 200L);
+		StepExecution stepExecution = latest.createStepExecution("step");
+		stepExecution.setId(11L);
+		stepExecution.setReadCount(5);
+		stepExecution.setExitStatus(ExitStatus.COMPLETED.addExitDescription("Foo"));
+		stepExecution.setStartTime(new Date(0L));
+		stepExecution.setEndTime(new Date(50L));
+
+		when(jobService.listLatestJobExecutions()).thenReturn(Arrays.asList(latest));
+		when(jobService.listJobExecutionsAfter(Long.MAX_VALUE, 1000)).thenReturn(Arrays.asList(latest, earlier));
+		when(jobService.listStepExecutionsAfter(Long.MAX_VALUE, 1000)).thenReturn(
+				Collections.singletonMap("job", Arrays.asList(stepExecution)));
+		when(jobService.countJobExecutionsByJob(ALL)).thenReturn(Collections.singletonMap("job", 2));
+		when(jobService.countJobExecutionsByJob(UNSUCCESSFUL)).thenReturn(Collections.singletonMap("job", 1));
+		when(jobService.listLatestStepExecutions()).thenReturn(
+				Collections.singletonMap("job", Arrays.asList(stepExecution)));
+		when(jobService.countStepExecutionsByStep(ALL)).thenReturn(
+				Collections.singletonMap("job", Collections.singletonMap("step", 2)));
+		when(jobService.countStepExecutionsByStep(UNSUCCESSFUL)).thenReturn(
+				Collections.<String, Map<String, Integer>> emptyMap());
+	}
+
+	@Test
+	public void testSnapshotOnFirstAccess() {
+		ExecutionMetricsSnapshot snapshot = collector.getSnapshot();
+		assertEquals(Collections.singleton("job"), snapshot.getJobNames());
+		assertEquals(snapshot, collector.getSnapshot());
+		verify(jobService, times(1)).listLatestJobExecutions();
+	}
+
+	@Test
+	public void testJobMetrics() {
+		JobExecutionMetrics metrics = collector.getSnapshot().getJobMetrics("job");
+		assertEquals(2, metrics.getExecutionCount());
+		assertEquals(1, metrics.getFailureCount());
+		assertEquals(2L, metrics.getLatestExecutionId());
+		assertEquals(200, metrics.getLatestDuration(), 0.01);
+		assertEquals(150, metrics.getMeanDuration(), 0.01);
+		assertEquals(200, metrics.getMaxDuration(), 0.01);
+		assertEquals("step", metrics.getLatestStepName());
+		assertEquals("Foo", metrics.getLatestStepExitDescription());
+		assertEquals("COMPLETED", metrics.getLatestStatus());
+		assertFalse(metrics.isJobRunning());
+	}
+
+	@Test
+	public void testStepMetrics() {
+		StepExecutionMetrics metrics = collector.getSnapshot().getStepMetrics("job", "step");
+		assertEquals(2, metrics.getExecutionCount());
+		assertEquals(0, metrics.getFailureCount());
+		assertEquals(11L, metrics.getLatestExecutionId());
+		assertEquals(5, metrics.getLatestReadCount());
+		assertEquals("Foo", metrics.getLatestExitDescription());
+		assertEquals(50, metrics.getMeanDuration(), 0.01);
+	}
+
+	@Test
+	public void testStepHistoryFromRecentStepExecutions() {
+		collector.refresh();
+		StepExecution next = latest.createStepExecution("step");
+		next.setId(12L);
+		next.setStartTime(new Date(0L));
+		next.setEndTime(new Date(150L));
+		when(jobService.listStepExecutionsBefore(0L, 1000)).thenReturn(
+				Collections.singletonMap("job", Arrays.asList(next)));
+		collector.refresh();
+		StepExecutionMetrics metrics = collector.getSnapshot().getStepMetrics("job", "step");
+		assertEquals(100, metrics.getMeanDuration(), 0.01);
+		assertEquals(150, metrics.getMaxDuration(), 0.01);
+		verify(jobService, never()).getStepExecutionHistory("job", "step");
+	}
+
+	@Test
+	public void testUnknownJobAndStep() {
+		ExecutionMetricsSnapshot snapshot = collector.getSnapshot();
+		assertEquals(0, snapshot.getJobMetrics("foo").getExecutionCount());
+		assertEquals(-1L, snapshot.getJobMetrics("foo").getLatestExecutionId());
+		assertEquals("NONE", snapshot.getJobMetrics("foo").getLatestStatus());
+		assertEquals(0, snapshot.getStepMetrics("job", "foo").getExecutionCount());
+		assertEquals(0, snapshot.getStepMetrics("foo", "step").getExecutionCount());
+		assertTrue(snapshot.getStepNames("foo").isEmpty());
+	}
+
+	@Test
+	public void testOnlyNewExecutionsRead() throws Exception {
+		collector.refresh();
+		JobExecution next = createJobExecution(3L, 600L);
+		when(jobService.listLatestJobExecutions()).thenReturn(Arrays.asList(next));
+		when(jobService.listJobExecutionsBefore(0L, 1000)).thenReturn(Arrays.asList(next));
+		collector.refresh();
+		collector.refresh();
+		JobExecutionMetrics metrics = collector.getSnapshot().getJobMetrics("job");
+		assertEquals(3L, metrics.getLatestExecutionId());
+		assertEquals(300, metrics.getMeanDuration(), 0.01);
+		assertEquals(600, metrics.getMaxDuration(), 0.01);
+		verify(jobService, times(1)).listJobExecutionsAfter(Long.MAX_VALUE, 1000);
+		verify(jobService, times(1)).listJobExecutionsBefore(2L, 1000);
+		verify(jobService, times(2)).listJobExecutionsBefore(0L, 1000);
+		verify(jobService, never()).listJobExecutionsForJob(eq("job"), anyInt(), anyInt());
+	}
+
+	@Test
+	public void testExecutionCommittedLateRead() {
+		collector.refresh();
+		when(jobService.listJobExecutionsBefore(0L, 1000)).thenReturn(Arrays.asList(createJobExecution(4L, 600L)));
+		collector.refresh();
+		// A lower id that was not visible on the last refresh
+		when(jobService.listJobExecutionsBefore(0L, 1000)).thenReturn(
+				Arrays.asList(createJobExecution(4L, 600L), createJobExecution(3L, 300L)));
+		collector.refresh();
+		assertEquals(300, collector.getSnapshot().getJobMetrics("job").getMeanDuration(), 0.01);
+	}
+
+	@Test
+	public void testSeedStopsWhenHistoriesAreFull() {
+		List<JobExecution> page = new ArrayList<JobExecution>();
+		for (long id = 2000L; id > 1000L; id--) {
+			page.add(createJobExecution(id, 1000L));
+		}
+		when(jobService.listJobExecutionsAfter(Long.MAX_VALUE, 1000)).thenReturn(page);
+		List<JobExecution> older = new ArrayList<JobExecution>();
+		for (long id = 1000L; id > 0L; id--) {
+			older.add(createJobExecution(id, 1000L));
+		}
+		when(jobService.listJobExecutionsAfter(1001L, 1000)).thenReturn(older);
+		collector.refresh();
+		assertEquals(1000, collector.getSnapshot().getJobMetrics("job").getMeanDuration(), 0.01);
+		verify(jobService).listJobExecutionsAfter(1001L, 1000);
+		verify(jobService, never()).listJobExecutionsAfter(1L, 1000);
+		verify(jobService).listJobExecutionsBefore(2000L, 1000);
+	}
+
+	@Test
+	public void testRunningExecutionUpdated() throws Exception {
+		JobExecution running = createJobExecution(3L, 0L);
+		running.setEndTime(null);
+		running.setStatus(BatchStatus.STARTED);
+		// Far enough ahead that the running execution is below the floor
+		JobExecution next = createJobExecution(200L, 300L);
+		when(jobService.listLatestJobExecutions()).thenReturn(Arrays.asList(next));
+		when(jobService.listJobExecutionsAfter(Long.MAX_VALUE, 1000)).thenReturn(
+				Arrays.asList(next, running, latest));
+		when(jobService.listJobExecutions(Collections.singleton(3L))).thenReturn(Arrays.asList(running));
+		collector.refresh();
+		assertEquals(250, collector.getSnapshot().getJobMetrics("job").getMeanDuration(), 0.01);
+		collector.refresh();
+		assertEquals(250, collector.getSnapshot().getJobMetrics("job").getMeanDuration(), 0.01);
+		when(jobService.listJobExecutions(Collections.singleton(3L))).thenReturn(
+				Arrays.asList(createJobExecution(3L, 400L)));
+		collector.refresh();
+		assertEquals(300, collector.getSnapshot().getJobMetrics("job").getMeanDuration(), 0.01);
+		collector.refresh();
+		verify(jobService, times(2)).listJobExecutions(Collections.singleton(3L));
+		verify(jobService, never()).getJobExecution(anyLong(), eq(false));
+	}
+
+	@Test
+	public void testHistoryLimitedToRecentExecutions() {
+		collector.refresh();
+		List<JobExecution> page = new ArrayList<JobExecution>();
+		for (long id = 3L + ExecutionMetricsCollector.HISTORY_SIZE; id > 2L; id--) {
+			page.add(createJobExecution(id, 1000L));
+		}
+		when(jobService.listLatestJobExecutions()).thenReturn(Arrays.asList(page.get(0)));
+		when(jobService.listJobExecutionsBefore(0L, 1000)).thenReturn(page);
+		collector.refresh();
+		assertEquals(1000, collector.getSnapshot().getJobMetrics("job").getMeanDuration(), 0.01);
+	}
+
+	@Test
+	public void testStepHistoryLimitedToRecentExecutions() {
+		collector.refresh();
+		List<StepExecution> page = new ArrayList<StepExecution>();
+		for (long id = 12L + ExecutionMetricsCollector.HISTORY_SIZE; id > 12L; id--) {
+			StepExecution stepExecution = latest.createStepExecution("step");
+			stepExecution.setId(id);
+			stepExecution.setStartTime(new Date(0L));
+			stepExecution.setEndTime(new Date(1000L));
+			page.add(stepExecution);
+		}
+		when(jobService.listStepExecutionsBefore(0L, 1000)).thenReturn(Collections.singletonMap("job", page));
+		collector.refresh();
+		StepExecutionMetrics metrics = collector.getSnapshot().getStepMetrics("job", "step");
+		assertEquals(1000, metrics.getMeanDuration(), 0.01);
+		assertEquals(1000, metrics.getMaxDuration(), 0.01);
+	}
+
+	@Test
+	public void testNotRefreshedAfterEvent() {
+		ExecutionEventCollector events = new ExecutionEventCollector();
+		collector.setExecutionEventCollector(events);
+		ExecutionMetricsSnapshot snapshot = collector.getSnapshot();
+		events.beforeJob(latest);
+		events.afterJob(latest);
+		assertSame(snapshot, collector.getSnapshot());
+		collector.getJobMetrics("job");
+		verify(jobService, times(1)).listLatestJobExecutions();
+	}
+
+	@Test
+	public void testLiveExecutionsOverrideSnapshot() {
+		ExecutionEventCollector events = new ExecutionEventCollector();
+		collector.setExecutionEventCollector(events);
+		collector.refresh();
+		JobExecution running = createJobExecution(3L, 0L);
+		running.setEndTime(null);
+		running.setStatus(BatchStatus.STARTED);
+		StepExecution stepExecution = running.createStepExecution("step");
+		stepExecution.setId(12L);
+		events.beforeJob(running);
+		events.beforeStep(stepExecution);
+		JobExecutionMetrics jobMetrics = collector.getJobMetrics("job");
+		assertEquals(3, jobMetrics.getExecutionCount());
+		assertEquals(1, jobMetrics.getFailureCount());
+		assertEquals(3L, jobMetrics.getLatestExecutionId());
+		assertTrue(jobMetrics.isJobRunning());
+		assertEquals(150, jobMetrics.getMeanDuration(), 0.01);
+		StepExecutionMetrics stepMetrics = collector.getStepMetrics("job", "step");
+		assertEquals(3, stepMetrics.getExecutionCount());
+		assertEquals(12L, stepMetrics.getLatestExecutionId());
+		stepExecution.setReadCount(7);
+		assertEquals(7, collector.getStepMetrics("job", "step").getLatestReadCount());
+		assertEquals(5, collector.getSnapshot().getStepMetrics("job", "step").getLatestReadCount());
+		assertEquals(2, collector.getSnapshot().getJobMetrics("job").getExecutionCount());
+	}
+
+	@Test
+	public void testLiveCountsNotCountedTwiceAfterRefresh() {
+		ExecutionEventCollector events = new ExecutionEventCollector();
+		collector.setExecutionEventCollector(events);
+		collector.refresh();
+		JobExecution failed = createJobExecution(3L, 100L);
+		failed.setStatus(BatchStatus.FAILED);
+		events.beforeJob(failed);
+		events.afterJob(failed);
+		JobExecutionMetrics jobMetrics = collector.getJobMetrics("job");
+		assertEquals(3, jobMetrics.getExecutionCount());
+		assertEquals(2, jobMetrics.getFailureCount());
+		// Now counted in the database as well
+		when(jobService.countJobExecutionsByJob(ALL)).thenReturn(Collections.singletonMap("job", 3));
+		when(jobService.countJobExecutionsByJob(UNSUCCESSFUL)).thenReturn(Collections.singletonMap("job", 2));
+		collector.refresh();
+		jobMetrics = collector.getJobMetrics("job");
+		assertEquals(3, jobMetrics.getExecutionCount());
+		assertEquals(2, jobMetrics.getFailureCount());
+	}
+
+	private JobExecution createJobExecution(long id, long duration) {
+		JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("job", 1L, id);
+		jobExecution.setStatus(BatchStatus.COMPLETED);
+		jobExecution.setExitStatus(ExitStatus.COMPLETED);
+		jobExecution.setStartTime(new Date(0L));
+		jobExecution.setEndTime(new Date(duration));
+		return jobExecution;
+	}
+
+}
@@ -20,9 +20,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.when;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.Iterator;
 
 import org.junit.Before;
@@ -88,11 +88,6 @@ public class SimpleJobExecutionMetricsTests {
 		when(jobService.listJobExecutionsForJob("job", 0, total)).thenReturn(Arrays.asList(earlierExecution, jobExecution));
 	}
 
-	private void prepareServiceWithMultipleJobExecutions() throws Exception {
-		when(jobService.listJobExecutionsForJob("job", 0, 100)).thenReturn(Arrays.asList(jobExecution, earlierExecution));
-		when(jobService.listJobExecutionsForJob("job", 100, 100)).thenReturn(new ArrayList<JobExecution>());
-	}
-
 	@Test
 	public void testGetJobExecutionCount() throws Exception {
 		when(jobService.countJobExecutionsForJob("job")).thenReturn(10);
@@ -101,7 +96,8 @@ public class SimpleJobExecutionMetricsTests {
 
 	@Test
 	public void testGetJobExecutionFailureCount() throws Exception {
-		prepareServiceWithMultipleJobExecutions();
+		when(jobService.countJobExecutionsForJob("job",
+				EnumSet.of(BatchStatus.FAILED, BatchStatus.ABANDONED, BatchStatus.UNKNOWN))).thenReturn(1);
 		assertEquals(1, metrics.getFailureCount());
 	}
 
@@ -1,11 +1,16 @@
 package org.springframework.batch.admin.jmx;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -43,11 +48,6 @@ public class SimpleStepExecutionMetricsTests {
 		when(jobService.listStepExecutionsForStep("job", "step", 0, 4)).thenReturn(Arrays.asList(stepExecution));
 	}
 
-	private void prepareServiceWithMultipleStepExecutions() throws Exception {
-		when(jobService.listStepExecutionsForStep("job", "step", 0, 100)).thenReturn(Arrays.asList(stepExecution));
-		when(jobService.listStepExecutionsForStep("job", "step", 100, 100)).thenReturn(new ArrayList<StepExecution>());
-	}
-
 	private void prepareServiceWithMultipleStepExecutions(int total) throws Exception {
 		when(jobService.listStepExecutionsForStep("job", "step", 0, total)).thenReturn(Arrays.asList(stepExecution));
 	}
@@ -60,8 +60,9 @@ public class SimpleStepExecutionMetricsTests {
 
 	@Test
 	public void testGetStepExecutionFailureCount() throws Exception {
-		prepareServiceWithMultipleStepExecutions();
-		assertEquals(0, metrics.getFailureCount());		
+		when(jobService.countStepExecutionsForStep("job", "step",
+				EnumSet.of(BatchStatus.FAILED, BatchStatus.ABANDONED, BatchStatus.UNKNOWN))).thenReturn(2);
+		assertEquals(2, metrics.getFailureCount());		
 	}
 
 	@Test
@@ -70,6 +71,22 @@ public class SimpleStepExecutionMetricsTests {
 		assertEquals(stepExecution.getEndTime().getTime() - stepExecution.getStartTime().getTime(), metrics.getMeanDuration(), .001);		
 	}
 
+	@Test
+	public void testMeanAndMaxStepExecutionDurationOverLastTenExecutions() throws Exception {
+		List<StepExecution> stepExecutions = new ArrayList<StepExecution>();
+		for (int i = 1; i <= 10; i++) {
+			StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution("step", (long) i);
+			stepExecution.setStartTime(new Date(0));
+			stepExecution.setEndTime(new Date(i * 100));
+			stepExecutions.add(stepExecution);
+		}
+		when(jobService.listStepExecutionsForStep("job", "step", 0, 10)).thenReturn(stepExecutions);
+		assertEquals(550, metrics.getMeanDuration(), .001);
+		assertEquals(1000, metrics.getMaxDuration(), .001);
+		// Not the history of all executions
+		verify(jobService, never()).getStepExecutionHistory(anyString(), anyString());
+	}
+
 	@Test
 	public void testGetMaxStepExecutionDuration() throws Exception {
 		prepareServiceWithMultipleStepExecutions(10);
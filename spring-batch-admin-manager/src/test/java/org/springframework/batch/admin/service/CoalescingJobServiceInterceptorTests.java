@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.batch.core.launch.NoSuchJobExecutionException;
+
+public class CoalescingJobServiceInterceptorTests {
+
+	private JobService target = mock(JobService.class);
+
+	private CoalescingJobServiceInterceptor interceptor = new CoalescingJobServiceInterceptor();
+
+	private JobService jobService;
+
+	private ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private CountDownLatch started = new CountDownLatch(1);
+
+	private CountDownLatch release = new CountDownLatch(1);
+
+	@Before
+	public void setUp() {
+		ProxyFactory factory = new ProxyFactory(target);
+		factory.addAdvice(interceptor);
+		jobService = (JobService) factory.getProxy();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testConcurrentCallsShareInvocation() throws Exception {
+		when(target.countJobExecutions()).thenAnswer(new Answer<Integer>() {
+			@Override
+			public Integer answer(InvocationOnMock invocation) throws Throwable {
+				started.countDown();
+				release.await(5, TimeUnit.SECONDS);
+				return 3;
+			}
+		});
+		Future<Integer> first = executor.submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				return jobService.countJobExecutions();
+			}
+		});
+		started.await(5, TimeUnit.SECONDS);
+		List<Future<Integer>> others = new ArrayList<Future<Integer>>();
+		for (int i = 0; i < 3; i++) {
+			others.add(executor.submit(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					return jobService.countJobExecutions();
+				}
+			}));
+		}
+		while (interceptor.getRequestCount() < 4) {
+			Thread.sleep(10);
+		}
+		release.countDown();
+		assertEquals(3, first.get().intValue());
+		for (Future<Integer> other : others) {
+			assertEquals(3, other.get().intValue());
+		}
+		verify(target, times(1)).countJobExecutions();
+		assertEquals(3, interceptor.getCoalescedCount());
+		assertEquals(0.75, interceptor.getCoalesceRatio(), 0.001);
+		// Nothing is kept once the call completes
+		jobService.countJobExecutions();
+		verify(target, times(2)).countJobExecutions();
+	}
+
+	@Test
+	public void testFailureIsShared() throws Exception {
+		when(target.getJobExecution(123L)).thenThrow(new NoSuchJobExecutionException("Planned"));
+		try {
+			jobService.getJobExecution(123L);
+			fail("Expected NoSuchJobExecutionException");
+		}
+		catch (NoSuchJobExecutionException e) {
+			assertEquals("Planned", e.getMessage());
+		}
+		assertEquals(1, interceptor.getInvocationCount());
+	}
+
+	@Test
+	public void testCallersGetTheirOwnCopy() throws Exception {
+		List<String> names = new ArrayList<String>(Arrays.asList("job1", "job2"));
+		when(target.listJobs(0, 10)).thenReturn(names);
+		Collection<String> result = jobService.listJobs(0, 10);
+		assertEquals(names, result);
+		assertNotSame(names, result);
+		result.clear();
+		assertEquals(2, names.size());
+	}
+
+	@Test
+	public void testInterruptedWhileWaiting() throws Exception {
+		when(target.countJobExecutions()).thenAnswer(new Answer<Integer>() {
+			@Override
+			public Integer answer(InvocationOnMock invocation) throws Throwable {
+				started.countDown();
+				release.await(5, TimeUnit.SECONDS);
+				return 3;
+			}
+		});
+		Future<Integer> first = executor.submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				return jobService.countJobExecutions();
+			}
+		});
+		started.await(5, TimeUnit.SECONDS);
+		final AtomicBoolean interrupted = new AtomicBoolean();
+		final CountDownLatch failed = new CountDownLatch(1);
+		Future<Integer> waiter = executor.submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				try {
+					return jobService.countJobExecutions();
+				}
+				catch (IllegalStateException e) {
+					interrupted.set(Thread.currentThread().isInterrupted());
+					failed.countDown();
+					throw e;
+				}
+			}
+		});
+		while (interceptor.getRequestCount() < 2) {
+			Thread.sleep(10);
+		}
+		waiter.cancel(true);
+		assertTrue(failed.await(5, TimeUnit.SECONDS));
+		assertTrue(interrupted.get());
+		release.countDown();
+		assertEquals(3, first.get().intValue());
+	}
+
+	@Test
+	public void testOtherMethodsNotCounted() throws Exception {
+		interceptor.setMethodNames(Arrays.asList("countJobs"));
+		jobService.countJobExecutions();
+		jobService.countJobs();
+		assertEquals(1, interceptor.getRequestCount());
+	}
+
+}
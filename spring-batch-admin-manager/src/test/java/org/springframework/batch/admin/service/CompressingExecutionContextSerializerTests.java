@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.core.repository.dao.XStreamExecutionContextStringSerializer;
+
+public class CompressingExecutionContextSerializerTests {
+
+	private XStreamExecutionContextStringSerializer delegate = new XStreamExecutionContextStringSerializer();
+
+	private CompressingExecutionContextSerializer serializer;
+
+	private Map<String, Object> context = new HashMap<String, Object>();
+
+	@Before
+	public void setUp() throws Exception {
+		delegate.afterPropertiesSet();
+		serializer = new CompressingExecutionContextSerializer(delegate);
+		for (int i = 0; i < 100; i++) {
+			context.put("partition" + i + ".read.count", (long) i);
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(context, out);
+		assertTrue(out.toString("US-ASCII").startsWith(CompressingExecutionContextSerializer.HEADER));
+		assertEquals(context, serializer.deserialize(new ByteArrayInputStream(out.toByteArray())));
+		assertEquals(1, serializer.getCompressedCount());
+		assertEquals(1, serializer.getDecompressedCount());
+		assertTrue(serializer.getCompressionRatio() > 1);
+	}
+
+	@Test
+	public void testBelowThreshold() throws Exception {
+		serializer.setThreshold(Integer.MAX_VALUE);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(context, out);
+		assertFalse(out.toString("US-ASCII").startsWith(CompressingExecutionContextSerializer.HEADER));
+		assertEquals(context, serializer.deserialize(new ByteArrayInputStream(out.toByteArray())));
+		assertEquals(0, serializer.getCompressedCount());
+		assertEquals(0, serializer.getDecompressedCount());
+	}
+
+	@Test
+	public void testReadUncompressed() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		delegate.serialize(context, out);
+		assertEquals(context, serializer.deserialize(new ByteArrayInputStream(out.toByteArray())));
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Date;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.test.JobRepositoryTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("/test-config.xml")
+public class ExecutionHistoryExporterTests {
+
+	private ExecutionHistoryExporter exporter;
+
+	@Autowired
+	private JobRepositoryTestUtils jobRepositoryUtils;
+
+	private JdbcSearchableJobExecutionDao jobExecutionDao;
+
+	private List<JobExecution> list;
+
+	private DataSource dataSource;
+
+	@Autowired
+	public void setDataSource(DataSource dataSource) throws Exception {
+		this.dataSource = dataSource;
+		exporter = new ExecutionHistoryExporter();
+		exporter.setDataSource(dataSource);
+		exporter.setFetchSize(2);
+		exporter.afterPropertiesSet();
+		jobExecutionDao = new JdbcSearchableJobExecutionDao();
+		jobExecutionDao.setDataSource(dataSource);
+		jobExecutionDao.afterPropertiesSet();
+	}
+
+	@BeforeTransaction
+	public void prepareExecutions() throws Exception {
+		jobRepositoryUtils.removeJobExecutions(jobExecutionDao.getJobExecutions(0, 1000));
+		list = jobRepositoryUtils.createJobExecutions(3);
+	}
+
+	@AfterTransaction
+	public void removeExecutions() throws Exception {
+		jobRepositoryUtils.removeJobExecutions(list);
+	}
+
+	@Test
+	@Transactional
+	public void testExportJobExecutionsAsNdjson() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		exporter.exportJobExecutions(null, null, null, new NdjsonExecutionExportWriter(output));
+		String[] lines = output.toString("UTF-8").split("\n");
+		assertEquals(3, lines.length);
+		ObjectMapper mapper = new ObjectMapper();
+		for (int i = 0; i < lines.length; i++) {
+			JsonNode row = mapper.readTree(lines[i]);
+			assertEquals(list.get(i).getId().longValue(), row.get("jobExecutionId").asLong());
+			assertEquals("job", row.get("jobName").asText());
+			assertTrue(row.get("endTime").isNull());
+		}
+	}
+
+	@Test
+	@Transactional
+	public void testExportJobExecutionsInTimeRange() throws Exception {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		for (int i = 0; i < list.size(); i++) {
+			jdbcTemplate.update("UPDATE BATCH_JOB_EXECUTION set START_TIME = ? where JOB_EXECUTION_ID = ?",
+					new Date(1000 * (i + 1)), list.get(i).getId());
+		}
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		exporter.exportJobExecutions("j*", new Date(2000), new Date(3000), new CsvExecutionExportWriter(output));
+		String[] lines = output.toString("UTF-8").split("\r\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("jobExecutionId,jobInstanceId,jobName,createTime,startTime,"));
+		assertTrue(lines[1].startsWith(list.get(1).getId() + ","));
+		assertTrue(lines[1].contains(",1970-01-01T00:00:02.000Z,"));
+	}
+
+	@Test
+	@Transactional
+	public void testExportStepExecutionsForJob() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		exporter.exportStepExecutions("job", null, null, new CsvExecutionExportWriter(output));
+		assertEquals(4, output.toString("UTF-8").split("\r\n").length);
+		output.reset();
+		exporter.exportStepExecutions("other", null, null, new CsvExecutionExportWriter(output));
+		assertEquals(1, output.toString("UTF-8").split("\r\n").length);
+	}
+
+	@Test
+	public void testFetchSizePassedToStatement() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		Connection connection = mock(Connection.class);
+		PreparedStatement statement = mock(PreparedStatement.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+		when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+		ExecutionHistoryExporter exporter = new ExecutionHistoryExporter();
+		exporter.setDataSource(dataSource);
+		// Not passed on by the JdbcTemplate, but needed by MySQL to stream the rows
+		exporter.setFetchSize(Integer.MIN_VALUE);
+		exporter.afterPropertiesSet();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		exporter.exportJobExecutions("job", null, null, new NdjsonExecutionExportWriter(output));
+		verify(statement).setFetchSize(Integer.MIN_VALUE);
+		verify(statement).setString(1, "job");
+		assertEquals(0, output.size());
+	}
+
+	@Test
+	public void testCsvQuoting() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		CsvExecutionExportWriter writer = new CsvExecutionExportWriter(output);
+		writer.start(new String[] { "a", "b", "c" });
+		writer.write(new Object[] { "x,y", "say \"hi\"", null });
+		writer.finish();
+		assertEquals("a,b,c\r\n\"x,y\",\"say \"\"hi\"\"\",\r\n", output.toString("UTF-8"));
+	}
+
+}
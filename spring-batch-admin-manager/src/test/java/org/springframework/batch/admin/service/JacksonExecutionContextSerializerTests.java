@@ -0,0 +1,169 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.core.repository.dao.XStreamExecutionContextStringSerializer;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+public class JacksonExecutionContextSerializerTests {
+
+	private JacksonExecutionContextSerializer serializer = new JacksonExecutionContextSerializer();
+
+	private Map<String, Object> context = new HashMap<String, Object>();
+
+	@Before
+	public void setUp() throws Exception {
+		serializer.setAllowedTypes(Collections.<Class<?>> singleton(Range.class));
+		serializer.afterPropertiesSet();
+		context.put("read.count", 123L);
+		context.put("partition", 4);
+		context.put("ratio", 0.5);
+		context.put("name", "foo");
+		context.put("done", true);
+		context.put("date", new Date(1000L));
+		context.put("list", Arrays.asList("a", "b"));
+		Map<String, Object> nested = new HashMap<String, Object>();
+		nested.put("min", 1L);
+		context.put("nested", nested);
+		context.put("bean", new Range(1, 10));
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(context, out);
+		assertTrue(out.toString().startsWith("["));
+		Map<String, Object> result = serializer.deserialize(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(context, result);
+		assertEquals(Long.class, result.get("read.count").getClass());
+		assertEquals(Long.class, ((Map<?, ?>) result.get("nested")).get("min").getClass());
+	}
+
+	@Test
+	public void testReadXStream() throws Exception {
+		XStreamExecutionContextStringSerializer xstream = new XStreamExecutionContextStringSerializer();
+		xstream.afterPropertiesSet();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		xstream.serialize(context, out);
+		Map<String, Object> result = serializer.deserialize(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(context, result);
+	}
+
+	@Test
+	public void testSimpleValuesNotReadBack() throws Exception {
+		Map<String, Object> simple = new HashMap<String, Object>();
+		simple.put("read.count", 123L);
+		simple.put("name", "foo");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(simple, out);
+		assertTrue(out.toString().startsWith("["));
+		assertEquals(simple, serializer.deserialize(new ByteArrayInputStream(out.toByteArray())));
+	}
+
+	@Test(expected = JsonMappingException.class)
+	public void testTypeNotAllowedOnRead() throws Exception {
+		String json = "[\"java.util.HashMap\",{\"url\":[\"java.net.URL\",\"http://localhost\"]}]";
+		serializer.deserialize(new ByteArrayInputStream(json.getBytes("UTF-8")));
+	}
+
+	@Test
+	public void testTypeNotAllowedWrittenWithFallback() throws Exception {
+		JacksonExecutionContextSerializer serializer = new JacksonExecutionContextSerializer();
+		serializer.afterPropertiesSet();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(context, out);
+		assertTrue(out.toString().startsWith("{"));
+		assertEquals(context, serializer.deserialize(new ByteArrayInputStream(out.toByteArray())));
+	}
+
+	@Test
+	public void testValueNotReadBackWrittenWithFallback() throws Exception {
+		// The keys would come back as strings
+		Map<Long, Long> offsets = new HashMap<Long, Long>();
+		offsets.put(1L, 2L);
+		context.put("offsets", offsets);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(context, out);
+		assertTrue(out.toString().startsWith("{"));
+		assertEquals(context, serializer.deserialize(new ByteArrayInputStream(out.toByteArray())));
+	}
+
+	@Test
+	public void testWriteFallback() throws Exception {
+		context.put("unwritable", new Object());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.serialize(context, out);
+		assertTrue(out.toString().startsWith("{"));
+		assertEquals(context.keySet(), serializer.deserialize(new ByteArrayInputStream(out.toByteArray())).keySet());
+	}
+
+	public static class Range {
+
+		private int min;
+
+		private int max;
+
+		public Range() {
+		}
+
+		public Range(int min, int max) {
+			this.min = min;
+			this.max = max;
+		}
+
+		public int getMin() {
+			return min;
+		}
+
+		public void setMin(int min) {
+			this.min = min;
+		}
+
+		public int getMax() {
+			return max;
+		}
+
+		public void setMax(int max) {
+			this.max = max;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Range && ((Range) obj).min == min && ((Range) obj).max == max;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * min + max;
+		}
+
+	}
+
+}
@@ -16,17 +16,28 @@
 package org.springframework.batch.admin.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.batch.admin.domain.JobExecutionSummary;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.test.JobRepositoryTestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.transaction.AfterTransaction;
@@ -48,8 +59,11 @@ public class JdbcSearchableJobExecutionDaoTests {
 
 	private List<JobExecution> list;
 
+	private DataSource dataSource;
+
 	@Autowired
 	public void setDataSource(DataSource dataSource) throws Exception {
+		this.dataSource = dataSource;
 		dao = new JdbcSearchableJobExecutionDao();
 		dao.setDataSource(dataSource);
 		dao.afterPropertiesSet();
@@ -80,6 +94,30 @@ public class JdbcSearchableJobExecutionDaoTests {
 		assertNotNull(jobExecutions.get(0).getJobInstance());
 	}
 
+	@Test
+	@Transactional
+	public void testGetJobExecutionsWithJobParameters() {
+		List<JobExecution> jobExecutions = dao.getJobExecutions(0, 10);
+		assertEquals(3, jobExecutions.size());
+		for (JobExecution jobExecution : jobExecutions) {
+			assertFalse(jobExecution.getJobParameters().isEmpty());
+			assertEquals(dao.getJobExecution(jobExecution.getId()).getJobParameters(), jobExecution.getJobParameters());
+		}
+	}
+
+	@Test
+	@Transactional
+	public void testGetJobExecutionsWithJobParametersNotBatched() throws Exception {
+		JdbcSearchableJobExecutionDao dao = new JdbcSearchableJobExecutionDao();
+		dao.setDataSource(dataSource);
+		dao.setBatchJobParametersLoading(false);
+		dao.afterPropertiesSet();
+		List<JobExecution> jobExecutions = dao.getJobExecutions("job", 0, 10);
+		assertEquals(3, jobExecutions.size());
+		assertEquals(this.dao.getJobExecutions("job", 0, 10).get(0).getJobParameters(), jobExecutions.get(0)
+				.getJobParameters());
+	}
+
 	@Test
 	@Transactional
 	public void testGetJobExecutionsPaged() {
@@ -88,6 +126,43 @@ public class JdbcSearchableJobExecutionDaoTests {
 		assertEquals(list.get(0), jobExecutions.get(0));
 	}
 
+	@Test
+	@Transactional
+	public void testGetJobExecutionsAfter() {
+		List<JobExecution> jobExecutions = dao.getJobExecutionsAfter(list.get(2).getId(), 10);
+		assertEquals(2, jobExecutions.size());
+		assertEquals(list.get(1), jobExecutions.get(0));
+		assertEquals(list.get(0), jobExecutions.get(1));
+	}
+
+	@Test
+	@Transactional
+	public void testGetJobExecutionsBefore() {
+		List<JobExecution> jobExecutions = dao.getJobExecutionsBefore(list.get(0).getId(), 1);
+		assertEquals(1, jobExecutions.size());
+		assertEquals(list.get(1), jobExecutions.get(0));
+		jobExecutions = dao.getJobExecutionsBefore(list.get(0).getId(), 10);
+		assertEquals(2, jobExecutions.size());
+		assertEquals(list.get(2), jobExecutions.get(0));
+	}
+
+	@Test
+	@Transactional
+	public void testGetJobExecutionsByIds() {
+		List<JobExecution> jobExecutions = dao.getJobExecutions(Arrays.asList(list.get(0).getId(),
+				list.get(2).getId(), -1L));
+		assertEquals(Arrays.asList(list.get(2), list.get(0)), jobExecutions);
+		assertEquals("job", jobExecutions.get(0).getJobInstance().getJobName());
+	}
+
+	@Test
+	@Transactional
+	public void testGetJobExecutionsByNameAfterAndBefore() {
+		assertEquals(list.get(0), dao.getJobExecutionsAfter("job", list.get(1).getId(), 10).get(0));
+		assertEquals(list.get(2), dao.getJobExecutionsBefore("job", list.get(1).getId(), 10).get(0));
+		assertEquals(0, dao.getJobExecutionsAfter("other", list.get(2).getId(), 10).size());
+	}
+
 	@Test
 	@Transactional
 	public void testGetJobExecutionsLatest() throws Exception {
@@ -118,6 +193,141 @@ public class JdbcSearchableJobExecutionDaoTests {
 		assertEquals(3, dao.countJobExecutions("job"));
 	}
 
+	@Test
+	@Transactional
+	public void testCountJobExecutionsByStatus() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step" }, 1));
+		new JdbcTemplate(dataSource).update("UPDATE BATCH_JOB_EXECUTION set STATUS = ? where JOB_EXECUTION_ID = ?",
+				BatchStatus.FAILED.name(), list.get(0).getId());
+		EnumSet<BatchStatus> failed = EnumSet.of(BatchStatus.FAILED, BatchStatus.ABANDONED);
+		assertEquals(1, dao.countJobExecutions(failed));
+		assertEquals(1, dao.countJobExecutions("job", failed));
+		assertEquals(0, dao.countJobExecutions("other", failed));
+		assertEquals(3, dao.countJobExecutions(EnumSet.of(BatchStatus.STARTING)));
+		assertEquals(0, dao.countJobExecutions(EnumSet.noneOf(BatchStatus.class)));
+	}
+
+	@Test
+	@Transactional
+	public void testCountJobExecutionsByJobName() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step" }, 1));
+		new JdbcTemplate(dataSource).update("UPDATE BATCH_JOB_EXECUTION set STATUS = ? where JOB_EXECUTION_ID = ?",
+				BatchStatus.FAILED.name(), list.get(0).getId());
+		Map<String, Integer> counts = dao.countJobExecutionsByJobName(EnumSet.of(BatchStatus.STARTING));
+		assertEquals(2, counts.size());
+		assertEquals(2, counts.get("job").intValue());
+		assertEquals(1, counts.get("other").intValue());
+		counts = dao.countJobExecutionsByJobName(EnumSet.of(BatchStatus.FAILED));
+		assertEquals(1, counts.size());
+		assertEquals(1, counts.get("job").intValue());
+		assertTrue(dao.countJobExecutionsByJobName(EnumSet.noneOf(BatchStatus.class)).isEmpty());
+	}
+
+	@Test
+	@Transactional
+	public void testCountJobExecutionsForJobNames() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step" }, 1));
+		Map<String, Integer> counts = dao.countJobExecutionsForJobNames(Arrays.asList("job", "other", "missing"));
+		assertEquals(2, counts.size());
+		assertEquals(3, counts.get("job").intValue());
+		assertEquals(1, counts.get("other").intValue());
+		assertEquals(1, dao.countJobExecutionsForJobNames(Arrays.asList("other")).size());
+		assertTrue(dao.countJobExecutionsForJobNames(Collections.<String> emptyList()).isEmpty());
+	}
+
+	@Test
+	@Transactional
+	public void testGetJobExecutionSummaries() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step1", "step2" }, 1));
+		List<JobExecutionSummary> summaries = dao.getJobExecutionSummaries(0, 10);
+		assertEquals(4, summaries.size());
+		JobExecutionSummary summary = summaries.get(0);
+		JobExecution jobExecution = dao.getJobExecution(list.get(3).getId());
+		assertEquals(jobExecution.getId(), summary.getId());
+		assertEquals(list.get(3).getJobId(), summary.getJobInstanceId());
+		assertEquals("other", summary.getJobName());
+		assertEquals(jobExecution.getJobParameters(), summary.getJobParameters());
+		assertEquals(jobExecution.getStatus(), summary.getStatus());
+		assertEquals(jobExecution.getExitStatus(), summary.getExitStatus());
+		assertEquals(2, summary.getStepExecutionCount());
+		assertEquals(1, summaries.get(1).getStepExecutionCount());
+		assertEquals(list.get(0).getId(), dao.getJobExecutionSummaries(3, 1).get(0).getId());
+		assertTrue(dao.getJobExecutionSummaries(4, 1).isEmpty());
+	}
+
+	@Test
+	@Transactional
+	public void testGetJobExecutionSummariesAfterAndBefore() {
+		List<JobExecutionSummary> summaries = dao.getJobExecutionSummariesAfter(list.get(2).getId(), 10);
+		assertEquals(2, summaries.size());
+		assertEquals(list.get(1).getId(), summaries.get(0).getId());
+		summaries = dao.getJobExecutionSummariesBefore(list.get(0).getId(), 10);
+		assertEquals(2, summaries.size());
+		assertEquals(list.get(2).getId(), summaries.get(0).getId());
+	}
+
+	@Test
+	@Transactional
+	public void testGetJobExecutionSummariesUpdatedSince() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 3; i++) {
+			jdbcTemplate.update("UPDATE BATCH_JOB_EXECUTION set LAST_UPDATED = ? where JOB_EXECUTION_ID = ?",
+					new Date(now + 1000 * Math.min(i + 1, 2)), list.get(i).getId());
+		}
+		List<JobExecutionSummary> summaries = dao.getJobExecutionSummariesUpdatedSince(new Date(now), -1, 1);
+		assertEquals(1, summaries.size());
+		assertEquals(list.get(0).getId(), summaries.get(0).getId());
+		assertEquals(now + 1000, summaries.get(0).getLastUpdated().getTime());
+		// Executions updated at the same time are paged through by id
+		Date last = new Date(now + 2000);
+		summaries = dao.getJobExecutionSummariesUpdatedSince(new Date(now + 1000), list.get(0).getId(), 1);
+		assertEquals(1, summaries.size());
+		assertEquals(list.get(1).getId(), summaries.get(0).getId());
+		summaries = dao.getJobExecutionSummariesUpdatedSince(last, list.get(1).getId(), 1);
+		assertEquals(1, summaries.size());
+		assertEquals(list.get(2).getId(), summaries.get(0).getId());
+		assertTrue(dao.getJobExecutionSummariesUpdatedSince(last, list.get(2).getId(), 10).isEmpty());
+		assertEquals(2, dao.getJobExecutionSummariesUpdatedSince(last, -1, 10).size());
+	}
+
+	@Test
+	@Transactional
+	public void testGetJobExecutionVersion() {
+		JobExecution jobExecution = list.get(0);
+		ExecutionVersion version = dao.getJobExecutionVersion(jobExecution.getId());
+		assertEquals(jobExecution.getStatus(), version.getStatus());
+		assertEquals(version.getTag(), dao.getJobInstanceVersion(jobExecution.getJobId()).getTag());
+		assertNull(dao.getJobInstanceVersion(jobExecution.getJobId()).getStatus());
+		new JdbcTemplate(dataSource).update(
+				"UPDATE BATCH_STEP_EXECUTION set VERSION = VERSION + 1 where JOB_EXECUTION_ID = ?",
+				jobExecution.getId());
+		assertFalse(version.equals(dao.getJobExecutionVersion(jobExecution.getId())));
+		assertEquals(dao.getJobExecutionVersion(jobExecution.getId()),
+				dao.getJobExecutionVersion(jobExecution.getId()));
+		assertNull(dao.getJobExecutionVersion(-1L));
+	}
+
+	@Test
+	@Transactional
+	public void testGetLatestJobExecutions() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step" }, 1));
+		List<JobExecution> jobExecutions = dao.getLatestJobExecutions();
+		assertEquals(2, jobExecutions.size());
+		assertEquals(list.get(3), jobExecutions.get(0));
+		assertEquals(list.get(2), jobExecutions.get(1));
+	}
+
+	@Test
+	@Transactional
+	public void testGetLatestJobExecutionsForJobNames() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step" }, 1));
+		List<JobExecution> jobExecutions = dao.getLatestJobExecutions(Arrays.asList("job", "unknown"));
+		assertEquals(1, jobExecutions.size());
+		assertEquals(list.get(2), jobExecutions.get(0));
+		assertEquals(0, dao.getLatestJobExecutions(Collections.<String> emptyList()).size());
+	}
+
 	@Test
 	@Transactional
 	public void testGetJobExecutionsByNamePaged() {
@@ -18,6 +18,7 @@ package org.springframework.batch.admin.service;
 import static org.junit.Assert.assertEquals;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
@@ -88,4 +89,15 @@ public class JdbcSearchableJobInstanceDaoTests {
 		assertEquals(list.get(0), jobInstances.get(0));
 	}
 
+	@Test
+	@Transactional
+	public void testGetLatestJobInstanceIds() {
+		long firstId = list.get(0).getJobId();
+		long lastId = list.get(2).getJobId();
+		Map<String, Long> ids = dao.getLatestJobInstanceIds(firstId - 1);
+		assertEquals(1, ids.size());
+		assertEquals(lastId, ids.get("job").longValue());
+		assertEquals(0, dao.getLatestJobInstanceIds(lastId).size());
+	}
+
 }
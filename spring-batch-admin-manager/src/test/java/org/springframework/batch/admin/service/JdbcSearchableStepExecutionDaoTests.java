@@ -16,16 +16,30 @@
 package org.springframework.batch.admin.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.batch.admin.domain.StepExecutionHistory;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.test.JobRepositoryTestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.transaction.AfterTransaction;
@@ -49,8 +63,11 @@ public class JdbcSearchableStepExecutionDaoTests {
 
 	private List<JobExecution> list;
 
+	private DataSource dataSource;
+
 	@Autowired
 	public void setDataSource(DataSource dataSource) throws Exception {
+		this.dataSource = dataSource;
 		dao = new JdbcSearchableStepExecutionDao();
 		dao.setDataSource(dataSource);
 		dao.afterPropertiesSet();
@@ -89,6 +106,47 @@ public class JdbcSearchableStepExecutionDaoTests {
 		assertEquals("[]", dao.findStepNamesForJobExecution("job", "*").toString());
 	}
 
+	@Test
+	@Transactional
+	public void testAddStepExecutionsForJobExecutions() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step1", "step2" }, 1));
+		List<JobExecution> jobExecutions = new ArrayList<JobExecution>();
+		for (JobExecution jobExecution : list) {
+			jobExecutions.add(jobExecutionDao.getJobExecution(jobExecution.getId()));
+		}
+		dao.addStepExecutions(jobExecutions);
+		for (JobExecution jobExecution : jobExecutions) {
+			JobExecution expected = jobExecutionDao.getJobExecution(jobExecution.getId());
+			dao.addStepExecutions(expected);
+			assertEquals(expected.getStepExecutions().size(), jobExecution.getStepExecutions().size());
+			for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+				assertEquals(jobExecution, stepExecution.getJobExecution());
+			}
+		}
+		assertEquals(2, jobExecutions.get(jobExecutions.size() - 1).getStepExecutions().size());
+	}
+
+	@Test
+	@Transactional
+	public void testFindStepExecutionsForJobExecutionAfterAndBefore() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step1", "step2", "step3" }, 1));
+		JobExecution jobExecution = jobExecutionDao.getJobExecution(list.get(list.size() - 1).getId());
+		List<StepExecution> first = new ArrayList<StepExecution>(dao.findStepExecutionsForJobExecutionAfter(
+				jobExecution, 0, 2));
+		assertEquals(2, first.size());
+		assertEquals("step1", first.get(0).getStepName());
+		assertEquals("step2", first.get(1).getStepName());
+		assertEquals(jobExecution, first.get(0).getJobExecution());
+		List<StepExecution> second = new ArrayList<StepExecution>(dao.findStepExecutionsForJobExecutionAfter(
+				jobExecution, first.get(1).getId(), 2));
+		assertEquals(1, second.size());
+		assertEquals("step3", second.get(0).getStepName());
+		List<StepExecution> previous = new ArrayList<StepExecution>(dao.findStepExecutionsForJobExecutionBefore(
+				jobExecution, second.get(0).getId(), 1));
+		assertEquals(1, previous.size());
+		assertEquals(first.get(1).getId(), previous.get(0).getId());
+	}
+
 	@Test
 	@Transactional
 	public void testFindStepExecutionsByName() {
@@ -108,6 +166,136 @@ public class JdbcSearchableStepExecutionDaoTests {
 		assertEquals(1, dao.findStepExecutions("job", "s*", 2, 2).size());
 	}
 
+	@Test
+	@Transactional
+	public void testFindStepExecutionsAfterAndBefore() {
+		List<StepExecution> all = new ArrayList<StepExecution>(dao.findStepExecutions("job", "s*", 0, 10));
+		assertEquals(3, all.size());
+		List<StepExecution> after = new ArrayList<StepExecution>(dao.findStepExecutionsAfter("job", "step",
+				all.get(0).getId(), 10));
+		assertEquals(all.subList(1, 3), after);
+		List<StepExecution> before = new ArrayList<StepExecution>(dao.findStepExecutionsBefore("job", "s*",
+				all.get(2).getId(), 10));
+		assertEquals(all.subList(0, 2), before);
+		assertEquals(0, dao.findStepExecutionsAfter("job", "step", all.get(2).getId(), 10).size());
+	}
+
+	@Test
+	@Transactional
+	public void testFindStepExecutionsUpdatedSince() {
+		Date later = new Date(System.currentTimeMillis() + 60000);
+		for (JobExecution jobExecution : list.subList(1, 3)) {
+			new JdbcTemplate(dataSource).update(
+					"UPDATE BATCH_STEP_EXECUTION set LAST_UPDATED = ? where JOB_EXECUTION_ID = ?", later,
+					jobExecution.getId());
+		}
+		List<StepExecution> stepExecutions = new ArrayList<StepExecution>(dao.findStepExecutionsUpdatedSince(later,
+				-1, 1));
+		assertEquals(1, stepExecutions.size());
+		assertEquals(list.get(1).getId(), stepExecutions.get(0).getJobExecutionId());
+		assertEquals(later, stepExecutions.get(0).getLastUpdated());
+		// The next page starts after the last step execution, not at its time
+		stepExecutions = new ArrayList<StepExecution>(dao.findStepExecutionsUpdatedSince(later, stepExecutions.get(0)
+				.getId(), 10));
+		assertEquals(1, stepExecutions.size());
+		assertEquals(list.get(2).getId(), stepExecutions.get(0).getJobExecutionId());
+	}
+
+	@Test
+	@Transactional
+	public void testGetStepExecutionVersion() {
+		JobExecution jobExecution = list.get(0);
+		StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+		ExecutionVersion all = dao.getStepExecutionsVersion(jobExecution.getId());
+		ExecutionVersion one = dao.getStepExecutionVersion(jobExecution.getId(), stepExecution.getId());
+		assertEquals(jobExecution.getStatus(), all.getStatus());
+		assertEquals(jobExecution.getStatus(), one.getStatus());
+		new JdbcTemplate(dataSource).update(
+				"UPDATE BATCH_STEP_EXECUTION set VERSION = VERSION + 1 where STEP_EXECUTION_ID = ?",
+				stepExecution.getId());
+		assertFalse(all.equals(dao.getStepExecutionsVersion(jobExecution.getId())));
+		assertFalse(one.equals(dao.getStepExecutionVersion(jobExecution.getId(), stepExecution.getId())));
+		assertNull(dao.getStepExecutionVersion(list.get(1).getId(), stepExecution.getId()));
+		assertNull(dao.getStepExecutionsVersion(-1L));
+	}
+
+	@Test
+	@Transactional
+	public void testFindStepExecutionsReusesQueryProvider() {
+		dao.findStepExecutions("job", "step", 0, 2);
+		dao.findStepExecutions("job", "step", 2, 2);
+		dao.findStepExecutions("job", "other", 0, 2);
+		assertEquals(1, dao.getQueryProviderCacheMisses());
+		assertEquals(2, dao.getQueryProviderCacheHits());
+		dao.findStepExecutions("job", "s*", 0, 2);
+		dao.findStepExecutions("j*", "s*", 0, 2);
+		dao.findStepExecutions("j*", "step", 0, 2);
+		assertEquals(4, dao.getQueryProviderCacheMisses());
+		dao.findStepExecutions("job", "s*", 0, 2);
+		assertEquals(3, dao.getQueryProviderCacheHits());
+	}
+
+	@Test
+	@Transactional
+	public void testGetStepExecutionHistory() {
+		List<StepExecution> all = new ArrayList<StepExecution>(dao.findStepExecutions("job", "step", 0, 10));
+		StepExecutionHistory expected = new StepExecutionHistory("s*");
+		for (int i = 0; i < 2; i++) {
+			StepExecution stepExecution = all.get(i);
+			stepExecution.setStartTime(new Date(1000L));
+			stepExecution.setEndTime(new Date(2000L + 1000L * i));
+			stepExecution.setReadCount(10 * i);
+			stepExecution.setWriteCount(5 + i);
+			stepExecution.setCommitCount(1 + i);
+			dao.updateStepExecution(stepExecution);
+			expected.append(stepExecution);
+		}
+		// the last one is still running so it is ignored
+		StepExecutionHistory history = dao.getStepExecutionHistory("job", "s*");
+		assertEquals("s*", history.getStepName());
+		assertEquals(2, history.getCount());
+		assertEquals(expected.getReadCount().toString(), history.getReadCount().toString());
+		assertEquals(expected.getWriteCount().toString(), history.getWriteCount().toString());
+		assertEquals(expected.getCommitCount().toString(), history.getCommitCount().toString());
+		assertEquals(expected.getRollbackCount().toString(), history.getRollbackCount().toString());
+		assertEquals(expected.getDuration().toString(), history.getDuration().toString());
+		assertEquals(expected.getDurationPerRead().toString(), history.getDurationPerRead().toString());
+		assertEquals(0, dao.getStepExecutionHistory("job", "other").getCount());
+	}
+
+	@Test
+	@Transactional
+	public void testGetLastStepExecutionId() {
+		List<StepExecution> all = new ArrayList<StepExecution>(dao.findStepExecutions("job", "step", 0, 10));
+		assertEquals(all.get(0).getId().longValue(), dao.getLastStepExecutionId("job", "step"));
+		assertEquals(0, dao.getLastStepExecutionId("job", "other"));
+	}
+
+	@Test
+	@Transactional
+	public void testFindUnfinishedStepExecutions() {
+		List<StepExecution> all = new ArrayList<StepExecution>(dao.findStepExecutions("job", "step", 0, 10));
+		Collections.reverse(all);
+		long first = all.get(0).getId();
+		all.get(0).setEndTime(new Date());
+		dao.updateStepExecution(all.get(0));
+		assertEquals(Arrays.asList(all.get(1), all.get(2)),
+				dao.findUnfinishedStepExecutions("job", "step", Long.MAX_VALUE));
+		assertEquals(Arrays.asList(all.get(1)), dao.findUnfinishedStepExecutions("job", "step", all.get(1).getId()));
+		assertEquals(0, dao.findUnfinishedStepExecutions("job", "step", first).size());
+		assertEquals(0, dao.getStepExecutionHistory("job", "step", first - 1).getCount());
+		assertEquals(1, dao.getStepExecutionHistory("job", "step", all.get(2).getId()).getCount());
+	}
+
+	@Test
+	@Transactional
+	public void testFindStepExecutionsByIds() {
+		List<StepExecution> all = new ArrayList<StepExecution>(dao.findStepExecutions("job", "step", 0, 10));
+		Collection<StepExecution> found = dao.findStepExecutions(Arrays.asList(all.get(0).getId(),
+				all.get(2).getId(), -1L));
+		assertEquals(Arrays.asList(all.get(2), all.get(0)), found);
+	}
+
 	@Test
 	@Transactional
 	public void testFindStepExecutionsPastEnd() {
@@ -133,6 +321,59 @@ public class JdbcSearchableStepExecutionDaoTests {
 		assertEquals(3, dao.countStepExecutions("job", "s*"));
 	}
 
+	@Test
+	@Transactional
+	public void testCountStepExecutionsByStatus() throws Exception {
+		StepExecution stepExecution = dao.findStepExecutions("job", "step", 0, 1).iterator().next();
+		stepExecution.setStatus(BatchStatus.FAILED);
+		dao.updateStepExecution(stepExecution);
+		assertEquals(1, dao.countStepExecutions("job", "s*", EnumSet.of(BatchStatus.FAILED, BatchStatus.UNKNOWN)));
+		assertEquals(2, dao.countStepExecutions("job", "step", EnumSet.of(BatchStatus.STARTING, BatchStatus.STARTED)));
+		assertEquals(0, dao.countStepExecutions("job", "step", EnumSet.noneOf(BatchStatus.class)));
+	}
+
+	@Test
+	@Transactional
+	public void testCountStepExecutionsByStep() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step", "last" }, 1));
+		Map<String, Map<String, Integer>> counts = dao.countStepExecutionsByStep(EnumSet.of(BatchStatus.STARTING));
+		assertEquals(2, counts.size());
+		assertEquals(Collections.singletonMap("step", 3), counts.get("job"));
+		assertEquals(2, counts.get("other").size());
+		assertEquals(1, counts.get("other").get("last").intValue());
+		assertTrue(dao.countStepExecutionsByStep(EnumSet.of(BatchStatus.FAILED)).isEmpty());
+	}
+
+	@Test
+	@Transactional
+	public void testFindLatestStepExecutions() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step", "last" }, 1));
+		Map<String, List<StepExecution>> latest = dao.findLatestStepExecutions();
+		assertEquals(2, latest.size());
+		assertEquals(1, latest.get("job").size());
+		StepExecution stepExecution = latest.get("job").get(0);
+		assertEquals(list.get(2).getStepExecutions().iterator().next().getId(), stepExecution.getId());
+		assertEquals(2, latest.get("other").size());
+	}
+
+	@Test
+	@Transactional
+	public void testFindStepExecutionsOfAllJobsAfterAndBefore() throws Exception {
+		list.addAll(jobRepositoryUtils.createJobExecutions("other", new String[] { "step" }, 1));
+		long first = dao.findStepExecutions("job", "step", 0, 10).iterator().next().getId();
+		Map<String, List<StepExecution>> after = dao.findStepExecutionsAfter(Long.MAX_VALUE, 10);
+		assertEquals(3, after.get("job").size());
+		assertEquals(1, after.get("other").size());
+		assertEquals(first, after.get("job").get(0).getId().longValue());
+		after = dao.findStepExecutionsAfter(first, 1);
+		assertEquals(1, after.size());
+		assertEquals(first - 1, after.get("job").get(0).getId().longValue());
+		Map<String, List<StepExecution>> before = dao.findStepExecutionsBefore(first - 2, 10);
+		assertEquals(2, before.get("job").size());
+		assertEquals(first, before.get("job").get(0).getId().longValue());
+		assertEquals(1, before.get("other").size());
+	}
+
 	@Test
 	@Transactional
 	public void testCountStepExecutionsByPatternWithMoreJobs() throws Exception {
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+public class JobExecutionCacheTests {
+
+	private JobExecutionCache cache = new JobExecutionCache();
+
+	@Test
+	public void testFinishedExecutionIsKept() {
+		JobExecution jobExecution = createJobExecution(1L, BatchStatus.COMPLETED, 1);
+		cache.putJobExecution(jobExecution, false);
+		assertSame(jobExecution, cache.getJobExecution(1L, false));
+		assertNull(cache.getJobExecution(1L, true));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testRunningExecutionExpires() throws Exception {
+		cache.setRunningTimeToLive(0);
+		cache.putJobExecution(createJobExecution(1L, BatchStatus.STARTED, 1), false);
+		assertNull(cache.getJobExecution(1L, false));
+		cache.setRunningTimeToLive(10000);
+		JobExecution jobExecution = createJobExecution(1L, BatchStatus.STARTED, 1);
+		cache.putJobExecution(jobExecution, false);
+		assertSame(jobExecution, cache.getJobExecution(1L, false));
+	}
+
+	@Test
+	public void testOlderVersionNotCachedAfterEvict() {
+		JobExecution stale = createJobExecution(1L, BatchStatus.FAILED, 1);
+		cache.putJobExecution(stale, true);
+		cache.evict(createJobExecution(1L, BatchStatus.ABANDONED, 2));
+		assertNull(cache.getJobExecution(1L, false));
+		cache.putJobExecution(stale, true);
+		assertNull(cache.getJobExecution(1L, false));
+		JobExecution current = createJobExecution(1L, BatchStatus.ABANDONED, 2);
+		cache.putJobExecution(current, true);
+		assertSame(current, cache.getJobExecution(1L, true));
+	}
+
+	@Test
+	public void testEvictRemovesStepExecutions() {
+		JobExecution jobExecution = createJobExecution(1L, BatchStatus.COMPLETED, 1);
+		StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+		cache.putStepExecution(stepExecution);
+		assertSame(stepExecution, cache.getStepExecution(1L, stepExecution.getId()));
+		assertNull(cache.getStepExecution(2L, stepExecution.getId()));
+		cache.evict(jobExecution);
+		assertNull(cache.getStepExecution(1L, stepExecution.getId()));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvictedByCount() {
+		cache.setMaxEntries(2);
+		cache.putJobExecution(createJobExecution(1L, BatchStatus.COMPLETED, 1), false);
+		cache.putJobExecution(createJobExecution(2L, BatchStatus.COMPLETED, 1), false);
+		cache.getJobExecution(1L, false);
+		cache.putJobExecution(createJobExecution(3L, BatchStatus.COMPLETED, 1), false);
+		assertEquals(2, cache.getSize());
+		assertNull(cache.getJobExecution(2L, false));
+	}
+
+	@Test
+	public void testEvictedBySize() {
+		JobExecution jobExecution = createJobExecution(1L, BatchStatus.COMPLETED, 1);
+		jobExecution.getExecutionContext().putString("foo", new String(new char[1000]));
+		cache.putJobExecution(jobExecution, true);
+		long size = cache.getBytes();
+		assertTrue("Size too small: " + size, size > 2000);
+		cache.setMaxBytes(size);
+		cache.putJobExecution(createJobExecution(2L, BatchStatus.COMPLETED, 1), false);
+		assertEquals(1, cache.getSize());
+		assertNull(cache.getJobExecution(1L, true));
+		cache.clear();
+		assertEquals(0, cache.getBytes());
+	}
+
+	private JobExecution createJobExecution(Long id, BatchStatus status, int version) {
+		JobExecution jobExecution = MetaDataInstanceFactory.createJobExecutionWithStepExecutions(id,
+				Arrays.asList("step"));
+		jobExecution.setStatus(status);
+		jobExecution.setVersion(version);
+		return jobExecution;
+	}
+
+}
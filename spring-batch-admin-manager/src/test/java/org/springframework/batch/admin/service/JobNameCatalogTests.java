@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class JobNameCatalogTests {
+
+	private JobNameCatalog catalog = new JobNameCatalog();
+
+	@Test
+	public void testInitialize() throws Exception {
+		assertFalse(catalog.isInitialized());
+		catalog.setRegisteredJobNames(Arrays.asList("foo", "bar"));
+		catalog.addJobInstances(latestJobInstanceIds("spam", 3L, "foo", 5L));
+		assertTrue(catalog.isInitialized());
+		assertEquals(5L, catalog.getLastJobInstanceId());
+		assertEquals(3, catalog.size());
+		assertEquals("[bar, foo, spam]", catalog.getJobNames(0, 10).toString());
+		assertEquals("[foo]", catalog.getJobNames(1, 1).toString());
+		assertEquals("[]", catalog.getJobNames(3, 1).toString());
+		assertEquals("[foo, spam]", catalog.getJobNames(1, Integer.MAX_VALUE).toString());
+	}
+
+	@Test
+	public void testUnregisterHistoricJob() throws Exception {
+		catalog.setRegisteredJobNames(Arrays.asList("foo", "bar"));
+		catalog.addJobInstances(latestJobInstanceIds("foo", 1L));
+		catalog.unregister("foo");
+		catalog.unregister("bar");
+		assertEquals("[foo]", catalog.getJobNames(0, 10).toString());
+		assertTrue(catalog.contains("foo"));
+		assertFalse(catalog.contains("bar"));
+	}
+
+	@Test
+	public void testRegisteredJobNames() throws Exception {
+		catalog.register("foo");
+		catalog.setRegisteredJobNames(Arrays.asList("bar"));
+		assertEquals("[bar]", catalog.getJobNames(0, 10).toString());
+	}
+
+	@Test
+	public void testJsrJobNames() throws Exception {
+		catalog.register("foo");
+		catalog.setJsrJobNames(new HashSet<String>(Arrays.asList("foo", "bar")));
+		assertEquals("[bar, foo]", catalog.getJobNames(0, 10).toString());
+		catalog.setJsrJobNames(Collections.<String> emptySet());
+		assertEquals("[foo]", catalog.getJobNames(0, 10).toString());
+	}
+
+	private static Map<String, Long> latestJobInstanceIds(Object... namesAndIds) {
+		Map<String, Long> ids = new LinkedHashMap<String, Long>();
+		for (int i = 0; i < namesAndIds.length; i += 2) {
+			ids.put((String) namesAndIds[i], (Long) namesAndIds[i + 1]);
+		}
+		return ids;
+	}
+
+}
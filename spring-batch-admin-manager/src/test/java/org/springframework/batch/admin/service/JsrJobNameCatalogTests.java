@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+public class JsrJobNameCatalogTests {
+
+	private ResourcePatternResolver resolver = mock(ResourcePatternResolver.class);
+
+	private JsrJobNameCatalog catalog = new JsrJobNameCatalog();
+
+	@Before
+	public void setUp() throws Exception {
+		catalog.setResourcePatternResolver(resolver);
+		when(resolver.getResources(JsrJobNameCatalog.DEFAULT_LOCATION_PATTERN)).thenReturn(
+				new Resource[] { resource("job1.xml") }, new Resource[] { resource("job1.xml"), resource("job2.xml") });
+	}
+
+	@Test
+	public void testScannedOnce() throws Exception {
+		assertTrue(catalog.contains("job1"));
+		assertFalse(catalog.contains("job2"));
+		assertEquals(1, catalog.getJobNames().size());
+		verify(resolver, times(1)).getResources(JsrJobNameCatalog.DEFAULT_LOCATION_PATTERN);
+	}
+
+	@Test
+	public void testRefresh() throws Exception {
+		catalog.afterPropertiesSet();
+		catalog.refresh();
+		assertTrue(catalog.contains("job2"));
+		assertEquals(2, catalog.getJobNames().size());
+		verify(resolver, times(2)).getResources(JsrJobNameCatalog.DEFAULT_LOCATION_PATTERN);
+	}
+
+	@Test
+	public void testScanFailure() throws Exception {
+		when(resolver.getResources("foo")).thenThrow(new IOException("Planned"));
+		catalog.setLocationPattern("foo");
+		assertEquals(Collections.emptySet(), catalog.getJobNames());
+	}
+
+	private Resource resource(final String filename) {
+		return new ByteArrayResource(new byte[0]) {
+			@Override
+			public String getFilename() {
+				return filename;
+			}
+		};
+	}
+
+}
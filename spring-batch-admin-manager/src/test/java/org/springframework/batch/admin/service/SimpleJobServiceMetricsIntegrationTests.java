@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+@ContextConfiguration
+@RunWith(SpringJUnit4ClassRunner.class)
+@DirtiesContext
+public class SimpleJobServiceMetricsIntegrationTests {
+
+	@Autowired
+	private MBeanServer server;
+
+	@Autowired
+	private JobService jobService;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Test
+	public void testStepQueryProviderCacheCountersPublished() throws Exception {
+
+		JobExecution jobExecution = jobRepository.createJobExecution("metrics", new JobParameters());
+		jobRepository.add(jobExecution.createStepExecution("step"));
+
+		Set<ObjectName> names = server.queryNames(new ObjectName("*:type=SimpleJobService,*"), null);
+		assertEquals(1, names.size());
+		ObjectName name = names.iterator().next();
+
+		long hits = (Long) server.getAttribute(name, "StepQueryProviderCacheHitCount");
+		long misses = (Long) server.getAttribute(name, "StepQueryProviderCacheMissCount");
+
+		assertEquals(1, jobService.listStepExecutionsForStepAfter("metrics", "step", Long.MAX_VALUE, 10).size());
+		assertEquals(misses + 1, server.getAttribute(name, "StepQueryProviderCacheMissCount"));
+		assertEquals(hits, server.getAttribute(name, "StepQueryProviderCacheHitCount"));
+
+		assertEquals(1, jobService.listStepExecutionsForStepAfter("metrics", "step", Long.MAX_VALUE, 10).size());
+		assertEquals(misses + 1, server.getAttribute(name, "StepQueryProviderCacheMissCount"));
+		assertEquals(hits + 1, server.getAttribute(name, "StepQueryProviderCacheHitCount"));
+
+	}
+
+}
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.isA;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -32,7 +33,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import javax.batch.api.chunk.AbstractItemReader;
@@ -44,6 +47,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.batch.admin.domain.JobInfo;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
@@ -378,20 +382,90 @@ public class SimpleJobServiceTests {
 	@Test
 	public void testListJobsNotLaunchable() throws Exception {
 		when(jobLocator.getJobNames()).thenReturn(Arrays.asList("job1", "job2"));
-		when(jobInstanceDao.getJobNames()).thenReturn(Arrays.asList("job3", "job2"));
+		when(jobInstanceDao.getLatestJobInstanceIds(-1L)).thenReturn(latestJobInstanceIds("job3", "job2"));
 
 		assertEquals(4, service.listJobs(0, 5).size());
 	}
 
+	/**
+	 * Test method for {@link SimpleJobService#listJobs(int, int)}.
+	 */
+	@Test
+	public void testListJobsSortedAndPaged() throws Exception {
+		when(jobLocator.getJobNames()).thenReturn(Arrays.asList("job2", "job1"));
+		when(jobInstanceDao.getLatestJobInstanceIds(-1L)).thenReturn(latestJobInstanceIds("job3", "job2"));
+
+		assertEquals("[job1, job2]", service.listJobs(0, 2).toString());
+		assertEquals("[job3, jsr352-job]", service.listJobs(2, 5).toString());
+		assertEquals(0, service.listJobs(5, 5).size());
+		assertEquals(4, service.countJobs());
+		verify(jobInstanceDao, times(1)).getLatestJobInstanceIds(-1L);
+		verify(jobInstanceDao, times(3)).getLatestJobInstanceIds(2L);
+	}
+
+	/**
+	 * Test method for {@link SimpleJobService#listJobs(int, int)}.
+	 */
+	@Test
+	public void testListJobsWithNewInstances() throws Exception {
+		when(jobLocator.getJobNames()).thenReturn(Arrays.asList("job1"));
+		when(jobInstanceDao.getLatestJobInstanceIds(-1L)).thenReturn(latestJobInstanceIds("job1"));
+		when(jobInstanceDao.getLatestJobInstanceIds(1L)).thenReturn(latestJobInstanceIds("job1", "job0"));
+
+		assertEquals("[job1, jsr352-job]", service.listJobs(0, 5).toString());
+		assertEquals("[job0, job1, jsr352-job]", service.listJobs(0, 5).toString());
+	}
+
+	/**
+	 * Test method for {@link SimpleJobService#listJobs(int, int)}.
+	 */
+	@Test
+	public void testListJobsAfterRegistration() throws Exception {
+		when(jobLocator.getJobNames()).thenReturn(Arrays.asList("job1"), Arrays.asList("job0", "job1"));
+
+		assertEquals("[job1, jsr352-job]", service.listJobs(0, 5).toString());
+		assertEquals("[job0, job1, jsr352-job]", service.listJobs(0, 5).toString());
+	}
+
+	/**
+	 * Test method for {@link SimpleJobService#listJobInfos(Collection)}.
+	 */
+	@Test
+	public void testListJobInfos() throws Exception {
+		when(jobLocator.getJobNames()).thenReturn(Arrays.asList("job1", "job2"));
+		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1", new RunIdIncrementer()));
+		when(jobLocator.getJob("job2")).thenReturn(new JobSupport("job2"));
+		Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+		counts.put("job1", 3);
+		counts.put("job3", 1);
+		List<String> names = Arrays.asList("job1", "job2", "job3", "jsr352-job");
+		when(jobExecutionDao.countJobExecutionsForJobNames(names)).thenReturn(counts);
+
+		List<JobInfo> jobInfos = service.listJobInfos(names);
+		assertEquals(4, jobInfos.size());
+		assertEquals("job1", jobInfos.get(0).getName());
+		assertEquals(3, jobInfos.get(0).getExecutionCount());
+		assertTrue(jobInfos.get(0).isLaunchable());
+		assertTrue(jobInfos.get(0).isIncrementable());
+		assertEquals(0, jobInfos.get(1).getExecutionCount());
+		assertTrue(jobInfos.get(1).isLaunchable());
+		assertFalse(jobInfos.get(1).isIncrementable());
+		assertEquals(1, jobInfos.get(2).getExecutionCount());
+		assertFalse(jobInfos.get(2).isLaunchable());
+		assertTrue(jobInfos.get(3).isLaunchable());
+		assertFalse(jobInfos.get(3).isIncrementable());
+	}
+
 	/**
 	 * Test method for {@link SimpleJobService#countJobs() throws Exception}.
 	 */
 	@Test
 	public void testCountJobs() throws Exception {
 		when(jobLocator.getJobNames()).thenReturn(Arrays.asList("job1", "job2"));
-		when(jobInstanceDao.getJobNames()).thenReturn(Arrays.asList("job3", "job2"));
+		when(jobInstanceDao.getLatestJobInstanceIds(-1L)).thenReturn(latestJobInstanceIds("job3", "job2"));
 
-		assertEquals(3, service.countJobs());
+		// job1, job2, job3 and the JSR-352 job
+		assertEquals(4, service.countJobs());
 	}
 
 	/**
@@ -466,6 +540,40 @@ public class SimpleJobServiceTests {
 		verify(stepExecutionDao).addStepExecutions(jobExecution);
 	}
 
+	@Test
+	public void testGetJobExecutionWithoutExecutionContext() throws Exception {
+		JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution(123L);
+		JobInstance jobInstance = jobExecution.getJobInstance();
+		jobExecution.setJobInstance(null);
+		when(jobExecutionDao.getJobExecution(123L)).thenReturn(jobExecution);
+		when(jobInstanceDao.getJobInstance(jobExecution)).thenReturn(jobInstance);
+
+		JobExecution result = service.getJobExecution(123L, false);
+		assertNotNull(result.getJobInstance());
+		assertTrue(result.getExecutionContext().isEmpty());
+
+		verify(executionContextDao, never()).getExecutionContext(jobExecution);
+		verify(stepExecutionDao).addStepExecutions(jobExecution);
+	}
+
+	@Test
+	public void testGetJobExecutionFromCacheUntilStopped() throws Exception {
+		JobExecutionCache cache = new JobExecutionCache();
+		cache.setRunningTimeToLive(60000);
+		service.setJobExecutionCache(cache);
+		JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution(123L);
+		when(jobExecutionDao.getJobExecution(123L)).thenReturn(jobExecution);
+		when(jobInstanceDao.getJobInstance(jobExecution)).thenReturn(jobExecution.getJobInstance());
+
+		assertSame(jobExecution, service.getJobExecution(123L, false));
+		assertSame(jobExecution, service.getJobExecution(123L, false));
+		verify(jobExecutionDao, times(1)).getJobExecution(123L);
+
+		service.stop(123L);
+		service.getJobExecution(123L, false);
+		verify(jobExecutionDao, times(3)).getJobExecution(123L);
+	}
+
 	@Test
 	public void testGetStepNamesFromJobExecution() throws Exception {
 		when(jobLocator.getJob("job")).thenReturn(null);
@@ -527,7 +635,7 @@ public class SimpleJobServiceTests {
 		when(jobExecutionDao.findJobExecutions(jobInstance)).thenReturn(Arrays.asList(jobExecution));
 
 		assertEquals(1, service.getJobExecutionsForJobInstance("job", jobInstance.getId()).size());
-		verify(stepExecutionDao).addStepExecutions(jobExecution);
+		verify(stepExecutionDao).addStepExecutions(Arrays.asList(jobExecution));
 	}
 
 	/**
@@ -591,10 +699,27 @@ public class SimpleJobServiceTests {
 		String jobName = "job";
 		when(jobLocator.getJobNames()).thenReturn(Collections.<String> emptyList());
 		when(jobInstanceDao.countJobInstances(jobName)).thenReturn(1);
-		when(jobExecutionDao.getJobExecutions("job", 0, 4)).thenReturn(
-				Arrays.asList(MetaDataInstanceFactory.createJobExecution(123L), MetaDataInstanceFactory
-						.createJobExecution(124L)));
+		List<JobExecution> jobExecutions = Arrays.asList(MetaDataInstanceFactory.createJobExecution(123L),
+				MetaDataInstanceFactory.createJobExecution(124L));
+		when(jobExecutionDao.getJobExecutions("job", 0, 4)).thenReturn(jobExecutions);
 		assertEquals(2, service.listJobExecutionsForJob("job", 0, 4).size());
+		verify(stepExecutionDao).addStepExecutions(jobExecutions);
+	}
+
+	@Test
+	public void testListJobExecutionsForJobWithRunningExecution() throws Exception {
+		ExecutionEventCollector collector = new ExecutionEventCollector();
+		service.setExecutionEventCollector(collector);
+		JobExecution running = MetaDataInstanceFactory.createJobExecution(124L);
+		collector.beforeJob(running);
+		when(jobLocator.getJobNames()).thenReturn(Collections.<String> emptyList());
+		when(jobInstanceDao.countJobInstances("job")).thenReturn(1);
+		List<JobExecution> jobExecutions = Arrays.asList(MetaDataInstanceFactory.createJobExecution(123L),
+				MetaDataInstanceFactory.createJobExecution(124L));
+		when(jobExecutionDao.getJobExecutions("job", 0, 4)).thenReturn(jobExecutions);
+		Iterator<JobExecution> result = service.listJobExecutionsForJob("job", 0, 4).iterator();
+		assertEquals(123L, result.next().getId().longValue());
+		assertSame(running, result.next());
 	}
 
 	/**
@@ -632,6 +757,37 @@ public class SimpleJobServiceTests {
 		verify(stepExecutionDao).addStepExecutions(jobExecution);
 	}
 
+	@Test
+	public void testRemoveInactivesRunningInProcess() throws Exception {
+
+		ExecutionEventCollector collector = new ExecutionEventCollector();
+		service.setExecutionEventCollector(collector);
+		testLaunch();
+		collector.beforeJob(MetaDataInstanceFactory.createJobExecution());
+
+		service.removeInactiveExecutions();
+
+		verifyNoMoreInteractions(jobExecutionDao);
+	}
+
+	@Test
+	public void testGetRunningJobExecution() throws Exception {
+		ExecutionEventCollector collector = new ExecutionEventCollector();
+		service.setExecutionEventCollector(collector);
+		JobExecution jobExecution = MetaDataInstanceFactory.createJobExecutionWithStepExecutions(123L, Arrays
+				.asList("step1"));
+		collector.beforeJob(jobExecution);
+		StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+
+		assertSame(jobExecution, service.getJobExecution(123L));
+		assertSame(stepExecution, service.getStepExecution(123L, stepExecution.getId()));
+		verifyNoMoreInteractions(jobExecutionDao, stepExecutionDao);
+
+		collector.afterJob(jobExecution);
+		when(jobExecutionDao.getJobExecution(123L)).thenReturn(MetaDataInstanceFactory.createJobExecution());
+		assertFalse(jobExecution == service.getJobExecution(123L));
+	}
+
 	@Test
 	public void testDestroy() throws Exception {
 
@@ -658,6 +814,14 @@ public class SimpleJobServiceTests {
 		verify(stepExecutionDao, times(2)).addStepExecutions(jobExecution);
 	}
 
+	private static Map<String, Long> latestJobInstanceIds(String... jobNames) {
+		Map<String, Long> ids = new LinkedHashMap<String, Long>();
+		for (String jobName : jobNames) {
+			ids.put(jobName, (long) ids.size() + 1);
+		}
+		return ids;
+	}
+
 	public static class JsrItemReader extends AbstractItemReader {
 
 		private Iterator<String> items = Arrays.asList("foo", "bar", "baz", "qux").iterator();
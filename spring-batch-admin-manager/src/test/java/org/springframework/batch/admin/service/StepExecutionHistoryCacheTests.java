@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.batch.admin.domain.StepExecutionHistory;
+import org.springframework.batch.core.StepExecution;
+
+public class StepExecutionHistoryCacheTests {
+
+	@Mock
+	private SearchableStepExecutionDao stepExecutionDao;
+
+	private StepExecutionHistoryCache cache;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		cache = new StepExecutionHistoryCache(stepExecutionDao);
+		cache.setIdWindow(10);
+		StepExecutionHistory seed = new StepExecutionHistory("step");
+		seed.append(createStepExecution(90L, 100L));
+		when(stepExecutionDao.getLastStepExecutionId("job", "step")).thenReturn(100L);
+		when(stepExecutionDao.getStepExecutionHistory("job", "step", 90L)).thenReturn(seed);
+	}
+
+	@Test
+	public void testSeededFromDatabase() {
+		StepExecutionHistory history = cache.getStepExecutionHistory("job", "step");
+		assertEquals(1, history.getCount());
+		assertEquals(100, history.getDuration().getMean(), 0.01);
+		assertEquals(1, cache.size());
+		verify(stepExecutionDao).findUnfinishedStepExecutions("job", "step", 90L);
+		verify(stepExecutionDao).findStepExecutionsBefore("job", "step", 90L, 1000);
+	}
+
+	@Test
+	public void testOnlyNewExecutionsAppended() {
+		when(stepExecutionDao.findStepExecutionsBefore("job", "step", 90L, 1000)).thenReturn(
+				Arrays.asList(createStepExecution(100L, 300L), createStepExecution(95L, 200L)));
+		StepExecutionHistory history = cache.getStepExecutionHistory("job", "step");
+		assertEquals(3, history.getCount());
+		assertEquals(200, history.getDuration().getMean(), 0.01);
+		history = cache.getStepExecutionHistory("job", "step");
+		assertEquals(3, history.getCount());
+		verify(stepExecutionDao, times(1)).getStepExecutionHistory("job", "step", 90L);
+	}
+
+	@Test
+	public void testExecutionCommittedLateAppended() {
+		when(stepExecutionDao.findStepExecutionsBefore("job", "step", 90L, 1000)).thenReturn(
+				Arrays.asList(createStepExecution(100L, 300L)));
+		assertEquals(2, cache.getStepExecutionHistory("job", "step").getCount());
+		// A lower id that was not visible on the last refresh
+		when(stepExecutionDao.findStepExecutionsBefore("job", "step", 90L, 1000)).thenReturn(
+				Arrays.asList(createStepExecution(100L, 300L), createStepExecution(95L, 200L)));
+		StepExecutionHistory history = cache.getStepExecutionHistory("job", "step");
+		assertEquals(3, history.getCount());
+		assertEquals(200, history.getDuration().getMean(), 0.01);
+	}
+
+	@Test
+	public void testFloorTrailsLargestId() {
+		when(stepExecutionDao.findStepExecutionsBefore("job", "step", 90L, 1000)).thenReturn(
+				Arrays.asList(createStepExecution(120L, 300L), createStepExecution(105L, 200L)));
+		assertEquals(3, cache.getStepExecutionHistory("job", "step").getCount());
+		when(stepExecutionDao.findStepExecutionsBefore("job", "step", 110L, 1000)).thenReturn(
+				Arrays.asList(createStepExecution(120L, 300L)));
+		assertEquals(3, cache.getStepExecutionHistory("job", "step").getCount());
+		verify(stepExecutionDao).findStepExecutionsBefore("job", "step", 110L, 1000);
+	}
+
+	@Test
+	public void testRunningExecutionAppendedWhenFinished() {
+		StepExecution running = createRunningStepExecution(105L, System.currentTimeMillis());
+		when(stepExecutionDao.findStepExecutionsBefore("job", "step", 90L, 1000)).thenReturn(
+				Arrays.asList(createStepExecution(120L, 300L), running));
+		assertEquals(2, cache.getStepExecutionHistory("job", "step").getCount());
+		when(stepExecutionDao.findStepExecutions(Collections.singleton(105L))).thenReturn(Arrays.asList(running));
+		assertEquals(2, cache.getStepExecutionHistory("job", "step").getCount());
+		when(stepExecutionDao.findStepExecutions(Collections.singleton(105L))).thenReturn(
+				Arrays.asList(createStepExecution(105L, 200L)));
+		StepExecutionHistory history = cache.getStepExecutionHistory("job", "step");
+		assertEquals(3, history.getCount());
+		assertEquals(200, history.getDuration().getMean(), 0.01);
+		assertEquals(3, cache.getStepExecutionHistory("job", "step").getCount());
+	}
+
+	@Test
+	public void testUnfinishedExecutionsSeeded() {
+		when(stepExecutionDao.findUnfinishedStepExecutions("job", "step", 90L)).thenReturn(
+				Arrays.asList(createRunningStepExecution(80L, System.currentTimeMillis())));
+		assertEquals(1, cache.getStepExecutionHistory("job", "step").getCount());
+		when(stepExecutionDao.findStepExecutions(Collections.singleton(80L))).thenReturn(
+				Arrays.asList(createStepExecution(80L, 200L)));
+		assertEquals(2, cache.getStepExecutionHistory("job", "step").getCount());
+	}
+
+	@Test
+	public void testAbandonedExecutionForgotten() {
+		cache.setPendingTimeout(1000L);
+		when(stepExecutionDao.findUnfinishedStepExecutions("job", "step", 90L)).thenReturn(
+				Arrays.asList(createRunningStepExecution(80L, System.currentTimeMillis() - 2000L)));
+		when(stepExecutionDao.findStepExecutionsBefore("job", "step", 90L, 1000)).thenReturn(
+				Arrays.asList(createStepExecution(120L, 300L),
+						createRunningStepExecution(105L, System.currentTimeMillis() - 2000L)));
+		assertEquals(2, cache.getStepExecutionHistory("job", "step").getCount());
+		assertEquals(2, cache.getStepExecutionHistory("job", "step").getCount());
+		verify(stepExecutionDao, never()).findStepExecutions(anyCollectionOf(Long.class));
+	}
+
+	@Test
+	public void testReturnsCopy() {
+		cache.getStepExecutionHistory("job", "step").append(createStepExecution(95L, 200L));
+		assertEquals(1, cache.getStepExecutionHistory("job", "step").getCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() {
+		cache.setMaxSize(2);
+		when(stepExecutionDao.getStepExecutionHistory("job", "other", 0L)).thenReturn(
+				new StepExecutionHistory("other"));
+		when(stepExecutionDao.getStepExecutionHistory("job", "another", 0L)).thenReturn(
+				new StepExecutionHistory("another"));
+		cache.getStepExecutionHistory("job", "step");
+		cache.getStepExecutionHistory("job", "other");
+		cache.getStepExecutionHistory("job", "step");
+		cache.getStepExecutionHistory("job", "another");
+		assertEquals(2, cache.size());
+		cache.getStepExecutionHistory("job", "step");
+		verify(stepExecutionDao, times(1)).getStepExecutionHistory("job", "step", 90L);
+		cache.getStepExecutionHistory("job", "other");
+		verify(stepExecutionDao, times(2)).getStepExecutionHistory("job", "other", 0L);
+	}
+
+	private StepExecution createStepExecution(long id, long duration) {
+		StepExecution stepExecution = new StepExecution("step", null);
+		stepExecution.setId(id);
+		stepExecution.setStartTime(new Date(0L));
+		stepExecution.setEndTime(new Date(duration));
+		return stepExecution;
+	}
+
+	private StepExecution createRunningStepExecution(long id, long lastUpdated) {
+		StepExecution stepExecution = new StepExecution("step", null);
+		stepExecution.setId(id);
+		stepExecution.setStartTime(new Date(lastUpdated));
+		stepExecution.setLastUpdated(new Date(lastUpdated));
+		return stepExecution;
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import org.springframework.batch.admin.service.CsvExecutionExportWriter;
+import org.springframework.batch.admin.service.ExecutionExportWriter;
+import org.springframework.batch.admin.service.ExecutionHistoryExporter;
+import org.springframework.batch.admin.service.NdjsonExecutionExportWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Tests the formats, compression and filters of the
+ * {@link BatchExportController} endpoints.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {TestDependencies.class, RestConfiguration.class})
+@WebAppConfiguration
+public class BatchExportControllerIntegrationTests extends AbstractControllerIntegrationTest {
+
+	@Autowired
+	private ExecutionHistoryExporter exporter;
+
+	@Before
+	public void before() throws Exception {
+		reset(exporter);
+		Answer<Void> oneRow = new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				ExecutionExportWriter writer = (ExecutionExportWriter) invocation.getArguments()[3];
+				writer.start(new String[] { "id", "jobName" });
+				writer.write(new Object[] { 1L, "job" });
+				writer.finish();
+				return null;
+			}
+		};
+		doAnswer(oneRow).when(exporter).exportJobExecutions(anyString(), any(Date.class), any(Date.class),
+				any(ExecutionExportWriter.class));
+		doAnswer(oneRow).when(exporter).exportStepExecutions(anyString(), any(Date.class), any(Date.class),
+				any(ExecutionExportWriter.class));
+	}
+
+	@Test
+	public void testExportJobExecutionsAsNdjson() throws Exception {
+		mockMvc.perform(get("/batch/export/executions"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"job-executions.ndjson\""))
+				.andExpect(content().string("{\"id\":1,\"jobName\":\"job\"}\n"));
+		verify(exporter).exportJobExecutions((String) isNull(), (Date) isNull(), (Date) isNull(),
+				any(NdjsonExecutionExportWriter.class));
+	}
+
+	@Test
+	public void testExportStepExecutionsAsCsvWithFilters() throws Exception {
+		mockMvc.perform(
+				get("/batch/export/steps").param("jobname", "j*").param("from", "1000").param("to", "2000")
+						.param("format", "csv"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("text/csv;charset=UTF-8"))
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"step-executions.csv\""))
+				.andExpect(content().string("id,jobName\r\n1,job\r\n"));
+		verify(exporter).exportStepExecutions(eq("j*"), eq(new Date(1000)), eq(new Date(2000)),
+				any(CsvExecutionExportWriter.class));
+	}
+
+	@Test
+	public void testExportJobExecutionsGzipped() throws Exception {
+		byte[] body = mockMvc.perform(get("/batch/export/executions").param("format", "csv").param("gzip", "true"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/gzip"))
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"job-executions.csv.gz\""))
+				.andReturn().getResponse().getContentAsByteArray();
+		String csv = new String(StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(body))),
+				"UTF-8");
+		assertEquals("id,jobName\r\n1,job\r\n", csv);
+	}
+
+	@Test
+	public void testExportWithUnknownFormat() throws Exception {
+		mockMvc.perform(get("/batch/export/executions").param("format", "xml")).andExpect(status().isBadRequest());
+	}
+
+}
@@ -22,6 +22,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -33,6 +35,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import org.springframework.batch.admin.domain.JobExecutionSummary;
+import org.springframework.batch.admin.service.ExecutionVersion;
 import org.springframework.batch.admin.service.JobSupport;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
@@ -66,6 +70,9 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 	@Autowired
 	private JobLocator jobLocator;
 
+	@Autowired
+	private BatchJobExecutionsController controller;
+
 	private JobExecution execution1;
 	private JobExecution execution2;
 
@@ -92,7 +99,7 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 
 	@Test
 	public void testGetJobExecutionsByName() throws Exception {
-		when(jobService.listJobExecutionsForJob("job1", 0, 20)).thenReturn(Arrays.asList(execution1));
+		when(jobService.listJobExecutionsForJob("job1", 0, 21)).thenReturn(Arrays.asList(execution1));
 		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
 		when(jobService.countJobExecutions()).thenReturn(1);
 
@@ -118,7 +125,8 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 
 	@Test
 	public void testGetBatchJobExecutions() throws Exception {
-		when(jobService.listJobExecutions(0, 20)).thenReturn(Arrays.asList(execution2, execution1));
+		when(jobService.listJobExecutionSummaries(0, 21)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution2), new JobExecutionSummary(execution1)));
 		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
 		when(jobService.countJobExecutions()).thenReturn(1);
 
@@ -126,8 +134,10 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 				get("/batch/executions").accept(
 						MediaType.APPLICATION_JSON)).andDo(print()).andExpect(status().isOk())
 				.andExpect(jsonPath("$.pagedResources.content", Matchers.hasSize(2)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='next')]", Matchers.hasSize(0)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='prev')]", Matchers.hasSize(0)))
 				.andExpect(jsonPath("$.pagedResources.content[*].executionId", contains(0, 3)))
-				.andExpect(jsonPath("$.pagedResources.content[*].stepExecutions", Matchers.hasSize(2)))
+				.andExpect(jsonPath("$.pagedResources.content[*].stepExecutionCount", contains(2, 0)))
 				.andExpect(jsonPath("$.pagedResources.content[*].jobId", contains(0, 2)))
 				.andExpect(jsonPath("$.pagedResources.content[*].jobParameters.parameters.param1.value", contains("test", "test")))
 				.andExpect(jsonPath("$.pagedResources.content[*].jobParameters.parameters.param1.type", contains("STRING", "STRING")))
@@ -139,14 +149,140 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 
 	@Test
 	public void testGetBatchJobExecutionsPaginated() throws Exception {
-		when(jobService.listJobExecutions(5, 5)).thenReturn(Arrays.asList(execution2, execution1));
+		when(jobService.listJobExecutionSummaries(5, 6)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution2), new JobExecutionSummary(execution1)));
 		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
 		when(jobService.countJobExecutions()).thenReturn(1);
 
 		mockMvc.perform(
 				get("/batch/executions").param("page", "1").param("size", "5").accept(
 						MediaType.APPLICATION_JSON)).andExpect(status().isOk()).andExpect(
-				jsonPath("$.pagedResources.content[*]", Matchers.hasSize(2)));
+				jsonPath("$.pagedResources.content[*]", Matchers.hasSize(2)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='next')]", Matchers.hasSize(0)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='prev')].href",
+						contains("http://localhost/batch/executions?size=5&before=k0")));
+	}
+
+	@Test
+	public void testGetBatchJobExecutionsWithCursor() throws Exception {
+		when(jobService.listJobExecutionSummariesAfter(5, 3)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution1), new JobExecutionSummary(execution2),
+						new JobExecutionSummary(execution2)));
+		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
+		when(jobService.countJobExecutions()).thenReturn(2);
+
+		mockMvc.perform(
+				get("/batch/executions").param("after", "k5").param("size", "2").accept(MediaType.APPLICATION_JSON))
+				.andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.pagedResources.content[*].executionId", contains(3, 0)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='next')].href",
+						contains("http://localhost/batch/executions?size=2&after=k0")))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='prev')].href",
+						contains("http://localhost/batch/executions?size=2&before=k3")));
+	}
+
+	@Test
+	public void testGetBatchJobExecutionsWithCursorOnFirstPage() throws Exception {
+		when(jobService.listJobExecutionSummariesBefore(0, 3)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution1)));
+		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
+		when(jobService.countJobExecutions()).thenReturn(2);
+
+		mockMvc.perform(
+				get("/batch/executions").param("before", "k0").param("size", "2").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.pagedResources.content[*].executionId", contains(3)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='next')].href",
+						contains("http://localhost/batch/executions?size=2&after=k3")))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='prev')]", Matchers.hasSize(0)));
+	}
+
+	@Test
+	public void testStreamBatchJobExecutions() throws Exception {
+		when(jobService.listJobExecutionSummaries(0, 1)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution1)));
+		when(jobService.listJobExecutionSummariesAfter(3, 1)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution2)));
+		when(jobService.listJobExecutionSummariesAfter(0, 1)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution2)));
+		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
+		when(jobService.countJobExecutions()).thenReturn(5);
+
+		controller.setStreamingChunkSize(1);
+		try {
+			mockMvc.perform(
+					get("/batch/executions").param("stream", "true").param("size", "2")
+							.accept(MediaType.APPLICATION_JSON)).andDo(print())
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.pagedResources.content[*].executionId", contains(3, 0)))
+					.andExpect(jsonPath("$.pagedResources.content[*].jobParameters.parameters.param1.value",
+							contains("test", "test")))
+					.andExpect(jsonPath("$.pagedResources.page.totalElements", Matchers.is(5)))
+					.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='next')].href",
+							contains("http://localhost/batch/executions?stream=true&size=2&after=k0")))
+					.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='prev')]", Matchers.hasSize(0)));
+		}
+		finally {
+			controller.setStreamingChunkSize(100);
+		}
+	}
+
+	@Test
+	public void testGetBatchJobExecutionsUpdatedSince() throws Exception {
+		execution1.setLastUpdated(new Date(2000));
+		execution2.setLastUpdated(new Date(3000));
+		when(jobService.listJobExecutionSummariesUpdatedSince(new Date(1000), -1, 20)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution1), new JobExecutionSummary(execution2)));
+		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
+
+		mockMvc.perform(
+				get("/batch/executions").param("updatedSince", "1000").accept(MediaType.APPLICATION_JSON))
+				.andDo(print()).andExpect(status().isOk())
+				.andExpect(jsonPath("$.resources.content[*].executionId", contains(3, 0)))
+				.andExpect(jsonPath("$.resources.links[?(@.rel=='next')].href",
+						contains("http://localhost/batch/executions?updatedSince="
+								+ CursorToken.encode(new Date(3000), 0))));
+	}
+
+	@Test
+	public void testGetBatchJobExecutionsUpdatedSinceCursor() throws Exception {
+		execution1.setLastUpdated(new Date(3000));
+		String cursor = CursorToken.encode(new Date(3000), 0);
+		when(jobService.listJobExecutionSummariesUpdatedSince(new Date(3000), 0, 20)).thenReturn(
+				Arrays.asList(new JobExecutionSummary(execution1)));
+		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
+
+		mockMvc.perform(
+				get("/batch/executions").param("updatedSince", cursor).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.resources.content[*].executionId", contains(3)))
+				.andExpect(jsonPath("$.resources.links[?(@.rel=='next')].href",
+						contains("http://localhost/batch/executions?updatedSince="
+								+ CursorToken.encode(new Date(3000), 3))));
+	}
+
+	@Test
+	public void testGetBatchJobExecutionsUpdatedSinceWithInvalidCursor() throws Exception {
+		mockMvc.perform(
+				get("/batch/executions").param("updatedSince", "k2bc").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void testGetBatchJobExecutionsUpdatedSinceWithNoChanges() throws Exception {
+		mockMvc.perform(
+				get("/batch/executions").param("updatedSince", "5000").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.resources.links[?(@.rel=='next')].href",
+						contains("http://localhost/batch/executions?updatedSince=5000")));
+	}
+
+	@Test
+	public void testGetBatchJobExecutionsWithInvalidCursor() throws Exception {
+		mockMvc.perform(
+				get("/batch/executions").param("before", "foo").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
 	}
 
 	@Test
@@ -168,6 +304,53 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 				.andExpect(jsonPath("$.jobExecutionInfoResource.name", Matchers.is("job1")));
 	}
 
+	@Test
+	public void testGetSingleBatchJobExecutionNotModified() throws Exception {
+		JobExecution execution = new JobExecution(new JobInstance(8l, "job1"), 7l, new JobParameters(), null);
+		execution.setStatus(BatchStatus.COMPLETED);
+		execution.setLastUpdated(new Date());
+		when(jobService.getJobExecutionVersion(7l)).thenReturn(
+				new ExecutionVersion(BatchStatus.COMPLETED, 3, 5, new Date(1000)));
+		when(jobService.getJobExecution(7l)).thenReturn(execution);
+		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
+
+		mockMvc.perform(get("/batch/executions/7").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"execution-7-3-5-1000\""))
+				.andExpect(header().string("Cache-Control", "public, max-age=86400"))
+				.andExpect(jsonPath("$.jobExecutionInfoResource.executionId", Matchers.is(7)));
+		mockMvc.perform(
+				get("/batch/executions/7").header("If-None-Match", "\"execution-7-3-5-1000\"")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", "\"execution-7-3-5-1000\""))
+				.andExpect(content().string(""));
+		mockMvc.perform(
+				get("/batch/executions/7").header("If-None-Match", "\"execution-7-3-4-1000\"")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void testGetSingleRunningBatchJobExecutionHasWeakETag() throws Exception {
+		JobExecution execution = new JobExecution(new JobInstance(10l, "job1"), 9l, new JobParameters(), null);
+		execution.setStatus(BatchStatus.STARTED);
+		execution.setLastUpdated(new Date());
+		when(jobService.getJobExecutionVersion(9l)).thenReturn(
+				new ExecutionVersion(BatchStatus.STARTED, 1, 2, new Date(1000)));
+		when(jobService.getJobExecution(9l)).thenReturn(execution);
+		when(jobLocator.getJob("job1")).thenReturn(new JobSupport("job1"));
+
+		mockMvc.perform(get("/batch/executions/9").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "W/\"execution-9-1-2-1000\""))
+				.andExpect(header().string("Cache-Control", "no-cache"));
+		mockMvc.perform(
+				get("/batch/executions/9").header("If-None-Match", "W/\"execution-9-1-2-1000\"")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotModified());
+	}
+
 	@Test
 	public void testGetNonExistingBatchJobExecution() throws Exception {
 		when(jobService.getJobExecution(99999l)).thenThrow(new NoSuchJobExecutionException("Could not find jobExecution with id 99999"));
@@ -193,7 +376,7 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 
 	@Test
 	public void testRestartNonExistingJobExecution() throws Exception {
-		when(jobService.getJobExecution(1234l)).thenThrow(new NoSuchJobExecutionException(""));
+		when(jobService.getJobExecution(1234l, false)).thenThrow(new NoSuchJobExecutionException(""));
 
 		mockMvc.perform(put("/batch/executions/{executionId}?restart=true", "1234")).andExpect(status().isNotFound()).andExpect(
 				jsonPath("$[1][0].message", Matchers.is("Could not find jobExecution with id 1234")));
@@ -203,7 +386,7 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 	public void testRestartAlreadyRunningJobExecution() throws Exception {
 		JobInstance instance = new JobInstance(4l, "job4running");
 		JobExecution execution = new JobExecution(instance, 4l, new JobParameters(), null);
-		when(jobService.getJobExecution(4l)).thenReturn(execution);
+		when(jobService.getJobExecution(4l, false)).thenReturn(execution);
 
 		mockMvc.perform(put("/batch/executions/{executionId}?restart=true", "4")).andExpect(status().isBadRequest()).andExpect(
 				jsonPath(
@@ -218,7 +401,7 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 		execution.setEndTime(new Date());
 		execution.upgradeStatus(BatchStatus.COMPLETED);
 
-		when(jobService.getJobExecution(33l)).thenReturn(execution);
+		when(jobService.getJobExecution(33l, false)).thenReturn(execution);
 		when(jobLocator.getJob("job4running")).thenReturn(new JobSupport("job4running"));
 
 		mockMvc.perform(put("/batch/executions/{executionId}?restart=true", "33")).andExpect(status().isBadRequest()).andExpect(
@@ -227,7 +410,7 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 
 	@Test
 	public void testRestartJobExecutionWithJobNotAvailable() throws Exception {
-		when(jobService.getJobExecution(3333l)).thenThrow(new NoSuchJobExecutionException(""));
+		when(jobService.getJobExecution(3333l, false)).thenThrow(new NoSuchJobExecutionException(""));
 
 		mockMvc.perform(put("/batch/executions/{executionId}?restart=true", "3333")).andExpect(status().isNotFound()).andExpect(
 				jsonPath("$[1][0].message", Matchers.is("Could not find jobExecution with id 3333")));
@@ -244,7 +427,7 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 		validator.setRequiredKeys(new String [] {"missing-key"});
 		job4running.setJobParametersValidator(validator);
 
-		when(jobService.getJobExecution(5l)).thenReturn(execution);
+		when(jobService.getJobExecution(5l, false)).thenReturn(execution);
 		when(jobLocator.getJob("job4running")).thenReturn(job4running);
 
 		mockMvc.perform(put("/batch/executions/{executionId}?restart=true", "5")).andExpect(status().isBadRequest()).andExpect(
@@ -260,7 +443,7 @@ public class BatchJobExecutionsControllerIntegrationTests extends AbstractContro
 		SimpleJob job4running = new SimpleJob("job2");
 		job4running.setRestartable(false);
 
-		when(jobService.getJobExecution(2l)).thenReturn(execution);
+		when(jobService.getJobExecution(2l, false)).thenReturn(execution);
 		when(jobLocator.getJob("job2")).thenReturn(job4running);
 
 		mockMvc.perform(put("/batch/executions/{executionId}?restart=true", "2")).andExpect(status().isBadRequest()).andExpect(
@@ -26,6 +26,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.TimeZone;
 
@@ -35,6 +36,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import org.springframework.batch.admin.domain.JobExecutionInfo;
+import org.springframework.batch.admin.domain.JobInfo;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParametersBuilder;
@@ -76,13 +78,10 @@ public class BatchJobsControllerIntegrationTests extends AbstractControllerInteg
 	public void testGetBatchJobs() throws Exception {
 		when(jobService.countJobs()).thenReturn(2);
 		when(jobService.listJobs(0, 20)).thenReturn(Arrays.asList("job1", "job2"));
-		when(jobService.isLaunchable("job1")).thenReturn(false);
-		when(jobService.isLaunchable("job2")).thenReturn(true);
-		when(jobService.countJobExecutionsForJob("job1")).thenReturn(2);
-		when(jobService.countJobExecutionsForJob("job2")).thenReturn(1);
-		when(jobService.isIncrementable("job1")).thenReturn(false);
-		when(jobService.isIncrementable("job2")).thenReturn(true);
-		when(jobService.listJobExecutionsForJob("job1", 0, 1)).thenReturn(Arrays.asList(execution));
+		when(jobService.listJobInfos(Arrays.asList("job1", "job2"))).thenReturn(
+				Arrays.asList(new JobInfo("job1", 2, false, false), new JobInfo("job2", 1, true, true)));
+		when(jobService.listLatestJobExecutions(Arrays.asList("job1", "job2"))).thenReturn(
+				Collections.singletonMap("job1", execution));
 
 		JobExecutionInfo info = new JobExecutionInfo(execution, timeZone);
 		mockMvc.perform(
@@ -118,10 +117,9 @@ public class BatchJobsControllerIntegrationTests extends AbstractControllerInteg
 	public void testGetPagedBatchJobs() throws Exception {
 		when(jobService.countJobs()).thenReturn(2);
 		when(jobService.listJobs(0, 1)).thenReturn(Arrays.asList("job1"));
-		when(jobService.isLaunchable("job1")).thenReturn(false);
-		when(jobService.countJobExecutionsForJob("job1")).thenReturn(2);
-		when(jobService.isIncrementable("job1")).thenReturn(false);
-		when(jobService.listJobExecutionsForJob("job1", 0, 1)).thenReturn(Arrays.asList(execution));
+		when(jobService.listJobInfos(Arrays.asList("job1"))).thenReturn(Arrays.asList(new JobInfo("job1", 2, false, false)));
+		when(jobService.listLatestJobExecutions(Arrays.asList("job1"))).thenReturn(
+				Collections.singletonMap("job1", execution));
 
 		JobExecutionInfo info = new JobExecutionInfo(execution, timeZone);
 		mockMvc.perform(
@@ -156,7 +154,8 @@ public class BatchJobsControllerIntegrationTests extends AbstractControllerInteg
 		when(jobService.isIncrementable("job1")).thenReturn(false);
 		JobExecution jobExecution = new JobExecution(5l);
 		jobExecution.setLastUpdated(new Date());
-		when(jobService.listJobExecutionsForJob("job1", 0, 1)).thenReturn(Arrays.asList(jobExecution));
+		when(jobService.listLatestJobExecutions(Collections.singleton("job1"))).thenReturn(
+				Collections.singletonMap("job1", jobExecution));
 
 		mockMvc.perform(
 				get("/batch/configurations/job1")
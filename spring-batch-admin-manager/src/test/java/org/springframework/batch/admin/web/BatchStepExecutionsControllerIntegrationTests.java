@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.contains;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,7 +31,10 @@ import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import org.springframework.batch.admin.domain.StepExecutionHistory;
+import org.springframework.batch.admin.service.ExecutionVersion;
 import org.springframework.batch.admin.service.NoSuchStepExecutionException;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobInstance;
 import org.springframework.batch.core.JobParametersBuilder;
@@ -88,6 +92,74 @@ public class BatchStepExecutionsControllerIntegrationTests extends AbstractContr
 
 	}
 
+	@Test
+	public void testGetBatchStepExecutionsFirstPage() throws Exception {
+		JobExecution jobExecution = new JobExecution(2l);
+		StepExecution execution1 = new StepExecution("step1", jobExecution, 1l);
+		StepExecution execution2 = new StepExecution("step2", jobExecution, 2l);
+		StepExecution execution3 = new StepExecution("step3", jobExecution, 3l);
+		when(jobService.getStepExecutionsAfter(2l, 0, 3)).thenReturn(Arrays.asList(execution1, execution2, execution3));
+		when(jobService.getStepExecutionsVersion(2l)).thenReturn(
+				new ExecutionVersion(BatchStatus.STARTED, 5, 10, new Date(2000)));
+
+		mockMvc.perform(get("/batch/executions/2/steps").param("size", "2").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.pagedResources.content[*].executionId", contains(1, 2)))
+				.andExpect(jsonPath("$.pagedResources.page.totalElements", Matchers.is(5)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='next')].href",
+						contains("http://localhost/batch/executions/2/steps?size=2&after=k2")))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='prev')]", Matchers.hasSize(0)));
+	}
+
+	@Test
+	public void testGetBatchStepExecutionsAfterCursor() throws Exception {
+		JobExecution jobExecution = new JobExecution(2l);
+		StepExecution execution3 = new StepExecution("step3", jobExecution, 3l);
+		StepExecution execution4 = new StepExecution("step4", jobExecution, 4l);
+		when(jobService.getStepExecutionsAfter(2l, 2, 3)).thenReturn(Arrays.asList(execution3, execution4));
+
+		mockMvc.perform(
+				get("/batch/executions/2/steps").param("after", "k2").param("size", "2")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.pagedResources.content[*].executionId", contains(3, 4)))
+				.andExpect(jsonPath("$.pagedResources.content[*].jobExecutionId", contains(2, 2)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='next')]", Matchers.hasSize(0)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='prev')].href",
+						contains("http://localhost/batch/executions/2/steps?size=2&before=k3")));
+	}
+
+	@Test
+	public void testGetBatchStepExecutionsBeforeCursor() throws Exception {
+		JobExecution jobExecution = new JobExecution(2l);
+		StepExecution execution2 = new StepExecution("step2", jobExecution, 2l);
+		when(jobService.getStepExecutionsBefore(2l, 3, 3)).thenReturn(Arrays.asList(execution2));
+
+		mockMvc.perform(
+				get("/batch/executions/2/steps").param("before", "k3").param("size", "2")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.pagedResources.content[*].executionId", contains(2)))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='next')].href",
+						contains("http://localhost/batch/executions/2/steps?size=2&after=k2")))
+				.andExpect(jsonPath("$.pagedResources.links[?(@.rel=='prev')]", Matchers.hasSize(0)));
+	}
+
+	@Test
+	public void testGetBatchStepExecutionsWithInvalidCursor() throws Exception {
+		mockMvc.perform(get("/batch/executions/2/steps").param("after", "foo").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void testGetBatchStepExecutionsPageNotExists() throws Exception {
+		when(jobService.getStepExecutionsAfter(5555l, 0, 21)).thenThrow(new NoSuchJobExecutionException(""));
+
+		mockMvc.perform(get("/batch/executions/{executionId}/steps", "5555").param("size", "20"))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$[1][0].message", Matchers.is("Could not find jobExecution with id 5555")));
+	}
+
 	@Test
 	public void testGetSingleBatchStepExecution() throws Exception {
 		JobExecution jobExecution = new JobExecution(2l, new JobParametersBuilder().addString("param1", "test").addLong("param2", 123l).toJobParameters());
@@ -108,6 +180,88 @@ public class BatchStepExecutionsControllerIntegrationTests extends AbstractContr
 				.andExpect(jsonPath("$.stepExecutionInfoResource.executionContext['contextTestKey']", Matchers.is("someValue")));
 	}
 
+	@Test
+	public void testGetSingleBatchStepExecutionNotModified() throws Exception {
+		JobExecution jobExecution = new JobExecution(6l);
+		jobExecution.setStatus(BatchStatus.COMPLETED);
+		StepExecution execution = new StepExecution("step1", jobExecution, 7l);
+		execution.setLastUpdated(new Date());
+		when(jobService.getStepExecution(6l, 7l)).thenReturn(execution);
+		when(jobService.getStepExecutionVersion(6l, 7l)).thenReturn(
+				new ExecutionVersion(BatchStatus.COMPLETED, 1, 4, new Date(2000)));
+
+		mockMvc.perform(get("/batch/executions/6/steps/7").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"step-7-1-4-2000\""))
+				.andExpect(header().string("Cache-Control", "public, max-age=86400"));
+		mockMvc.perform(
+				get("/batch/executions/6/steps/7").header("If-None-Match", "\"step-7-1-4-2000\"")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	public void testGetSingleBatchStepExecutionFailed() throws Exception {
+		JobExecution jobExecution = new JobExecution(6l);
+		jobExecution.setStatus(BatchStatus.FAILED);
+		StepExecution execution = new StepExecution("step1", jobExecution, 9l);
+		execution.setLastUpdated(new Date());
+		when(jobService.getStepExecution(6l, 9l)).thenReturn(execution);
+		when(jobService.getStepExecutionVersion(6l, 9l)).thenReturn(
+				new ExecutionVersion(BatchStatus.FAILED, 1, 4, new Date(2000)));
+
+		// A failed execution can still be restarted or abandoned
+		mockMvc.perform(get("/batch/executions/6/steps/9").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"step-9-1-4-2000\""))
+				.andExpect(header().string("Cache-Control", "no-cache"));
+		mockMvc.perform(
+				get("/batch/executions/6/steps/9").header("If-None-Match", "\"step-9-1-4-2000\"")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("Cache-Control", "no-cache"));
+	}
+
+	@Test
+	public void testGetBatchStepExecutionsFailed() throws Exception {
+		when(jobService.getStepExecutionsVersion(6l)).thenReturn(
+				new ExecutionVersion(BatchStatus.FAILED, 2, 4, new Date(2000)));
+
+		mockMvc.perform(
+				get("/batch/executions/6/steps").header("If-None-Match", "\"steps-6-2-4-2000\"")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("Cache-Control", "no-cache"));
+	}
+
+	@Test
+	public void testGetSingleBatchStepExecutionFromStaleCopy() throws Exception {
+		JobExecution jobExecution = new JobExecution(6l);
+		jobExecution.setStatus(BatchStatus.STARTED);
+		StepExecution execution = new StepExecution("step1", jobExecution, 8l);
+		execution.setLastUpdated(new Date());
+		when(jobService.getStepExecution(6l, 8l)).thenReturn(execution);
+		when(jobService.getStepExecutionVersion(6l, 8l)).thenReturn(
+				new ExecutionVersion(BatchStatus.COMPLETED, 1, 4, new Date(2000)));
+
+		mockMvc.perform(get("/batch/executions/6/steps/8").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("ETag"))
+				.andExpect(header().string("Cache-Control", "no-cache, no-store, max-age=0"));
+	}
+
+	@Test
+	public void testGetBatchStepExecutionsNotModified() throws Exception {
+		when(jobService.getStepExecutionsVersion(6l)).thenReturn(
+				new ExecutionVersion(BatchStatus.STARTED, 2, 4, new Date(2000)));
+
+		mockMvc.perform(
+				get("/batch/executions/6/steps").header("If-None-Match", "W/\"steps-6-2-4-2000\"")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("Cache-Control", "no-cache"));
+	}
+
 	@Test
 	public void testGetSingleBatchStepExecutionForNonExistingJobExecution() throws Exception {
 		when(jobService.getStepExecution(5555l, 1l)).thenThrow(new NoSuchJobExecutionException(""));
@@ -137,8 +291,7 @@ public class BatchStepExecutionsControllerIntegrationTests extends AbstractContr
 		execution.setLastUpdated(new Date());
 
 		when(jobService.getStepExecution(2l, 1l)).thenReturn(execution);
-		when(jobService.countStepExecutionsForStep("job", "step1")).thenReturn(1);
-		when(jobService.listStepExecutionsForStep("job1", "step1", 0, 1000)).thenReturn(Arrays.asList(new StepExecution("step1", new JobExecution(5l))));
+		when(jobService.getStepExecutionHistory("job1", "step1")).thenReturn(new StepExecutionHistory("step1"));
 
 		mockMvc.perform(
 				get("/batch/executions/2/steps/1/progress").accept(MediaType.APPLICATION_JSON))
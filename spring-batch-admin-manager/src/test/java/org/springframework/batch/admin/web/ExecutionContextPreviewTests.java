@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ExecutionContextPreviewTests {
+
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	private ExecutionContextPreview preview = new ExecutionContextPreview(objectMapper);
+
+	private ExecutionContext context = new ExecutionContext();
+
+	@Test
+	public void testPreview() throws Exception {
+		context.putLong("count", 123L);
+		context.putString("big", "0123456789");
+		Map<?, ?> result = objectMapper.readValue(preview.preview(context, 5), Map.class);
+		Map<?, ?> count = (Map<?, ?>) result.get("count");
+		assertEquals("java.lang.Long", count.get("type"));
+		assertEquals(3, count.get("size"));
+		assertEquals("123", count.get("value"));
+		assertEquals(false, count.get("truncated"));
+		Map<?, ?> big = (Map<?, ?>) result.get("big");
+		assertEquals(12, big.get("size"));
+		assertEquals("\"0123", big.get("value"));
+		assertEquals(true, big.get("truncated"));
+	}
+
+	@Test
+	public void testWriteValue() throws Exception {
+		context.putString("foo", "bar");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		preview.writeValue(context, "foo", response);
+		assertEquals("\"bar\"", response.getContentAsString());
+		assertEquals("application/json", response.getContentType());
+	}
+
+	@Test
+	public void testWriteMissingValue() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		preview.writeValue(context, "foo", response);
+		assertEquals(404, response.getStatus());
+	}
+
+}
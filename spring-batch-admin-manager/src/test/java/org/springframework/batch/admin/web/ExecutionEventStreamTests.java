@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.admin.domain.JobExecutionSummary;
+import org.springframework.batch.admin.service.JobService;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ExecutionEventStreamTests {
+
+	private JobService jobService = mock(JobService.class);
+
+	private ExecutionEventStream stream = new ExecutionEventStream();
+
+	@Before
+	public void setUp() throws Exception {
+		stream.setJobService(jobService);
+		stream.setPollInterval(60000);
+		stream.setHeartbeatInterval(60000);
+		stream.setBufferSize(10);
+		stream.afterPropertiesSet();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		stream.destroy();
+	}
+
+	@Test
+	public void testPublishChanges() throws Exception {
+		EventResponse all = subscribe(null);
+		EventResponse other = subscribe(99L);
+		assertTrue(all.getContentType().startsWith("text/event-stream"));
+		assertEquals("UTF-8", all.getCharacterEncoding());
+		assertEquals(2, stream.getSubscriberCount());
+		stream.poll();
+
+		JobExecution jobExecution = MetaDataInstanceFactory.createJobExecutionWithStepExecutions(123L,
+				Arrays.asList("step"));
+		jobExecution.setStatus(BatchStatus.STARTED);
+		jobExecution.setLastUpdated(new Date());
+		StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+		stepExecution.setId(456L);
+		stepExecution.setReadCount(10);
+		stepExecution.setLastUpdated(new Date());
+		when(jobService.listJobExecutionSummariesUpdatedSince(any(Date.class), eq(-1L), anyInt())).thenReturn(
+				Collections.singletonList(new JobExecutionSummary(jobExecution)));
+		when(jobService.listStepExecutionsUpdatedSince(any(Date.class), eq(-1L), anyInt())).thenReturn(
+				Collections.singletonList(stepExecution));
+		stream.poll();
+		// The same versions are read again in the commit lag
+		stream.poll();
+
+		String content = all.waitForContent("event: step");
+		assertTrue("Wrong content: " + content, content.contains("event: job\ndata: {\"jobExecutionId\":123,"));
+		assertTrue("Wrong content: " + content, content.contains("\"status\":\"STARTED\""));
+		assertTrue("Wrong content: " + content, content.contains("\"readCount\":10,"));
+		assertEquals(content.indexOf("event: job"), content.lastIndexOf("event: job"));
+		assertFalse(other.getContentAsString().contains("event:"));
+		assertEquals(2, stream.getEventCount());
+	}
+
+	@Test
+	public void testLateCommitPublished() throws Exception {
+		EventResponse response = subscribe(null);
+		long now = System.currentTimeMillis();
+		when(jobService.listJobExecutionSummariesUpdatedSince(any(Date.class), eq(-1L), anyInt())).thenReturn(
+				Collections.singletonList(createSummary(1L, new Date(now - 2000))));
+		// Changes made before the first poll are not published
+		stream.poll();
+		assertEquals(0, stream.getEventCount());
+		// A change updated before the last one seen but committed after it
+		when(jobService.listJobExecutionSummariesUpdatedSince(any(Date.class), eq(-1L), anyInt())).thenReturn(
+				Arrays.asList(createSummary(1L, new Date(now - 2000)), createSummary(2L, new Date(now - 1000))));
+		stream.poll();
+		String content = response.waitForContent("\"jobExecutionId\":2,");
+		assertFalse("Wrong content: " + content, content.contains("\"jobExecutionId\":1,"));
+		assertEquals(1, stream.getEventCount());
+	}
+
+	@Test
+	public void testPollPagesThroughChanges() throws Exception {
+		stream.setPageSize(1);
+		EventResponse response = subscribe(null);
+		stream.poll();
+		Date now = new Date();
+		when(jobService.listJobExecutionSummariesUpdatedSince(any(Date.class), eq(-1L), eq(1))).thenReturn(
+				Collections.singletonList(createSummary(1L, now)));
+		when(jobService.listJobExecutionSummariesUpdatedSince(now, 1L, 1)).thenReturn(
+				Collections.singletonList(createSummary(2L, now)));
+		stream.poll();
+		String content = response.waitForContent("\"jobExecutionId\":2,");
+		assertTrue("Wrong content: " + content, content.contains("\"jobExecutionId\":1,"));
+		assertEquals(2, stream.getEventCount());
+	}
+
+	@Test
+	public void testSlowSubscriberDropped() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/batch/executions/events");
+		request.setAsyncSupported(true);
+		stream.destroy();
+		stream = new ExecutionEventStream();
+		stream.setJobService(jobService);
+		stream.setBufferSize(1);
+		stream.setThreads(1);
+		stream.setPollInterval(60000);
+		stream.afterPropertiesSet();
+		// Keep the only writer thread busy so that nothing is flushed
+		final Object lock = new Object();
+		synchronized (lock) {
+			subscribeBlocked(lock);
+			stream.subscribe(request, new MockHttpServletResponse(), null);
+			stream.poll();
+			JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution(123L);
+			jobExecution.setLastUpdated(new Date());
+			when(jobService.listJobExecutionSummariesUpdatedSince(any(Date.class), anyLong(), anyInt())).thenReturn(
+					Collections.singletonList(new JobExecutionSummary(jobExecution)));
+			stream.poll();
+			assertEquals(1, stream.getDroppedCount());
+			// only the subscriber for the other job execution is left
+			assertEquals(1, stream.getSubscriberCount());
+		}
+	}
+
+	@Test
+	public void testBlockedSubscriberDropped() throws Exception {
+		stream.destroy();
+		stream = new ExecutionEventStream();
+		stream.setJobService(jobService);
+		stream.setPollInterval(60000);
+		stream.setHeartbeatInterval(60000);
+		stream.setWriteTimeout(200);
+		stream.afterPropertiesSet();
+		final Object lock = new Object();
+		synchronized (lock) {
+			MockHttpServletRequest request = subscribeBlocked(lock);
+			final CountDownLatch completed = new CountDownLatch(1);
+			request.getAsyncContext().addListener(new AsyncListener() {
+				@Override
+				public void onComplete(AsyncEvent event) {
+					completed.countDown();
+				}
+
+				@Override
+				public void onTimeout(AsyncEvent event) {
+				}
+
+				@Override
+				public void onError(AsyncEvent event) {
+				}
+
+				@Override
+				public void onStartAsync(AsyncEvent event) {
+				}
+			});
+			assertTrue(completed.await(5, TimeUnit.SECONDS));
+			assertEquals(0, stream.getSubscriberCount());
+			assertEquals(1, stream.getDroppedCount());
+		}
+	}
+
+	private MockHttpServletRequest subscribeBlocked(final Object lock) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/batch/executions/events");
+		request.setAsyncSupported(true);
+		final CountDownLatch writing = new CountDownLatch(1);
+		final MockHttpServletResponse response = new MockHttpServletResponse() {
+			@Override
+			public void flushBuffer() {
+				writing.countDown();
+				synchronized (lock) {
+					super.flushBuffer();
+				}
+			}
+		};
+		stream.subscribe(request, response, 1L);
+		// Wait for the writer to block on the lock
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+		return request;
+	}
+
+	private EventResponse subscribe(Long jobExecutionId) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/batch/executions/events");
+		request.setAsyncSupported(true);
+		EventResponse response = new EventResponse();
+		stream.subscribe(request, response, jobExecutionId);
+		return response;
+	}
+
+	private JobExecutionSummary createSummary(long id, Date lastUpdated) {
+		JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution(id);
+		jobExecution.setLastUpdated(lastUpdated);
+		return new JobExecutionSummary(jobExecution);
+	}
+
+	/**
+	 * A response that signals each flush, so that the tests can wait for the
+	 * events to be written instead of sleeping.
+	 */
+	private static class EventResponse extends MockHttpServletResponse {
+
+		@Override
+		public synchronized void flushBuffer() {
+			super.flushBuffer();
+			notifyAll();
+		}
+
+		public synchronized String waitForContent(String expected) throws Exception {
+			long deadline = System.currentTimeMillis() + 5000;
+			String content = getContentAsString();
+			while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+				wait(Math.max(1, deadline - System.currentTimeMillis()));
+				content = getContentAsString();
+			}
+			return content;
+		}
+
+	}
+
+}
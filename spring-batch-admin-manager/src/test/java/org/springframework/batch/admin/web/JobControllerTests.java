@@ -23,6 +23,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 
 import org.junit.Before;
@@ -30,6 +31,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.batch.admin.domain.JobInfo;
 import org.springframework.batch.admin.service.JobService;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.test.MetaDataInstanceFactory;
@@ -110,15 +112,16 @@ public class JobControllerTests {
 	public void testListSunnyDay() throws Exception {
 
 		when(jobService.listJobs(10, 20)).thenReturn(Arrays.asList("job"));
-		when(jobService.countJobExecutionsForJob("job")).thenReturn(12);
+		when(jobService.listJobInfos(Arrays.asList("job"))).thenReturn(Arrays.asList(new JobInfo("job", 12, true, true)));
 		when(jobService.countJobs()).thenReturn(100);
-		when(jobService.isLaunchable("job")).thenReturn(true);
-		when(jobService.isIncrementable("job")).thenReturn(true);
 
 		ExtendedModelMap model = new ExtendedModelMap();
 		controller.jobs(model, 10, 20);
 		// Jobs, total, next, previous, start, end
 		assertEquals(6, model.size());
+		@SuppressWarnings("unchecked")
+		List<JobInfo> jobs = (List<JobInfo>) model.get("jobs");
+		assertEquals(12, jobs.get(0).getExecutionCount());
 	}
 
 	@Test
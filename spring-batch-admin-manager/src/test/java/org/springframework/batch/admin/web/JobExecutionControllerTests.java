@@ -33,6 +33,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.batch.admin.domain.JobExecutionSummary;
 import org.springframework.batch.admin.domain.StepExecutionInfo;
 import org.springframework.batch.admin.service.JobService;
 import org.springframework.batch.core.BatchStatus;
@@ -89,7 +90,7 @@ public class JobExecutionControllerTests {
 		JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution();
 		MetaDataInstanceFactory.createStepExecution(jobExecution,"foo", 111L);
 		MetaDataInstanceFactory.createStepExecution(jobExecution, "bar", 222L);
-		when(jobService.getJobExecution(123L)).thenReturn(jobExecution);
+		when(jobService.getJobExecution(123L, false)).thenReturn(jobExecution);
 
 		ExtendedModelMap model = new ExtendedModelMap();
 		String result = controller.detail(model, 123L, null, null);
@@ -186,7 +187,7 @@ public class JobExecutionControllerTests {
 	public void testListSunnyDay() throws Exception {
 
 		when(jobService.countJobExecutions()).thenReturn(100);
-		when(jobService.listJobExecutions(10, 20)).thenReturn(new ArrayList<JobExecution>());
+		when(jobService.listJobExecutionSummaries(10, 20)).thenReturn(new ArrayList<JobExecutionSummary>());
 
 		ExtendedModelMap model = new ExtendedModelMap();
 		controller.list(model, 10, 20);
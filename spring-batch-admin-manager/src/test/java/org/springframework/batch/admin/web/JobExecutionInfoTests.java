@@ -27,6 +27,7 @@ import org.junit.Test;
 
 import org.springframework.batch.admin.domain.JobExecutionInfo;
 import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.test.MetaDataInstanceFactory;
 
 /**
@@ -35,7 +36,8 @@ import org.springframework.batch.test.MetaDataInstanceFactory;
  */
 public class JobExecutionInfoTests {
 
-	private JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution();
+	private JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution("job", 11L, 123L,
+			new JobParametersBuilder().addString("foo", "bar").addLong("run", 2L).toJobParameters());
 
 	@Test
 	public void testDurationAndTime() throws Exception {
@@ -72,4 +74,32 @@ public class JobExecutionInfoTests {
 		TimeZone.setDefault(null);
 	}
 
+	@Test
+	public void testStartTimeInOtherTimezone() throws Exception {
+		jobExecution.setStartTime(new Date(0));
+		jobExecution.setEndTime(new Date(90061000));
+		JobExecutionInfo info = new JobExecutionInfo(jobExecution, TimeZone.getTimeZone("Japan"));
+		assertEquals("1970-01-01", info.getStartDate());
+		assertEquals("09:00:00", info.getStartTime());
+		// Durations are shown as a time of day, so they wrap after a day
+		assertEquals("01:01:01", info.getDuration());
+	}
+
+	@Test
+	public void testNotStarted() throws Exception {
+		JobExecutionInfo info = new JobExecutionInfo(jobExecution, TimeZone.getTimeZone("GMT"));
+		assertEquals("", info.getStartDate());
+		assertEquals("", info.getStartTime());
+		assertEquals("", info.getDuration());
+	}
+
+	@Test
+	public void testJobParameters() throws Exception {
+		JobExecutionInfo info = new JobExecutionInfo(jobExecution, TimeZone.getTimeZone("GMT"));
+		assertEquals("bar", info.getJobParameters().getProperty("foo"));
+		assertEquals("2", info.getJobParameters().getProperty("run(long)"));
+		assertTrue(info.getJobParametersString().contains("foo=bar"));
+		assertTrue(info.getJobParametersString().contains("run(long)=2"));
+	}
+
 }
@@ -65,9 +65,7 @@ public class StepExecutionControllerTests {
 	public void testProgressSunnyDay() throws Exception {
 
 		when(jobService.getStepExecution(123L, 1234L)).thenReturn(MetaDataInstanceFactory.createStepExecution());
-		when(jobService.countStepExecutionsForStep("job", "step")).thenReturn(1200);
-		when(jobService.listStepExecutionsForStep("job", "step", 0, 1000)).thenReturn(Arrays.asList(MetaDataInstanceFactory.createStepExecution()));
-		when(jobService.listStepExecutionsForStep("job", "step", 1000, 1000)).thenReturn(Arrays.asList(MetaDataInstanceFactory.createStepExecution()));
+		when(jobService.getStepExecutionHistory("job", "step")).thenReturn(new StepExecutionHistory("step"));
 
 		ExtendedModelMap model = new ExtendedModelMap();
 		String result = controller.history(model, 123L, 1234L, null, null);
@@ -82,9 +80,7 @@ public class StepExecutionControllerTests {
 	public void testProgressPartitionSunnyDay() throws Exception {
 
 		when(jobService.getStepExecution(123L, 1234L)).thenReturn(MetaDataInstanceFactory.createStepExecution("step:partition1", 0L));
-		when(jobService.countStepExecutionsForStep("job", "step:partition*")).thenReturn(1200);
-		when(jobService.listStepExecutionsForStep("job", "step:partition*", 0, 1000)).thenReturn(Arrays.asList(MetaDataInstanceFactory.createStepExecution()));
-		when(jobService.listStepExecutionsForStep("job", "step:partition*", 1000, 1000)).thenReturn(Arrays.asList(MetaDataInstanceFactory.createStepExecution()));
+		when(jobService.getStepExecutionHistory("job", "step:partition*")).thenReturn(new StepExecutionHistory("step:partition*"));
 
 		ExtendedModelMap model = new ExtendedModelMap();
 		String result = controller.history(model, 123L, 1234L, null, null);
@@ -103,7 +99,7 @@ public class StepExecutionControllerTests {
 
 		StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
 		when(jobService.getStepExecutions(123L)).thenReturn(Arrays.asList(stepExecution));
-		when(jobService.getJobExecution(123L)).thenReturn(stepExecution.getJobExecution());
+		when(jobService.getJobExecution(123L, false)).thenReturn(stepExecution.getJobExecution());
 
 		ExtendedModelMap model = new ExtendedModelMap();
 		String result = controller.list(model, 123L, null, null);
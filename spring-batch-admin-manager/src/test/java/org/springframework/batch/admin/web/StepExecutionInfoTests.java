@@ -72,4 +72,24 @@ public class StepExecutionInfoTests {
 		TimeZone.setDefault(null);
 	}
 
+	@Test
+	public void testNotStartedWithoutTimezone() throws Exception {
+		StepExecutionInfo info = new StepExecutionInfo(stepExecution, null);
+		assertEquals("-", info.getStartDate());
+		assertEquals("-", info.getStartTime());
+		assertEquals("-", info.getDuration());
+		assertEquals(0, info.getDurationMillis());
+	}
+
+	@Test
+	public void testStartTimeWithoutTimezone() throws Exception {
+		stepExecution.setStartTime(new Date(3600000));
+		stepExecution.setEndTime(new Date(3630000));
+		StepExecutionInfo info = new StepExecutionInfo(stepExecution, null);
+		assertEquals("1970-01-01", info.getStartDate());
+		assertEquals("01:00:00", info.getStartTime());
+		assertEquals("00:00:30", info.getDuration());
+		assertEquals(30000, info.getDurationMillis());
+	}
+
 }
@@ -17,6 +17,7 @@ package org.springframework.batch.admin.web;
 
 import static org.mockito.Mockito.mock;
 
+import org.springframework.batch.admin.service.ExecutionHistoryExporter;
 import org.springframework.batch.admin.service.FileService;
 import org.springframework.batch.admin.service.JobService;
 import org.springframework.batch.core.configuration.ListableJobLocator;
@@ -47,6 +48,11 @@ public class TestDependencies {
 		return mock(JobService.class);
 	}
 
+	@Bean
+	public ExecutionHistoryExporter executionHistoryExporter() {
+		return mock(ExecutionHistoryExporter.class);
+	}
+
 	@Bean
 	public JobRepository jobRepository() {
 		return mock(JobRepository.class);
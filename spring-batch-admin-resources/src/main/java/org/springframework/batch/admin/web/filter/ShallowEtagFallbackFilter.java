@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web.filter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * A {@link ShallowEtagHeaderFilter} that only computes an ETag from the
+ * response body if the handler did not set one itself. Handlers that can
+ * tell cheaply whether their resource has changed (e.g. from the version of
+ * the underlying rows) set their own ETag and answer conditional requests
+ * before doing any work, and this filter must not replace that ETag with a
+ * hash of the body.
+ * <p>
+ * Streamed responses are not filtered at all, because the body would be
+ * buffered until the end to compute its hash: the requests with a
+ * <code>stream=true</code> parameter, and the ones that match the
+ * {@link #setStreamingPaths(String...) streaming paths} (the exports and the
+ * execution events by default).
+ *
+ * @since 2.0
+ */
+public class ShallowEtagFallbackFilter extends ShallowEtagHeaderFilter {
+
+	private static final String HEADER_ETAG = "ETag";
+
+	private static final String STREAM_PARAMETER = "stream";
+
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+
+	private String[] streamingPaths = { "/**/batch/export/**", "/**/batch/executions/events" };
+
+	/**
+	 * The patterns of the paths (within the application) of the requests
+	 * with streamed responses, that are not filtered whatever their
+	 * parameters. Can be set with an init-param of the filter.
+	 *
+	 * @param streamingPaths the Ant-style path patterns to set
+	 */
+	public void setStreamingPaths(String... streamingPaths) {
+		this.streamingPaths = streamingPaths;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if ("true".equals(request.getParameter(STREAM_PARAMETER))) {
+			return true;
+		}
+		String path = urlPathHelper.getPathWithinApplication(request);
+		for (String pattern : streamingPaths) {
+			if (pathMatcher.match(pattern, path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	protected boolean isEligibleForEtag(HttpServletRequest request, HttpServletResponse response,
+			int responseStatusCode, byte[] responseBody) {
+		return !response.containsHeader(HEADER_ETAG)
+				&& super.isEligibleForEtag(request, response, responseStatusCode, responseBody);
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.batch.admin.web.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ShallowEtagFallbackFilterTests {
+
+	private ShallowEtagFallbackFilter filter = new ShallowEtagFallbackFilter();
+
+	@Test
+	public void testShallowEtagAdded() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/foo"), response, new MockFilterChain(new TestServlet(null)));
+		assertNotNull(response.getHeader("ETag"));
+		assertEquals("foo", response.getContentAsString());
+	}
+
+	@Test
+	public void testEtagFromHandlerKept() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/foo"), response, new MockFilterChain(new TestServlet(
+				"\"bar\"")));
+		assertEquals("\"bar\"", response.getHeader("ETag"));
+		assertEquals("foo", response.getContentAsString());
+	}
+
+	@Test
+	public void testStreamedResponseNotFiltered() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/batch/executions");
+		request.setParameter("stream", "true");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain(new TestServlet(null));
+		filter.doFilter(request, response, chain);
+		assertSame(response, chain.getResponse());
+		assertNull(response.getHeader("ETag"));
+		assertEquals("foo", response.getContentAsString());
+	}
+
+	@Test
+	public void testStreamingPathNotFiltered() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain(new TestServlet(null));
+		filter.doFilter(new MockHttpServletRequest("GET", "/batch/export/executions"), response, chain);
+		assertSame(response, chain.getResponse());
+		assertNull(response.getHeader("ETag"));
+	}
+
+	@Test
+	public void testCustomStreamingPath() throws Exception {
+		filter.setStreamingPaths("/foo");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain(new TestServlet(null));
+		filter.doFilter(new MockHttpServletRequest("GET", "/foo"), response, chain);
+		assertSame(response, chain.getResponse());
+		response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/batch/export/executions"), response,
+				new MockFilterChain(new TestServlet(null)));
+		assertNotNull(response.getHeader("ETag"));
+	}
+
+	@SuppressWarnings("serial")
+	private static class TestServlet extends HttpServlet {
+
+		private final String etag;
+
+		public TestServlet(String etag) {
+			this.etag = etag;
+		}
+
+		@Override
+		protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException,
+				IOException {
+			if (etag != null) {
+				response.setHeader("ETag", etag);
+			}
+			response.getWriter().write("foo");
+		}
+
+	}
+
+}